@@ -1,5 +1,7 @@
 import { TestBed } from '@angular/core/testing';
 import { CanActivateFn, Router } from '@angular/router';
+import { provideHttpClient } from '@angular/common/http';
+import { provideHttpClientTesting } from '@angular/common/http/testing';
 import { authGuard } from './auth.guard';
 import { AuthService } from './auth.service';
 
@@ -33,6 +35,8 @@ describe('authGuard', () => {
     TestBed.configureTestingModule({
       providers: [
         AuthService,
+        provideHttpClient(),
+        provideHttpClientTesting(),
         {
           provide: Router,
           useValue: {
@@ -1,12 +1,23 @@
-import { TestBed } from '@angular/core/testing';
-import { AuthService } from './auth.service';
+import { discardPeriodicTasks, fakeAsync, TestBed, tick } from '@angular/core/testing';
+import { HttpClient, provideHttpClient } from '@angular/common/http';
+import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
+import { AuthService, PERIODE_PRESENCE_MS } from './auth.service';
 
 describe('AuthService', () => {
   let service: AuthService;
+  let httpMock: HttpTestingController;
 
   beforeEach(() => {
-    TestBed.configureTestingModule({});
+    TestBed.configureTestingModule({
+      providers: [provideHttpClient(), provideHttpClientTesting()]
+    });
     service = TestBed.inject(AuthService);
+    httpMock = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    service.arreterPresence();
+    httpMock.verify();
   });
 
   it('should be created', () => {
@@ -64,6 +75,91 @@ describe('AuthService', () => {
     });
   });
 
+  describe('getJeton()', () => {
+    afterEach(() => sessionStorage.removeItem('loggedUser'));
+
+    it('devrait retourner le jeton stocké avec l\'utilisateur connecté', () => {
+      sessionStorage.setItem('loggedUser', JSON.stringify({ id: 1, email: 'test@test.com', jeton: 'jeton-abc' }));
+      expect(service.getJeton()).toBe('jeton-abc');
+    });
+
+    it('devrait retourner null sans utilisateur connecté', () => {
+      sessionStorage.removeItem('loggedUser');
+      expect(service.getJeton()).toBeNull();
+    });
+
+    it('devrait retourner null si l\'utilisateur stocké n\'a pas de jeton', () => {
+      sessionStorage.setItem('loggedUser', JSON.stringify({ id: 1 }));
+      expect(service.getJeton()).toBeNull();
+    });
+  });
+
+  describe('Présence', () => {
+    const PRESENCE_URL = 'http://localhost:8080/api/utilisateur/presence';
+
+    beforeEach(() => {
+      sessionStorage.setItem('loggedUser', JSON.stringify({ id: 1, jeton: 'jeton-abc' }));
+    });
+
+    afterEach(() => sessionStorage.removeItem('loggedUser'));
+
+    it('devrait envoyer un battement tout de suite puis à chaque période, plus courte que le TTL de 60 s', fakeAsync(() => {
+      expect(PERIODE_PRESENCE_MS).toBeLessThan(60000);
+      service.demarrerPresence();
+      tick();
+
+      const premier = httpMock.expectOne(PRESENCE_URL);
+      expect(premier.request.method).toBe('PUT');
+      premier.flush(null, { status: 204, statusText: 'No Content' });
+
+      tick(PERIODE_PRESENCE_MS);
+      httpMock.expectOne(PRESENCE_URL).flush(null, { status: 204, statusText: 'No Content' });
+
+      discardPeriodicTasks();
+    }));
+
+    it('devrait continuer après un battement en échec', fakeAsync(() => {
+      service.demarrerPresence();
+      tick();
+      httpMock.expectOne(PRESENCE_URL).flush(null, { status: 500, statusText: 'Server Error' });
+
+      tick(PERIODE_PRESENCE_MS);
+      httpMock.expectOne(PRESENCE_URL).flush(null, { status: 204, statusText: 'No Content' });
+
+      discardPeriodicTasks();
+    }));
+
+    it('devrait s\'arrêter à la déconnexion', fakeAsync(() => {
+      service.demarrerPresence();
+      tick();
+      httpMock.expectOne(PRESENCE_URL).flush(null, { status: 204, statusText: 'No Content' });
+
+      service.logout();
+      tick(PERIODE_PRESENCE_MS * 2);
+
+      httpMock.expectNone(PRESENCE_URL);
+    }));
+
+    it('devrait reprendre les battements au rechargement si une session est stockée', fakeAsync(() => {
+      const reprise = new AuthService(TestBed.inject(HttpClient));
+      tick();
+
+      httpMock.expectOne(PRESENCE_URL).flush(null, { status: 204, statusText: 'No Content' });
+
+      reprise.arreterPresence();
+    }));
+
+    it('ne devrait rien envoyer sans jeton en session', fakeAsync(() => {
+      sessionStorage.removeItem('loggedUser');
+      service.demarrerPresence();
+
+      tick(PERIODE_PRESENCE_MS);
+
+      httpMock.expectNone(PRESENCE_URL);
+      discardPeriodicTasks();
+    }));
+  });
+
   describe('redirectUrl', () => {
     it('devrait pouvoir stocker une URL de redirection', () => {
       service.redirectUrl = '/dashboard';
@@ -1,5 +1,11 @@
 import { Injectable } from '@angular/core';
-import { delay, Observable, of, tap } from 'rxjs';
+import { HttpClient } from '@angular/common/http';
+import { catchError, delay, EMPTY, filter, Observable, of, Subscription, switchMap, tap, timer } from 'rxjs';
+
+const PRESENCE_URL = 'http://localhost:8080/api/utilisateur/presence';
+
+// Le backend passe hors ligne un utilisateur sans battement depuis presence.ttl-ms (60 s) : deux battements par TTL
+export const PERIODE_PRESENCE_MS = 30000;
 
 @Injectable({
   providedIn: 'root'
@@ -10,6 +16,15 @@ isLoggedIn = false;
   // store the URL so we can redirect after logging in
   redirectUrl: string | null = null;
 
+  private presence: Subscription | null = null;
+
+  constructor(private http: HttpClient) {
+    // Rechargement de page : la session est toujours dans sessionStorage, les battements reprennent
+    if (this.getJeton()) {
+      this.demarrerPresence();
+    }
+  }
+
   login(): Observable<boolean> {
     return of(true).pipe(
       delay(1000),
@@ -19,5 +34,42 @@ isLoggedIn = false;
 
   logout(): void {
     this.isLoggedIn = false;
+    this.arreterPresence();
+  }
+
+  /**
+   * Battements PUT /api/utilisateur/presence toutes les PERIODE_PRESENCE_MS, le premier tout de suite.
+   * Un battement en échec n'arrête pas les suivants ; sans jeton en session, rien n'est envoyé.
+   */
+  demarrerPresence(): void {
+    this.arreterPresence();
+    this.presence = timer(0, PERIODE_PRESENCE_MS).pipe(
+      filter(() => this.getJeton() !== null),
+      switchMap(() => this.http.put(PRESENCE_URL, null).pipe(catchError(() => EMPTY)))
+    ).subscribe();
+  }
+
+  arreterPresence(): void {
+    this.presence?.unsubscribe();
+    this.presence = null;
+  }
+
+  /**
+   * Jeton de session renvoyé par PATCH /api/utilisateur/login, conservé avec l'utilisateur dans sessionStorage.
+   * Le backend n'identifie plus l'utilisateur autrement : il faut l'envoyer dans Authorization: Bearer.
+   */
+  getJeton(): string | null {
+    if (typeof sessionStorage === 'undefined') {
+      return null;
+    }
+    const loggedUser = sessionStorage.getItem('loggedUser');
+    if (!loggedUser) {
+      return null;
+    }
+    try {
+      return JSON.parse(loggedUser).jeton ?? null;
+    } catch {
+      return null;
+    }
   }
 }
@@ -0,0 +1,70 @@
+import { TestBed } from '@angular/core/testing';
+import { HttpClient, provideHttpClient, withInterceptors } from '@angular/common/http';
+import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
+import { jetonInterceptor } from './jeton.interceptor';
+import { AuthService } from './auth.service';
+
+describe('jetonInterceptor', () => {
+  let http: HttpClient;
+  let httpMock: HttpTestingController;
+  let authService: jasmine.SpyObj<AuthService>;
+
+  beforeEach(() => {
+    authService = jasmine.createSpyObj('AuthService', ['getJeton']);
+
+    TestBed.configureTestingModule({
+      providers: [
+        { provide: AuthService, useValue: authService },
+        provideHttpClient(withInterceptors([jetonInterceptor])),
+        provideHttpClientTesting()
+      ]
+    });
+
+    http = TestBed.inject(HttpClient);
+    httpMock = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    httpMock.verify();
+  });
+
+  it('devrait ajouter Authorization: Bearer aux appels du backend', () => {
+    authService.getJeton.and.returnValue('jeton-abc');
+
+    http.post('http://localhost:8080/api/projet/create', {}).subscribe();
+
+    const req = httpMock.expectOne('http://localhost:8080/api/projet/create');
+    expect(req.request.headers.get('Authorization')).toBe('Bearer jeton-abc');
+    req.flush({});
+  });
+
+  it('ne devrait rien ajouter sans jeton (login, inscription)', () => {
+    authService.getJeton.and.returnValue(null);
+
+    http.patch('http://localhost:8080/api/utilisateur/login', {}).subscribe();
+
+    const req = httpMock.expectOne('http://localhost:8080/api/utilisateur/login');
+    expect(req.request.headers.has('Authorization')).toBe(false);
+    req.flush({});
+  });
+
+  it('ne devrait pas envoyer le jeton à un autre serveur', () => {
+    authService.getJeton.and.returnValue('jeton-abc');
+
+    http.get('https://example.com/api/data').subscribe();
+
+    const req = httpMock.expectOne('https://example.com/api/data');
+    expect(req.request.headers.has('Authorization')).toBe(false);
+    req.flush({});
+  });
+
+  it('devrait conserver un en-tête Authorization déjà posé', () => {
+    authService.getJeton.and.returnValue('jeton-courant');
+
+    http.patch('http://localhost:8080/api/utilisateur/logout', {}, { headers: { Authorization: 'Bearer jeton-ancien' } }).subscribe();
+
+    const req = httpMock.expectOne('http://localhost:8080/api/utilisateur/logout');
+    expect(req.request.headers.get('Authorization')).toBe('Bearer jeton-ancien');
+    req.flush({});
+  });
+});
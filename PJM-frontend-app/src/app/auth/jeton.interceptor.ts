@@ -0,0 +1,14 @@
+import { HttpInterceptorFn } from '@angular/common/http';
+import { inject } from '@angular/core';
+import { AuthService } from './auth.service';
+
+const API_URL = 'http://localhost:8080/api/';
+
+// Ajoute le jeton de session à chaque appel du backend ; un en-tête Authorization déjà posé est conservé
+export const jetonInterceptor: HttpInterceptorFn = (req, next) => {
+  const jeton = inject(AuthService).getJeton();
+  if (!jeton || !req.url.startsWith(API_URL) || req.headers.has('Authorization')) {
+    return next(req);
+  }
+  return next(req.clone({ setHeaders: { Authorization: `Bearer ${jeton}` } }));
+};
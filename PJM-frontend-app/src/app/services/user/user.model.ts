@@ -10,4 +10,6 @@ export class UserModel {
     projets_utilisateur: any[] | null = null;
     projets: any[] | null = null;
     roles_projet: any[] | null = null;
+    // Jeton de session renvoyé par le login, envoyé ensuite dans Authorization: Bearer
+    jeton?: string | null = null;
 }
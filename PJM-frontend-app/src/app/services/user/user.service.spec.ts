@@ -12,7 +12,7 @@ describe('UserService - Tests de couverture complète', () => {
   let sessionStorageSpy: jasmine.Spy;
 
   beforeEach(() => {
-    const authServiceSpy = jasmine.createSpyObj('AuthService', ['logout'], {
+    const authServiceSpy = jasmine.createSpyObj('AuthService', ['logout', 'getJeton', 'demarrerPresence'], {
       isLoggedIn: false
     });
 
@@ -93,6 +93,17 @@ describe('UserService - Tests de couverture complète', () => {
       expect(sessionStorageSpy).toHaveBeenCalledWith('loggedUser', JSON.stringify(mockUser));
     });
 
+    it('devrait démarrer les battements de présence une fois l\'utilisateur stocké', () => {
+      const mockUser: any = { id: 1, email: 'test@test.com', jeton: 'jeton-abc' };
+      authService.demarrerPresence.and.callFake(() => {
+        expect(sessionStorageSpy).toHaveBeenCalledWith('loggedUser', JSON.stringify(mockUser));
+      });
+
+      service.setUserLogged(mockUser);
+
+      expect(authService.demarrerPresence).toHaveBeenCalledTimes(1);
+    });
+
     it('should clear and set user in sessionStorage when user already exists', () => {
       const existingUser = { id: 1, email: 'old@test.com' };
       const newUser: any = { id: 2, email: 'new@test.com', nom: 'New User' };
@@ -106,6 +117,7 @@ describe('UserService - Tests de couverture complète', () => {
       expect(newUser.isLoggedIn).toBe(true);
       expect(sessionStorage.clear).toHaveBeenCalled();
       expect(sessionStorageSpy).toHaveBeenCalledWith('loggedUser', JSON.stringify(newUser));
+      expect(authService.demarrerPresence).toHaveBeenCalledTimes(1);
     });
 
     it('should log user information to console', () => {
@@ -291,6 +303,17 @@ describe('UserService - Tests de couverture complète', () => {
       expect(req.request.body).toEqual({ email });
       req.flush({});
     });
+
+    it('should send the session token read before the session is cleared', (done) => {
+      authService.getJeton.and.returnValue('jeton-abc');
+
+      service.logout('test@test.com').subscribe(() => done());
+
+      const req = httpMock.expectOne('http://localhost:8080/api/utilisateur/logout');
+      expect(req.request.headers.get('Authorization')).toBe('Bearer jeton-abc');
+      expect(sessionStorage.removeItem).toHaveBeenCalledWith('loggedUser');
+      req.flush({});
+    });
   });
 
   // ========== TESTS DE addUserToProject() ==========
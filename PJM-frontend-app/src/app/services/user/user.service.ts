@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { UserModel } from './user.model';
 import { RoleModel } from '../role/role.model';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { AuthService } from '../../auth/auth.service';
 
@@ -31,13 +31,16 @@ export class UserService {
     if(!userStored) {
       this.authService.isLoggedIn = true;
       user.isLoggedIn = true;
-      return sessionStorage.setItem('loggedUser', JSON.stringify(user))
+      sessionStorage.setItem('loggedUser', JSON.stringify(user))
+      // Jeton stocké : les battements de présence peuvent partir
+      return this.authService.demarrerPresence();
     }
 
       this.authService.isLoggedIn = true;
       user.isLoggedIn = true;
       sessionStorage.clear();
-      return sessionStorage.setItem('loggedUser', JSON.stringify(user));
+      sessionStorage.setItem('loggedUser', JSON.stringify(user));
+      return this.authService.demarrerPresence();
   }
 
   // getUserById via une fetch et vérifier que la route existe dans le backend
@@ -70,11 +73,14 @@ export class UserService {
 
   /**
    * Déconnexion: PATCH /api/utilisateur/logout
+   * Le backend révoque le jeton présenté : il est lu avant de vider la session, puis envoyé explicitement.
    */
   logout(email: string): Observable<any> {
+    const jeton = this.authService.getJeton();
     this.authService.logout();
     sessionStorage.removeItem('loggedUser');
-    return this.http.patch<any>('http://localhost:8080/api/utilisateur/logout', { email });
+    const headers = jeton ? new HttpHeaders({ Authorization: `Bearer ${jeton}` }) : undefined;
+    return this.http.patch<any>('http://localhost:8080/api/utilisateur/logout', { email }, { headers });
   }
 
   addUserToProject(user: any, id: number): Observable<any> {
@@ -0,0 +1,245 @@
+package com.visiplus.backend.benchmarks;
+
+import com.visiplus.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test de charge HTTP : N utilisateurs du tableau de bord en boucle fermée contre le backend réel (Tomcat),
+ * une fois sur le pool de threads classique et une fois sur threads virtuels, avec le même pool JDBC.
+ * Chaque itération charge la page de tâches d'un projet puis ses membres, comme l'écran du tableau.
+ *
+ * Paramètres (--cle=valeur) : modes=platform,virtual  utilisateurs=1000  duree=30  echauffement=10 (secondes)
+ * latence-sql=2 (ms par ordre SQL)  pool=10 (connexions)  reflexion=0 (ms entre deux itérations)
+ * Résultats affichés et ajoutés à target/charge-tableau.csv.
+ */
+public class ChargeTableau {
+
+    private static final int NB_PROJETS = 20;
+
+    private static final int NB_MEMBRES = 10;
+
+    private static final int NB_TACHES_PAR_PROJET = 50;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametres = lireParametres(args);
+        int utilisateurs = Integer.parseInt(parametres.getOrDefault("utilisateurs", "1000"));
+        int duree = Integer.parseInt(parametres.getOrDefault("duree", "30"));
+        int echauffement = Integer.parseInt(parametres.getOrDefault("echauffement", "10"));
+        long latenceSql = Long.parseLong(parametres.getOrDefault("latence-sql", "2"));
+        int pool = Integer.parseInt(parametres.getOrDefault("pool", "10"));
+        long reflexion = Long.parseLong(parametres.getOrDefault("reflexion", "0"));
+
+        List<Resultat> resultats = new ArrayList<>();
+        for (String mode : parametres.getOrDefault("modes", "platform,virtual").split(",")) {
+            resultats.add(executer(mode, "virtual".equals(mode), utilisateurs, duree, echauffement, latenceSql, pool, reflexion));
+        }
+
+        System.out.printf("%n%-9s %13s %10s %14s %9s %9s %9s %8s%n",
+                "mode", "utilisateurs", "requêtes", "débit (req/s)", "p50 (ms)", "p99 (ms)", "max (ms)", "erreurs");
+        for (Resultat resultat : resultats) {
+            System.out.println(resultat.ligne());
+        }
+        enregistrer(resultats, latenceSql, pool);
+    }
+
+    private static Resultat executer(String mode, boolean virtuel, int utilisateurs, int duree, int echauffement,
+                                     long latenceSql, int pool, long reflexion) throws InterruptedException {
+        ConfigurableApplicationContext contexte = new SpringApplicationBuilder(BackendApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new LatenceJdbcSimulee(latenceSql)))
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtuel,
+                        "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                        "--spring.datasource.hikari.minimum-idle=" + pool,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--spring.datasource.url=jdbc:h2:mem:charge" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.profiles.active=bench",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN"
+                );
+
+        try {
+            JeuDeDonnees donnees = JeuDeDonnees.creer(contexte, NB_PROJETS, NB_MEMBRES, NB_TACHES_PAR_PROJET);
+            String base = "http://localhost:" + contexte.getEnvironment().getProperty("local.server.port");
+            System.out.printf("%s : %d utilisateurs, %ds d'échauffement puis %ds de mesure%n",
+                    mode, utilisateurs, echauffement, duree);
+            return charger(mode, base, donnees, utilisateurs, duree, echauffement, reflexion);
+        } finally {
+            contexte.close();
+        }
+    }
+
+    private static Resultat charger(String mode, String base, JeuDeDonnees donnees, int utilisateurs, int duree,
+                                    int echauffement, long reflexion) throws InterruptedException {
+        // Le même client pour les deux modes : seul le serveur change
+        ExecutorService clients = Executors.newFixedThreadPool(utilisateurs);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long debutMesure = System.nanoTime() + TimeUnit.SECONDS.toNanos(echauffement);
+        long fin = debutMesure + TimeUnit.SECONDS.toNanos(duree);
+        AtomicLong erreurs = new AtomicLong();
+        // Une case par utilisateur, publiée par le countDown : aucune synchronisation pendant la mesure
+        long[][] latences = new long[utilisateurs][];
+        CountDownLatch termines = new CountDownLatch(utilisateurs);
+
+        for (int u = 0; u < utilisateurs; u++) {
+            int projetId = donnees.projets.get(u % donnees.projets.size()).getId();
+            List<HttpRequest> ecran = List.of(
+                    HttpRequest.newBuilder(URI.create(base + "/api/tache/project/" + projetId + "/page?size=50")).build(),
+                    HttpRequest.newBuilder(URI.create(base + "/api/projet/users-roled/" + projetId)).build());
+            Mesures mesures = new Mesures();
+            int index = u;
+
+            clients.execute(() -> {
+                try {
+                    while (System.nanoTime() < fin) {
+                        for (HttpRequest requete : ecran) {
+                            long debut = System.nanoTime();
+                            boolean ok = envoyer(http, requete);
+                            long fini = System.nanoTime();
+                            if (debut >= debutMesure && fini <= fin) {
+                                mesures.ajouter(fini - debut);
+                                if (!ok) {
+                                    erreurs.incrementAndGet();
+                                }
+                            }
+                        }
+                        if (reflexion > 0) {
+                            Thread.sleep(reflexion);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latences[index] = mesures.valeurs();
+                    termines.countDown();
+                }
+            });
+        }
+
+        termines.await();
+        clients.shutdown();
+
+        long[] toutes = Arrays.stream(latences).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultat(mode, utilisateurs, toutes, erreurs.get(), duree);
+    }
+
+    private static boolean envoyer(HttpClient http, HttpRequest requete) throws InterruptedException {
+        try {
+            HttpResponse<Void> reponse = http.send(requete, HttpResponse.BodyHandlers.discarding());
+            return reponse.statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void enregistrer(List<Resultat> resultats, long latenceSql, int pool) throws IOException {
+        Path fichier = Path.of("target", "charge-tableau.csv");
+        Files.createDirectories(fichier.getParent());
+        if (!Files.exists(fichier)) {
+            Files.writeString(fichier, "date,java,mode,utilisateurs,latence_sql_ms,pool,requetes,debit,p50_ms,p99_ms,max_ms,erreurs\n");
+        }
+        StringBuilder lignes = new StringBuilder();
+        for (Resultat resultat : resultats) {
+            lignes.append(Instant.now()).append(',')
+                    .append(Runtime.version().feature()).append(',')
+                    .append(resultat.csv(latenceSql, pool)).append('\n');
+        }
+        Files.writeString(fichier, lignes, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        System.out.println("Résultats ajoutés à " + fichier.toAbsolutePath());
+    }
+
+    private static Map<String, String> lireParametres(String[] args) {
+        Map<String, String> parametres = new HashMap<>();
+        for (String arg : args) {
+            String[] cleValeur = arg.replaceFirst("^--", "").split("=", 2);
+            if (cleValeur.length != 2) {
+                throw new IllegalArgumentException("Paramètre attendu sous la forme --cle=valeur : " + arg);
+            }
+            parametres.put(cleValeur[0], cleValeur[1]);
+        }
+        return parametres;
+    }
+
+    /**
+     * Latences d'un utilisateur, en nanosecondes : tableau extensible, sans boxing ni synchronisation.
+     */
+    private static final class Mesures {
+
+        private long[] valeurs = new long[1024];
+
+        private int taille;
+
+        void ajouter(long valeur) {
+            if (taille == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, taille * 2);
+            }
+            valeurs[taille++] = valeur;
+        }
+
+        long[] valeurs() {
+            return Arrays.copyOf(valeurs, taille);
+        }
+    }
+
+    private record Resultat(String mode, int utilisateurs, long[] latences, long erreurs, int duree) {
+
+        double debit() {
+            return (double) latences.length / duree;
+        }
+
+        double percentile(double p) {
+            if (latences.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latences.length) - 1;
+            return latences[Math.max(0, Math.min(index, latences.length - 1))] / 1_000_000.0;
+        }
+
+        String ligne() {
+            return String.format("%-9s %13d %10d %14.1f %9.2f %9.2f %9.2f %8d",
+                    mode, utilisateurs, latences.length, debit(), percentile(0.50), percentile(0.99),
+                    percentile(1.0), erreurs);
+        }
+
+        String csv(long latenceSql, int pool) {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%d",
+                    mode, utilisateurs, latenceSql, pool, latences.length, debit(), percentile(0.50),
+                    percentile(0.99), percentile(1.0), erreurs);
+        }
+    }
+}
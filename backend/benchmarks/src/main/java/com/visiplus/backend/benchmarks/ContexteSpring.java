@@ -0,0 +1,52 @@
+package com.visiplus.backend.benchmarks;
+
+import com.visiplus.backend.BackendApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Contexte Spring complet, sans serveur web, sur une base H2 en mémoire.
+ * Les arguments passent en ligne de commande pour primer sur application.properties (MariaDB).
+ */
+public abstract class ContexteSpring {
+
+    protected ConfigurableApplicationContext contexte;
+
+    @Setup(Level.Trial)
+    public void demarrer() {
+        contexte = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.profiles.active=bench",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN"
+                );
+        preparer();
+    }
+
+    /**
+     * Jeu de données propre au benchmark, créé une fois par fork.
+     */
+    protected abstract void preparer();
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        contexte.close();
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return contexte.getBean(type);
+    }
+}
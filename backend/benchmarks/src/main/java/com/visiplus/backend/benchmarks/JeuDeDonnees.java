@@ -0,0 +1,71 @@
+package com.visiplus.backend.benchmarks;
+
+import com.visiplus.backend.dao.*;
+import com.visiplus.backend.models.*;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Création des projets, membres et tâches utilisés par les benchmarks.
+ * Les rôles et priorités viennent du DataInitializer.
+ */
+class JeuDeDonnees {
+
+    final List<Projet> projets = new ArrayList<>();
+
+    final List<Utilisateur> utilisateurs = new ArrayList<>();
+
+    final List<Tache> taches = new ArrayList<>();
+
+    static JeuDeDonnees creer(ApplicationContext contexte, int nbProjets, int nbMembresParProjet,
+                              int nbTachesParProjet) {
+        UtilisateurRepository utilisateurRepository = contexte.getBean(UtilisateurRepository.class);
+        ProjetRepository projetRepository = contexte.getBean(ProjetRepository.class);
+        UserRoleProjetRepository userRoleProjetRepository = contexte.getBean(UserRoleProjetRepository.class);
+        TacheRepository tacheRepository = contexte.getBean(TacheRepository.class);
+        Role membre = contexte.getBean(RoleRepository.class).findByNom("MEMBRE");
+        Priorite moyenne = contexte.getBean(PrioriteRepository.class).findFirstByNom("MOYENNE");
+
+        JeuDeDonnees donnees = new JeuDeDonnees();
+        for (int i = 0; i < nbMembresParProjet; i++) {
+            Utilisateur utilisateur = new Utilisateur();
+            utilisateur.setNom("bench_" + i);
+            utilisateur.setEmail("bench_" + i + "@bench.local");
+            utilisateur.setPassword("bench");
+            donnees.utilisateurs.add(utilisateurRepository.save(utilisateur));
+        }
+
+        for (int p = 0; p < nbProjets; p++) {
+            Projet projet = new Projet();
+            projet.setNom("Projet bench " + p);
+            projet.setDescription("Projet généré pour les benchmarks");
+            projet.setCreateur(donnees.utilisateurs.get(0));
+            projet = projetRepository.save(projet);
+            donnees.projets.add(projet);
+
+            for (Utilisateur utilisateur : donnees.utilisateurs) {
+                UserRoleProjet urp = new UserRoleProjet();
+                urp.setUtilisateur(utilisateur);
+                urp.setProjet(projet);
+                urp.setRole(membre);
+                userRoleProjetRepository.save(urp);
+            }
+
+            for (int t = 0; t < nbTachesParProjet; t++) {
+                Tache tache = new Tache();
+                tache.setNom("Tache " + p + "-" + t);
+                tache.setEtat("TODO");
+                tache.setProjet(projet);
+                tache.setCommanditaire(donnees.utilisateurs.get(0));
+                tache.setDestinataire(donnees.utilisateurs.get(t % donnees.utilisateurs.size()));
+                tache.setPriorite(moyenne);
+                tache.setDate_debut(new Date());
+                donnees.taches.add(tacheRepository.save(tache));
+            }
+        }
+        return donnees;
+    }
+}
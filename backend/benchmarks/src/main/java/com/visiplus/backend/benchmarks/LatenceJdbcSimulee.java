@@ -0,0 +1,68 @@
+package com.visiplus.backend.benchmarks;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Ajoute une latence fixe à chaque exécution JDBC, connexion tenue, pour reproduire l'aller-retour réseau
+ * vers MariaDB qu'une base H2 en mémoire n'a pas. Sans elle, un test de charge sur H2 ne mesure que le CPU.
+ */
+class LatenceJdbcSimulee implements BeanPostProcessor {
+
+    private final long latenceMs;
+
+    LatenceJdbcSimulee(long latenceMs) {
+        this.latenceMs = latenceMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (latenceMs <= 0 || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T cible) {
+        InvocationHandler handler = (instance, methode, args) -> {
+            if (cible instanceof Statement && methode.getName().startsWith("execute")) {
+                Thread.sleep(latenceMs);
+            }
+            Object resultat = invoquer(cible, methode, args);
+            if (resultat instanceof Statement statement && methode.getReturnType().isInterface()) {
+                return proxy((Class<Statement>) methode.getReturnType(), statement);
+            }
+            return resultat;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoquer(Object cible, Method methode, Object[] args) throws Throwable {
+        try {
+            return methode.invoke(cible, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.visiplus.backend.benchmarks;
+
+import com.visiplus.backend.dto.UserRoleProjetDTO;
+import com.visiplus.backend.models.UserRoleProjet;
+import com.visiplus.backend.services.UserRoleProjetService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtrage des UserRoleProjet d'un projet : requête indexée projetée en DTO,
+ * comparée au filtrage en mémoire de tous les UserRoleProjet (ancien chemin de /users-roled).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MembresProjetBenchmark extends ContexteSpring {
+
+    private UserRoleProjetService userRoleProjetService;
+
+    private int projetId;
+
+    @Override
+    protected void preparer() {
+        userRoleProjetService = bean(UserRoleProjetService.class);
+        JeuDeDonnees donnees = JeuDeDonnees.creer(contexte, 50, 20, 0);
+        projetId = donnees.projets.get(donnees.projets.size() / 2).getId();
+    }
+
+    @Benchmark
+    public List<UserRoleProjetDTO> requeteParProjet() {
+        return userRoleProjetService.findByProjetId(projetId);
+    }
+
+    @Benchmark
+    public List<UserRoleProjet> filtreEnMemoire() {
+        return userRoleProjetService.findALl().stream()
+                .filter(urp -> urp.getProjet() != null && urp.getProjet().getId() == projetId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.visiplus.backend.benchmarks;
+
+import com.visiplus.backend.controllers.ProjetController;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
+import com.visiplus.backend.services.ProjetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProjetController.getAllProjects : liste des projets projetée en ProjetResponseDTO,
+ * et page des projets d'un membre.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjetListeBenchmark extends ContexteSpring {
+
+    private ProjetController projetController;
+
+    private ProjetService projetService;
+
+    private int membreId;
+
+    @Override
+    protected void preparer() {
+        projetController = bean(ProjetController.class);
+        projetService = bean(ProjetService.class);
+        JeuDeDonnees donnees = JeuDeDonnees.creer(contexte, 500, 5, 0);
+        membreId = donnees.utilisateurs.get(1).getId();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getAllProjects() {
+        return projetController.getAllProjects();
+    }
+
+    @Benchmark
+    public KeysetPageDTO<ProjetResponseDTO> pageProjetsMembre() {
+        return projetService.findPageResumes(membreId, null, 50);
+    }
+}
@@ -0,0 +1,95 @@
+package com.visiplus.backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.dto.ProjetDetailDTO;
+import com.visiplus.backend.dto.TacheResponseDTO;
+import com.visiplus.backend.models.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson des entités Tache et Projet (@JsonIdentityInfo), sans base de données.
+ * Le graphe est construit en mémoire : projet, créateur, membres et tâches qui pointent vers le projet.
+ * Les variantes *Dto mesurent ce que servent les contrôleurs : conversion en DTO de lecture puis sérialisation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerialisationBenchmark {
+
+    @Param({"10", "200"})
+    private int nbTaches;
+
+    private ObjectMapper objectMapper;
+
+    private Projet projet;
+
+    private List<Tache> taches;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Priorite priorite = new Priorite();
+        priorite.setId(1);
+        priorite.setNom("HAUTE");
+
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Utilisateur utilisateur = new Utilisateur();
+            utilisateur.setId(i + 1);
+            utilisateur.setNom("utilisateur_" + i);
+            utilisateur.setEmail("utilisateur_" + i + "@bench.local");
+            utilisateurs.add(utilisateur);
+        }
+
+        projet = new Projet();
+        projet.setId(1);
+        projet.setNom("Projet bench");
+        projet.setDate_creation(new Date());
+        projet.setCreateur(utilisateurs.get(0));
+
+        taches = new ArrayList<>();
+        for (int t = 0; t < nbTaches; t++) {
+            Tache tache = new Tache();
+            tache.setId(t + 1);
+            tache.setNom("Tache " + t);
+            tache.setEtat("TODO");
+            tache.setDescription("Description de la tache " + t);
+            tache.setDate_debut(new Date());
+            tache.setProjet(projet);
+            tache.setPriorite(priorite);
+            tache.setCommanditaire(utilisateurs.get(0));
+            tache.setDestinataire(utilisateurs.get(t % utilisateurs.size()));
+            taches.add(tache);
+        }
+        projet.setTaches(new HashSet<>(taches));
+    }
+
+    @Benchmark
+    public byte[] serialiserProjet() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projet);
+    }
+
+    @Benchmark
+    public byte[] serialiserTaches() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taches);
+    }
+
+    @Benchmark
+    public byte[] serialiserProjetDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ProjetDetailDTO(projet));
+    }
+
+    @Benchmark
+    public byte[] serialiserTachesDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taches.stream().map(TacheResponseDTO::new).toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.visiplus.backend.benchmarks;
+
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.services.TacheService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TacheServiceImpl : création, mise à jour et liste des tâches d'un projet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TacheServiceBenchmark extends ContexteSpring {
+
+    private static final int NB_TACHES = 200;
+
+    private TacheService tacheService;
+
+    private Projet projet;
+
+    private Utilisateur commanditaire;
+
+    private Tache tacheExistante;
+
+    private int compteur;
+
+    @Override
+    protected void preparer() {
+        tacheService = bean(TacheService.class);
+        JeuDeDonnees donnees = JeuDeDonnees.creer(contexte, 1, 10, NB_TACHES);
+        projet = donnees.projets.get(0);
+        commanditaire = donnees.utilisateurs.get(0);
+        tacheExistante = donnees.taches.get(0);
+    }
+
+    @Benchmark
+    public Tache create() {
+        Tache tache = new Tache();
+        tache.setNom("Nouvelle tache " + compteur++);
+        tache.setEtat("TODO");
+        tache.setProjet(projet);
+        tache.setCommanditaire(commanditaire);
+        tache.setDestinataire(commanditaire);
+        tache.setDate_debut(new Date());
+        return tacheService.create(tache);
+    }
+
+    @Benchmark
+    public Tache save() {
+        tacheExistante.setDescription("Description " + compteur++);
+        return tacheService.save(tacheExistante);
+    }
+
+    @Benchmark
+    public List<Tache> findByProjetId() {
+        return tacheService.findByProjetId(projet.getId());
+    }
+}
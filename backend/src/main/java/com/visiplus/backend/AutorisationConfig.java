@@ -0,0 +1,74 @@
+package com.visiplus.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.JetonSession;
+import com.visiplus.backend.autorisation.JetonSessionFilter;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+@Configuration
+public class AutorisationConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutorisationConfig.class);
+
+    @Value("${autorisation.entete-utilisateur.acceptee:false}")
+    private boolean enteteUtilisateurAcceptee;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new UtilisateurCourantInterceptor(enteteUtilisateurAcceptee)).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    @Primary
+    public JetonSession jetonSession(@Value("${session.jeton.secret:}") String secret,
+                                     @Value("${session.jeton.duree-minutes:720}") long dureeMinutes) {
+        if (secret.isBlank()) {
+            // Sans secret partagé, les jetons ne survivent pas à un redémarrage et ne valent que sur cette instance
+            logger.warn("session.jeton.secret non renseigné : clé de signature aléatoire");
+        }
+        return new JetonSession(cle(secret, ""), Duration.ofMinutes(dureeMinutes));
+    }
+
+    /**
+     * Jetons des flux SSE, passés dans l'URL faute d'en-tête possible depuis un EventSource. Clé distincte :
+     * un jeton de session n'est jamais accepté dans une URL, et un jeton de flux ne vaut pas session.
+     */
+    @Bean
+    public JetonSession jetonFlux(@Value("${session.jeton.secret:}") String secret,
+                                  @Value("${session.jeton-flux.duree-secondes:60}") long dureeSecondes) {
+        return new JetonSession(cle(secret, ":flux"), Duration.ofSeconds(dureeSecondes));
+    }
+
+    @Bean
+    public FilterRegistrationBean<JetonSessionFilter> jetonSessionFilter(JetonSession jetonSession,
+                                                                         @Qualifier("jetonFlux") JetonSession jetonFlux,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<JetonSessionFilter> enregistrement =
+                new FilterRegistrationBean<>(new JetonSessionFilter(jetonSession, jetonFlux, objectMapper));
+        enregistrement.addUrlPatterns("/api/*");
+        return enregistrement;
+    }
+
+    private static byte[] cle(String secret, String usage) {
+        if (secret.isBlank()) {
+            byte[] cle = new byte[32];
+            new SecureRandom().nextBytes(cle);
+            return cle;
+        }
+        return (secret + usage).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,13 @@
+package com.visiplus.backend;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ROLES = "roles";
+
+    public static final String PRIORITES = "priorites";
+}
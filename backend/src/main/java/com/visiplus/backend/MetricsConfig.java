@@ -0,0 +1,35 @@
+package com.visiplus.backend;
+
+import com.visiplus.backend.metrics.CompteurRequetesSql;
+import com.visiplus.backend.metrics.CompteurRequetesSqlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer compteurRequetesSqlCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CompteurRequetesSql());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        MeterRegistry registre = meterRegistry.getIfAvailable();
+        if (registre != null) {
+            registry.addInterceptor(new CompteurRequetesSqlInterceptor(registre)).addPathPatterns("/api/**");
+        }
+    }
+}
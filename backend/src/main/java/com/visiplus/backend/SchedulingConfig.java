@@ -0,0 +1,12 @@
+package com.visiplus.backend;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Désactivable (planification.active=false) : les tests appellent eux-mêmes les méthodes planifiées
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "planification.active", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,34 @@
+package com.visiplus.backend.autorisation;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Statut repris quand la réponse JSON d'AutorisationExceptionHandler n'est pas acceptée (flux SSE : text/event-stream)
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class AccesRefuseException extends RuntimeException {
+
+    private final Permission permission;
+
+    private final int projetId;
+
+    public AccesRefuseException(Permission permission, int projetId) {
+        super("Permission " + permission + " refusée sur le projet " + projetId);
+        this.permission = permission;
+        this.projetId = projetId;
+    }
+
+    // Règle qui ne se résume pas à une permission de rôle (créateur ou administrateur du projet)
+    public AccesRefuseException(String message, int projetId) {
+        super(message);
+        this.permission = null;
+        this.projetId = projetId;
+    }
+
+    public Permission getPermission() {
+        return permission;
+    }
+
+    public int getProjetId() {
+        return projetId;
+    }
+}
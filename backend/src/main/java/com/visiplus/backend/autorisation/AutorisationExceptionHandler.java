@@ -0,0 +1,23 @@
+package com.visiplus.backend.autorisation;
+
+import com.visiplus.backend.responses.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class AutorisationExceptionHandler {
+
+    @ExceptionHandler(AccesRefuseException.class)
+    public ResponseEntity<ApiResponse<Object>> accesRefuse(AccesRefuseException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ApiResponse<>(false, e.getMessage(), null));
+    }
+
+    @ExceptionHandler(NonIdentifieException.class)
+    public ResponseEntity<ApiResponse<Object>> nonIdentifie(NonIdentifieException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse<>(false, e.getMessage(), null));
+    }
+}
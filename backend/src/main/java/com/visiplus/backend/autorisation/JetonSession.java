@@ -0,0 +1,139 @@
+package com.visiplus.backend.autorisation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Jetons de session signés (HMAC-SHA256), vérifiés sans accès à la base.
+ *
+ * Format : base64url("utilisateurId:expiration:nonce") + "." + base64url(signature). Le jeton porte tout ce qu'il
+ * faut pour identifier l'utilisateur ; seule la déconnexion demande un état, une liste de jetons révoqués en
+ * mémoire dont les entrées disparaissent à l'expiration du jeton.
+ */
+public class JetonSession {
+
+    private static final String ALGORITHME = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODEUR = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODEUR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec cle;
+
+    private final Duration duree;
+
+    private final SecureRandom aleatoire = new SecureRandom();
+
+    // Un Mac n'est pas thread-safe : une instance par thread plutôt qu'un getInstance par requête
+    private final ThreadLocal<Mac> macs;
+
+    // Signature -> révoqué : une signature identifie un jeton
+    private final Cache<String, Boolean> revoques;
+
+    public JetonSession(byte[] secret, Duration duree) {
+        this.cle = new SecretKeySpec(secret, ALGORITHME);
+        this.duree = duree;
+        this.macs = ThreadLocal.withInitial(this::nouveauMac);
+        this.revoques = Caffeine.newBuilder().expireAfterWrite(duree).build();
+    }
+
+    public Jeton emettre(int utilisateurId) {
+        byte[] nonce = new byte[8];
+        aleatoire.nextBytes(nonce);
+        Instant expiration = Instant.now().plus(duree);
+        String charge = ENCODEUR.encodeToString((utilisateurId + ":" + expiration.getEpochSecond() + ":"
+                + ENCODEUR.encodeToString(nonce)).getBytes(StandardCharsets.UTF_8));
+        String signature = ENCODEUR.encodeToString(signer(charge));
+        return new Jeton(charge + "." + signature, utilisateurId, expiration, signature);
+    }
+
+    /**
+     * Jeton décodé, ou null s'il est mal formé, mal signé, expiré ou révoqué.
+     */
+    public Jeton verifier(String valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        int point = valeur.indexOf('.');
+        if (point <= 0 || point != valeur.lastIndexOf('.')) {
+            return null;
+        }
+        String charge = valeur.substring(0, point);
+        String signature = valeur.substring(point + 1);
+        try {
+            // Signature vérifiée en temps constant avant toute lecture de la charge
+            if (!MessageDigest.isEqual(signer(charge), DECODEUR.decode(signature))) {
+                return null;
+            }
+            String[] champs = new String(DECODEUR.decode(charge), StandardCharsets.UTF_8).split(":");
+            if (champs.length != 3) {
+                return null;
+            }
+            Instant expiration = Instant.ofEpochSecond(Long.parseLong(champs[1]));
+            if (!expiration.isAfter(Instant.now()) || revoques.getIfPresent(signature) != null) {
+                return null;
+            }
+            return new Jeton(valeur, Integer.parseInt(champs[0]), expiration, signature);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public void revoquer(Jeton jeton) {
+        revoques.put(jeton.signature, Boolean.TRUE);
+    }
+
+    private byte[] signer(String charge) {
+        return macs.get().doFinal(charge.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac nouveauMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHME);
+            mac.init(cle);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+
+    public static final class Jeton {
+
+        private final String valeur;
+
+        private final int utilisateurId;
+
+        private final Instant expiration;
+
+        private final String signature;
+
+        Jeton(String valeur, int utilisateurId, Instant expiration, String signature) {
+            this.valeur = valeur;
+            this.utilisateurId = utilisateurId;
+            this.expiration = expiration;
+            this.signature = signature;
+        }
+
+        public String getValeur() {
+            return valeur;
+        }
+
+        public int getUtilisateurId() {
+            return utilisateurId;
+        }
+
+        public Instant getExpiration() {
+            return expiration;
+        }
+    }
+}
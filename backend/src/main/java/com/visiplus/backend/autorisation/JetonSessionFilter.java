@@ -0,0 +1,87 @@
+package com.visiplus.backend.autorisation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.responses.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authentifie la requête par son jeton de session (Authorization: Bearer ...) : vérification de signature
+ * en mémoire, sans accès à la base. L'utilisateur est exposé dans l'attribut UtilisateurCourantInterceptor.ATTRIBUT,
+ * le jeton décodé dans ATTRIBUT_JETON. Sans jeton, la requête passe telle quelle ; un jeton invalide donne 401.
+ *
+ * Un EventSource de navigateur ne peut pas poser d'en-tête : une requête GET text/event-stream sans Authorization
+ * peut présenter à la place un jeton de flux (POST /api/utilisateur/jeton-flux) dans le paramètre ?jeton=. Ce jeton
+ * court est signé d'une autre clé et ne sert qu'une fois ; ATTRIBUT_JETON n'est pas renseigné, il ne vaut pas session.
+ */
+public class JetonSessionFilter extends OncePerRequestFilter {
+
+    public static final String ATTRIBUT_JETON = "jetonSession";
+
+    public static final String PARAMETRE_JETON = "jeton";
+
+    private static final String PREFIXE = "Bearer ";
+
+    private final JetonSession jetonSession;
+
+    private final JetonSession jetonFlux;
+
+    private final ObjectMapper objectMapper;
+
+    public JetonSessionFilter(JetonSession jetonSession, JetonSession jetonFlux, ObjectMapper objectMapper) {
+        this.jetonSession = jetonSession;
+        this.jetonFlux = jetonFlux;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String entete = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (entete == null || !entete.regionMatches(true, 0, PREFIXE, 0, PREFIXE.length())) {
+            String parametre = fluxSse(request) ? request.getParameter(PARAMETRE_JETON) : null;
+            if (parametre != null) {
+                JetonSession.Jeton jeton = jetonFlux.verifier(parametre);
+                if (jeton == null) {
+                    refuser(response, "Jeton de flux invalide, expiré ou déjà utilisé");
+                    return;
+                }
+                // Usage unique : une URL relevée dans un log ou l'historique ne rouvre pas le flux
+                jetonFlux.revoquer(jeton);
+                request.setAttribute(UtilisateurCourantInterceptor.ATTRIBUT, jeton.getUtilisateurId());
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        JetonSession.Jeton jeton = jetonSession.verifier(entete.substring(PREFIXE.length()).trim());
+        if (jeton == null) {
+            refuser(response, "Jeton de session invalide ou expiré");
+            return;
+        }
+
+        request.setAttribute(UtilisateurCourantInterceptor.ATTRIBUT, jeton.getUtilisateurId());
+        request.setAttribute(ATTRIBUT_JETON, jeton);
+        chain.doFilter(request, response);
+    }
+
+    private static boolean fluxSse(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return "GET".equals(request.getMethod()) && accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private void refuser(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), new ApiResponse<>(false, message, null));
+    }
+}
@@ -0,0 +1,13 @@
+package com.visiplus.backend.autorisation;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Ni jeton de session ni en-tête accepté : la requête n'a pas d'utilisateur à qui appliquer les permissions
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class NonIdentifieException extends RuntimeException {
+
+    public NonIdentifieException() {
+        super("Utilisateur non identifié");
+    }
+}
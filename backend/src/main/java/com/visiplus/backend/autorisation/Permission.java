@@ -0,0 +1,43 @@
+package com.visiplus.backend.autorisation;
+
+import com.visiplus.backend.models.Role;
+
+import java.util.function.Function;
+
+/**
+ * Les drapeaux de Role, un bit chacun : les permissions d'un membre sur un projet tiennent dans un int.
+ */
+public enum Permission {
+
+    AJOUTER_MEMBRE(Role::getAjouter_membre),
+    CREER_TACHE(Role::getCreer_tache),
+    ASSIGNE_TACHE(Role::getAssigne_tache),
+    MAJ_TACHE(Role::getMaj_tache),
+    VUE_TACHE(Role::getVue_tache),
+    VUE_TABLEAU_DE_BORD(Role::getVue_tableau_de_bord),
+    ETRE_NOTIFIE(Role::getEtre_notifie),
+    VUE_HISTORIQUE_MODIFICATIONS(Role::getVue_historique_modifications);
+
+    private final Function<Role, Boolean> drapeau;
+
+    private final int bit;
+
+    Permission(Function<Role, Boolean> drapeau) {
+        this.drapeau = drapeau;
+        this.bit = 1 << ordinal();
+    }
+
+    public boolean accordee(int masque) {
+        return (masque & bit) != 0;
+    }
+
+    public static int masque(Role role) {
+        int masque = 0;
+        for (Permission permission : values()) {
+            if (Boolean.TRUE.equals(permission.drapeau.apply(role))) {
+                masque |= permission.bit;
+            }
+        }
+        return masque;
+    }
+}
@@ -0,0 +1,62 @@
+package com.visiplus.backend.autorisation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Identifie l'utilisateur à l'origine de la requête et l'expose aux contrôleurs dans l'attribut de requête ATTRIBUT.
+ * Un jeton de session (JetonSessionFilter) est prioritaire ; à défaut, et si elle est acceptée (profil test
+ * uniquement), l'en-tête X-Utilisateur-Id. Sans l'un ni l'autre, l'attribut reste absent et toute vérification
+ * de permission répond 401.
+ */
+public class UtilisateurCourantInterceptor implements HandlerInterceptor {
+
+    public static final String ENTETE = "X-Utilisateur-Id";
+
+    public static final String ATTRIBUT = "utilisateurId";
+
+    private final boolean enteteAcceptee;
+
+    public UtilisateurCourantInterceptor() {
+        this(false);
+    }
+
+    public UtilisateurCourantInterceptor(boolean enteteAcceptee) {
+        this.enteteAcceptee = enteteAcceptee;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ATTRIBUT) != null || !enteteAcceptee) {
+            return true;
+        }
+        String entete = request.getHeader(ENTETE);
+        if (entete == null || entete.isEmpty()) {
+            return true;
+        }
+        try {
+            request.setAttribute(ATTRIBUT, Integer.valueOf(entete.trim()));
+            return true;
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return false;
+        }
+    }
+
+    /**
+     * Utilisateur de la requête en cours, pour le code exécuté hors contrôleur sur le thread de la requête
+     * (écouteurs d'événements après commit). Null hors requête ou sans utilisateur identifié.
+     */
+    public static Integer utilisateurCourant() {
+        RequestAttributes attributs = RequestContextHolder.getRequestAttributes();
+        if (attributs == null) {
+            return null;
+        }
+        Object utilisateurId = attributs.getAttribute(ATTRIBUT, RequestAttributes.SCOPE_REQUEST);
+        return utilisateurId instanceof Integer id ? id : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.visiplus.backend.controllers;
+
+import com.visiplus.backend.responses.ApiResponse;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Les noms uniques sont garantis par la base (contraintes uk_*) et non par un SELECT avant l'INSERT :
+ * une création ou un renommage en doublon, même concurrent, remonte ici et devient un 409.
+ * Les autres violations (clé étrangère, NOT NULL...) ne sont pas des conflits : elles sont relancées et restent des 500.
+ * De même pour une écriture refusée par le verrou optimiste (@Version) hors de PATCH /api/tache/update,
+ * qui renvoie lui-même l'état courant de la tâche.
+ */
+@RestControllerAdvice
+public class ConflitExceptionHandler {
+
+    // Le nom de la contrainte figure dans le message du pilote (MariaDB : "for key 'uk_tache_nom'", H2 : "UK_TACHE_NOM")
+    static final Map<String, String> MESSAGES = Map.of(
+            "uk_projet_nom", "Le projet existe déjà",
+            "uk_tache_nom", "La tâche existe déjà",
+            "uk_utilisateur_nom", "L'utilisateur existe déjà",
+            "uk_priorite_nom", "La priorité existe déjà"
+    );
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Object>> conflit(DataIntegrityViolationException e) {
+        String message = message(e);
+        if (message == null) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(false, message, null));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> versionDepassee(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(false, "Donnée modifiée entre-temps par une autre requête, à recharger", null));
+    }
+
+    // null si la violation ne porte sur aucune contrainte uk_* connue
+    static String message(DataIntegrityViolationException e) {
+        String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        if (cause != null) {
+            String minuscule = cause.toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, String> contrainte : MESSAGES.entrySet()) {
+                if (minuscule.contains(contrainte.getKey())) {
+                    return contrainte.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,25 +1,40 @@
 package com.visiplus.backend.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
 import com.visiplus.backend.dto.*;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.UserRoleProjet;
 import com.visiplus.backend.models.Utilisateur;
 import com.visiplus.backend.models.Role;
 import com.visiplus.backend.responses.ApiResponse;
+import com.visiplus.backend.responses.ReponseFlux;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.HistoriqueService;
+import com.visiplus.backend.services.KanbanService;
+import com.visiplus.backend.services.PresenceService;
+import com.visiplus.backend.services.ProjetEvenementService;
 import com.visiplus.backend.services.ProjetService;
 import com.visiplus.backend.services.RoleService;
+import com.visiplus.backend.services.SuppressionProjetService;
+import com.visiplus.backend.services.TableauDeBordService;
 import com.visiplus.backend.services.UserRoleProjetService;
 import com.visiplus.backend.services.UtilisateurService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RequestMapping("/api/projet")
 @RestController
@@ -42,10 +57,34 @@ public class ProjetController {
     @Autowired
     com.visiplus.backend.services.TacheService tacheService;
 
+    @Autowired
+    ProjetEvenementService projetEvenementService;
+
+    @Autowired
+    TableauDeBordService tableauDeBordService;
+
+    @Autowired
+    AutorisationService autorisationService;
+
+    @Autowired
+    PresenceService presenceService;
+
+    @Autowired
+    HistoriqueService historiqueService;
+
+    @Autowired
+    KanbanService kanbanService;
+
+    @Autowired
+    SuppressionProjetService suppressionProjetService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
 
     @GetMapping("/nom/{nom}")
     public ResponseEntity<?> getProjectByNom(@PathVariable String nom ){
-        Projet projet = projetService.findByNom(nom);
+        Projet projet = projetService.findWithTachesByNom(nom);
 
         if(projet == null){
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse<>(false, "Projet n'existe pas", null));
@@ -53,12 +92,12 @@ public class ProjetController {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ApiResponse<>(true, "Projet a été trouvé", projet));
+                .body(new ApiResponse<>(true, "Projet a été trouvé", new ProjetDetailDTO(projet)));
     }
 
     @GetMapping("/id/{id}")
     public ResponseEntity<?> getProjectById(@PathVariable int id ){
-        Projet projet = projetService.findById(id);
+        Projet projet = projetService.findWithTachesById(id);
 
         if(projet == null){
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse<>(false, "Projet n'existe pas", null));
@@ -66,39 +105,32 @@ public class ProjetController {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ApiResponse<>(true, "Projet a été trouvé", projet));
+                .body(new ApiResponse<>(true, "Projet a été trouvé", new ProjetDetailDTO(projet)));
     }
 
     @GetMapping("/users-roled/{id}")
     public ResponseEntity<?> getUsersRoledByProject(@PathVariable int id) {
-        List<UserRoleProjet> projets = userRoleProjetService.findALl();
+        List<UserRoleProjetDTO> membres = userRoleProjetService.findByProjetId(id);
 
-        if(projets.isEmpty()) {
+        if(membres.isEmpty()) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>(false, "Aucun Projet trouvé", null));
         }
 
-        List<UserRoleProjet> filteredProjets = projets.stream()
-                .filter(p -> p.getProjet().getId() == id)
-                .collect(Collectors.toList());
-
-
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ApiResponse<>(true, "User Roled Projet Trouvé", filteredProjets));
+                .body(new ApiResponse<>(true, "User Roled Projet Trouvé", membres));
     }
 
     @PostMapping("/create")
-    public ResponseEntity<?> createProject(@RequestBody ProjetRequest projetRequest ){
+    public ResponseEntity<?> createProject(@RequestBody ProjetRequest projetRequest,
+                                           @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId){
         // Récupération de l'utilisateur par son nom (createur)
         Utilisateur userProject = utilisateurService.findByNom(projetRequest.getCreateur());
         
-        // Vérification si le projet existe déjà
-        Projet projetExistant = projetService.findByNom(projetRequest.getNom());
-        
         // Récupération du rôle (par défaut ADMINISTRATEUR)
-        Role adminRole = roleService.findByNom("ADMINISTRATEUR");
+        Role adminRole = roleService.findByNom(Role.ADMINISTRATEUR);
 
         // Validation : utilisateur existe
         if(userProject == null){
@@ -107,20 +139,13 @@ public class ProjetController {
                     .body(new ApiResponse<>(false, "Utilisateur n'est pas connu ou le nom n'est pas le bon", null));
         }
 
-        // Validation : utilisateur connecté
-        if(userProject.getEtat_connexion() == false){
+        // Validation : le créateur est l'utilisateur authentifié par la requête (jeton de session)
+        if(utilisateurId == null || utilisateurId != userProject.getId()){
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>(false, "Utilisateur n'est pas identifié", null));
         }
 
-        // Validation : projet n'existe pas déjà
-        if(projetExistant != null){
-            return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(new ApiResponse<>(false, "Le projet existe déjà", projetExistant));
-        }
-
         // Création du nouveau projet
         Projet nouveauProjet = new Projet();
         nouveauProjet.setNom(projetRequest.getNom());
@@ -128,7 +153,7 @@ public class ProjetController {
         nouveauProjet.setDate_echeance(projetRequest.getDate_echeance());
         nouveauProjet.setCreateur(userProject);
         
-        // Sauvegarde du projet et récupération de l'ID
+        // Sauvegarde du projet et récupération de l'ID ; un nom déjà pris est refusé par uk_projet_nom (409)
         int projetId = projetService.create(nouveauProjet);
         
         // Récupération du projet créé
@@ -138,7 +163,7 @@ public class ProjetController {
         UserRoleProjet userRoleProjet = new UserRoleProjet();
         userRoleProjet.setUtilisateur(userProject);
         userRoleProjet.setProjet(projetCree);
-        userRoleProjet.setRole(adminRole);
+        userRoleProjet.setRole(roleService.getReference(adminRole.getId()));
         userRoleProjetService.save(userRoleProjet);
 
         // Préparation de la réponse
@@ -151,9 +176,10 @@ public class ProjetController {
         return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse(true, "Un projet a été créé", response));
     };
 
+    // 202 immédiat : tâches, membres et projet sont supprimés par lots en arrière-plan, suivis sur /suppression/{id}
     @DeleteMapping("/delete/{id}")
-    @Transactional
-    public ResponseEntity<?> deleteProject(@PathVariable int id){
+    public ResponseEntity<?> deleteProject(@PathVariable int id,
+                                           @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId){
         Projet projet = projetService.findById(id);
 
         if(projet == null){
@@ -161,38 +187,136 @@ public class ProjetController {
                     .body(new ApiResponse<>(false, "Projet n'existe pas", null));
         }
 
-        try {
-            // // Supprimer les relations projet_tache
-            // projetService.deleteProjetTacheRelations(id);
-
-            // // Supprimer toutes les tâches associées
-            // tacheService.findByProjetId(id).forEach(tache -> tacheService.deleteByID(tache.getId()));
-
-            // Supprimer le projet (cascade supprime automatiquement les UserRoleProjet)
-            projetService.delete(projet);
-            
-            return ResponseEntity.status(HttpStatus.OK)
-                    .body(new ApiResponse<>(true, "Projet, ses tâches et ses relations ont été supprimés", null));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse<>(false, "Erreur lors de la suppression: " + e.getMessage(), null));
+        // Irréversible : réservé au créateur et aux administrateurs du projet
+        autorisationService.verifierAdministrateur(utilisateurId, projet);
+
+        SuppressionProjetDTO suppression = suppressionProjetService.demarrer(id, utilisateurId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/projet/suppression/" + suppression.getId()))
+                .body(new ApiResponse<>(true, "Suppression du projet lancée", suppression));
+    }
+
+    @GetMapping("/suppression/{suppressionId}")
+    public ResponseEntity<?> getSuppression(@PathVariable String suppressionId) {
+        SuppressionProjetDTO suppression = suppressionProjetService.statut(suppressionId);
+        if (suppression == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, "Suppression inconnue ou expirée", null));
         }
+        return ResponseEntity.ok(new ApiResponse<>(true, "Suppression du projet", suppression));
     }
 
+    // Écrit au fil de la lecture, par lots : la liste complète n'est jamais en mémoire
     @GetMapping("/all")
-    public ResponseEntity<?> getAllProjects(){
-        List<Projet> projects = projetService.findAll();
-        List<ProjetResponseDTO> dtos = projects.stream()
-            .map(p -> new ProjetResponseDTO(
-                p.getId(),
-                p.getNom(),
-                p.getDescription(),
-                p.getDate_echeance(),
-                p.getDate_creation()
-            ))
-            .collect(Collectors.toList());
-        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse<>(true, "Liste des projets", dtos));
+    public ResponseEntity<StreamingResponseBody> getAllProjects(){
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ReponseFlux.enveloppe(objectMapper, "Liste des projets", projetService::parcourirResumes));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getProjectsPage(@RequestParam(required = false) Integer membre,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int size) {
+        try {
+            KeysetPageDTO<ProjetResponseDTO> page = projetService.findPageResumes(membre, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Liste des projets", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Curseur de pagination invalide", null));
+        }
+    }
+
+    /**
+     * Tableau du projet en un seul appel (en-tête, membres, tâches), à la place de /id/{id}, /users-roled/{id}
+     * et /api/tache/project/{id}. L'ETag vient d'un compteur de version en mémoire : un tableau inchangé
+     * répond 304 sans lire la base.
+     */
+    @GetMapping("/{id}/board")
+    public ResponseEntity<?> getProjectBoard(@PathVariable int id,
+                                             @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        autorisationService.verifier(utilisateurId, id, Permission.VUE_TACHE);
+
+        // Lu avant les données : voir KanbanService.etag
+        String etag = kanbanService.etag(id);
+        if (correspond(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+
+        KanbanDTO kanban = kanbanService.getKanban(id);
+        if (kanban == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Projet n'existe pas", null));
+        }
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(new ApiResponse<>(true, "Tableau du projet", kanban));
+    }
+
+    // Compteurs tenus à jour en mémoire : l'ouverture du tableau de bord ne relit pas les tâches du projet
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<?> getProjectDashboard(@PathVariable int id,
+                                                 @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        autorisationService.verifier(utilisateurId, id, Permission.VUE_TABLEAU_DE_BORD);
+        TableauDeBordDTO tableau = tableauDeBordService.getTableauDeBord(id);
+
+        if (tableau == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Projet n'existe pas", null));
+        }
 
-};
+        return ResponseEntity.ok(new ApiResponse<>(true, "Tableau de bord du projet", tableau));
+    }
+
+    // Modifications des tâches, des membres et du projet, de la plus récente à la plus ancienne
+    @GetMapping("/{id}/historique")
+    public ResponseEntity<?> getProjectHistorique(@PathVariable int id,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "50") int size,
+                                                  @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        autorisationService.verifier(utilisateurId, id, Permission.VUE_HISTORIQUE_MODIFICATIONS);
+        try {
+            KeysetPageDTO<HistoriqueDTO> page = historiqueService.findPageByProjetId(id, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Historique du projet", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Curseur de pagination invalide", null));
+        }
+    }
+
+    // Membres en ligne, lus en mémoire ; les changements suivants arrivent par le flux SSE (PRESENCE_*)
+    @GetMapping("/{id}/presence")
+    public ResponseEntity<?> getProjectPresence(@PathVariable int id,
+                                                @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        autorisationService.verifier(utilisateurId, id, Permission.VUE_TACHE);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Membres en ligne", presenceService.enLigne(id)));
+    }
+
+    // Flux SSE des modifications (tâches, membres) du projet : le client ne reçoit que les deltas.
+    // Depuis un navigateur (EventSource, sans en-tête possible) : ?jeton= obtenu par POST /api/utilisateur/jeton-flux.
+    // Permission vérifiée avant l'ouverture du flux (cache, ou lecture dans une transaction courte qui rend la
+    // connexion) ; rien d'autre ne touche la base, la connexion JDBC ne reste pas prise pendant toute la durée du flux.
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getProjectEvents(@PathVariable int id,
+                                       @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        autorisationService.verifier(utilisateurId, id, Permission.VUE_TACHE);
+        return projetEvenementService.abonner(id);
+    }
+
+    // If-None-Match peut lister plusieurs ETag ; la comparaison faible (W/) suffit pour un GET
+    private boolean correspond(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidat : ifNoneMatch.split(",")) {
+            String valeur = candidat.trim();
+            if (valeur.startsWith("W/")) {
+                valeur = valeur.substring(2);
+            }
+            if ("*".equals(valeur) || etag.equals(valeur)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
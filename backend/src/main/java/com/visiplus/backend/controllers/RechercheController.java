@@ -0,0 +1,46 @@
+package com.visiplus.backend.controllers;
+
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ResultatRechercheDTO;
+import com.visiplus.backend.responses.ApiResponse;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.RechercheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/search")
+@RestController
+public class RechercheController {
+
+    @Autowired
+    RechercheService rechercheService;
+
+    @Autowired
+    AutorisationService autorisationService;
+
+    // Recherche plein texte dans l'index en mémoire : aucune requête LIKE, seule l'appartenance aux projets lit la base.
+    // Toujours restreinte aux projets de l'utilisateur authentifié, jamais à un utilisateur passé en paramètre.
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) String type,
+                                    @RequestParam(required = false) Integer projet,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int size,
+                                    @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        int utilisateur = autorisationService.exigerUtilisateur(utilisateurId);
+        try {
+            KeysetPageDTO<ResultatRechercheDTO> page = rechercheService.rechercher(q, type, projet, utilisateur, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Résultats de la recherche", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.visiplus.backend.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.TacheBulkResultatDTO;
+import com.visiplus.backend.dto.TacheChangementsDTO;
+import com.visiplus.backend.dto.TacheDTO;
 import com.visiplus.backend.dto.TacheRequest;
+import com.visiplus.backend.dto.TacheResponseDTO;
 import com.visiplus.backend.initializer.DataInitializer;
 import com.visiplus.backend.models.Priorite;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Tache;
 import com.visiplus.backend.models.Utilisateur;
 import com.visiplus.backend.responses.ApiResponse;
+import com.visiplus.backend.responses.ReponseFlux;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.HistoriqueService;
 import com.visiplus.backend.services.PrioriteService;
 import com.visiplus.backend.services.ProjetService;
 import com.visiplus.backend.services.TacheService;
@@ -17,13 +29,21 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @RequestMapping("/api/tache")
 @RestController
@@ -43,19 +63,30 @@ public class TacheController {
     @Autowired
     PrioriteService prioriteService;
 
+    @Autowired
+    AutorisationService autorisationService;
+
+    @Autowired
+    HistoriqueService historiqueService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     @PostMapping("/create")
-    public ResponseEntity<?> createTache(@RequestBody TacheRequest input) {
+    public ResponseEntity<?> createTache(@RequestBody TacheRequest input,
+                                         @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
         Projet projet = projetService.findById(input.getProjet_id());
         Utilisateur commanditaire = utilisateurService.findById(input.getCommanditaire_id());
         Utilisateur destinataire = utilisateurService.findById(input.getDestinataire_id());
-        Tache existTache = tacheService.findByNom(input.getNom());
 
-        // VERIFY NOT RENSEIGNER
-        if (projet == null || commanditaire == null || existTache != null || destinataire == null) {
+        // VERIFY NOT RENSEIGNER ; un nom déjà pris est refusé à l'INSERT par uk_tache_nom (409)
+        if (projet == null || commanditaire == null || destinataire == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ApiResponse(false, "Requette de Tache erronée ou existe deja", null));
+                    .body(new ApiResponse(false, "Requette de Tache erronée", null));
         };
 
+        verifierTache(utilisateurId, projet.getId(), Permission.CREER_TACHE, input.getDestinataire_id());
+
         // SET NEW TACHE
         Tache tache = new Tache();
         tache.setNom(input.getNom());
@@ -73,8 +104,8 @@ public class TacheController {
 
         if (input.getPriorite_id() != null) {
             Optional<Priorite> priorite = prioriteService.findById((Integer) input.getPriorite_id());
-            if (priorite != null) {
-                tache.setPriorite(priorite.get());
+            if (priorite != null && priorite.isPresent()) {
+                tache.setPriorite(prioriteService.getReference(priorite.get().getId()));
             } else {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(new ApiResponse<>(false, "Priorité inconnue", null));
@@ -83,9 +114,48 @@ public class TacheController {
         tacheService.create(tache);
 
         return ResponseEntity.status(HttpStatus.OK)
-                .body(new ApiResponse(true, "Tache bien créé dans un projet", tache));
+                .body(new ApiResponse<>(true, "Tache bien créé dans un projet", new TacheResponseDTO(tache)));
     };
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createTachesBulk(@RequestBody List<TacheRequest> inputs,
+                                              @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        // Le lot entier est refusé si une seule tâche vise un projet où la permission manque
+        autorisationService.exigerUtilisateur(utilisateurId);
+        if (inputs != null) {
+            for (TacheRequest input : inputs) {
+                if (input.getProjet_id() != null) {
+                    verifierTache(utilisateurId, input.getProjet_id(), Permission.CREER_TACHE, input.getDestinataire_id());
+                }
+            }
+        }
+        try {
+            List<TacheBulkResultatDTO> resultats = tacheService.createBulk(inputs);
+            long crees = resultats.stream().filter(TacheBulkResultatDTO::isSuccess).count();
+            return ResponseEntity.ok(new ApiResponse<>(true, crees + " tâche(s) créée(s) sur " + resultats.size(), resultats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<?> patchTachesBulk(@RequestBody List<TacheRequest> inputs,
+                                             @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        int utilisateur = autorisationService.exigerUtilisateur(utilisateurId);
+        if (inputs != null) {
+            verifierMiseAJourBulk(utilisateur, inputs);
+        }
+        try {
+            List<TacheBulkResultatDTO> resultats = tacheService.updateBulk(inputs);
+            long misesAJour = resultats.stream().filter(TacheBulkResultatDTO::isSuccess).count();
+            return ResponseEntity.ok(new ApiResponse<>(true, misesAJour + " tâche(s) mise(s) à jour sur " + resultats.size(), resultats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/tache")
     public ResponseEntity<?> getTache(@RequestParam String nom) {
         Tache tache = tacheService.findByNom(nom);
@@ -95,7 +165,7 @@ public class TacheController {
         }
         ;
         return ResponseEntity.status(HttpStatus.OK)
-                .body(new ApiResponse(true, "Tache bien trouvé dans un projet", tache));
+                .body(new ApiResponse<>(true, "Tache bien trouvé dans un projet", new TacheResponseDTO(tache)));
     };
 
     @GetMapping("/{id}")
@@ -108,18 +178,78 @@ public class TacheController {
         }
         ;
 
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(new ApiResponse(true, "Tache bien trouvé dans un projet", tache));
+        ResponseEntity.BodyBuilder reponse = ResponseEntity.status(HttpStatus.OK);
+        tache.ifPresent(t -> reponse.eTag(String.valueOf(t.getVersion())));
+        return reponse
+                .body(new ApiResponse<>(true, "Tache bien trouvé dans un projet", tache.map(TacheResponseDTO::new).orElse(null)));
     };
 
     @GetMapping("/project/{id}")
-    public ResponseEntity<?> getTachesByProjectId(@PathVariable int id) {
-        List<Tache> taches = tacheService.findByProjetId(id);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Tâches du projet", taches));
+    public ResponseEntity<StreamingResponseBody> getTachesByProjectId(@PathVariable int id) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ReponseFlux.<TacheResponseDTO>enveloppe(objectMapper, "Tâches du projet",
+                        lot -> tacheService.parcourirParProjetId(id,
+                                taches -> lot.accept(taches.stream().map(TacheResponseDTO::new).toList()))));
+    }
+
+    @GetMapping("/project/{id}/page")
+    public ResponseEntity<?> getTachesPageByProjectId(@PathVariable int id,
+                                                      @RequestParam(required = false) String etat,
+                                                      @RequestParam(required = false) Integer priorite,
+                                                      @RequestParam(required = false) Integer destinataire,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int size,
+                                                      @RequestParam(defaultValue = "asc") String direction) {
+        try {
+            KeysetPageDTO<TacheDTO> page = tacheService.findPageByProjetId(id, etat, priorite, destinataire,
+                    cursor, size, "desc".equalsIgnoreCase(direction));
+            return ResponseEntity.ok(new ApiResponse<>(true, "Tâches du projet", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Curseur de pagination invalide", null));
+        }
     }
 
+    // Synchronisation incrémentale : seules les lignes modifiées depuis le filigrane "since" (ms epoch) sont renvoyées
+    @GetMapping("/project/{id}/changes")
+    public ResponseEntity<?> getChangementsByProjectId(@PathVariable int id,
+                                                       @RequestParam(defaultValue = "0") long since) {
+        TacheChangementsDTO changements = tacheService.findChangementsByProjetId(id, since);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Modifications du projet", changements));
+    }
+
+    // Du plus récent au plus ancien ; les lignes sont écrites par lots, la dernière modification peut manquer une seconde
+    @GetMapping("/{id}/historique")
+    public ResponseEntity<?> getTacheHistorique(@PathVariable int id,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size,
+                                                @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        List<Integer> projets = tacheService.findProjetIds(List.of(id));
+        Integer projetId = projets.isEmpty() ? historiqueService.findProjetIdDeTache(id) : projets.get(0);
+        if (projetId == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Tache n'existe pas", null));
+        }
+        autorisationService.verifier(utilisateurId, projetId, Permission.VUE_HISTORIQUE_MODIFICATIONS);
+
+        try {
+            KeysetPageDTO<HistoriqueDTO> page = historiqueService.findPageByTacheId(id, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Historique de la tâche", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Curseur de pagination invalide", null));
+        }
+    }
+
+    /**
+     * Verrou optimiste : le client renvoie la version lue (If-Match ou champ "version"). Si la tâche a changé
+     * depuis, la requête est appliquée quand même lorsque les champs modifiés entre-temps et ceux de la requête
+     * sont disjoints ; sinon 409 avec l'état courant. Sans version, la dernière écriture l'emporte.
+     */
     @PatchMapping("/update")
-    public ResponseEntity<?> patchTacheById(@RequestBody TacheRequest input) {
+    public ResponseEntity<?> patchTacheById(@RequestBody TacheRequest input,
+                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
         Optional<Tache> existTacheOpt = tacheService.findById(input.getId());
 
         
@@ -130,6 +260,33 @@ public class TacheController {
         }
 
         Tache existTache = existTacheOpt.get();
+
+        // Vérifié hors du try : un refus doit donner 403, pas l'erreur 500 générique
+        if (existTache.getProjet() != null) {
+            Integer ancienDestinataire = existTache.getDestinataire() != null ? existTache.getDestinataire().getId() : null;
+            Integer nouveauDestinataire = Objects.equals(input.getDestinataire_id(), ancienDestinataire) ? null : input.getDestinataire_id();
+            verifierTache(utilisateurId, existTache.getProjet().getId(), Permission.MAJ_TACHE, nouveauDestinataire);
+        }
+        if (input.getProjet_id() != null) {
+            autorisationService.verifier(utilisateurId, input.getProjet_id(), Permission.MAJ_TACHE);
+        }
+
+        Long versionClient;
+        try {
+            versionClient = versionAttendue(ifMatch, input.getVersion());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "En-tête If-Match invalide", null));
+        }
+        boolean fusion = versionClient != null && versionClient != existTache.getVersion();
+        if (fusion) {
+            Set<String> modifiesEntreTemps = tacheService.champsModifiesDepuis(existTache.getId(), versionClient, existTache.getVersion());
+            if (modifiesEntreTemps == null || !Collections.disjoint(modifiesEntreTemps, input.champsRenseignes())) {
+                return conflit(existTache);
+            }
+        }
+
+        TacheDTO avant = new TacheDTO(existTache);
         try {
             if (input.getCommanditaire_id() != null) {
                 Utilisateur commanditaire = utilisateurService.findById(input.getCommanditaire_id());
@@ -173,18 +330,30 @@ public class TacheController {
                 if (input.getPriorite_id() instanceof Integer) {
                     Integer priorite_id = input.getPriorite_id();
                     Optional<Priorite> priorite_exist = prioriteService.findById(priorite_id);
-                    existTache.setPriorite(priorite_exist.get());
+                    existTache.setPriorite(prioriteService.getReference(priorite_exist.get().getId()));
                 } else {
                     Optional<Priorite> priorite_exist = prioriteService.findById(102);
-                    existTache.setPriorite(priorite_exist.get());
+                    existTache.setPriorite(prioriteService.getReference(priorite_exist.get().getId()));
                 }
 
             }
 
-            Tache updatedTache = tacheService.save(existTache);
-            return ResponseEntity.status(HttpStatus.OK)
-                    .body(new ApiResponse<>(true, "Tache bien mise à jour", updatedTache));
+            Tache updatedTache = tacheService.save(existTache, avant);
+            return ResponseEntity.status(HttpStatus.OK).eTag(String.valueOf(updatedTache.getVersion()))
+                    .body(new ApiResponse<>(true, fusion ? "Tache mise à jour, fusionnée avec les modifications concurrentes"
+                            : "Tache bien mise à jour", new TacheResponseDTO(updatedTache)));
 
+        } catch (OptimisticLockingFailureException e) {
+            // Modifiée entre la lecture et l'UPDATE : le rollback a vidé le contexte, l'état renvoyé est relu
+            Optional<Tache> courante = tacheService.findById(input.getId());
+            if (courante.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse<>(false, "Tache non reconnu ou n'existe pas", null));
+            }
+            return conflit(courante.get());
+        } catch (DataIntegrityViolationException e) {
+            // Renommage vers un nom déjà pris : 409 par ConflitExceptionHandler, pas une erreur serveur
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -193,17 +362,44 @@ public class TacheController {
     };
 
     @PutMapping("/update")
-    public ResponseEntity<?> updateTacheById(@RequestBody TacheRequest input) {
-        return patchTacheById(input);
+    public ResponseEntity<?> updateTacheById(@RequestBody TacheRequest input,
+                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        return patchTacheById(input, ifMatch, utilisateurId);
+    }
+
+    private ResponseEntity<ApiResponse<TacheResponseDTO>> conflit(Tache courante) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).eTag(String.valueOf(courante.getVersion()))
+                .body(new ApiResponse<>(false, "La tâche a été modifiée entre-temps", new TacheResponseDTO(courante)));
+    }
+
+    // If-Match : "3", W/"3" ou * (toute version) ; à défaut, le champ version du corps
+    static Long versionAttendue(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return version;
+        }
+        String valeur = ifMatch.trim();
+        if ("*".equals(valeur)) {
+            return null;
+        }
+        if (valeur.startsWith("W/")) {
+            valeur = valeur.substring(2);
+        }
+        return Long.parseLong(valeur.replace("\"", ""));
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<?> deleteTacheById(@PathVariable int id ){
+    public ResponseEntity<?> deleteTacheById(@PathVariable int id,
+                                             @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId){
         Optional<Tache> tache = tacheService.findById(id);
         
         if(tache.isEmpty()){
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse<>(false, "Tache n'existe pas", null));
         }
+
+        if (tache.get().getProjet() != null) {
+            autorisationService.verifier(utilisateurId, tache.get().getProjet().getId(), Permission.MAJ_TACHE);
+        }
         
         boolean deleted = tacheService.deleteByID(id);
 
@@ -211,4 +407,35 @@ public class TacheController {
                 .status(HttpStatus.OK)
                 .body(new ApiResponse<>(true, "Tache a été trouvé", deleted));
     }
-};
\ No newline at end of file
+
+    // Assigner une tâche à quelqu'un d'autre que soi demande aussi la permission d'assigner
+    private void verifierTache(Integer utilisateurId, int projetId, Permission permission, Integer destinataireId) {
+        if (destinataireId != null && !destinataireId.equals(utilisateurId)) {
+            autorisationService.verifier(utilisateurId, projetId, permission, Permission.ASSIGNE_TACHE);
+        } else {
+            autorisationService.verifier(utilisateurId, projetId, permission);
+        }
+    }
+
+    // Les projets des tâches du lot sont lus en une requête ; les vérifications suivantes sont servies par le cache
+    private void verifierMiseAJourBulk(int utilisateurId, List<TacheRequest> inputs) {
+        Set<Integer> ids = new HashSet<>();
+        boolean assigne = false;
+        for (TacheRequest input : inputs) {
+            ids.add(input.getId());
+            if (input.getProjet_id() != null) {
+                autorisationService.verifier(utilisateurId, input.getProjet_id(), Permission.MAJ_TACHE);
+            }
+            assigne |= input.getDestinataire_id() != null && input.getDestinataire_id() != utilisateurId;
+        }
+
+        Permission[] requises = assigne
+                ? new Permission[]{Permission.MAJ_TACHE, Permission.ASSIGNE_TACHE}
+                : new Permission[]{Permission.MAJ_TACHE};
+        for (Integer projetId : tacheService.findProjetIds(ids)) {
+            if (projetId != null) {
+                autorisationService.verifier(utilisateurId, projetId, requises);
+            }
+        }
+    }
+};
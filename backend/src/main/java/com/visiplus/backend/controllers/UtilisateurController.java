@@ -1,22 +1,36 @@
 package com.visiplus.backend.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.JetonSession;
+import com.visiplus.backend.autorisation.JetonSessionFilter;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dto.ConnexionDTO;
 import com.visiplus.backend.dto.LoginRequest;
+import com.visiplus.backend.dto.UserRoleProjetDTO;
 import com.visiplus.backend.dto.UtilisateurDTO;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Role;
 import com.visiplus.backend.models.UserRoleProjet;
 import com.visiplus.backend.models.Utilisateur;
 import com.visiplus.backend.responses.ApiResponse;
+import com.visiplus.backend.responses.ReponseFlux;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.NotificationService;
+import com.visiplus.backend.services.PresenceService;
 import com.visiplus.backend.services.ProjetService;
 import com.visiplus.backend.services.RoleService;
 import com.visiplus.backend.services.UserRoleProjetService;
 import com.visiplus.backend.services.UtilisateurService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.Date;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -36,15 +50,35 @@ public class UtilisateurController {
     @Autowired
     ProjetService projetService;
 
+    @Autowired
+    AutorisationService autorisationService;
+
+    @Autowired
+    JetonSession jetonSession;
+
+    @Autowired
+    @Qualifier("jetonFlux")
+    JetonSession jetonFlux;
+
+    @Autowired
+    PresenceService presenceService;
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    // Écrit au fil de la lecture, par lots : la liste complète n'est jamais en mémoire
     @GetMapping("/")
-    public List<UtilisateurDTO> findAll() {
-        List<Utilisateur> utilisateurs = utilisateurService.findAll();
-        return utilisateurs.stream().map(UtilisateurDTO::new).toList();
+    public ResponseEntity<StreamingResponseBody> findAll() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ReponseFlux.tableau(objectMapper, utilisateurService::parcourir));
     }
 
     @GetMapping("/{id}")
-    public Utilisateur findById(@PathVariable("id") int id) {
-        return utilisateurService.findById(id);
+    public UtilisateurDTO findById(@PathVariable("id") int id) {
+        return new UtilisateurDTO(utilisateurService.findById(id));
     }
 
     @PostMapping("/create")
@@ -75,13 +109,15 @@ public class UtilisateurController {
     }
 
     @GetMapping("/nom")
-    public Utilisateur findByNom(@RequestParam String nom){
-        return utilisateurService.findByNom(nom);
+    public UtilisateurDTO findByNom(@RequestParam String nom){
+        Utilisateur utilisateur = utilisateurService.findByNom(nom);
+        return utilisateur != null ? new UtilisateurDTO(utilisateur) : null;
     }
 
     @PostMapping("/add-user-to-project")
     @ResponseStatus(value= HttpStatus.ACCEPTED)
-    public ResponseEntity<?> AddUtilisateurTOProject(@RequestBody Utilisateur utilisateur, @RequestParam String id) {
+    public ResponseEntity<?> AddUtilisateurTOProject(@RequestBody Utilisateur utilisateur, @RequestParam String id,
+                                                     @RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
         Optional<Projet> projet = Optional.ofNullable(projetService.findById(Integer.parseInt(id)));
         Optional<Utilisateur> utilisateurOpt = Optional.ofNullable(utilisateurService.findByNom(utilisateur.getNom()));
 
@@ -90,6 +126,8 @@ public class UtilisateurController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Utilisateur ou projet non trouvé");
         }
 
+        autorisationService.verifier(utilisateurId, projet.get().getId(), Permission.AJOUTER_MEMBRE);
+
         Utilisateur utilisateurPdt = utilisateurOpt.get();
         Projet projetPdt = projet.get();
         
@@ -124,15 +162,19 @@ public class UtilisateurController {
         UserRoleProjet urp = new UserRoleProjet();
         urp.setUtilisateur(utilisateurPdt);
         urp.setProjet(projetPdt);
-        urp.setRole(rolePdt);
+        urp.setRole(roleService.getReference(rolePdt.getId()));
 
         // Ajout bidirectionnel
         userRoleProjetService.save(urp);
         utilisateurService.save(utilisateurPdt);
-        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse<>(true, "Utilisateur Roled bien ajouté au projet", urp));
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse<>(true, "Utilisateur Roled bien ajouté au projet", new UserRoleProjetDTO(urp)));
     }
 
 
+    /**
+     * Une lecture par email (indexé) et aucune écriture : la session tient dans le jeton signé retourné,
+     * vérifié ensuite par JetonSessionFilter sans accès à la base.
+     */
     @PatchMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         String email = loginRequest.getEmail();
@@ -154,10 +196,9 @@ public class UtilisateurController {
             existPassword = existUser.getPassword();
 
             if(existPassword.equals(password)){
-                // Pas besoin de variable intermédiaire, on modifie directement
-                existUser.setEtat_connexion(true);
-                utilisateurService.updatePartial(existUser.getId(), existUser, existUser);
-                return new ResponseEntity<Utilisateur>(existUser, HttpStatus.OK);
+                JetonSession.Jeton jeton = jetonSession.emettre(existUser.getId());
+                presenceService.battement(existUser.getId());
+                return new ResponseEntity<>(new ConnexionDTO(existUser, jeton.getValeur(), Date.from(jeton.getExpiration())), HttpStatus.OK);
             } else {
                 return new ResponseEntity<>(String.format("Hello %s, votre mot de passe n'est pas bon", email), HttpStatus.UNAUTHORIZED);
             }
@@ -167,32 +208,63 @@ public class UtilisateurController {
         }
     }
 
+    // Révoque le jeton présenté : il n'est plus accepté par JetonSessionFilter, jusqu'à son expiration naturelle
     @PatchMapping("/logout")
-    public ResponseEntity<?> logout(@RequestBody Utilisateur utilisateur) {
-        try {
-            Utilisateur connecteUtilisateur = utilisateurService.findByEmail(utilisateur.getEmail());
+    public ResponseEntity<?> logout(@RequestAttribute(name = JetonSessionFilter.ATTRIBUT_JETON, required = false) JetonSession.Jeton jeton) {
+        if(jeton == null){
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Aucune session à fermer : jeton de session manquant", null));
+        }
 
-            if(connecteUtilisateur == null){
-                return ResponseEntity
-                        .status(HttpStatus.BAD_REQUEST)
-                        .body(new ApiResponse<>(false, "Utilisateur non trouvé", null));
-            }
+        jetonSession.revoquer(jeton);
+        presenceService.deconnecter(jeton.getUtilisateurId());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Utilisateur bien déconnecté", jeton.getUtilisateurId()));
+    }
 
-            if(Boolean.TRUE.equals(connecteUtilisateur.getEtat_connexion())){
-                // Pas besoin de variable intermédiaire, on modifie directement
-                connecteUtilisateur.setEtat_connexion(false);
-                utilisateurService.updatePartial(connecteUtilisateur.getId(), connecteUtilisateur, connecteUtilisateur);
-                return ResponseEntity
-                        .status(HttpStatus.OK)
-                        .body(new ApiResponse<>(true, "Utilisateur bien déconnecté", connecteUtilisateur));
-            }
-                return ResponseEntity
-                        .status(HttpStatus.NOT_MODIFIED)
-                        .body(new ApiResponse<>(false, "Déconnexion échouée, utilisateur déjà déconnecté", connecteUtilisateur));
-        } catch(Exception error) {
+    /**
+     * Battement de présence, à envoyer par le client à intervalle régulier (plus court que presence.ttl-ms) :
+     * une écriture en mémoire, sans accès à la base tant que l'utilisateur reste en ligne.
+     */
+    @PutMapping("/presence")
+    public ResponseEntity<?> battement(@RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        if(utilisateurId == null){
             return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse<>(false, "Erreur interne", error.toString()));
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Utilisateur n'est pas identifié", null));
         }
+
+        presenceService.battement(utilisateurId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Jeton court et à usage unique pour ouvrir un flux SSE depuis un navigateur, qui ne peut pas poser
+     * d'en-tête Authorization : new EventSource("/api/projet/{id}/events?jeton=" + jeton). À redemander
+     * avant chaque (re)connexion ; la permission du projet est vérifiée à l'ouverture du flux.
+     */
+    @PostMapping("/jeton-flux")
+    public ResponseEntity<?> jetonFlux(@RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        if(utilisateurId == null){
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Utilisateur n'est pas identifié", null));
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(true, "Jeton de flux", jetonFlux.emettre(utilisateurId).getValeur()));
+    }
+
+    // Derniers digests reçus, du plus récent au plus ancien : lus en mémoire, sans accès à la base
+    @GetMapping("/notifications")
+    public ResponseEntity<?> notifications(@RequestAttribute(name = UtilisateurCourantInterceptor.ATTRIBUT, required = false) Integer utilisateurId) {
+        if(utilisateurId == null){
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Utilisateur n'est pas identifié", null));
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(true, "Notifications", notificationService.findRecentes(utilisateurId)));
     }
-};
\ No newline at end of file
+};
@@ -0,0 +1,29 @@
+package com.visiplus.backend.dao;
+
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.models.Historique;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// Journal en ajout seul : ni save unitaire, ni suppression exposés
+public interface HistoriqueRepository extends Repository<Historique, Long> {
+
+    <S extends Historique> List<S> saveAll(Iterable<S> lignes);
+
+    @Query("SELECT new com.visiplus.backend.dto.HistoriqueDTO(h.id, h.projet_id, h.tache_id, h.auteur_id, h.membre_id, " +
+            "h.type, h.champ, h.ancienne_valeur, h.nouvelle_valeur, h.date_evenement) FROM Historique h " +
+            "WHERE h.tache_id = :tacheId AND h.id < :avant ORDER BY h.id DESC")
+    List<HistoriqueDTO> findByTacheIdAvant(@Param("tacheId") int tacheId, @Param("avant") long avant, Limit limit);
+
+    @Query("SELECT new com.visiplus.backend.dto.HistoriqueDTO(h.id, h.projet_id, h.tache_id, h.auteur_id, h.membre_id, " +
+            "h.type, h.champ, h.ancienne_valeur, h.nouvelle_valeur, h.date_evenement) FROM Historique h " +
+            "WHERE h.projet_id = :projetId AND h.id < :avant ORDER BY h.id DESC")
+    List<HistoriqueDTO> findByProjetIdAvant(@Param("projetId") int projetId, @Param("avant") long avant, Limit limit);
+
+    @Query("SELECT h.projet_id FROM Historique h WHERE h.tache_id = :tacheId ORDER BY h.id DESC")
+    List<Integer> findProjetIdsByTacheId(@Param("tacheId") int tacheId, Limit limit);
+}
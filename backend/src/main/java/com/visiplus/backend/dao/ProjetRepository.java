@@ -1,27 +1,83 @@
 package com.visiplus.backend.dao;
 
+import com.visiplus.backend.dto.ProjetResponseDTO;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Tache;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProjetRepository extends CrudRepository<Projet, Integer> {
     Projet save(Projet projet);
 
+    @EntityGraph(Projet.GRAPH_SUMMARY)
     Optional<Projet> findByNom(String nom);
 
+    @EntityGraph(Projet.GRAPH_SUMMARY)
+    Optional<Projet> findById(Integer id);
+
+    @EntityGraph(Projet.GRAPH_WITH_TASKS)
+    Optional<Projet> findWithTachesById(int id);
+
+    @EntityGraph(Projet.GRAPH_WITH_TASKS)
+    Optional<Projet> findWithTachesByNom(String nom);
+
+    @EntityGraph(Projet.GRAPH_WITH_MEMBERS)
+    Optional<Projet> findWithMembresById(int id);
+
     void delete(Projet projet);
 
+    @EntityGraph(Projet.GRAPH_SUMMARY)
     List<Projet> findAll();
+
+    // Projections à plat : seules les colonnes affichées dans la liste sont lues, aucune entité n'est chargée
+    @Query("SELECT new com.visiplus.backend.dto.ProjetResponseDTO(p.id, p.nom, p.description, p.date_echeance, " +
+            "p.date_creation) FROM Projet p ORDER BY p.id")
+    List<ProjetResponseDTO> findAllResumes();
+
+    @Query("SELECT new com.visiplus.backend.dto.ProjetResponseDTO(p.id, p.nom, p.description, p.date_echeance, " +
+            "p.date_creation) FROM Projet p WHERE p.id > :apres ORDER BY p.id")
+    List<ProjetResponseDTO> findResumesApres(@Param("apres") int apres, Limit limit);
+
+    @Query("SELECT new com.visiplus.backend.dto.ProjetResponseDTO(p.id, p.nom, p.description, p.date_echeance, " +
+            "p.date_creation) FROM Projet p WHERE p.id = :id")
+    Optional<ProjetResponseDTO> findResumeById(@Param("id") int id);
+
+    @Query("SELECT new com.visiplus.backend.dto.ProjetResponseDTO(p.id, p.nom, p.description, p.date_echeance, " +
+            "p.date_creation) FROM Projet p WHERE p.id = :id AND p.date_modification >= :depuis")
+    Optional<ProjetResponseDTO> findResumeModifieDepuis(@Param("id") int id, @Param("depuis") Date depuis);
+
+    // Semi-jointure sur l'index (utilisateur_id, projet_id) de utilisateur_projet_role
+    @Query("SELECT new com.visiplus.backend.dto.ProjetResponseDTO(p.id, p.nom, p.description, p.date_echeance, " +
+            "p.date_creation) FROM Projet p WHERE p.id > :apres AND EXISTS (" +
+            "SELECT 1 FROM UserRoleProjet urp WHERE urp.projet = p AND urp.utilisateur.id = :utilisateurId) " +
+            "ORDER BY p.id")
+    List<ProjetResponseDTO> findResumesByMembreApres(@Param("utilisateurId") int utilisateurId,
+                                                    @Param("apres") int apres, Limit limit);
     
     @Modifying
     @Transactional
     @Query(value = "DELETE FROM projet_tache WHERE projet_id = :projetId", nativeQuery = true)
     void deleteProjetTacheRelations(@Param("projetId") int projetId);
+
+    // Liens projet_tache vers un lot de tâches, y compris depuis un autre projet : ils bloqueraient le DELETE des tâches
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM projet_tache WHERE tache_id IN (:tacheIds)", nativeQuery = true)
+    int deleteProjetTacheRelationsByTacheIds(@Param("tacheIds") Collection<Integer> tacheIds);
+
+    // Sans chargement ni cascade : tâches et membres sont déjà supprimés par SuppressionProjetServiceImpl
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Projet p WHERE p.id = :id")
+    int deleteProjetById(@Param("id") int id);
 };
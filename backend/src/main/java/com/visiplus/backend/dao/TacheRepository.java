@@ -1,12 +1,22 @@
 package com.visiplus.backend.dao;
 
+import com.visiplus.backend.dto.CompteurTachesDTO;
+import com.visiplus.backend.dto.TacheDTO;
 import com.visiplus.backend.models.Tache;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
-public interface TacheRepository extends CrudRepository<Tache, Integer> {
+public interface TacheRepository extends JpaRepository<Tache, Integer>, TacheRepositoryCustom {
 
     Optional<Tache> findByNom(String nom);
 
@@ -14,7 +24,67 @@ public interface TacheRepository extends CrudRepository<Tache, Integer> {
 
     Optional<Tache> findById(int id);
 
+    @EntityGraph(attributePaths = {"commanditaire", "destinataire", "priorite", "projet.createur"})
     List<Tache> findByProjetId(int id);
 
+    // Export par lots (GET /api/tache/project/{id}) : clé (projet_id, id), chaque lot est une requête courte
+    @EntityGraph(attributePaths = {"commanditaire", "destinataire", "priorite", "projet.createur"})
+    List<Tache> findByProjetIdAndIdGreaterThanOrderById(int projetId, int apres, Limit limit);
+
+    @EntityGraph(attributePaths = {"commanditaire", "destinataire", "priorite", "projet"})
+    List<Tache> findByIdIn(Collection<Integer> ids);
+
+    // Index (projet_id, date_modification) : seules les lignes modifiées après le filigrane sont lues
+    @Query("SELECT new com.visiplus.backend.dto.TacheDTO(t.id, t.nom, t.description, t.etat, t.date_debut, " +
+            "t.date_fin, p.id, pr.id, pr.nom, c.id, d.id, t.version) " +
+            "FROM Tache t JOIN t.projet p LEFT JOIN t.priorite pr LEFT JOIN t.commanditaire c LEFT JOIN t.destinataire d " +
+            "WHERE p.id = :projetId AND t.date_modification >= :depuis ORDER BY t.date_modification, t.id")
+    List<TacheDTO> findModifieesDepuis(@Param("projetId") int projetId, @Param("depuis") Date depuis);
+
+    // Toutes les tâches du projet à plat, dans l'ordre de l'index (projet_id, date_fin, id)
+    @Query("SELECT new com.visiplus.backend.dto.TacheDTO(t.id, t.nom, t.description, t.etat, t.date_debut, " +
+            "t.date_fin, p.id, pr.id, pr.nom, c.id, d.id, t.version) " +
+            "FROM Tache t JOIN t.projet p LEFT JOIN t.priorite pr LEFT JOIN t.commanditaire c LEFT JOIN t.destinataire d " +
+            "WHERE p.id = :projetId ORDER BY t.date_fin, t.id")
+    List<TacheDTO> findResumesByProjetId(@Param("projetId") int projetId);
+
+    // Parcours par lots sur la clé primaire, pour la reconstruction de l'index de recherche
+    @Query("SELECT new com.visiplus.backend.dto.TacheDTO(t.id, t.nom, t.description, t.etat, t.date_debut, " +
+            "t.date_fin, p.id, pr.id, pr.nom, c.id, d.id) " +
+            "FROM Tache t LEFT JOIN t.projet p LEFT JOIN t.priorite pr LEFT JOIN t.commanditaire c " +
+            "LEFT JOIN t.destinataire d WHERE t.id > :apres ORDER BY t.id")
+    List<TacheDTO> findResumesApres(@Param("apres") int apres, Limit limit);
+
+    // Agrégat de contrôle des compteurs du tableau de bord : priorite.id et destinataire.id sont lus sur les clés étrangères
+    @Query("SELECT new com.visiplus.backend.dto.CompteurTachesDTO(t.projet.id, t.etat, t.priorite.id, t.destinataire.id, " +
+            "COUNT(t)) FROM Tache t WHERE t.projet.id IN :projetIds " +
+            "GROUP BY t.projet.id, t.etat, t.priorite.id, t.destinataire.id")
+    List<CompteurTachesDTO> findCompteursParProjet(@Param("projetIds") Collection<Integer> projetIds);
+
+    // Tâches assignées dont l'échéance tombe dans la fenêtre, tous projets confondus (index idx_tache_date_fin)
+    @Query("SELECT new com.visiplus.backend.dto.TacheDTO(t.id, t.nom, t.description, t.etat, t.date_debut, " +
+            "t.date_fin, p.id, pr.id, pr.nom, c.id, d.id) " +
+            "FROM Tache t JOIN t.projet p JOIN t.destinataire d LEFT JOIN t.priorite pr LEFT JOIN t.commanditaire c " +
+            "WHERE t.date_fin > :debut AND t.date_fin <= :fin AND (t.etat IS NULL OR t.etat NOT IN :termines)")
+    List<TacheDTO> findEcheancesEntre(@Param("debut") Date debut, @Param("fin") Date fin,
+                                      @Param("termines") Collection<String> termines);
+
+    @Query("SELECT DISTINCT t.projet.id FROM Tache t WHERE t.id IN :ids")
+    List<Integer> findProjetIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT t.nom FROM Tache t WHERE t.nom IN :noms")
+    List<String> findNomsExistants(@Param("noms") Collection<String> noms);
+
     void deleteById(Integer integer);
+
+    long countByProjetId(int projetId);
+
+    // Suppression d'un projet par lots : toujours les premiers ids restants, les lots précédents sont déjà supprimés
+    @Query("SELECT t.id FROM Tache t WHERE t.projet.id = :projetId ORDER BY t.id")
+    List<Integer> findIdsByProjetId(@Param("projetId") int projetId, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Tache t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
 };
@@ -0,0 +1,17 @@
+package com.visiplus.backend.dao;
+
+import com.visiplus.backend.dto.TacheDTO;
+
+import java.util.Date;
+import java.util.List;
+
+public interface TacheRepositoryCustom {
+
+    /**
+     * Page de tâches d'un projet triée par (date_fin, id), en pagination par curseur.
+     * Si curseurId est null, la première page est retournée ; sinon les lignes situées
+     * strictement après (curseurDateFin, curseurId) dans l'ordre demandé.
+     */
+    List<TacheDTO> findPageByProjetId(int projetId, String etat, Integer prioriteId, Integer destinataireId,
+                                      Date curseurDateFin, Integer curseurId, boolean desc, int limit);
+}
@@ -0,0 +1,98 @@
+package com.visiplus.backend.dao;
+
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.models.Tache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class TacheRepositoryCustomImpl implements TacheRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TacheDTO> findPageByProjetId(int projetId, String etat, Integer prioriteId, Integer destinataireId,
+                                             Date curseurDateFin, Integer curseurId, boolean desc, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TacheDTO> query = cb.createQuery(TacheDTO.class);
+        Root<Tache> tache = query.from(Tache.class);
+        Join<Tache, Priorite> priorite = tache.join("priorite", JoinType.LEFT);
+
+        Path<Date> dateFin = tache.get("date_fin");
+        Path<Integer> id = tache.get("id");
+
+        List<Predicate> predicats = new ArrayList<>();
+        predicats.add(cb.equal(tache.get("projet").get("id"), projetId));
+
+        if (etat != null) {
+            predicats.add(cb.equal(tache.get("etat"), etat));
+        }
+
+        if (prioriteId != null) {
+            predicats.add(cb.equal(tache.get("priorite").get("id"), prioriteId));
+        }
+
+        if (destinataireId != null) {
+            predicats.add(cb.equal(tache.get("destinataire").get("id"), destinataireId));
+        }
+
+        if (curseurId != null) {
+            predicats.add(desc
+                    ? avantCurseur(cb, dateFin, id, curseurDateFin, curseurId)
+                    : apresCurseur(cb, dateFin, id, curseurDateFin, curseurId));
+        }
+
+        query.select(cb.construct(TacheDTO.class,
+                        id,
+                        tache.get("nom"),
+                        tache.get("description"),
+                        tache.get("etat"),
+                        tache.get("date_debut"),
+                        dateFin,
+                        tache.get("projet").get("id"),
+                        priorite.get("id"),
+                        priorite.get("nom"),
+                        tache.get("commanditaire").get("id"),
+                        tache.get("destinataire").get("id"),
+                        tache.get("version")))
+                .where(predicats.toArray(new Predicate[0]))
+                .orderBy(desc
+                        ? List.of(cb.desc(dateFin), cb.desc(id))
+                        : List.of(cb.asc(dateFin), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // MariaDB et H2 classent NULL comme la plus petite valeur : en tri croissant
+    // les tâches sans date_fin arrivent en premier, en tri décroissant en dernier.
+    private Predicate apresCurseur(CriteriaBuilder cb, Path<Date> dateFin, Path<Integer> id,
+                                   Date curseurDateFin, int curseurId) {
+        if (curseurDateFin == null) {
+            return cb.or(
+                    cb.and(cb.isNull(dateFin), cb.greaterThan(id, curseurId)),
+                    cb.isNotNull(dateFin));
+        }
+        return cb.or(
+                cb.greaterThan(dateFin, curseurDateFin),
+                cb.and(cb.equal(dateFin, curseurDateFin), cb.greaterThan(id, curseurId)));
+    }
+
+    private Predicate avantCurseur(CriteriaBuilder cb, Path<Date> dateFin, Path<Integer> id,
+                                   Date curseurDateFin, int curseurId) {
+        if (curseurDateFin == null) {
+            return cb.and(cb.isNull(dateFin), cb.lessThan(id, curseurId));
+        }
+        return cb.or(
+                cb.lessThan(dateFin, curseurDateFin),
+                cb.isNull(dateFin),
+                cb.and(cb.equal(dateFin, curseurDateFin), cb.lessThan(id, curseurId)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.visiplus.backend.dao;
+
+import com.visiplus.backend.models.TacheSupprimee;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+public interface TacheSupprimeeRepository extends CrudRepository<TacheSupprimee, Long> {
+
+    @Query("SELECT DISTINCT ts.tache_id FROM TacheSupprimee ts " +
+            "WHERE ts.projet_id = :projetId AND ts.date_suppression >= :depuis")
+    List<Integer> findTacheIdsSupprimeesDepuis(@Param("projetId") int projetId, @Param("depuis") Date depuis);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TacheSupprimee ts WHERE ts.date_suppression < :limite")
+    int deleteAnterieuresA(@Param("limite") Date limite);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TacheSupprimee ts WHERE ts.projet_id = :projetId")
+    int deleteByProjetId(@Param("projetId") int projetId);
+}
@@ -1,5 +1,7 @@
 package com.visiplus.backend.dao;
 
+import com.visiplus.backend.dto.UserRoleProjetDTO;
+import com.visiplus.backend.models.Role;
 import com.visiplus.backend.models.UserRoleProjet;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +18,30 @@ public interface UserRoleProjetRepository extends JpaRepository<UserRoleProjet,
     UserRoleProjet save(UserRoleProjet userRoleProjet);
 
     List<UserRoleProjet> findAll();
+
+    // Projection à plat : s'appuie sur l'index (projet_id, utilisateur_id), aucune entité n'est chargée
+    @Query("SELECT new com.visiplus.backend.dto.UserRoleProjetDTO(urp.id, urp.projet.id, u.id, u.nom, u.email, " +
+            "u.role_app, u.etat_connexion, r.id, r.nom) " +
+            "FROM UserRoleProjet urp LEFT JOIN urp.utilisateur u LEFT JOIN urp.role r " +
+            "WHERE urp.projet.id = :projetId")
+    List<UserRoleProjetDTO> findMembresByProjetId(@Param("projetId") int projetId);
+
+    @Query("SELECT new com.visiplus.backend.dto.UserRoleProjetDTO(urp.id, urp.projet.id, u.id, u.nom, u.email, " +
+            "u.role_app, u.etat_connexion, r.id, r.nom) " +
+            "FROM UserRoleProjet urp LEFT JOIN urp.utilisateur u LEFT JOIN urp.role r " +
+            "WHERE urp.projet.id = :projetId AND urp.date_modification >= :depuis")
+    List<UserRoleProjetDTO> findMembresModifiesDepuis(@Param("projetId") int projetId, @Param("depuis") Date depuis);
     
+    // Rôles d'un membre sur un projet (index (utilisateur_id, projet_id)), pour le calcul de ses permissions
+    @Query("SELECT r FROM UserRoleProjet urp JOIN urp.role r " +
+            "WHERE urp.utilisateur.id = :utilisateurId AND urp.projet.id = :projetId")
+    List<Role> findRolesByUtilisateurIdAndProjetId(@Param("utilisateurId") int utilisateurId,
+                                                   @Param("projetId") int projetId);
+
+    // Index (utilisateur_id, projet_id) : lecture couvrante, sert au filtrage de la recherche par appartenance
+    @Query("SELECT urp.projet.id FROM UserRoleProjet urp WHERE urp.utilisateur.id = :utilisateurId")
+    List<Integer> findProjetIdsByUtilisateurId(@Param("utilisateurId") int utilisateurId);
+
     @Modifying
     @Transactional
     @Query(value = "DELETE FROM utilisateur_projet_role WHERE projet_id = :projetId", nativeQuery = true)
@@ -1,8 +1,15 @@
 package com.visiplus.backend.dao;
 
+import com.visiplus.backend.dto.UtilisateurDTO;
 import com.visiplus.backend.models.Utilisateur;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +20,20 @@ public interface UtilisateurRepository extends CrudRepository<Utilisateur, Integ
     Optional<Utilisateur> findByEmail(String email);
 
     List<Utilisateur> findAll();
+
+    // Export par lots (GET /api/utilisateur/) : projection à plat, le mot de passe n'est pas lu
+    @Query("SELECT new com.visiplus.backend.dto.UtilisateurDTO(u.id, u.nom, u.email, u.role_app, u.etat_connexion) " +
+            "FROM Utilisateur u WHERE u.id > :apres ORDER BY u.id")
+    List<UtilisateurDTO> findResumesApres(@Param("apres") int apres, Limit limit);
+
+    // Miroir de la présence en mémoire : un UPDATE par état pour tous les utilisateurs qui ont changé
+    @Modifying
+    @Transactional
+    @Query("UPDATE Utilisateur u SET u.etat_connexion = :etat WHERE u.id IN :ids")
+    int updateEtatConnexion(@Param("ids") Collection<Integer> ids, @Param("etat") boolean etat);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Utilisateur u SET u.etat_connexion = false WHERE u.etat_connexion = true")
+    int deconnecterTous();
 }
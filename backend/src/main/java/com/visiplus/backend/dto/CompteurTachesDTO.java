@@ -0,0 +1,57 @@
+package com.visiplus.backend.dto;
+
+public class CompteurTachesDTO {
+    private int projet_id;
+    private String etat;
+    private Integer priorite_id;
+    private Integer destinataire_id;
+    private long nombre;
+
+    public CompteurTachesDTO(int projet_id, String etat, Integer priorite_id, Integer destinataire_id, long nombre) {
+        this.projet_id = projet_id;
+        this.etat = etat;
+        this.priorite_id = priorite_id;
+        this.destinataire_id = destinataire_id;
+        this.nombre = nombre;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public String getEtat() {
+        return etat;
+    }
+
+    public void setEtat(String etat) {
+        this.etat = etat;
+    }
+
+    public Integer getPriorite_id() {
+        return priorite_id;
+    }
+
+    public void setPriorite_id(Integer priorite_id) {
+        this.priorite_id = priorite_id;
+    }
+
+    public Integer getDestinataire_id() {
+        return destinataire_id;
+    }
+
+    public void setDestinataire_id(Integer destinataire_id) {
+        this.destinataire_id = destinataire_id;
+    }
+
+    public long getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(long nombre) {
+        this.nombre = nombre;
+    }
+}
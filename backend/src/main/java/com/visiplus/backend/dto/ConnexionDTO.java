@@ -0,0 +1,39 @@
+package com.visiplus.backend.dto;
+
+import com.visiplus.backend.models.Utilisateur;
+
+import java.util.Date;
+
+/**
+ * Réponse de /login : l'utilisateur connecté et son jeton de session, à renvoyer dans Authorization: Bearer.
+ */
+public class ConnexionDTO extends UtilisateurDTO {
+
+    private String jeton;
+
+    private Date expiration;
+
+    public ConnexionDTO(Utilisateur utilisateur, String jeton, Date expiration) {
+        super(utilisateur);
+        // Connecté tant que le jeton est valide : l'état n'est plus écrit en base
+        setEtat_connexion(true);
+        this.jeton = jeton;
+        this.expiration = expiration;
+    }
+
+    public String getJeton() {
+        return jeton;
+    }
+
+    public void setJeton(String jeton) {
+        this.jeton = jeton;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(Date expiration) {
+        this.expiration = expiration;
+    }
+}
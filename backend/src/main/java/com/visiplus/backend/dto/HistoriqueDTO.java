@@ -0,0 +1,110 @@
+package com.visiplus.backend.dto;
+
+import java.util.Date;
+
+public class HistoriqueDTO {
+    private long id;
+    private int projet_id;
+    private Integer tache_id;
+    private Integer auteur_id;
+    private Integer membre_id;
+    private String type;
+    private String champ;
+    private String ancienne_valeur;
+    private String nouvelle_valeur;
+    private Date date_evenement;
+
+    public HistoriqueDTO(long id, int projet_id, Integer tache_id, Integer auteur_id, Integer membre_id, String type,
+                         String champ, String ancienne_valeur, String nouvelle_valeur, Date date_evenement) {
+        this.id = id;
+        this.projet_id = projet_id;
+        this.tache_id = tache_id;
+        this.auteur_id = auteur_id;
+        this.membre_id = membre_id;
+        this.type = type;
+        this.champ = champ;
+        this.ancienne_valeur = ancienne_valeur;
+        this.nouvelle_valeur = nouvelle_valeur;
+        this.date_evenement = date_evenement;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public Integer getTache_id() {
+        return tache_id;
+    }
+
+    public void setTache_id(Integer tache_id) {
+        this.tache_id = tache_id;
+    }
+
+    public Integer getAuteur_id() {
+        return auteur_id;
+    }
+
+    public void setAuteur_id(Integer auteur_id) {
+        this.auteur_id = auteur_id;
+    }
+
+    public Integer getMembre_id() {
+        return membre_id;
+    }
+
+    public void setMembre_id(Integer membre_id) {
+        this.membre_id = membre_id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getChamp() {
+        return champ;
+    }
+
+    public void setChamp(String champ) {
+        this.champ = champ;
+    }
+
+    public String getAncienne_valeur() {
+        return ancienne_valeur;
+    }
+
+    public void setAncienne_valeur(String ancienne_valeur) {
+        this.ancienne_valeur = ancienne_valeur;
+    }
+
+    public String getNouvelle_valeur() {
+        return nouvelle_valeur;
+    }
+
+    public void setNouvelle_valeur(String nouvelle_valeur) {
+        this.nouvelle_valeur = nouvelle_valeur;
+    }
+
+    public Date getDate_evenement() {
+        return date_evenement;
+    }
+
+    public void setDate_evenement(Date date_evenement) {
+        this.date_evenement = date_evenement;
+    }
+}
@@ -0,0 +1,42 @@
+package com.visiplus.backend.dto;
+
+import java.util.List;
+
+/**
+ * Tout ce qu'il faut pour afficher le tableau d'un projet, à plat : en-tête, membres et tâches.
+ */
+public class KanbanDTO {
+    private ProjetResponseDTO projet;
+    private List<UserRoleProjetDTO> membres;
+    private List<TacheDTO> taches;
+
+    public KanbanDTO(ProjetResponseDTO projet, List<UserRoleProjetDTO> membres, List<TacheDTO> taches) {
+        this.projet = projet;
+        this.membres = membres;
+        this.taches = taches;
+    }
+
+    public ProjetResponseDTO getProjet() {
+        return projet;
+    }
+
+    public void setProjet(ProjetResponseDTO projet) {
+        this.projet = projet;
+    }
+
+    public List<UserRoleProjetDTO> getMembres() {
+        return membres;
+    }
+
+    public void setMembres(List<UserRoleProjetDTO> membres) {
+        this.membres = membres;
+    }
+
+    public List<TacheDTO> getTaches() {
+        return taches;
+    }
+
+    public void setTaches(List<TacheDTO> taches) {
+        this.taches = taches;
+    }
+}
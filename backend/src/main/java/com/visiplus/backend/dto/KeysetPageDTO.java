@@ -0,0 +1,39 @@
+package com.visiplus.backend.dto;
+
+import java.util.List;
+
+public class KeysetPageDTO<T> {
+    private List<T> items;
+    private String next_cursor;
+    private boolean has_more;
+
+    public KeysetPageDTO(List<T> items, String next_cursor, boolean has_more) {
+        this.items = items;
+        this.next_cursor = next_cursor;
+        this.has_more = has_more;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNext_cursor() {
+        return next_cursor;
+    }
+
+    public void setNext_cursor(String next_cursor) {
+        this.next_cursor = next_cursor;
+    }
+
+    public boolean isHas_more() {
+        return has_more;
+    }
+
+    public void setHas_more(boolean has_more) {
+        this.has_more = has_more;
+    }
+}
@@ -0,0 +1,93 @@
+package com.visiplus.backend.dto;
+
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Une tâche dans un digest : toutes les modifications de la tâche depuis le digest précédent, regroupées.
+ */
+public class NotificationDTO {
+
+    public static final String ASSIGNATION = "ASSIGNATION";
+    public static final String CHANGEMENT_ETAT = "CHANGEMENT_ETAT";
+    public static final String ECHEANCE = "ECHEANCE";
+
+    private int tache_id;
+    private int projet_id;
+    private String tache_nom;
+    private String etat;
+    private Date date_fin;
+    private Set<String> motifs = new LinkedHashSet<>();
+    private int modifications;
+    private Date derniere_modification;
+
+    public NotificationDTO(int tache_id, int projet_id) {
+        this.tache_id = tache_id;
+        this.projet_id = projet_id;
+    }
+
+    public int getTache_id() {
+        return tache_id;
+    }
+
+    public void setTache_id(int tache_id) {
+        this.tache_id = tache_id;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public String getTache_nom() {
+        return tache_nom;
+    }
+
+    public void setTache_nom(String tache_nom) {
+        this.tache_nom = tache_nom;
+    }
+
+    public String getEtat() {
+        return etat;
+    }
+
+    public void setEtat(String etat) {
+        this.etat = etat;
+    }
+
+    public Date getDate_fin() {
+        return date_fin;
+    }
+
+    public void setDate_fin(Date date_fin) {
+        this.date_fin = date_fin;
+    }
+
+    public Set<String> getMotifs() {
+        return motifs;
+    }
+
+    public void setMotifs(Set<String> motifs) {
+        this.motifs = motifs;
+    }
+
+    public int getModifications() {
+        return modifications;
+    }
+
+    public void setModifications(int modifications) {
+        this.modifications = modifications;
+    }
+
+    public Date getDerniere_modification() {
+        return derniere_modification;
+    }
+
+    public void setDerniere_modification(Date derniere_modification) {
+        this.derniere_modification = derniere_modification;
+    }
+}
@@ -0,0 +1,72 @@
+package com.visiplus.backend.dto;
+
+import java.util.Date;
+import java.util.List;
+
+public class NotificationDigestDTO {
+    private int utilisateur_id;
+    private String nom;
+    private String email;
+    private List<NotificationDTO> notifications;
+    // Tâches au-delà de la limite du digest, seulement comptées
+    private int autres;
+    private Date date;
+
+    public NotificationDigestDTO(int utilisateur_id, String nom, String email, List<NotificationDTO> notifications,
+                                 int autres, Date date) {
+        this.utilisateur_id = utilisateur_id;
+        this.nom = nom;
+        this.email = email;
+        this.notifications = notifications;
+        this.autres = autres;
+        this.date = date;
+    }
+
+    public int getUtilisateur_id() {
+        return utilisateur_id;
+    }
+
+    public void setUtilisateur_id(int utilisateur_id) {
+        this.utilisateur_id = utilisateur_id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public List<NotificationDTO> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<NotificationDTO> notifications) {
+        this.notifications = notifications;
+    }
+
+    public int getAutres() {
+        return autres;
+    }
+
+    public void setAutres(int autres) {
+        this.autres = autres;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public void setDate(Date date) {
+        this.date = date;
+    }
+}
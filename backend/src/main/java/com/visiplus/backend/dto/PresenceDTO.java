@@ -0,0 +1,29 @@
+package com.visiplus.backend.dto;
+
+import java.util.Date;
+
+public class PresenceDTO {
+    private int utilisateur_id;
+    private Date derniere_activite;
+
+    public PresenceDTO(int utilisateur_id, Date derniere_activite) {
+        this.utilisateur_id = utilisateur_id;
+        this.derniere_activite = derniere_activite;
+    }
+
+    public int getUtilisateur_id() {
+        return utilisateur_id;
+    }
+
+    public void setUtilisateur_id(int utilisateur_id) {
+        this.utilisateur_id = utilisateur_id;
+    }
+
+    public Date getDerniere_activite() {
+        return derniere_activite;
+    }
+
+    public void setDerniere_activite(Date derniere_activite) {
+        this.derniere_activite = derniere_activite;
+    }
+}
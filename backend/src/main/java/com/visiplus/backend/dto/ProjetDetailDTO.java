@@ -0,0 +1,116 @@
+package com.visiplus.backend.dto;
+
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Tache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Projet avec ses tâches (GET /api/projet/id/{id} et /nom/{nom}). Les membres n'en font pas partie :
+ * ils se lisent sur /users-roled/{id}.
+ */
+public class ProjetDetailDTO {
+
+    private int id;
+    private String nom;
+    private String description;
+    private Date date_echeance;
+    private Date date_creation;
+    private Date date_modification;
+    private long version;
+    private UtilisateurLightDTO createur;
+    private List<TacheResponseDTO> taches;
+
+    public ProjetDetailDTO(Projet projet) {
+        this.id = projet.getId();
+        this.nom = projet.getNom();
+        this.description = projet.getDescription();
+        this.date_echeance = projet.getDate_echeance();
+        this.date_creation = projet.getDate_creation();
+        this.date_modification = projet.getDate_modification();
+        this.version = projet.getVersion();
+        this.createur = projet.getCreateur() != null ? new UtilisateurLightDTO(projet.getCreateur()) : null;
+        this.taches = new ArrayList<>();
+        if (projet.getTaches() != null) {
+            for (Tache tache : projet.getTaches()) {
+                taches.add(new TacheResponseDTO(tache, false));
+            }
+            taches.sort(Comparator.comparingInt(TacheResponseDTO::getId));
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Date getDate_echeance() {
+        return date_echeance;
+    }
+
+    public void setDate_echeance(Date date_echeance) {
+        this.date_echeance = date_echeance;
+    }
+
+    public Date getDate_creation() {
+        return date_creation;
+    }
+
+    public void setDate_creation(Date date_creation) {
+        this.date_creation = date_creation;
+    }
+
+    public Date getDate_modification() {
+        return date_modification;
+    }
+
+    public void setDate_modification(Date date_modification) {
+        this.date_modification = date_modification;
+    }
+
+    public UtilisateurLightDTO getCreateur() {
+        return createur;
+    }
+
+    public void setCreateur(UtilisateurLightDTO createur) {
+        this.createur = createur;
+    }
+
+    public List<TacheResponseDTO> getTaches() {
+        return taches;
+    }
+
+    public void setTaches(List<TacheResponseDTO> taches) {
+        this.taches = taches;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,139 @@
+package com.visiplus.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.UserRoleProjet;
+
+public class ProjetEvenementDTO {
+
+    public static final String TACHE_CREEE = "TACHE_CREEE";
+    public static final String TACHE_MODIFIEE = "TACHE_MODIFIEE";
+    public static final String TACHE_SUPPRIMEE = "TACHE_SUPPRIMEE";
+    public static final String MEMBRE_AJOUTE = "MEMBRE_AJOUTE";
+    public static final String MEMBRE_RETIRE = "MEMBRE_RETIRE";
+    public static final String PROJET_CREE = "PROJET_CREE";
+    public static final String PROJET_SUPPRIME = "PROJET_SUPPRIME";
+    // Un membre du projet passe en ligne (premier battement) ou hors ligne (déconnexion, battements arrêtés)
+    public static final String PRESENCE_CONNECTE = "PRESENCE_CONNECTE";
+    public static final String PRESENCE_DECONNECTE = "PRESENCE_DECONNECTE";
+    // Des événements ont été perdus (tampon plein) : le client doit recharger la liste complète
+    public static final String RESYNC = "RESYNC";
+
+    private String type;
+    private int projet_id;
+    private Integer tache_id;
+    private TacheDTO tache;
+    private Integer utilisateur_id;
+    private Integer role_id;
+    private ProjetResponseDTO projet;
+    // État de la tâche avant modification ou suppression, pour l'historique ; pas diffusé aux clients
+    @JsonIgnore
+    private TacheDTO avant;
+
+    public ProjetEvenementDTO(String type, int projet_id) {
+        this.type = type;
+        this.projet_id = projet_id;
+    }
+
+    public static ProjetEvenementDTO tache(String type, Tache tache) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, tache.getProjet().getId());
+        evenement.setTache_id(tache.getId());
+        if (!TACHE_SUPPRIMEE.equals(type)) {
+            evenement.setTache(new TacheDTO(tache));
+        }
+        return evenement;
+    }
+
+    public static ProjetEvenementDTO tache(String type, Tache tache, TacheDTO avant) {
+        ProjetEvenementDTO evenement = tache(type, tache);
+        evenement.setAvant(avant);
+        return evenement;
+    }
+
+    public static ProjetEvenementDTO membre(String type, UserRoleProjet userRoleProjet) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, userRoleProjet.getProjet().getId());
+        evenement.setUtilisateur_id(userRoleProjet.getUtilisateur() != null ? userRoleProjet.getUtilisateur().getId() : null);
+        evenement.setRole_id(userRoleProjet.getRole() != null ? userRoleProjet.getRole().getId() : null);
+        return evenement;
+    }
+
+    public static ProjetEvenementDTO presence(String type, int projetId, int utilisateurId) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, projetId);
+        evenement.setUtilisateur_id(utilisateurId);
+        return evenement;
+    }
+
+    public static ProjetEvenementDTO projet(String type, Projet projet) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, projet.getId());
+        if (!PROJET_SUPPRIME.equals(type)) {
+            evenement.setProjet(new ProjetResponseDTO(projet.getId(), projet.getNom(), projet.getDescription(),
+                    projet.getDate_echeance(), projet.getDate_creation()));
+        }
+        return evenement;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public Integer getTache_id() {
+        return tache_id;
+    }
+
+    public void setTache_id(Integer tache_id) {
+        this.tache_id = tache_id;
+    }
+
+    public TacheDTO getTache() {
+        return tache;
+    }
+
+    public void setTache(TacheDTO tache) {
+        this.tache = tache;
+    }
+
+    public Integer getUtilisateur_id() {
+        return utilisateur_id;
+    }
+
+    public void setUtilisateur_id(Integer utilisateur_id) {
+        this.utilisateur_id = utilisateur_id;
+    }
+
+    public Integer getRole_id() {
+        return role_id;
+    }
+
+    public void setRole_id(Integer role_id) {
+        this.role_id = role_id;
+    }
+
+    public ProjetResponseDTO getProjet() {
+        return projet;
+    }
+
+    public void setProjet(ProjetResponseDTO projet) {
+        this.projet = projet;
+    }
+
+    public TacheDTO getAvant() {
+        return avant;
+    }
+
+    public void setAvant(TacheDTO avant) {
+        this.avant = avant;
+    }
+}
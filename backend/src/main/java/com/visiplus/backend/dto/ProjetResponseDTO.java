@@ -1,5 +1,7 @@
 package com.visiplus.backend.dto;
 
+import com.visiplus.backend.models.Projet;
+
 import java.util.Date;
 
 public class ProjetResponseDTO {
@@ -17,6 +19,10 @@ public class ProjetResponseDTO {
         this.date_creation = date_creation;
     }
 
+    public ProjetResponseDTO(Projet projet) {
+        this(projet.getId(), projet.getNom(), projet.getDescription(), projet.getDate_echeance(), projet.getDate_creation());
+    }
+
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
 
@@ -0,0 +1,48 @@
+package com.visiplus.backend.dto;
+
+import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Utilisateur;
+
+/**
+ * Référence vers une entité liée : identifiant et nom, rien d'autre. Répétée dans chaque tâche d'une liste,
+ * elle garde la taille du JSON proportionnelle au nombre de tâches.
+ */
+public class ReferenceDTO {
+
+    private int id;
+    private String nom;
+
+    public ReferenceDTO(int id, String nom) {
+        this.id = id;
+        this.nom = nom;
+    }
+
+    public ReferenceDTO(Utilisateur utilisateur) {
+        this(utilisateur.getId(), utilisateur.getNom());
+    }
+
+    public ReferenceDTO(Projet projet) {
+        this(projet.getId(), projet.getNom());
+    }
+
+    public ReferenceDTO(Priorite priorite) {
+        this(priorite.getId(), priorite.getNom());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+}
@@ -0,0 +1,71 @@
+package com.visiplus.backend.dto;
+
+public class ResultatRechercheDTO {
+
+    public static final String TYPE_TACHE = "tache";
+    public static final String TYPE_PROJET = "projet";
+
+    private String type;
+    private int id;
+    private Integer projet_id;
+    private String nom;
+    private String description;
+    private double score;
+
+    public ResultatRechercheDTO(String type, int id, Integer projet_id, String nom, String description, double score) {
+        this.type = type;
+        this.id = id;
+        this.projet_id = projet_id;
+        this.nom = nom;
+        this.description = description;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Integer getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(Integer projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,100 @@
+package com.visiplus.backend.dto;
+
+import java.util.Date;
+
+/**
+ * État d'une suppression de projet lancée par DELETE /api/projet/delete/{id}, lu sur
+ * GET /api/projet/suppression/{id}. Instantané : les compteurs continuent d'avancer pendant le travail.
+ */
+public class SuppressionProjetDTO {
+
+    public static final String EN_ATTENTE = "EN_ATTENTE";
+    public static final String EN_COURS = "EN_COURS";
+    public static final String TERMINEE = "TERMINEE";
+    public static final String ECHEC = "ECHEC";
+
+    private String id;
+    private int projet_id;
+    private String etat;
+    private long taches_total;
+    private long taches_supprimees;
+    private Date date_debut;
+    private Date date_fin;
+    private String erreur;
+
+    public SuppressionProjetDTO(String id, int projet_id, String etat, long taches_total, long taches_supprimees,
+                                Date date_debut, Date date_fin, String erreur) {
+        this.id = id;
+        this.projet_id = projet_id;
+        this.etat = etat;
+        this.taches_total = taches_total;
+        this.taches_supprimees = taches_supprimees;
+        this.date_debut = date_debut;
+        this.date_fin = date_fin;
+        this.erreur = erreur;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public String getEtat() {
+        return etat;
+    }
+
+    public void setEtat(String etat) {
+        this.etat = etat;
+    }
+
+    public long getTaches_total() {
+        return taches_total;
+    }
+
+    public void setTaches_total(long taches_total) {
+        this.taches_total = taches_total;
+    }
+
+    public long getTaches_supprimees() {
+        return taches_supprimees;
+    }
+
+    public void setTaches_supprimees(long taches_supprimees) {
+        this.taches_supprimees = taches_supprimees;
+    }
+
+    public Date getDate_debut() {
+        return date_debut;
+    }
+
+    public void setDate_debut(Date date_debut) {
+        this.date_debut = date_debut;
+    }
+
+    public Date getDate_fin() {
+        return date_fin;
+    }
+
+    public void setDate_fin(Date date_fin) {
+        this.date_fin = date_fin;
+    }
+
+    public String getErreur() {
+        return erreur;
+    }
+
+    public void setErreur(String erreur) {
+        this.erreur = erreur;
+    }
+}
@@ -0,0 +1,90 @@
+package com.visiplus.backend.dto;
+
+import java.util.Map;
+
+public class TableauDeBordDTO {
+    private int projet_id;
+    private int total;
+    private Map<String, Integer> par_etat;
+    private Map<Integer, Integer> par_priorite;
+    private Map<Integer, Integer> par_destinataire;
+    private int sans_priorite;
+    private int non_assignees;
+    private int en_retard;
+
+    public TableauDeBordDTO(int projet_id, int total, Map<String, Integer> par_etat, Map<Integer, Integer> par_priorite,
+                            Map<Integer, Integer> par_destinataire, int sans_priorite, int non_assignees, int en_retard) {
+        this.projet_id = projet_id;
+        this.total = total;
+        this.par_etat = par_etat;
+        this.par_priorite = par_priorite;
+        this.par_destinataire = par_destinataire;
+        this.sans_priorite = sans_priorite;
+        this.non_assignees = non_assignees;
+        this.en_retard = en_retard;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public Map<String, Integer> getPar_etat() {
+        return par_etat;
+    }
+
+    public void setPar_etat(Map<String, Integer> par_etat) {
+        this.par_etat = par_etat;
+    }
+
+    public Map<Integer, Integer> getPar_priorite() {
+        return par_priorite;
+    }
+
+    public void setPar_priorite(Map<Integer, Integer> par_priorite) {
+        this.par_priorite = par_priorite;
+    }
+
+    public Map<Integer, Integer> getPar_destinataire() {
+        return par_destinataire;
+    }
+
+    public void setPar_destinataire(Map<Integer, Integer> par_destinataire) {
+        this.par_destinataire = par_destinataire;
+    }
+
+    public int getSans_priorite() {
+        return sans_priorite;
+    }
+
+    public void setSans_priorite(int sans_priorite) {
+        this.sans_priorite = sans_priorite;
+    }
+
+    public int getNon_assignees() {
+        return non_assignees;
+    }
+
+    public void setNon_assignees(int non_assignees) {
+        this.non_assignees = non_assignees;
+    }
+
+    public int getEn_retard() {
+        return en_retard;
+    }
+
+    public void setEn_retard(int en_retard) {
+        this.en_retard = en_retard;
+    }
+}
@@ -0,0 +1,47 @@
+package com.visiplus.backend.dto;
+
+public class TacheBulkResultatDTO {
+    private int index;
+    private Integer id;
+    private boolean success;
+    private String message;
+
+    public TacheBulkResultatDTO(int index, Integer id, boolean success, String message) {
+        this.index = index;
+        this.id = id;
+        this.success = success;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
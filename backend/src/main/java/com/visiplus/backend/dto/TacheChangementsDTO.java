@@ -0,0 +1,70 @@
+package com.visiplus.backend.dto;
+
+import java.util.List;
+
+public class TacheChangementsDTO {
+    private List<TacheDTO> taches;
+    private List<Integer> supprimees;
+    private ProjetResponseDTO projet;
+    private List<UserRoleProjetDTO> membres;
+    private long watermark;
+    private boolean resync;
+
+    public TacheChangementsDTO(List<TacheDTO> taches, List<Integer> supprimees, ProjetResponseDTO projet,
+                               List<UserRoleProjetDTO> membres, long watermark, boolean resync) {
+        this.taches = taches;
+        this.supprimees = supprimees;
+        this.projet = projet;
+        this.membres = membres;
+        this.watermark = watermark;
+        this.resync = resync;
+    }
+
+    public List<TacheDTO> getTaches() {
+        return taches;
+    }
+
+    public void setTaches(List<TacheDTO> taches) {
+        this.taches = taches;
+    }
+
+    public List<Integer> getSupprimees() {
+        return supprimees;
+    }
+
+    public void setSupprimees(List<Integer> supprimees) {
+        this.supprimees = supprimees;
+    }
+
+    public ProjetResponseDTO getProjet() {
+        return projet;
+    }
+
+    public void setProjet(ProjetResponseDTO projet) {
+        this.projet = projet;
+    }
+
+    public List<UserRoleProjetDTO> getMembres() {
+        return membres;
+    }
+
+    public void setMembres(List<UserRoleProjetDTO> membres) {
+        this.membres = membres;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public void setResync(boolean resync) {
+        this.resync = resync;
+    }
+}
@@ -0,0 +1,194 @@
+package com.visiplus.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.visiplus.backend.models.Tache;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+public class TacheDTO {
+
+    // Champs modifiables d'une tâche, sous les noms de TacheRequest : historique et fusion des modifications concurrentes
+    public static final Map<String, Function<TacheDTO, Object>> CHAMPS;
+
+    static {
+        Map<String, Function<TacheDTO, Object>> champs = new LinkedHashMap<>();
+        champs.put("nom", TacheDTO::getNom);
+        champs.put("description", TacheDTO::getDescription);
+        champs.put("etat", TacheDTO::getEtat);
+        champs.put("date_debut", TacheDTO::getDate_debut);
+        champs.put("date_fin", TacheDTO::getDate_fin);
+        champs.put("projet_id", TacheDTO::getProjet_id);
+        champs.put("priorite_id", TacheDTO::getPriorite_id);
+        champs.put("commanditaire_id", TacheDTO::getCommanditaire_id);
+        champs.put("destinataire_id", TacheDTO::getDestinataire_id);
+        CHAMPS = Collections.unmodifiableMap(champs);
+    }
+
+    private int id;
+    private String nom;
+    private String description;
+    private String etat;
+    private Date date_debut;
+    private Date date_fin;
+    private Integer projet_id;
+    private Integer priorite_id;
+    private String priorite_nom;
+    private Integer commanditaire_id;
+    private Integer destinataire_id;
+
+    // Absente des projections qui ne servent pas à modifier la tâche (recherche, échéances)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
+    public TacheDTO(int id, String nom, String description, String etat, Date date_debut, Date date_fin,
+                    Integer projet_id, Integer priorite_id, String priorite_nom,
+                    Integer commanditaire_id, Integer destinataire_id) {
+        this.id = id;
+        this.nom = nom;
+        this.description = description;
+        this.etat = etat;
+        this.date_debut = date_debut;
+        this.date_fin = date_fin;
+        this.projet_id = projet_id;
+        this.priorite_id = priorite_id;
+        this.priorite_nom = priorite_nom;
+        this.commanditaire_id = commanditaire_id;
+        this.destinataire_id = destinataire_id;
+    }
+
+    public TacheDTO(int id, String nom, String description, String etat, Date date_debut, Date date_fin,
+                    Integer projet_id, Integer priorite_id, String priorite_nom,
+                    Integer commanditaire_id, Integer destinataire_id, long version) {
+        this(id, nom, description, etat, date_debut, date_fin, projet_id, priorite_id, priorite_nom,
+                commanditaire_id, destinataire_id);
+        this.version = version;
+    }
+
+    public TacheDTO(Tache tache) {
+        this.id = tache.getId();
+        this.nom = tache.getNom();
+        this.description = tache.getDescription();
+        this.etat = tache.getEtat();
+        this.date_debut = tache.getDate_debut();
+        this.date_fin = tache.getDate_fin();
+        this.projet_id = tache.getProjet() != null ? tache.getProjet().getId() : null;
+        this.priorite_id = tache.getPriorite() != null ? tache.getPriorite().getId() : null;
+        this.priorite_nom = tache.getPriorite() != null ? tache.getPriorite().getNom() : null;
+        this.commanditaire_id = tache.getCommanditaire() != null ? tache.getCommanditaire().getId() : null;
+        this.destinataire_id = tache.getDestinataire() != null ? tache.getDestinataire().getId() : null;
+        this.version = tache.getVersion();
+    }
+
+    public static Set<String> champsModifies(TacheDTO avant, TacheDTO apres) {
+        Set<String> modifies = new LinkedHashSet<>();
+        for (Map.Entry<String, Function<TacheDTO, Object>> champ : CHAMPS.entrySet()) {
+            if (!Objects.equals(champ.getValue().apply(avant), champ.getValue().apply(apres))) {
+                modifies.add(champ.getKey());
+            }
+        }
+        return modifies;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getEtat() {
+        return etat;
+    }
+
+    public void setEtat(String etat) {
+        this.etat = etat;
+    }
+
+    public Date getDate_debut() {
+        return date_debut;
+    }
+
+    public void setDate_debut(Date date_debut) {
+        this.date_debut = date_debut;
+    }
+
+    public Date getDate_fin() {
+        return date_fin;
+    }
+
+    public void setDate_fin(Date date_fin) {
+        this.date_fin = date_fin;
+    }
+
+    public Integer getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(Integer projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public Integer getPriorite_id() {
+        return priorite_id;
+    }
+
+    public void setPriorite_id(Integer priorite_id) {
+        this.priorite_id = priorite_id;
+    }
+
+    public String getPriorite_nom() {
+        return priorite_nom;
+    }
+
+    public void setPriorite_nom(String priorite_nom) {
+        this.priorite_nom = priorite_nom;
+    }
+
+    public Integer getCommanditaire_id() {
+        return commanditaire_id;
+    }
+
+    public void setCommanditaire_id(Integer commanditaire_id) {
+        this.commanditaire_id = commanditaire_id;
+    }
+
+    public Integer getDestinataire_id() {
+        return destinataire_id;
+    }
+
+    public void setDestinataire_id(Integer destinataire_id) {
+        this.destinataire_id = destinataire_id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -5,6 +5,8 @@ import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Utilisateur;
 
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class TacheRequest {
     private int id;
@@ -17,6 +19,8 @@ public class TacheRequest {
     private Integer priorite_id;
     private String description;
     private String etat;
+    // Version sur laquelle le client a fait sa modification ; l'en-tête If-Match est prioritaire
+    private Long version;
 
     public String getDescription() {
         return description;
@@ -98,6 +102,35 @@ public class TacheRequest {
         this.etat = etat;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Champs renseignés, donc à appliquer, sous les noms de TacheDTO.CHAMPS
+    public Set<String> champsRenseignes() {
+        Set<String> champs = new LinkedHashSet<>();
+        renseigne(champs, "nom", nom);
+        renseigne(champs, "description", description);
+        renseigne(champs, "etat", etat);
+        renseigne(champs, "date_debut", date_debut);
+        renseigne(champs, "date_fin", date_fin);
+        renseigne(champs, "projet_id", projet_id);
+        renseigne(champs, "priorite_id", priorite_id);
+        renseigne(champs, "commanditaire_id", commanditaire_id);
+        renseigne(champs, "destinataire_id", destinataire_id);
+        return champs;
+    }
+
+    private static void renseigne(Set<String> champs, String champ, Object valeur) {
+        if (valeur != null) {
+            champs.add(champ);
+        }
+    }
+
     @Override
     public String toString() {
         return "TacheRequest{" +
@@ -110,6 +143,7 @@ public class TacheRequest {
                 ", priorite='" + priorite_id + '\'' +
                 ", description='" + description + '\'' +
                 ", etat='" + etat + '\'' +
+                ", version='" + version + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,145 @@
+package com.visiplus.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.visiplus.backend.models.Tache;
+
+import java.util.Date;
+
+/**
+ * Tâche renvoyée par l'API : les références (utilisateurs, priorité, projet) sont des ReferenceDTO à plat,
+ * sans mot de passe ni collection, quelle que soit la profondeur du graphe chargé.
+ */
+public class TacheResponseDTO {
+
+    private int id;
+    private String nom;
+    private String description;
+    private String etat;
+    private Date date_debut;
+    private Date date_fin;
+    private Date date_modification;
+    // À renvoyer dans If-Match (ou "version") au PATCH suivant
+    private long version;
+    private ReferenceDTO commanditaire;
+    private ReferenceDTO destinataire;
+    private ReferenceDTO priorite;
+
+    // Absent dans les tâches d'un ProjetDetailDTO : le projet est déjà le parent
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ReferenceDTO projet;
+
+    public TacheResponseDTO(Tache tache) {
+        this(tache, true);
+    }
+
+    public TacheResponseDTO(Tache tache, boolean avecProjet) {
+        this.id = tache.getId();
+        this.nom = tache.getNom();
+        this.description = tache.getDescription();
+        this.etat = tache.getEtat();
+        this.date_debut = tache.getDate_debut();
+        this.date_fin = tache.getDate_fin();
+        this.date_modification = tache.getDate_modification();
+        this.version = tache.getVersion();
+        this.commanditaire = tache.getCommanditaire() != null ? new ReferenceDTO(tache.getCommanditaire()) : null;
+        this.destinataire = tache.getDestinataire() != null ? new ReferenceDTO(tache.getDestinataire()) : null;
+        this.priorite = tache.getPriorite() != null ? new ReferenceDTO(tache.getPriorite()) : null;
+        this.projet = avecProjet && tache.getProjet() != null ? new ReferenceDTO(tache.getProjet()) : null;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getEtat() {
+        return etat;
+    }
+
+    public void setEtat(String etat) {
+        this.etat = etat;
+    }
+
+    public Date getDate_debut() {
+        return date_debut;
+    }
+
+    public void setDate_debut(Date date_debut) {
+        this.date_debut = date_debut;
+    }
+
+    public Date getDate_fin() {
+        return date_fin;
+    }
+
+    public void setDate_fin(Date date_fin) {
+        this.date_fin = date_fin;
+    }
+
+    public Date getDate_modification() {
+        return date_modification;
+    }
+
+    public void setDate_modification(Date date_modification) {
+        this.date_modification = date_modification;
+    }
+
+    public ReferenceDTO getCommanditaire() {
+        return commanditaire;
+    }
+
+    public void setCommanditaire(ReferenceDTO commanditaire) {
+        this.commanditaire = commanditaire;
+    }
+
+    public ReferenceDTO getDestinataire() {
+        return destinataire;
+    }
+
+    public void setDestinataire(ReferenceDTO destinataire) {
+        this.destinataire = destinataire;
+    }
+
+    public ReferenceDTO getPriorite() {
+        return priorite;
+    }
+
+    public void setPriorite(ReferenceDTO priorite) {
+        this.priorite = priorite;
+    }
+
+    public ReferenceDTO getProjet() {
+        return projet;
+    }
+
+    public void setProjet(ReferenceDTO projet) {
+        this.projet = projet;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
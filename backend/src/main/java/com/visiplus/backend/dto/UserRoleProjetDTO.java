@@ -0,0 +1,74 @@
+package com.visiplus.backend.dto;
+
+import com.visiplus.backend.models.UserRoleProjet;
+
+public class UserRoleProjetDTO {
+    private Long id;
+    private int projet_id;
+    private UtilisateurLightDTO utilisateur;
+    private Integer role;
+    private String role_nom;
+
+    // Projection JPQL : les colonnes de l'utilisateur arrivent NULL (etat_connexion compris) par la jointure
+    // externe quand l'appartenance n'a pas d'utilisateur, comme UserRoleProjetDTO(UserRoleProjet)
+    public UserRoleProjetDTO(Long id, int projet_id, Integer utilisateur_id, String nom, String email,
+                             String role_app, Boolean etat_connexion, Integer role, String role_nom) {
+        this.id = id;
+        this.projet_id = projet_id;
+        this.utilisateur = utilisateur_id == null
+                ? null
+                : new UtilisateurLightDTO(utilisateur_id, nom, email, role_app, Boolean.TRUE.equals(etat_connexion));
+        this.role = role;
+        this.role_nom = role_nom;
+    }
+
+    public UserRoleProjetDTO(UserRoleProjet userRoleProjet) {
+        this.id = userRoleProjet.getId();
+        this.projet_id = userRoleProjet.getProjet().getId();
+        this.utilisateur = userRoleProjet.getUtilisateur() != null
+                ? new UtilisateurLightDTO(userRoleProjet.getUtilisateur())
+                : null;
+        this.role = userRoleProjet.getRole() != null ? userRoleProjet.getRole().getId() : null;
+        this.role_nom = userRoleProjet.getRole() != null ? userRoleProjet.getRole().getNom() : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public UtilisateurLightDTO getUtilisateur() {
+        return utilisateur;
+    }
+
+    public void setUtilisateur(UtilisateurLightDTO utilisateur) {
+        this.utilisateur = utilisateur;
+    }
+
+    public Integer getRole() {
+        return role;
+    }
+
+    public void setRole(Integer role) {
+        this.role = role;
+    }
+
+    public String getRole_nom() {
+        return role_nom;
+    }
+
+    public void setRole_nom(String role_nom) {
+        this.role_nom = role_nom;
+    }
+}
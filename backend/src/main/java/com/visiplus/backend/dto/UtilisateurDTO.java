@@ -10,6 +10,14 @@ public class UtilisateurDTO {
     private String role_app;
     private boolean etat_connexion;
 
+    public UtilisateurDTO(int id, String nom, String email, String role_app, boolean etat_connexion) {
+        this.id = id;
+        this.nom = nom;
+        this.email = email;
+        this.role_app = role_app;
+        this.etat_connexion = etat_connexion;
+    }
+
     public UtilisateurDTO(Utilisateur u) {
         this.id = u.getId();
         this.nom = u.getNom();
@@ -17,6 +17,14 @@ public class UtilisateurLightDTO {
         this.etat_connexion = utilisateur.getEtat_connexion();
     }
 
+    public UtilisateurLightDTO(int id, String nom, String email, String role_app, boolean etat_connexion) {
+        this.id = id;
+        this.nom = nom;
+        this.email = email;
+        this.role_app = role_app;
+        this.etat_connexion = etat_connexion;
+    }
+
     public int getId() {
         return id;
     }
@@ -4,37 +4,37 @@ import com.visiplus.backend.models.Role;
 import com.visiplus.backend.models.Utilisateur;
 
 public class UtilisateurProjetRoleDTO {
-    private Utilisateur utilisateur;
-    private Role role;
-    private Projet projetRequest;
+    private UtilisateurDTO utilisateur;
+    private RoleDTO role;
+    private ProjetResponseDTO projetRequest;
 
     public UtilisateurProjetRoleDTO(Utilisateur utilisateur, Role role, Projet projetRequest) {
-        this.utilisateur = utilisateur;
-        this.role = role;
-        this.projetRequest = projetRequest;
+        this.utilisateur = new UtilisateurDTO(utilisateur);
+        this.role = new RoleDTO(role);
+        this.projetRequest = new ProjetResponseDTO(projetRequest);
     }
 
-    public Utilisateur getUtilisateur() {
+    public UtilisateurDTO getUtilisateur() {
         return utilisateur;
     }
 
-    public Projet getProjetRequest() {
+    public ProjetResponseDTO getProjetRequest() {
         return projetRequest;
     }
 
-    public void setProjetRequest(Projet projetRequest) {
+    public void setProjetRequest(ProjetResponseDTO projetRequest) {
         this.projetRequest = projetRequest;
     }
 
-    public void setUtilisateur(Utilisateur utilisateur) {
+    public void setUtilisateur(UtilisateurDTO utilisateur) {
         this.utilisateur = utilisateur;
     }
 
-    public Role getRole() {
+    public RoleDTO getRole() {
         return role;
     }
 
-    public void setRole(Role role) {
+    public void setRole(RoleDTO role) {
         this.role = role;
     }
 }
@@ -0,0 +1,35 @@
+package com.visiplus.backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées sur le thread courant.
+ * Hibernate appelle inspect() pour chaque ordre envoyé ; l'intercepteur web ouvre et ferme la fenêtre de comptage.
+ */
+public class CompteurRequetesSql implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COMPTEUR = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] compteur = COMPTEUR.get();
+        if (compteur != null) {
+            compteur[0]++;
+        }
+        return sql;
+    }
+
+    public static void demarrer() {
+        COMPTEUR.set(new int[1]);
+    }
+
+    /**
+     * Termine la fenêtre de comptage du thread courant.
+     * @return le nombre de requêtes depuis demarrer(), ou -1 si aucune fenêtre n'était ouverte
+     */
+    public static int arreter() {
+        int[] compteur = COMPTEUR.get();
+        COMPTEUR.remove();
+        return compteur == null ? -1 : compteur[0];
+    }
+}
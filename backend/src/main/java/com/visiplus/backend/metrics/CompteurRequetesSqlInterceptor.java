@@ -0,0 +1,55 @@
+package com.visiplus.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Publie http.server.requests.sql : nombre de requêtes SQL par appel, avec les mêmes tags uri / method
+ * que http.server.requests, pour retrouver l'endpoint responsable de la charge base.
+ */
+public class CompteurRequetesSqlInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRIQUE = "http.server.requests.sql";
+
+    private final MeterRegistry meterRegistry;
+
+    public CompteurRequetesSqlInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CompteurRequetesSql.demarrer();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Flux SSE / asynchrone : le thread retourne au pool, on ne compte que la partie synchrone
+        enregistrer(request, CompteurRequetesSql.arreter());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        enregistrer(request, CompteurRequetesSql.arreter());
+    }
+
+    private void enregistrer(HttpServletRequest request, int nbRequetes) {
+        if (nbRequetes < 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIQUE)
+                .description("Nombre de requêtes SQL exécutées par requête HTTP")
+                .baseUnit("statements")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(nbRequetes);
+    }
+}
@@ -0,0 +1,21 @@
+package com.visiplus.backend.models;
+
+import org.hibernate.Hibernate;
+
+/**
+ * Filtre Jackson ({@code @JsonInclude(CUSTOM)}) qui omet une association lazy non chargée.
+ * La sérialisation s'arrête ainsi au plan de chargement (entity graph) demandé par l'endpoint
+ * au lieu de déclencher un SELECT par collection via l'open-in-view.
+ */
+public class CollectionNonChargeeFilter {
+
+    @Override
+    public boolean equals(Object value) {
+        return value != null && !Hibernate.isInitialized(value);
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.visiplus.backend.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Date;
+
+/**
+ * Une ligne du journal des modifications : un champ modifié d'une tâche, ou la création, la suppression d'une
+ * tâche, d'un projet, d'une appartenance. Le journal n'est qu'ajouté, jamais modifié : pas de clé étrangère,
+ * les lignes survivent à la suppression de la tâche ou du projet.
+ */
+@Table(name = "historique", indexes = {
+        @Index(name = "idx_historique_projet", columnList = "projet_id, id"),
+        @Index(name = "idx_historique_tache", columnList = "tache_id, id")
+})
+@Entity
+@Immutable
+public class Historique {
+
+    // Séquence par blocs comme tache_seq : les lots du journal partent en batch JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historique_seq")
+    @SequenceGenerator(name = "historique_seq", sequenceName = "historique_seq", allocationSize = 50)
+    private Long id;
+
+    private int projet_id;
+
+    private Integer tache_id;
+
+    // Utilisateur à l'origine de la modification, null hors requête identifiée
+    private Integer auteur_id;
+
+    // Membre ajouté ou retiré (MEMBRE_AJOUTE, MEMBRE_RETIRE)
+    private Integer membre_id;
+
+    private String type;
+
+    // Null pour une création ou une suppression
+    private String champ;
+
+    private String ancienne_valeur;
+
+    private String nouvelle_valeur;
+
+    // Heure de la modification, pas de l'écriture du lot
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date date_evenement;
+
+    public Historique() {
+    }
+
+    public Historique(String type, int projet_id, Integer tache_id, Integer auteur_id, Date date_evenement) {
+        this.type = type;
+        this.projet_id = projet_id;
+        this.tache_id = tache_id;
+        this.auteur_id = auteur_id;
+        this.date_evenement = date_evenement;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public Integer getTache_id() {
+        return tache_id;
+    }
+
+    public void setTache_id(Integer tache_id) {
+        this.tache_id = tache_id;
+    }
+
+    public Integer getAuteur_id() {
+        return auteur_id;
+    }
+
+    public void setAuteur_id(Integer auteur_id) {
+        this.auteur_id = auteur_id;
+    }
+
+    public Integer getMembre_id() {
+        return membre_id;
+    }
+
+    public void setMembre_id(Integer membre_id) {
+        this.membre_id = membre_id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getChamp() {
+        return champ;
+    }
+
+    public void setChamp(String champ) {
+        this.champ = champ;
+    }
+
+    public String getAncienne_valeur() {
+        return ancienne_valeur;
+    }
+
+    public void setAncienne_valeur(String ancienne_valeur) {
+        this.ancienne_valeur = ancienne_valeur;
+    }
+
+    public String getNouvelle_valeur() {
+        return nouvelle_valeur;
+    }
+
+    public void setNouvelle_valeur(String nouvelle_valeur) {
+        this.nouvelle_valeur = nouvelle_valeur;
+    }
+
+    public Date getDate_evenement() {
+        return date_evenement;
+    }
+
+    public void setDate_evenement(Date date_evenement) {
+        this.date_evenement = date_evenement;
+    }
+}
@@ -1,10 +1,12 @@
 package com.visiplus.backend.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
-@Table(name = "priorite")
+@Table(name = "priorite", uniqueConstraints = @UniqueConstraint(name = "uk_priorite_nom", columnNames = "nom"))
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Priorite {
 
     @Id
@@ -3,6 +3,7 @@ package com.visiplus.backend.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 
@@ -10,11 +11,37 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
-@Table(name = "projet")
+@Table(name = "projet", uniqueConstraints = @UniqueConstraint(name = "uk_projet_nom", columnNames = "nom"))
 @Entity
+@NamedEntityGraph(name = Projet.GRAPH_SUMMARY, attributeNodes = @NamedAttributeNode("createur"))
+@NamedEntityGraph(name = Projet.GRAPH_WITH_MEMBERS,
+        attributeNodes = {
+                @NamedAttributeNode("createur"),
+                @NamedAttributeNode(value = "utilisateursRoles", subgraph = "membre")
+        },
+        subgraphs = @NamedSubgraph(name = "membre", attributeNodes = {
+                @NamedAttributeNode("utilisateur"),
+                @NamedAttributeNode("role")
+        }))
+@NamedEntityGraph(name = Projet.GRAPH_WITH_TASKS,
+        attributeNodes = {
+                @NamedAttributeNode("createur"),
+                @NamedAttributeNode(value = "taches", subgraph = "tache")
+        },
+        subgraphs = @NamedSubgraph(name = "tache", attributeNodes = {
+                @NamedAttributeNode("commanditaire"),
+                @NamedAttributeNode("destinataire"),
+                @NamedAttributeNode("priorite")
+        }))
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Projet {
 
+    public static final String GRAPH_SUMMARY = "Projet.summary";
+
+    public static final String GRAPH_WITH_MEMBERS = "Projet.withMembers";
+
+    public static final String GRAPH_WITH_TASKS = "Projet.withTasks";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private int id;
@@ -29,9 +56,17 @@ public class Projet {
     @Temporal(value = TemporalType.DATE)
     private Date date_creation;
 
-    @OneToMany(mappedBy = "projet", cascade = CascadeType.REMOVE, orphanRemoval = true, fetch = FetchType.EAGER)
+    @Temporal(value = TemporalType.TIMESTAMP)
+    private Date date_modification;
+
+    @Version
+    private long version;
+
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
+    @OneToMany(mappedBy = "projet", cascade = CascadeType.REMOVE, orphanRemoval = true)
     private Set<UserRoleProjet> utilisateursRoles = new HashSet<>();
 
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
     @ManyToMany
     @JoinTable(
             name = "projet_tache",
@@ -40,6 +75,7 @@ public class Projet {
     )
     private Set<Tache> projet_taches = new HashSet<>();
 
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
     @OneToMany(mappedBy = "projet")
     private Set<Tache> taches;
 
@@ -62,6 +98,12 @@ public class Projet {
     @PrePersist
     protected void onCreate() {
         this.date_creation = new Date();
+        this.date_modification = this.date_creation;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.date_modification = new Date();
     }
 
     @PreRemove
@@ -75,6 +117,22 @@ public class Projet {
     public Date getDate_creation() {
         return date_creation;
     }
+
+    public Date getDate_modification() {
+        return date_modification;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setDate_modification(Date date_modification) {
+        this.date_modification = date_modification;
+    }
     
     public void setProjet_taches(Set<Tache> projet_taches) {
         this.projet_taches = projet_taches;
@@ -11,8 +11,12 @@ import java.util.Set;
 @Table(name = "role")
 @Entity
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Role {
 
+    // Rôle donné au créateur d'un projet : seul rôle, avec le créateur, autorisé à supprimer le projet
+    public static final String ADMINISTRATEUR = "ADMINISTRATEUR";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private int id;
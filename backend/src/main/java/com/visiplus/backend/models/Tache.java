@@ -5,12 +5,23 @@ import jakarta.persistence.*;
 
 import java.util.Date;
 
-@Table(name = "tache")
+@Table(name = "tache", uniqueConstraints = @UniqueConstraint(name = "uk_tache_nom", columnNames = "nom"), indexes = {
+        @Index(name = "idx_tache_projet_date_fin", columnList = "projet_id, date_fin, id"),
+        @Index(name = "idx_tache_projet_etat_date_fin", columnList = "projet_id, etat, date_fin, id"),
+        @Index(name = "idx_tache_projet_priorite_date_fin", columnList = "projet_id, priorite_id, date_fin, id"),
+        @Index(name = "idx_tache_projet_destinataire_date_fin", columnList = "projet_id, destinataire_id, date_fin, id"),
+        @Index(name = "idx_tache_projet_date_modification", columnList = "projet_id, date_modification"),
+        @Index(name = "idx_tache_date_fin", columnList = "date_fin"),
+        // Tâches assignées à un utilisateur, tous projets confondus
+        @Index(name = "idx_tache_destinataire", columnList = "destinataire_id")
+})
 @Entity
 public class Tache {
 
+    // Séquence explicite avec allocation par blocs : les ids sont connus avant l'INSERT, ce qui permet le batching JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tache_seq")
+    @SequenceGenerator(name = "tache_seq", sequenceName = "tache_seq", allocationSize = 50)
     private int id;
 
     private String nom;
@@ -41,6 +52,20 @@ public class Tache {
 
     private String etat;
 
+    // Filigrane de la synchronisation incrémentale (/api/tache/project/{id}/changes)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date date_modification;
+
+    // Verrou optimiste : l'UPDATE porte "WHERE version = ?", une écriture concurrente échoue au lieu d'écraser
+    @Version
+    private long version;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.date_modification = new Date();
+    }
+
     public String getEtat() {
         return etat;
     }
@@ -120,4 +145,20 @@ public class Tache {
     public void setDate_fin(Date date_fin) {
         this.date_fin = date_fin;
     }
+
+    public Date getDate_modification() {
+        return date_modification;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setDate_modification(Date date_modification) {
+        this.date_modification = date_modification;
+    }
 }
@@ -0,0 +1,72 @@
+package com.visiplus.backend.models;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Trace d'une tâche supprimée : permet à /changes de signaler la suppression aux clients
+ * qui synchronisent par filigrane. Purgée après TacheServiceImpl.RETENTION_SUPPRESSIONS_JOURS.
+ */
+@Table(name = "tache_supprimee", indexes = {
+        @Index(name = "idx_tache_supprimee_projet_date", columnList = "projet_id, date_suppression")
+})
+@Entity
+public class TacheSupprimee {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private int tache_id;
+
+    private int projet_id;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date date_suppression;
+
+    public TacheSupprimee() {
+    }
+
+    public TacheSupprimee(int tache_id, int projet_id) {
+        this.tache_id = tache_id;
+        this.projet_id = projet_id;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.date_suppression = new Date();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getTache_id() {
+        return tache_id;
+    }
+
+    public void setTache_id(int tache_id) {
+        this.tache_id = tache_id;
+    }
+
+    public int getProjet_id() {
+        return projet_id;
+    }
+
+    public void setProjet_id(int projet_id) {
+        this.projet_id = projet_id;
+    }
+
+    public Date getDate_suppression() {
+        return date_suppression;
+    }
+
+    public void setDate_suppression(Date date_suppression) {
+        this.date_suppression = date_suppression;
+    }
+}
@@ -1,7 +1,12 @@
 package com.visiplus.backend.models;
 import jakarta.persistence.*;
 
-@Table(name = "utilisateur_projet_role")
+import java.util.Date;
+
+@Table(name = "utilisateur_projet_role", indexes = {
+        @Index(name = "idx_upr_projet_utilisateur", columnList = "projet_id, utilisateur_id"),
+        @Index(name = "idx_upr_utilisateur_projet", columnList = "utilisateur_id, projet_id")
+})
 @Entity
 public class UserRoleProjet {
     @Id
@@ -21,6 +26,15 @@ public class UserRoleProjet {
     @JoinColumn(name = "role_id")
     private Role role;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date date_modification;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.date_modification = new Date();
+    }
+
     public Long getId() {
         return id;
     }
@@ -52,4 +66,12 @@ public class UserRoleProjet {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    public Date getDate_modification() {
+        return date_modification;
+    }
+
+    public void setDate_modification(Date date_modification) {
+        this.date_modification = date_modification;
+    }
 }
@@ -2,6 +2,7 @@ package com.visiplus.backend.models;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
@@ -9,7 +10,10 @@ import jakarta.persistence.*;
 import java.util.HashSet;
 import java.util.Set;
 
-@Table(name = "utilisateur")
+// Le nom est la clé naturelle (connexion, ajout de membre) : l'index unique sert aussi les recherches par nom
+@Table(name = "utilisateur",
+        indexes = @Index(name = "idx_utilisateur_email", columnList = "email"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_utilisateur_nom", columnNames = "nom"))
 @Entity
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Utilisateur {
@@ -28,15 +32,19 @@ public class Utilisateur {
 
     private boolean etat_connexion;
 
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
     @OneToMany(mappedBy = "commanditaire")
     private Set<Tache> tache_commanditaire;
 
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
     @OneToMany(mappedBy = "destinataire")
     private Set<Tache> taches_destinataire;
 
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
     @OneToMany(mappedBy = "createur")
     private Set<Projet> projets = new HashSet<>();
 
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CollectionNonChargeeFilter.class)
     @OneToMany(mappedBy = "utilisateur", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserRoleProjet> userRolesProjet = new HashSet<>();
 
@@ -0,0 +1,40 @@
+package com.visiplus.backend.notification;
+
+import com.visiplus.backend.dto.NotificationDTO;
+import com.visiplus.backend.dto.NotificationDigestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remplaçant local du relais SMTP : le digest est mis en forme comme un courriel et écrit dans les logs.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.canal.journal.actif", havingValue = "true", matchIfMissing = true)
+public class CanalJournal implements CanalNotification {
+
+    private static final Logger logger = LoggerFactory.getLogger(CanalJournal.class);
+
+    @Override
+    public String nom() {
+        return "journal";
+    }
+
+    @Override
+    public void envoyer(NotificationDigestDTO digest) {
+        StringBuilder corps = new StringBuilder();
+        corps.append("À : ").append(digest.getEmail())
+                .append("\nObjet : ").append(digest.getNotifications().size() + digest.getAutres())
+                .append(" tâche(s) modifiée(s)");
+        for (NotificationDTO notification : digest.getNotifications()) {
+            corps.append("\n- ").append(notification.getTache_nom())
+                    .append(" ").append(notification.getMotifs())
+                    .append(" (").append(notification.getModifications()).append(" modification(s))");
+        }
+        if (digest.getAutres() > 0) {
+            corps.append("\n- et ").append(digest.getAutres()).append(" autre(s)");
+        }
+        logger.info("Notification\n{}", corps);
+    }
+}
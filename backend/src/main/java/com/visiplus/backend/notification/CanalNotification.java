@@ -0,0 +1,14 @@
+package com.visiplus.backend.notification;
+
+import com.visiplus.backend.dto.NotificationDigestDTO;
+
+/**
+ * Canal de livraison des digests (courriel, messagerie...). Chaque bean est appelé pour chaque digest, depuis le
+ * thread de distribution : un canal lent retarde les digests suivants mais jamais une requête HTTP.
+ */
+public interface CanalNotification {
+
+    String nom();
+
+    void envoyer(NotificationDigestDTO digest);
+}
@@ -0,0 +1,77 @@
+package com.visiplus.backend.recherche;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Découpe un texte français en termes d'index : sans accents ni casse ("Démo" et "demo" donnent le même terme),
+ * sans mots vides, avec une racinisation légère du pluriel ("tâches" -> "tache").
+ * Le même traitement est appliqué aux documents indexés et aux requêtes.
+ */
+public final class AnalyseurFrancais {
+
+    static final int LONGUEUR_MIN = 2;
+
+    // Formes déjà normalisées (sans accents) : la comparaison se fait après normalisation
+    private static final Set<String> MOTS_VIDES = new HashSet<>(Arrays.asList(
+            "au", "aux", "avec", "ce", "ces", "cet", "cette", "dans", "de", "des", "du", "elle", "elles", "en",
+            "est", "et", "il", "ils", "je", "la", "le", "les", "leur", "leurs", "lui", "ma", "mais", "me", "mes",
+            "mon", "ne", "ni", "nos", "notre", "nous", "on", "ou", "par", "pas", "pour", "qu", "que", "qui",
+            "sa", "sans", "se", "ses", "son", "sont", "sur", "ta", "te", "tes", "ton", "tu", "un", "une", "vos",
+            "votre", "vous"));
+
+    private AnalyseurFrancais() {
+    }
+
+    public static List<String> analyser(String texte) {
+        List<String> termes = new ArrayList<>();
+        if (texte == null || texte.isEmpty()) {
+            return termes;
+        }
+
+        // NFD sépare les lettres de leurs accents (é -> e + accent combinant), qu'on ignore ensuite
+        String decompose = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        StringBuilder courant = new StringBuilder();
+        for (int i = 0; i < decompose.length(); i++) {
+            char c = decompose.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (c == 'œ' || c == 'Œ') {
+                courant.append("oe");
+            } else if (c == 'æ' || c == 'Æ') {
+                courant.append("ae");
+            } else if (Character.isLetterOrDigit(c)) {
+                courant.append(Character.toLowerCase(c));
+            } else {
+                // Espaces, ponctuation et apostrophes ("l'équipe" -> "l", "equipe")
+                ajouter(termes, courant);
+            }
+        }
+        ajouter(termes, courant);
+        return termes;
+    }
+
+    private static void ajouter(List<String> termes, StringBuilder courant) {
+        if (courant.length() >= LONGUEUR_MIN) {
+            String mot = courant.toString();
+            if (!MOTS_VIDES.contains(mot)) {
+                termes.add(raciner(mot));
+            }
+        }
+        courant.setLength(0);
+    }
+
+    // Pluriels réguliers seulement (-s, -x) : suffisant pour des noms de tâches, sans les faux amis d'un vrai stemmer
+    static String raciner(String mot) {
+        int longueur = mot.length();
+        if (longueur > 3 && (mot.endsWith("x") || (mot.endsWith("s") && !mot.endsWith("ss")))) {
+            return mot.substring(0, longueur - 1);
+        }
+        return mot;
+    }
+}
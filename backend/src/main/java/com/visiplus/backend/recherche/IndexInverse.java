@@ -0,0 +1,340 @@
+package com.visiplus.backend.recherche;
+
+import com.visiplus.backend.dto.ResultatRechercheDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Index inversé en mémoire des tâches et des projets : terme -> (document -> poids).
+ *
+ * Score d'un document = somme, sur les termes de la requête, de poids(terme, document) x idf(terme),
+ * divisée par la racine de la longueur du document (un nom court qui contient le terme passe devant
+ * une longue description). Tous les termes doivent être présents ; le dernier est aussi cherché comme
+ * préfixe, pour la saisie au fil de la frappe.
+ *
+ * Lectures concurrentes, écritures exclusives : les écritures (une tâche à la fois) sont rares
+ * devant les recherches.
+ */
+public class IndexInverse {
+
+    static final float POIDS_NOM = 3f;
+
+    static final float POIDS_DESCRIPTION = 1f;
+
+    // Un terme complété par préfixe compte moitié moins que le terme exact
+    static final float POIDS_PREFIXE = 0.5f;
+
+    // Borne l'expansion d'un préfixe court ("pr") à un nombre fixe de termes du vocabulaire
+    static final int EXPANSIONS_PREFIXE_MAX = 64;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    // Trié pour retrouver les termes d'un préfixe par simple sous-intervalle
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    // Non nuls pendant une reconstruction : documents relus en base, et documents modifiés en direct entre-temps
+    private Set<Long> vusPendantReconstruction;
+
+    private Set<Long> modifiesPendantReconstruction;
+
+    public void indexer(Document document) {
+        verrou.writeLock().lock();
+        try {
+            retirerInterne(document.cle);
+            ajouterInterne(document);
+            marquerModifie(document.cle);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void retirer(String type, int id) {
+        verrou.writeLock().lock();
+        try {
+            long cle = cle(type, id);
+            retirerInterne(cle);
+            marquerModifie(cle);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire le projet et toutes ses tâches.
+     */
+    public void retirerProjet(int projetId) {
+        verrou.writeLock().lock();
+        try {
+            List<Long> cles = new ArrayList<>();
+            for (Document document : documents.values()) {
+                if (document.projetId != null && document.projetId == projetId) {
+                    cles.add(document.cle);
+                }
+            }
+            cles.add(cle(ResultatRechercheDTO.TYPE_PROJET, projetId));
+            for (Long cle : cles) {
+                retirerInterne(cle);
+                marquerModifie(cle);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void commencerReconstruction() {
+        verrou.writeLock().lock();
+        try {
+            vusPendantReconstruction = new HashSet<>();
+            modifiesPendantReconstruction = new HashSet<>();
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Document relu en base pendant la reconstruction. Il n'écrase pas une modification arrivée
+     * entre-temps par les événements : la lecture en base peut être plus ancienne que l'événement.
+     */
+    public void indexerDepuisBase(Document document) {
+        verrou.writeLock().lock();
+        try {
+            if (vusPendantReconstruction == null) {
+                throw new IllegalStateException("Aucune reconstruction en cours");
+            }
+            vusPendantReconstruction.add(document.cle);
+            if (!modifiesPendantReconstruction.contains(document.cle)) {
+                retirerInterne(document.cle);
+                ajouterInterne(document);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Termine la reconstruction : les documents qui n'existent plus en base sont retirés.
+     */
+    public void terminerReconstruction() {
+        verrou.writeLock().lock();
+        try {
+            if (vusPendantReconstruction == null) {
+                return;
+            }
+            List<Long> disparus = new ArrayList<>();
+            for (Long cle : documents.keySet()) {
+                if (!vusPendantReconstruction.contains(cle) && !modifiesPendantReconstruction.contains(cle)) {
+                    disparus.add(cle);
+                }
+            }
+            disparus.forEach(this::retirerInterne);
+        } finally {
+            vusPendantReconstruction = null;
+            modifiesPendantReconstruction = null;
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Interrompt une reconstruction sans rien retirer (lecture en base en échec).
+     */
+    public void abandonnerReconstruction() {
+        verrou.writeLock().lock();
+        try {
+            vusPendantReconstruction = null;
+            modifiesPendantReconstruction = null;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public int taille() {
+        verrou.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Résultats triés par score décroissant. Le filtre est appliqué avant le calcul du score final.
+     */
+    public List<ResultatRechercheDTO> rechercher(List<String> termes, Predicate<Document> filtre) {
+        List<ResultatRechercheDTO> resultats = new ArrayList<>();
+        if (termes.isEmpty()) {
+            return resultats;
+        }
+
+        verrou.readLock().lock();
+        try {
+            List<Map<String, Float>> expansions = new ArrayList<>();
+            for (int i = 0; i < termes.size(); i++) {
+                Map<String, Float> termesPonderes = expansions(termes.get(i), i == termes.size() - 1);
+                if (termesPonderes.isEmpty()) {
+                    return resultats;
+                }
+                expansions.add(termesPonderes);
+            }
+
+            // Le terme le plus rare fournit les candidats : les suivants ne sont que des lectures ponctuelles
+            expansions.sort(Comparator.comparingInt(this::frequence));
+
+            Map<Long, Float> scores = new HashMap<>();
+            expansions.get(0).forEach((terme, poidsTerme) ->
+                    postings.get(terme).forEach((cle, poids) -> scores.merge(cle, poids * poidsTerme, Float::sum)));
+
+            for (int i = 1; i < expansions.size() && !scores.isEmpty(); i++) {
+                Map<String, Float> termesPonderes = expansions.get(i);
+                scores.entrySet().removeIf(candidat -> {
+                    float contribution = 0f;
+                    for (Map.Entry<String, Float> terme : termesPonderes.entrySet()) {
+                        Float poids = postings.get(terme.getKey()).get(candidat.getKey());
+                        if (poids != null) {
+                            contribution += poids * terme.getValue();
+                        }
+                    }
+                    if (contribution == 0f) {
+                        return true;
+                    }
+                    candidat.setValue(candidat.getValue() + contribution);
+                    return false;
+                });
+            }
+
+            for (Map.Entry<Long, Float> score : scores.entrySet()) {
+                Document document = documents.get(score.getKey());
+                if (filtre.test(document)) {
+                    resultats.add(new ResultatRechercheDTO(document.type, document.id, document.projetId,
+                            document.nom, document.description, score.getValue() / Math.sqrt(document.longueur)));
+                }
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        resultats.sort(Comparator.comparingDouble(ResultatRechercheDTO::getScore).reversed()
+                .thenComparing(ResultatRechercheDTO::getType)
+                .thenComparingInt(ResultatRechercheDTO::getId));
+        return resultats;
+    }
+
+    // Terme exact et, pour le dernier terme, ses complétions : chacun avec son facteur idf (et la pénalité de préfixe)
+    private Map<String, Float> expansions(String terme, boolean prefixe) {
+        Map<String, Float> termesPonderes = new HashMap<>();
+        NavigableMap<String, Map<Long, Float>> candidats = prefixe
+                ? postings.subMap(terme, true, terme + Character.MAX_VALUE, false)
+                : postings.subMap(terme, true, terme, true);
+
+        for (Map.Entry<String, Map<Long, Float>> candidat : candidats.entrySet()) {
+            if (termesPonderes.size() >= EXPANSIONS_PREFIXE_MAX) {
+                break;
+            }
+            float idf = (float) Math.log(1 + (double) documents.size() / candidat.getValue().size());
+            termesPonderes.put(candidat.getKey(), candidat.getKey().equals(terme) ? idf : idf * POIDS_PREFIXE);
+        }
+        return termesPonderes;
+    }
+
+    private int frequence(Map<String, Float> termesPonderes) {
+        int frequence = 0;
+        for (String terme : termesPonderes.keySet()) {
+            frequence += postings.get(terme).size();
+        }
+        return frequence;
+    }
+
+    private void ajouterInterne(Document document) {
+        documents.put(document.cle, document);
+        document.poids.forEach((terme, poids) ->
+                postings.computeIfAbsent(terme, t -> new HashMap<>()).put(document.cle, poids));
+    }
+
+    private void retirerInterne(long cle) {
+        Document document = documents.remove(cle);
+        if (document == null) {
+            return;
+        }
+        for (String terme : document.poids.keySet()) {
+            Map<Long, Float> liste = postings.get(terme);
+            liste.remove(cle);
+            if (liste.isEmpty()) {
+                postings.remove(terme);
+            }
+        }
+    }
+
+    private void marquerModifie(long cle) {
+        if (modifiesPendantReconstruction != null) {
+            modifiesPendantReconstruction.add(cle);
+        }
+    }
+
+    // Tâches et projets ont chacun leur séquence d'ids : le type fait partie de la clé
+    static long cle(String type, int id) {
+        long espace = ResultatRechercheDTO.TYPE_PROJET.equals(type) ? 1L << 32 : 0L;
+        return espace | (id & 0xffffffffL);
+    }
+
+    /**
+     * Document indexé : les champs affichés dans les résultats et les poids de ses termes.
+     */
+    public static final class Document {
+
+        final long cle;
+
+        final String type;
+
+        final int id;
+
+        final Integer projetId;
+
+        final String nom;
+
+        final String description;
+
+        final int longueur;
+
+        final Map<String, Float> poids = new HashMap<>();
+
+        public Document(String type, int id, Integer projetId, String nom, String description) {
+            this.cle = cle(type, id);
+            this.type = type;
+            this.id = id;
+            this.projetId = projetId;
+            this.nom = nom;
+            this.description = description;
+
+            List<String> termesNom = AnalyseurFrancais.analyser(nom);
+            List<String> termesDescription = AnalyseurFrancais.analyser(description);
+            termesNom.forEach(terme -> poids.merge(terme, POIDS_NOM, Float::sum));
+            termesDescription.forEach(terme -> poids.merge(terme, POIDS_DESCRIPTION, Float::sum));
+            // Fréquence amortie : un terme répété dix fois ne pèse pas dix fois plus
+            poids.replaceAll((terme, brut) -> 1f + (float) Math.log(brut));
+            this.longueur = Math.max(1, termesNom.size() + termesDescription.size());
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public Integer getProjetId() {
+            return projetId;
+        }
+    }
+}
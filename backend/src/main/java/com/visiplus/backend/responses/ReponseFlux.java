@@ -0,0 +1,78 @@
+package com.visiplus.backend.responses;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Corps JSON écrit au fil de la lecture : chaque lot lu en base est sérialisé puis envoyé au client avant la
+ * lecture du suivant. La mémoire occupée est celle d'un lot, quel que soit le nombre de lignes exportées.
+ * Les statut et en-têtes partent avec le premier lot : une erreur en cours d'export tronque le JSON.
+ */
+public final class ReponseFlux {
+
+    private ReponseFlux() {
+    }
+
+    /**
+     * Parcours d'une collection par lots, typiquement une méthode de service qui lit la base par clé.
+     */
+    @FunctionalInterface
+    public interface Parcours<T> {
+        void parcourir(Consumer<List<T>> lot);
+    }
+
+    // Même forme qu'un ApiResponse : {"success":true,"message":...,"data":[...]}
+    public static <T> StreamingResponseBody enveloppe(ObjectMapper objectMapper, String message, Parcours<T> parcours) {
+        return sortie -> {
+            try (JsonGenerator generateur = generateur(objectMapper, sortie)) {
+                generateur.writeStartObject();
+                generateur.writeBooleanField("success", true);
+                generateur.writeStringField("message", message);
+                generateur.writeFieldName("data");
+                ecrire(generateur, parcours);
+                generateur.writeEndObject();
+            }
+        };
+    }
+
+    // Tableau JSON nu, pour les endpoints qui ne renvoient pas d'ApiResponse
+    public static <T> StreamingResponseBody tableau(ObjectMapper objectMapper, Parcours<T> parcours) {
+        return sortie -> {
+            try (JsonGenerator generateur = generateur(objectMapper, sortie)) {
+                ecrire(generateur, parcours);
+            }
+        };
+    }
+
+    private static JsonGenerator generateur(ObjectMapper objectMapper, OutputStream sortie) throws IOException {
+        // Le flux de la réponse appartient au conteneur : il n'est pas fermé avec le générateur
+        return objectMapper.createGenerator(sortie).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static <T> void ecrire(JsonGenerator generateur, Parcours<T> parcours) throws IOException {
+        generateur.writeStartArray();
+        try {
+            parcours.parcourir(lot -> {
+                try {
+                    for (T element : lot) {
+                        generateur.writeObject(element);
+                    }
+                    generateur.flush();
+                } catch (IOException e) {
+                    // Client déconnecté : le parcours s'arrête, les lots suivants ne sont pas lus
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generateur.writeEndArray();
+    }
+}
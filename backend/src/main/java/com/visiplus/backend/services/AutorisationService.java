@@ -0,0 +1,20 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.models.Projet;
+
+public interface AutorisationService {
+
+    int permissions(int utilisateurId, int projetId);
+
+    int exigerUtilisateur(Integer utilisateurId);
+
+    void verifier(Integer utilisateurId, int projetId, Permission... permissions);
+
+    void verifierAdministrateur(Integer utilisateurId, Projet projet);
+
+    void invalider(ProjetEvenementDTO evenement);
+
+    void invaliderTout();
+}
@@ -0,0 +1,18 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+
+public interface HistoriqueService {
+
+    void enregistrer(ProjetEvenementDTO evenement);
+
+    void ecrire();
+
+    KeysetPageDTO<HistoriqueDTO> findPageByTacheId(int tacheId, String cursor, int size);
+
+    KeysetPageDTO<HistoriqueDTO> findPageByProjetId(int projetId, String cursor, int size);
+
+    Integer findProjetIdDeTache(int tacheId);
+}
@@ -0,0 +1,15 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.KanbanDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+
+public interface KanbanService {
+
+    String etag(int projetId);
+
+    KanbanDTO getKanban(int projetId);
+
+    void appliquer(ProjetEvenementDTO evenement);
+
+    void invaliderTout();
+}
@@ -0,0 +1,17 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.NotificationDigestDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+
+import java.util.List;
+
+public interface NotificationService {
+
+    void signaler(ProjetEvenementDTO evenement);
+
+    void verifierEcheances();
+
+    void distribuer();
+
+    List<NotificationDigestDTO> findRecentes(int utilisateurId);
+}
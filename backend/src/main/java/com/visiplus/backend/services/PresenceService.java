@@ -0,0 +1,23 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.PresenceDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+
+import java.util.List;
+
+public interface PresenceService {
+
+    void battement(int utilisateurId);
+
+    void deconnecter(int utilisateurId);
+
+    boolean estEnLigne(int utilisateurId);
+
+    List<PresenceDTO> enLigne(int projetId);
+
+    void appliquer(ProjetEvenementDTO evenement);
+
+    void balayer();
+
+    void reinitialiserMiroir();
+}
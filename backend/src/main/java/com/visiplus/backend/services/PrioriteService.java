@@ -7,6 +7,7 @@ import java.util.Optional;
 public interface PrioriteService {
     Optional<Priorite> findById(Integer priorite_id);
     Priorite findByNom(String nom_priorite);
+    Priorite getReference(int priorite_id);
     int create(Priorite priorite);
     Priorite save(Priorite priorite);
     void delete(Priorite priorite);
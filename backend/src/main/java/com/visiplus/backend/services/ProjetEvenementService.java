@@ -0,0 +1,13 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ProjetEvenementService {
+
+    SseEmitter abonner(int projetId);
+
+    void diffuser(ProjetEvenementDTO evenement);
+
+    int nombreAbonnes(int projetId);
+}
@@ -1,11 +1,14 @@
 package com.visiplus.backend.services;
 
 
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Utilisateur;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProjetService {
 
@@ -15,9 +18,21 @@ public interface ProjetService {
 
     Projet findById(int id);
 
+    Projet findWithTachesById(int id);
+
+    Projet findWithTachesByNom(String nom);
+
+    Projet findWithMembresById(int id);
+
     Projet delete(Projet projet);
 
     List<Projet> findAll();
+
+    List<ProjetResponseDTO> findAllResumes();
+
+    void parcourirResumes(Consumer<List<ProjetResponseDTO>> lot);
+
+    KeysetPageDTO<ProjetResponseDTO> findPageResumes(Integer membreId, String cursor, int size);
     
     void deleteProjetTacheRelations(int projetId);
 
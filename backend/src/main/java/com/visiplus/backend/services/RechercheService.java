@@ -0,0 +1,15 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ResultatRechercheDTO;
+
+public interface RechercheService {
+
+    KeysetPageDTO<ResultatRechercheDTO> rechercher(String requete, String type, Integer projetId,
+                                                   Integer utilisateurId, String cursor, int size);
+
+    void indexer(ProjetEvenementDTO evenement);
+
+    void reconstruire();
+}
@@ -4,5 +4,6 @@ import com.visiplus.backend.models.Role;
 
 public interface RoleService {
     Role findByNom(String nom);
+    Role getReference(int role_id);
     Role save(Role role);
 }
@@ -0,0 +1,12 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.SuppressionProjetDTO;
+
+public interface SuppressionProjetService {
+
+    // Lance la suppression en arrière-plan ; une suppression déjà en cours pour ce projet est renvoyée telle quelle
+    SuppressionProjetDTO demarrer(int projetId, Integer auteurId);
+
+    // null si l'identifiant est inconnu ou si la suppression est terminée depuis plus que la durée de suivi
+    SuppressionProjetDTO statut(String suppressionId);
+}
@@ -0,0 +1,13 @@
+package com.visiplus.backend.services;
+
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TableauDeBordDTO;
+
+public interface TableauDeBordService {
+
+    TableauDeBordDTO getTableauDeBord(int projetId);
+
+    void appliquer(ProjetEvenementDTO evenement);
+
+    void reconcilier();
+}
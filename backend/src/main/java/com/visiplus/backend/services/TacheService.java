@@ -1,9 +1,18 @@
 package com.visiplus.backend.services;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheBulkResultatDTO;
+import com.visiplus.backend.dto.TacheChangementsDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.dto.TacheRequest;
 import com.visiplus.backend.models.Tache;
 
 public interface TacheService {
@@ -17,7 +26,29 @@ public interface TacheService {
 
     public Tache save(Tache tache);
 
+    // avant : instantané pris avant de modifier l'entité, comparé à l'état enregistré pour l'historique
+    public Tache save(Tache tache, TacheDTO avant);
+
     List<Tache> findByProjetId(int id);
+
+    // Tâches du projet, lot par lot : les entités d'un lot sont détachées une fois le lot traité
+    void parcourirParProjetId(int projetId, Consumer<List<Tache>> lot);
+
+    List<Integer> findProjetIds(Collection<Integer> tacheIds);
+
+    KeysetPageDTO<TacheDTO> findPageByProjetId(int projetId, String etat, Integer prioriteId,
+                                               Integer destinataireId, String cursor, int size, boolean desc);
+
+    List<TacheBulkResultatDTO> createBulk(List<TacheRequest> requetes);
+
+    List<TacheBulkResultatDTO> updateBulk(List<TacheRequest> requetes);
+
+    TacheChangementsDTO findChangementsByProjetId(int projetId, long since);
+
+    // Champs modifiés entre deux versions d'une tâche ; null si une étape n'est plus connue (pas de fusion possible)
+    Set<String> champsModifiesDepuis(int tacheId, long depuis, long courante);
+
+    void journaliserVersion(ProjetEvenementDTO evenement);
     
     public boolean deleteByID(int id);
 };
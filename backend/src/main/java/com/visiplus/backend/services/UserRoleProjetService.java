@@ -1,5 +1,6 @@
 package com.visiplus.backend.services;
 
+import com.visiplus.backend.dto.UserRoleProjetDTO;
 import com.visiplus.backend.models.UserRoleProjet;
 
 import java.util.List;
@@ -9,6 +10,8 @@ public interface UserRoleProjetService {
     public UserRoleProjet save(UserRoleProjet userRoleProjet);
 
     public List<UserRoleProjet> findALl();
+
+    public List<UserRoleProjetDTO> findByProjetId(int projetId);
     
     public void delete(UserRoleProjet userRoleProjet);
     
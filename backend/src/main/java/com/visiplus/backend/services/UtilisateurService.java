@@ -1,13 +1,18 @@
 package com.visiplus.backend.services;
 
+import com.visiplus.backend.dto.UtilisateurDTO;
 import com.visiplus.backend.models.Utilisateur;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UtilisateurService {
 
     public List<Utilisateur> findAll();
 
+    // Tous les utilisateurs, lot par lot : un lot est transmis avant la lecture du suivant
+    public void parcourir(Consumer<List<UtilisateurDTO>> lot);
+
     public int create(Utilisateur utilisateur);
 
     public Utilisateur findById(int id);
@@ -0,0 +1,115 @@
+package com.visiplus.backend.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visiplus.backend.autorisation.AccesRefuseException;
+import com.visiplus.backend.autorisation.NonIdentifieException;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Role;
+import com.visiplus.backend.services.AutorisationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AutorisationServiceImpl implements AutorisationService {
+
+    static final long TAILLE_CACHE_MAX = 100_000;
+
+    // Filet de sécurité si une invalidation est manquée (écriture SQL directe)
+    static final long EXPIRATION_MINUTES = 60;
+
+    @Autowired
+    UserRoleProjetRepository userRoleProjetRepository;
+
+    // (utilisateur_id, projet_id) -> permissions : une lecture de cache et un ET binaire par vérification
+    private final Cache<Long, Integer> permissions = Caffeine.newBuilder()
+            .maximumSize(TAILLE_CACHE_MAX)
+            .expireAfterWrite(EXPIRATION_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Override
+    public int permissions(int utilisateurId, int projetId) {
+        long cle = cle(utilisateurId, projetId);
+        Integer masque = permissions.getIfPresent(cle);
+        if (masque == null) {
+            // Une invalidation concurrente attend la fin du chargement : jamais de valeur périmée remise en cache
+            masque = permissions.get(cle, c -> charger(utilisateurId, projetId));
+        }
+        return masque;
+    }
+
+    // Sans jeton ni en-tête accepté, aucune permission ne peut être accordée : 401 plutôt qu'un accès anonyme
+    @Override
+    public int exigerUtilisateur(Integer utilisateurId) {
+        if (utilisateurId == null) {
+            throw new NonIdentifieException();
+        }
+        return utilisateurId;
+    }
+
+    @Override
+    public void verifier(Integer utilisateurId, int projetId, Permission... requises) {
+        int masque = permissions(exigerUtilisateur(utilisateurId), projetId);
+        for (Permission permission : requises) {
+            if (!permission.accordee(masque)) {
+                throw new AccesRefuseException(permission, projetId);
+            }
+        }
+    }
+
+    /**
+     * Créateur du projet, ou membre qui y a le rôle ADMINISTRATEUR. Lu en base à chaque appel : réservé aux
+     * opérations rares et irréversibles, le cache de masques ne connaît pas les noms de rôle.
+     */
+    @Override
+    public void verifierAdministrateur(Integer utilisateurId, Projet projet) {
+        int utilisateur = exigerUtilisateur(utilisateurId);
+        if (projet.getCreateur() != null && projet.getCreateur().getId() == utilisateur) {
+            return;
+        }
+        for (Role role : userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(utilisateur, projet.getId())) {
+            if (Role.ADMINISTRATEUR.equals(role.getNom())) {
+                return;
+            }
+        }
+        throw new AccesRefuseException("Réservé au créateur ou à un administrateur du projet " + projet.getId(),
+                projet.getId());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalider(ProjetEvenementDTO evenement) {
+        String type = evenement.getType();
+        if ((ProjetEvenementDTO.MEMBRE_AJOUTE.equals(type) || ProjetEvenementDTO.MEMBRE_RETIRE.equals(type))
+                && evenement.getUtilisateur_id() != null) {
+            permissions.invalidate(cle(evenement.getUtilisateur_id(), evenement.getProjet_id()));
+        } else if (ProjetEvenementDTO.PROJET_SUPPRIME.equals(type)) {
+            int projetId = evenement.getProjet_id();
+            permissions.asMap().keySet().removeIf(cle -> cle.intValue() == projetId);
+        }
+    }
+
+    // Les drapeaux d'un rôle ont changé : tous les membres qui l'ont sont concernés
+    @Override
+    public void invaliderTout() {
+        permissions.invalidateAll();
+    }
+
+    private int charger(int utilisateurId, int projetId) {
+        int masque = 0;
+        for (Role role : userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(utilisateurId, projetId)) {
+            masque |= Permission.masque(role);
+        }
+        return masque;
+    }
+
+    private static long cle(int utilisateurId, int projetId) {
+        return ((long) utilisateurId << 32) | (projetId & 0xffffffffL);
+    }
+}
@@ -0,0 +1,258 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dao.HistoriqueRepository;
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.models.Historique;
+import com.visiplus.backend.services.HistoriqueService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Service
+public class HistoriqueServiceImpl implements HistoriqueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoriqueServiceImpl.class);
+
+    static final int TAILLE_PAGE_MAX = 200;
+
+    // Lignes par transaction d'écriture ; les INSERT partent par 50 (hibernate.jdbc.batch_size)
+    static final int TAILLE_LOT = 500;
+
+    static final int CAPACITE_FILE = 100_000;
+
+    // Essais d'un même lot avant de l'abandonner : une ligne refusée par la base ne bloque pas le journal
+    static final int TENTATIVES_MAX = 5;
+
+    @Autowired
+    HistoriqueRepository historiqueRepository;
+
+    // Lignes en attente d'écriture : la requête ne fait qu'ajouter en mémoire, le lot part en base plus tard
+    private final BlockingDeque<Historique> enAttente = new LinkedBlockingDeque<>(CAPACITE_FILE);
+
+    private final AtomicLong perdues = new AtomicLong();
+
+    // Échecs consécutifs du lot en tête de file, et passages du planificateur à sauter avant de le réessayer
+    private int echecs;
+    private int passagesASauter;
+
+    /**
+     * Après le commit, sur le thread de la requête : calcule les lignes du journal et les met en file, sans
+     * accès à la base. Une modification annulée par un rollback n'est donc jamais journalisée.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void enregistrer(ProjetEvenementDTO evenement) {
+        List<Historique> lignes = lignes(evenement, UtilisateurCourantInterceptor.utilisateurCourant(), new Date());
+        for (Historique ligne : lignes) {
+            // Une file pleine signale une base indisponible : on perd des lignes plutôt que de bloquer les requêtes
+            if (!enAttente.offer(ligne)) {
+                perdues.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Écrit les lignes en attente par lots de TAILLE_LOT, une transaction par lot. Seules les lignes présentes
+     * au début de l'écriture sont prises : le planificateur n'est pas monopolisé par un flux continu.
+     * Un lot en échec est remis en tête de file et réessayé après 1, 2, 4 puis 8 passages ; il n'est perdu
+     * qu'après TENTATIVES_MAX échecs consécutifs.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${historique.ecriture-ms:1000}")
+    public synchronized void ecrire() {
+        if (passagesASauter > 0) {
+            passagesASauter--;
+            return;
+        }
+
+        int restantes = enAttente.size();
+        List<Historique> lot = new ArrayList<>(Math.min(restantes, TAILLE_LOT));
+        while (restantes > 0 && enAttente.drainTo(lot, Math.min(restantes, TAILLE_LOT)) > 0) {
+            restantes -= lot.size();
+            try {
+                historiqueRepository.saveAll(lot);
+                echecs = 0;
+            } catch (RuntimeException e) {
+                if (++echecs < TENTATIVES_MAX) {
+                    remettreEnTete(lot);
+                    passagesASauter = (1 << (echecs - 1)) - 1;
+                    logger.warn("Écriture de l'historique en échec (essai {}/{}), lot remis en file : {}",
+                            echecs, TENTATIVES_MAX, e.getMessage());
+                    break;
+                }
+                echecs = 0;
+                perdues.addAndGet(lot.size());
+                logger.error("Écriture de l'historique abandonnée après {} essais : {}", TENTATIVES_MAX, e.getMessage());
+            }
+            lot = new ArrayList<>(Math.min(restantes, TAILLE_LOT));
+        }
+
+        long nbPerdues = perdues.getAndSet(0);
+        if (nbPerdues > 0) {
+            logger.warn("{} ligne(s) d'historique perdue(s)", nbPerdues);
+        }
+    }
+
+    // Arrêt de l'application : la file est vidée avant la fermeture de la base, sans attendre un délai de nouvel essai
+    @PreDestroy
+    synchronized void vider() {
+        passagesASauter = 0;
+        ecrire();
+    }
+
+    // Ordre d'origine conservé : les ids des lignes suivent toujours l'ordre des modifications
+    private void remettreEnTete(List<Historique> lot) {
+        for (int i = lot.size() - 1; i >= 0; i--) {
+            Historique ligne = lot.get(i);
+            // Id tiré de historique_seq par l'essai annulé : sans lui, save() fait un persist et non un merge
+            // d'une ligne détachée absente de la base (StaleObjectStateException à chaque nouvel essai)
+            ligne.setId(null);
+            if (!enAttente.offerFirst(ligne)) {
+                perdues.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public KeysetPageDTO<HistoriqueDTO> findPageByTacheId(int tacheId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, TAILLE_PAGE_MAX));
+        // Une ligne de plus que demandé pour savoir s'il reste une page suivante
+        return page(historiqueRepository.findByTacheIdAvant(tacheId, decodeCursor(cursor), Limit.of(limit + 1)), limit);
+    }
+
+    @Override
+    public KeysetPageDTO<HistoriqueDTO> findPageByProjetId(int projetId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, TAILLE_PAGE_MAX));
+        return page(historiqueRepository.findByProjetIdAvant(projetId, decodeCursor(cursor), Limit.of(limit + 1)), limit);
+    }
+
+    // Projet de la dernière ligne de la tâche : l'historique d'une tâche supprimée reste consultable
+    @Override
+    public Integer findProjetIdDeTache(int tacheId) {
+        List<Integer> projets = historiqueRepository.findProjetIdsByTacheId(tacheId, Limit.of(1));
+        return projets.isEmpty() ? null : projets.get(0);
+    }
+
+    List<Historique> lignes(ProjetEvenementDTO evenement, Integer auteurId, Date date) {
+        List<Historique> lignes = new ArrayList<>();
+        String type = evenement.getType();
+        int projetId = evenement.getProjet_id();
+        switch (type) {
+            case ProjetEvenementDTO.TACHE_MODIFIEE -> {
+                TacheDTO avant = evenement.getAvant();
+                TacheDTO apres = evenement.getTache();
+                if (avant == null || apres == null) {
+                    // Modification sans instantané préalable : seule sa date est connue
+                    lignes.add(new Historique(type, projetId, evenement.getTache_id(), auteurId, date));
+                    break;
+                }
+                // Champs comparés entre l'instantané d'avant la modification et celui d'après
+                for (Map.Entry<String, Function<TacheDTO, Object>> champ : TacheDTO.CHAMPS.entrySet()) {
+                    String ancienne = valeur(champ.getValue().apply(avant));
+                    String nouvelle = valeur(champ.getValue().apply(apres));
+                    if (!Objects.equals(ancienne, nouvelle)) {
+                        Historique ligne = new Historique(type, projetId, evenement.getTache_id(), auteurId, date);
+                        ligne.setChamp(champ.getKey());
+                        ligne.setAncienne_valeur(ancienne);
+                        ligne.setNouvelle_valeur(nouvelle);
+                        lignes.add(ligne);
+                    }
+                }
+            }
+            case ProjetEvenementDTO.TACHE_CREEE -> {
+                Historique ligne = new Historique(type, projetId, evenement.getTache_id(), auteurId, date);
+                ligne.setNouvelle_valeur(evenement.getTache() != null ? evenement.getTache().getNom() : null);
+                lignes.add(ligne);
+            }
+            case ProjetEvenementDTO.TACHE_SUPPRIMEE -> {
+                Historique ligne = new Historique(type, projetId, evenement.getTache_id(), auteurId, date);
+                ligne.setAncienne_valeur(evenement.getAvant() != null ? evenement.getAvant().getNom() : null);
+                lignes.add(ligne);
+            }
+            case ProjetEvenementDTO.MEMBRE_AJOUTE, ProjetEvenementDTO.MEMBRE_RETIRE -> {
+                Historique ligne = new Historique(type, projetId, null, auteurId, date);
+                ligne.setMembre_id(evenement.getUtilisateur_id());
+                ligne.setChamp("role_id");
+                String role = valeur(evenement.getRole_id());
+                if (ProjetEvenementDTO.MEMBRE_AJOUTE.equals(type)) {
+                    ligne.setNouvelle_valeur(role);
+                } else {
+                    ligne.setAncienne_valeur(role);
+                }
+                lignes.add(ligne);
+            }
+            case ProjetEvenementDTO.PROJET_CREE, ProjetEvenementDTO.PROJET_SUPPRIME -> {
+                // Suppression publiée par le travail d'arrière-plan : pas de requête, l'auteur vient de l'événement
+                Integer auteur = auteurId != null ? auteurId : evenement.getUtilisateur_id();
+                Historique ligne = new Historique(type, projetId, null, auteur, date);
+                ligne.setNouvelle_valeur(evenement.getProjet() != null ? evenement.getProjet().getNom() : null);
+                lignes.add(ligne);
+            }
+            default -> {
+                // Présence, RESYNC : pas des modifications
+            }
+        }
+        return lignes;
+    }
+
+    // Dates en millisecondes UTC : un Timestamp relu en base et une Date reçue en JSON se comparent à l'identique
+    private static String valeur(Object valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        if (valeur instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime()).toString();
+        }
+        return valeur.toString();
+    }
+
+    private KeysetPageDTO<HistoriqueDTO> page(List<HistoriqueDTO> lignes, int limit) {
+        boolean hasMore = lignes.size() > limit;
+        if (hasMore) {
+            lignes = lignes.subList(0, limit);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(lignes.get(lignes.size() - 1).getId()) : null;
+        return new KeysetPageDTO<>(lignes, nextCursor, hasMore);
+    }
+
+    private String encodeCursor(long dernierId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(dernierId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Sans curseur, la page commence à la ligne la plus récente
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        String valeur = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        try {
+            return Long.parseLong(valeur);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur invalide : " + cursor);
+        }
+    }
+}
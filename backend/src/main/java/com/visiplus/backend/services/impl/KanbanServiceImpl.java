@@ -0,0 +1,85 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.KanbanDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.services.KanbanService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class KanbanServiceImpl implements KanbanService {
+
+    @Autowired
+    ProjetRepository projetRepository;
+
+    @Autowired
+    UserRoleProjetRepository userRoleProjetRepository;
+
+    @Autowired
+    TacheRepository tacheRepository;
+
+    // Les compteurs repartent de zéro à chaque démarrage : l'instant de démarrage distingue les ETag d'une exécution à l'autre
+    private final String demarrage = Long.toString(System.currentTimeMillis(), 36);
+
+    // Projet -> version, incrémentée à chaque modification validée du projet, de ses membres ou de ses tâches
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Rôles et priorités (noms affichés sur tous les tableaux)
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * ETag fort du tableau, calculé en mémoire. Il doit être lu avant les données : une modification validée
+     * entre les deux donne un ETag plus ancien que le contenu, jamais l'inverse, et le client recharge.
+     */
+    @Override
+    public String etag(int projetId) {
+        return "\"" + projetId + "-" + demarrage + "-" + generation.get() + "-" + version(projetId).get() + "\"";
+    }
+
+    // Trois requêtes à plat, aucune entité chargée
+    @Override
+    @Transactional(readOnly = true)
+    public KanbanDTO getKanban(int projetId) {
+        ProjetResponseDTO projet = projetRepository.findResumeById(projetId).orElse(null);
+        if (projet == null) {
+            return null;
+        }
+        return new KanbanDTO(projet, userRoleProjetRepository.findMembresByProjetId(projetId),
+                tacheRepository.findResumesByProjetId(projetId));
+    }
+
+    // La présence n'entre pas dans le tableau : elle se lit sur /presence et arrive par le flux SSE
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void appliquer(ProjetEvenementDTO evenement) {
+        String type = evenement.getType();
+        if (type.startsWith("TACHE_") || type.startsWith("MEMBRE_") || type.startsWith("PROJET_")) {
+            version(evenement.getProjet_id()).incrementAndGet();
+            // Tâche déplacée : l'ancien projet la perd, son tableau change aussi
+            TacheDTO avant = evenement.getAvant();
+            if (avant != null && avant.getProjet_id() != null && avant.getProjet_id() != evenement.getProjet_id()) {
+                version(avant.getProjet_id()).incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void invaliderTout() {
+        generation.incrementAndGet();
+    }
+
+    private AtomicLong version(int projetId) {
+        return versions.computeIfAbsent(projetId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,293 @@
+package com.visiplus.backend.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.NotificationDTO;
+import com.visiplus.backend.dto.NotificationDigestDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.notification.CanalNotification;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    static final int DELAI_ECHEANCE_HEURES = 24;
+
+    // Tâches distinctes par digest ; au-delà, elles sont seulement comptées
+    static final int TAILLE_DIGEST_MAX = 50;
+
+    // Digests conservés par utilisateur pour GET /api/utilisateur/notifications
+    static final int RECENTES_MAX = 20;
+
+    @Autowired
+    AutorisationService autorisationService;
+
+    @Autowired
+    UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    TacheRepository tacheRepository;
+
+    @Autowired(required = false)
+    List<CanalNotification> canaux = Collections.emptyList();
+
+    // Une tâche modifiée à nouveau pendant ce délai reste une seule notification
+    @Value("${notification.coalescence-ms:60000}")
+    long coalescenceMs = 60000;
+
+    // Au plus un digest par destinataire sur cette période, quel que soit le nombre de tâches modifiées
+    @Value("${notification.digest-ms:300000}")
+    long digestMs = 300000;
+
+    // Destinataire -> notifications en attente du prochain digest
+    private final Map<Integer, Boite> boites = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Deque<NotificationDigestDTO>> recentes = new ConcurrentHashMap<>();
+
+    // Tâche et échéance déjà signalées : le balayage horaire ne renvoie pas la même échéance
+    private final Cache<String, Boolean> echeancesSignalees = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(2L * DELAI_ECHEANCE_HEURES))
+            .build();
+
+    /**
+     * Après le commit, sur le thread de la requête : la notification est rangée dans la boîte du destinataire,
+     * sans envoi. Assignation au nouveau destinataire, changement d'état au destinataire et au commanditaire ;
+     * l'auteur de la modification et les membres sans etre_notifie ne sont pas notifiés.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void signaler(ProjetEvenementDTO evenement) {
+        String type = evenement.getType();
+        if (ProjetEvenementDTO.TACHE_SUPPRIMEE.equals(type)) {
+            retirer(evenement.getTache_id());
+            return;
+        }
+        if (ProjetEvenementDTO.PROJET_SUPPRIME.equals(type)) {
+            // Tâches supprimées par lots, sans événement TACHE_SUPPRIMEE
+            retirerProjet(evenement.getProjet_id());
+            return;
+        }
+
+        TacheDTO tache = evenement.getTache();
+        if (tache == null) {
+            return;
+        }
+        Integer auteurId = UtilisateurCourantInterceptor.utilisateurCourant();
+        int projetId = evenement.getProjet_id();
+
+        if (ProjetEvenementDTO.TACHE_CREEE.equals(type)) {
+            ajouter(tache.getDestinataire_id(), NotificationDTO.ASSIGNATION, tache, projetId, auteurId);
+        } else if (ProjetEvenementDTO.TACHE_MODIFIEE.equals(type) && evenement.getAvant() != null) {
+            TacheDTO avant = evenement.getAvant();
+            if (!Objects.equals(avant.getDestinataire_id(), tache.getDestinataire_id())) {
+                ajouter(tache.getDestinataire_id(), NotificationDTO.ASSIGNATION, tache, projetId, auteurId);
+            }
+            if (!Objects.equals(avant.getEtat(), tache.getEtat())) {
+                ajouter(tache.getDestinataire_id(), NotificationDTO.CHANGEMENT_ETAT, tache, projetId, auteurId);
+                if (!Objects.equals(tache.getCommanditaire_id(), tache.getDestinataire_id())) {
+                    ajouter(tache.getCommanditaire_id(), NotificationDTO.CHANGEMENT_ETAT, tache, projetId, auteurId);
+                }
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notification.echeance.verification-ms:3600000}", initialDelay = 60000)
+    public void verifierEcheances() {
+        long maintenant = System.currentTimeMillis();
+        List<TacheDTO> taches = tacheRepository.findEcheancesEntre(new Date(maintenant),
+                new Date(maintenant + TimeUnit.HOURS.toMillis(DELAI_ECHEANCE_HEURES)), TableauDeBordServiceImpl.ETATS_TERMINES);
+        for (TacheDTO tache : taches) {
+            String cle = tache.getId() + ":" + tache.getDate_fin().getTime();
+            if (echeancesSignalees.asMap().putIfAbsent(cle, Boolean.TRUE) == null) {
+                ajouter(tache.getDestinataire_id(), NotificationDTO.ECHEANCE, tache, tache.getProjet_id(), null);
+            }
+        }
+    }
+
+    /**
+     * Envoie un digest à chaque destinataire dont la boîte est prête : aucune modification depuis coalescenceMs
+     * (ou une rafale qui dure depuis plus de digestMs), et pas de digest envoyé depuis digestMs.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${notification.distribution-ms:15000}")
+    public void distribuer() {
+        long maintenant = System.currentTimeMillis();
+        Map<Integer, Boite> pretes = new HashMap<>();
+        for (Map.Entry<Integer, Boite> entree : boites.entrySet()) {
+            Boite boite = entree.getValue();
+            synchronized (boite) {
+                if (boite.estVide()) {
+                    continue;
+                }
+                boolean calme = maintenant - boite.derniereModification >= coalescenceMs;
+                boolean rafaleLongue = maintenant - boite.premiereModification >= digestMs;
+                if ((calme || rafaleLongue) && maintenant - boite.dernierEnvoi >= digestMs) {
+                    pretes.put(entree.getKey(), boite.vider(maintenant));
+                }
+            }
+        }
+        if (pretes.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Utilisateur> utilisateurs = new HashMap<>();
+        for (Utilisateur utilisateur : utilisateurRepository.findAllById(pretes.keySet())) {
+            utilisateurs.put(utilisateur.getId(), utilisateur);
+        }
+
+        Date date = new Date(maintenant);
+        pretes.forEach((utilisateurId, contenu) -> {
+            Utilisateur utilisateur = utilisateurs.get(utilisateurId);
+            if (utilisateur == null) {
+                return;
+            }
+            NotificationDigestDTO digest = new NotificationDigestDTO(utilisateurId, utilisateur.getNom(),
+                    utilisateur.getEmail(), new ArrayList<>(contenu.enAttente.values()), contenu.autres, date);
+            conserver(digest);
+            for (CanalNotification canal : canaux) {
+                try {
+                    canal.envoyer(digest);
+                } catch (RuntimeException e) {
+                    // Un canal en panne ne prive pas les autres du digest
+                    logger.warn("Canal de notification {} en échec : {}", canal.nom(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<NotificationDigestDTO> findRecentes(int utilisateurId) {
+        Deque<NotificationDigestDTO> digests = recentes.get(utilisateurId);
+        if (digests == null) {
+            return new ArrayList<>();
+        }
+        synchronized (digests) {
+            return new ArrayList<>(digests);
+        }
+    }
+
+    private void ajouter(Integer utilisateurId, String motif, TacheDTO tache, int projetId, Integer auteurId) {
+        if (utilisateurId == null || utilisateurId.equals(auteurId)) {
+            return;
+        }
+        // Permissions servies par le cache d'AutorisationService
+        if (!Permission.ETRE_NOTIFIE.accordee(autorisationService.permissions(utilisateurId, projetId))) {
+            return;
+        }
+
+        long maintenant = System.currentTimeMillis();
+        Boite boite = boites.computeIfAbsent(utilisateurId, id -> new Boite());
+        synchronized (boite) {
+            if (boite.estVide()) {
+                boite.premiereModification = maintenant;
+            }
+            boite.derniereModification = maintenant;
+
+            NotificationDTO notification = boite.enAttente.get(tache.getId());
+            if (notification == null) {
+                if (boite.enAttente.size() >= TAILLE_DIGEST_MAX) {
+                    boite.autres++;
+                    return;
+                }
+                notification = new NotificationDTO(tache.getId(), projetId);
+                boite.enAttente.put(tache.getId(), notification);
+            }
+            notification.getMotifs().add(motif);
+            notification.setTache_nom(tache.getNom());
+            notification.setEtat(tache.getEtat());
+            notification.setDate_fin(tache.getDate_fin());
+            notification.setModifications(notification.getModifications() + 1);
+            notification.setDerniere_modification(new Date(maintenant));
+        }
+    }
+
+    // Une tâche supprimée avant l'envoi du digest n'y figure pas
+    private void retirer(Integer tacheId) {
+        if (tacheId == null) {
+            return;
+        }
+        for (Boite boite : boites.values()) {
+            synchronized (boite) {
+                boite.enAttente.remove(tacheId);
+            }
+        }
+    }
+
+    private void retirerProjet(int projetId) {
+        for (Boite boite : boites.values()) {
+            synchronized (boite) {
+                boite.enAttente.values().removeIf(notification -> notification.getProjet_id() == projetId);
+            }
+        }
+    }
+
+    private void conserver(NotificationDigestDTO digest) {
+        Deque<NotificationDigestDTO> digests = recentes.computeIfAbsent(digest.getUtilisateur_id(), id -> new ArrayDeque<>());
+        synchronized (digests) {
+            digests.addFirst(digest);
+            while (digests.size() > RECENTES_MAX) {
+                digests.removeLast();
+            }
+        }
+    }
+
+    private static final class Boite {
+
+        // Sous le verrou de la boîte ; tâche -> notification, dans l'ordre de première modification
+        Map<Integer, NotificationDTO> enAttente = new LinkedHashMap<>();
+
+        int autres;
+
+        long premiereModification;
+
+        long derniereModification;
+
+        long dernierEnvoi;
+
+        boolean estVide() {
+            return enAttente.isEmpty() && autres == 0;
+        }
+
+        // Le contenu part dans le digest, la boîte repart vide
+        Boite vider(long maintenant) {
+            Boite contenu = new Boite();
+            contenu.enAttente = enAttente;
+            contenu.autres = autres;
+            enAttente = new LinkedHashMap<>();
+            autres = 0;
+            dernierEnvoi = maintenant;
+            return contenu;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.PresenceDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.services.PresenceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class PresenceServiceImpl implements PresenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceServiceImpl.class);
+
+    @Autowired
+    UserRoleProjetRepository userRoleProjetRepository;
+
+    @Autowired
+    UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // Sans battement depuis ce délai, l'utilisateur est considéré hors ligne (navigateur fermé)
+    @Value("${presence.ttl-ms:60000}")
+    long ttlMs = 60000;
+
+    private final Map<Integer, Presence> presences = new ConcurrentHashMap<>();
+
+    // Projet -> membres en ligne : la liste d'un projet se lit sans parcourir tous les utilisateurs
+    private final Map<Integer, Set<Integer>> enLigneParProjet = new ConcurrentHashMap<>();
+
+    // Utilisateur -> etat_connexion à écrire au prochain balayage : le miroir en base est écrit par lots, en retard
+    private final Map<Integer, Boolean> miroirEnAttente = new ConcurrentHashMap<>();
+
+    /**
+     * Un battement d'un utilisateur déjà en ligne n'est qu'une écriture en mémoire. Seul le passage en ligne
+     * lit ses projets en base, pour l'index par projet et les événements PRESENCE_CONNECTE.
+     */
+    @Override
+    public void battement(int utilisateurId) {
+        long maintenant = System.currentTimeMillis();
+        Presence existante = presences.get(utilisateurId);
+        if (existante != null) {
+            existante.derniereActivite = maintenant;
+            return;
+        }
+
+        Presence nouvelle = new Presence(maintenant);
+        existante = presences.putIfAbsent(utilisateurId, nouvelle);
+        if (existante != null) {
+            existante.derniereActivite = maintenant;
+            return;
+        }
+
+        List<Integer> projets;
+        try {
+            projets = userRoleProjetRepository.findProjetIdsByUtilisateurId(utilisateurId);
+        } catch (RuntimeException e) {
+            presences.remove(utilisateurId, nouvelle);
+            throw e;
+        }
+        synchronized (nouvelle) {
+            if (nouvelle.retiree) {
+                return;
+            }
+            projets.forEach(projetId -> rejoindre(nouvelle, utilisateurId, projetId));
+        }
+
+        miroirEnAttente.put(utilisateurId, true);
+        projets.forEach(projetId -> eventPublisher.publishEvent(
+                ProjetEvenementDTO.presence(ProjetEvenementDTO.PRESENCE_CONNECTE, projetId, utilisateurId)));
+    }
+
+    @Override
+    public void deconnecter(int utilisateurId) {
+        Presence presence = presences.remove(utilisateurId);
+        if (presence != null) {
+            retirer(utilisateurId, presence);
+        }
+    }
+
+    @Override
+    public boolean estEnLigne(int utilisateurId) {
+        Presence presence = presences.get(utilisateurId);
+        return presence != null && presence.derniereActivite >= limite();
+    }
+
+    @Override
+    public List<PresenceDTO> enLigne(int projetId) {
+        List<PresenceDTO> enLigne = new ArrayList<>();
+        Set<Integer> membres = enLigneParProjet.get(projetId);
+        if (membres == null) {
+            return enLigne;
+        }
+
+        // Un utilisateur expiré mais pas encore balayé n'est déjà plus listé
+        long limite = limite();
+        for (Integer utilisateurId : membres) {
+            Presence presence = presences.get(utilisateurId);
+            if (presence != null && presence.derniereActivite >= limite) {
+                enLigne.add(new PresenceDTO(utilisateurId, new Date(presence.derniereActivite)));
+            }
+        }
+        enLigne.sort(Comparator.comparingInt(PresenceDTO::getUtilisateur_id));
+        return enLigne;
+    }
+
+    // Les appartenances changent pendant qu'un membre est en ligne : l'index par projet suit, sans relire la base
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void appliquer(ProjetEvenementDTO evenement) {
+        String type = evenement.getType();
+        int projetId = evenement.getProjet_id();
+        if (ProjetEvenementDTO.PROJET_SUPPRIME.equals(type)) {
+            Set<Integer> membres = enLigneParProjet.remove(projetId);
+            if (membres != null) {
+                for (Integer utilisateurId : membres) {
+                    Presence presence = presences.get(utilisateurId);
+                    if (presence != null) {
+                        synchronized (presence) {
+                            presence.projets.remove(projetId);
+                        }
+                    }
+                }
+            }
+            return;
+        }
+
+        Integer utilisateurId = evenement.getUtilisateur_id();
+        boolean ajout = ProjetEvenementDTO.MEMBRE_AJOUTE.equals(type);
+        if (utilisateurId == null || !(ajout || ProjetEvenementDTO.MEMBRE_RETIRE.equals(type))) {
+            return;
+        }
+        Presence presence = presences.get(utilisateurId);
+        if (presence == null) {
+            return;
+        }
+        synchronized (presence) {
+            if (presence.retiree) {
+                return;
+            }
+            if (ajout) {
+                rejoindre(presence, utilisateurId, projetId);
+            } else {
+                quitter(presence, utilisateurId, projetId);
+            }
+        }
+    }
+
+    /**
+     * Retire les utilisateurs dont le dernier battement a dépassé le délai, puis écrit le miroir etat_connexion :
+     * au plus un UPDATE par état, quel que soit le nombre de connexions et de déconnexions depuis le balayage précédent.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${presence.balayage-ms:15000}", initialDelayString = "${presence.balayage-ms:15000}")
+    public void balayer() {
+        long limite = limite();
+        for (Map.Entry<Integer, Presence> entree : presences.entrySet()) {
+            if (entree.getValue().derniereActivite < limite && presences.remove(entree.getKey(), entree.getValue())) {
+                retirer(entree.getKey(), entree.getValue());
+            }
+        }
+        synchroniserMiroir();
+    }
+
+    // Au démarrage personne n'est en ligne : le miroir hérité d'une exécution précédente est remis à zéro
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reinitialiserMiroir() {
+        int corriges = utilisateurRepository.deconnecterTous();
+        if (corriges > 0) {
+            logger.info("etat_connexion remis à false pour {} utilisateur(s)", corriges);
+        }
+    }
+
+    private void synchroniserMiroir() {
+        if (miroirEnAttente.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Boolean> instantane = new HashMap<>(miroirEnAttente);
+        Map<Boolean, List<Integer>> parEtat = new HashMap<>();
+        instantane.forEach((utilisateurId, etat) -> parEtat.computeIfAbsent(etat, e -> new ArrayList<>()).add(utilisateurId));
+        try {
+            parEtat.forEach((etat, ids) -> utilisateurRepository.updateEtatConnexion(ids, etat));
+        } catch (RuntimeException e) {
+            // Le miroir n'est pas lu pour décider de la présence : il sera réécrit au prochain balayage
+            logger.warn("Synchronisation de etat_connexion reportée : {}", e.getMessage());
+            return;
+        }
+        // Un changement arrivé pendant l'écriture reste en attente pour le balayage suivant
+        instantane.forEach(miroirEnAttente::remove);
+    }
+
+    private void retirer(int utilisateurId, Presence presence) {
+        Set<Integer> projets;
+        synchronized (presence) {
+            presence.retiree = true;
+            projets = new HashSet<>(presence.projets);
+            for (Integer projetId : projets) {
+                quitter(presence, utilisateurId, projetId);
+            }
+        }
+
+        miroirEnAttente.put(utilisateurId, false);
+        projets.forEach(projetId -> eventPublisher.publishEvent(
+                ProjetEvenementDTO.presence(ProjetEvenementDTO.PRESENCE_DECONNECTE, projetId, utilisateurId)));
+    }
+
+    private void rejoindre(Presence presence, int utilisateurId, int projetId) {
+        presence.projets.add(projetId);
+        enLigneParProjet.computeIfAbsent(projetId, id -> ConcurrentHashMap.newKeySet()).add(utilisateurId);
+    }
+
+    private void quitter(Presence presence, int utilisateurId, int projetId) {
+        presence.projets.remove(projetId);
+        enLigneParProjet.computeIfPresent(projetId, (id, membres) -> {
+            membres.remove(utilisateurId);
+            return membres.isEmpty() ? null : membres;
+        });
+    }
+
+    private long limite() {
+        return System.currentTimeMillis() - ttlMs;
+    }
+
+    private static final class Presence {
+
+        volatile long derniereActivite;
+
+        // Sous le verrou de la présence
+        final Set<Integer> projets = new HashSet<>();
+
+        boolean retiree;
+
+        Presence(long derniereActivite) {
+            this.derniereActivite = derniereActivite;
+        }
+    }
+}
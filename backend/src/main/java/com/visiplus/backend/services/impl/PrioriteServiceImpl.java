@@ -1,11 +1,20 @@
 package com.visiplus.backend.services.impl;
 
+import com.visiplus.backend.CacheConfig;
 import com.visiplus.backend.dao.PrioriteRepository;
 import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.services.KanbanService;
 import com.visiplus.backend.services.PrioriteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -13,36 +22,74 @@ public class PrioriteServiceImpl implements PrioriteService {
     @Autowired
     PrioriteRepository prioriteRepository;
 
+    // Le nom des priorités est affiché sur les tableaux : leurs ETag changent avec lui
+    @Autowired
+    KanbanService kanbanService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.PRIORITES, key = "#priorite_id", unless = "#result == null")
     public Optional<Priorite> findById(Integer priorite_id) {
         return prioriteRepository.findById(priorite_id);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.PRIORITES, key = "'nom:' + #nom_priorite", unless = "#result == null")
     public Priorite findByNom(String nom_priorite) {
         return prioriteRepository.findFirstByNom(nom_priorite);
     }
 
+    /**
+     * Référence gérée par la session courante, à utiliser pour les associations :
+     * l'instance mise en cache est détachée et ne doit pas être rattachée à une entité persistée.
+     */
     @Override
-    public int create(Priorite priorite) {
-        Priorite existPriorite = prioriteRepository.findFirstByNom(priorite.getNom());
+    public Priorite getReference(int priorite_id) {
+        return entityManager.getReference(Priorite.class, priorite_id);
+    }
 
-        if(existPriorite != null){
+    // INSERT direct : un nom déjà pris est refusé par uk_priorite_nom et l'id existant est renvoyé ; les autres
+    // violations sont relancées
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRIORITES, allEntries = true)
+    public int create(Priorite priorite) {
+        Priorite saved;
+        try {
+            saved = prioriteRepository.save(priorite);
+        } catch (DataIntegrityViolationException e) {
+            if (!nomDejaPris(e)) {
+                throw e;
+            }
+            Priorite existPriorite = prioriteRepository.findFirstByNom(priorite.getNom());
+            if (existPriorite == null) {
+                throw e;
+            }
             return existPriorite.getId();
-        } else {
-            Priorite saved = prioriteRepository.save(priorite);
-            return saved.getId();
         }
+        kanbanService.invaliderTout();
+        return saved.getId();
+    }
+
+    private static boolean nomDejaPris(DataIntegrityViolationException e) {
+        String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return cause != null && cause.toLowerCase(Locale.ROOT).contains("uk_priorite_nom");
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRIORITES, allEntries = true)
     public Priorite save(Priorite priorite) {
-        return prioriteRepository.save(priorite);
+        Priorite enregistree = prioriteRepository.save(priorite);
+        kanbanService.invaliderTout();
+        return enregistree;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRIORITES, allEntries = true)
     public void delete(Priorite priorite) {
         prioriteRepository.delete(priorite);
+        kanbanService.invaliderTout();
     }
 }
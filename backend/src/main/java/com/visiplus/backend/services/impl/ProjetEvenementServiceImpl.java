@@ -0,0 +1,177 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.services.ProjetEvenementService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class ProjetEvenementServiceImpl implements ProjetEvenementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjetEvenementServiceImpl.class);
+
+    static final int TAILLE_TAMPON = 256;
+
+    static final long DELAI_EXPIRATION_MS = 30 * 60 * 1000L;
+
+    static final int NB_THREADS_ENVOI = 4;
+
+    private final Map<Integer, Set<Abonne>> abonnes = new ConcurrentHashMap<>();
+
+    // Les envois ne se font jamais sur le thread qui publie : un client lent ne ralentit pas les écritures
+    private final ExecutorService envoi = Executors.newFixedThreadPool(NB_THREADS_ENVOI, new ThreadFactoryEnvoi());
+
+    @Override
+    public SseEmitter abonner(int projetId) {
+        SseEmitter emitter = new SseEmitter(DELAI_EXPIRATION_MS);
+        Abonne abonne = new Abonne(projetId, emitter);
+
+        abonnes.computeIfAbsent(projetId, id -> ConcurrentHashMap.newKeySet()).add(abonne);
+        emitter.onCompletion(() -> retirer(abonne));
+        emitter.onTimeout(() -> retirer(abonne));
+        emitter.onError(erreur -> retirer(abonne));
+
+        return emitter;
+    }
+
+    /**
+     * Diffusé après le commit : un client ne reçoit jamais une modification annulée.
+     * Hors transaction (fallbackExecution), l'événement part immédiatement.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void diffuser(ProjetEvenementDTO evenement) {
+        Set<Abonne> destinataires = abonnes.get(evenement.getProjet_id());
+        if (destinataires == null) {
+            return;
+        }
+
+        for (Abonne abonne : destinataires) {
+            if (!abonne.publier(evenement)) {
+                logger.debug("Tampon plein pour un abonné du projet {} : RESYNC", evenement.getProjet_id());
+            }
+            planifier(abonne);
+        }
+    }
+
+    @Override
+    public int nombreAbonnes(int projetId) {
+        Set<Abonne> destinataires = abonnes.get(projetId);
+        return destinataires == null ? 0 : destinataires.size();
+    }
+
+    @PreDestroy
+    void arreter() {
+        envoi.shutdownNow();
+        abonnes.values().forEach(destinataires -> destinataires.forEach(abonne -> abonne.emitter.complete()));
+        abonnes.clear();
+    }
+
+    private void planifier(Abonne abonne) {
+        // Un seul envoi en cours par abonné : l'ordre des événements est conservé
+        if (abonne.enCours.compareAndSet(false, true)) {
+            envoi.execute(() -> vider(abonne));
+        }
+    }
+
+    private void vider(Abonne abonne) {
+        try {
+            ProjetEvenementDTO evenement;
+            while ((evenement = abonne.suivant()) != null) {
+                abonne.emitter.send(SseEmitter.event()
+                        .name(evenement.getType())
+                        .data(evenement, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client parti : on libère son tampon
+            retirer(abonne);
+            abonne.emitter.completeWithError(e);
+            return;
+        } finally {
+            abonne.enCours.set(false);
+        }
+
+        // Un événement a pu arriver entre le dernier poll et la libération du verrou
+        if (abonne.aDesEvenements()) {
+            planifier(abonne);
+        }
+    }
+
+    private void retirer(Abonne abonne) {
+        abonnes.computeIfPresent(abonne.projetId, (id, destinataires) -> {
+            destinataires.remove(abonne);
+            return destinataires.isEmpty() ? null : destinataires;
+        });
+    }
+
+    /**
+     * Tampon borné d'un client : quand il déborde, les événements en attente sont remplacés par un seul RESYNC,
+     * la mémoire consommée par un client lent reste donc plafonnée à TAILLE_TAMPON événements.
+     */
+    static final class Abonne {
+
+        final int projetId;
+
+        final SseEmitter emitter;
+
+        private final BlockingQueue<ProjetEvenementDTO> tampon = new ArrayBlockingQueue<>(TAILLE_TAMPON);
+
+        private final AtomicBoolean debordement = new AtomicBoolean();
+
+        final AtomicBoolean enCours = new AtomicBoolean();
+
+        Abonne(int projetId, SseEmitter emitter) {
+            this.projetId = projetId;
+            this.emitter = emitter;
+        }
+
+        boolean publier(ProjetEvenementDTO evenement) {
+            if (tampon.offer(evenement)) {
+                return true;
+            }
+            tampon.clear();
+            debordement.set(true);
+            return false;
+        }
+
+        ProjetEvenementDTO suivant() {
+            if (debordement.getAndSet(false)) {
+                return new ProjetEvenementDTO(ProjetEvenementDTO.RESYNC, projetId);
+            }
+            return tampon.poll();
+        }
+
+        boolean aDesEvenements() {
+            return debordement.get() || !tampon.isEmpty();
+        }
+    }
+
+    private static final class ThreadFactoryEnvoi implements ThreadFactory {
+
+        private final AtomicInteger compteur = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tache) {
+            Thread thread = new Thread(tache, "sse-envoi-" + compteur.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,23 +1,40 @@
 package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.services.ProjetService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class ProjetServiceImpl implements ProjetService {
 
+    static final int TAILLE_PAGE_MAX = 200;
+
+    static final int TAILLE_LOT_EXPORT = 500;
+
     @Autowired
     ProjetRepository projetRepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     public int create(Projet projet) {
-        return projetRepository.save(projet).getId();
+        Projet cree = projetRepository.save(projet);
+        eventPublisher.publishEvent(ProjetEvenementDTO.projet(ProjetEvenementDTO.PROJET_CREE, cree));
+        return cree.getId();
     }
 
     @Override
@@ -36,9 +53,25 @@ public class ProjetServiceImpl implements ProjetService {
         return projetRepository.findById(id).orElse(null);
     }
 
+    @Override
+    public Projet findWithTachesById(int id) {
+        return projetRepository.findWithTachesById(id).orElse(null);
+    }
+
+    @Override
+    public Projet findWithTachesByNom(String nom) {
+        return projetRepository.findWithTachesByNom(nom).orElse(null);
+    }
+
+    @Override
+    public Projet findWithMembresById(int id) {
+        return projetRepository.findWithMembresById(id).orElse(null);
+    }
+
     @Override
     public Projet delete(Projet projet) {
         projetRepository.delete(projet);
+        eventPublisher.publishEvent(ProjetEvenementDTO.projet(ProjetEvenementDTO.PROJET_SUPPRIME, projet));
         return projet;
     }
 
@@ -47,6 +80,59 @@ public class ProjetServiceImpl implements ProjetService {
         return projetRepository.findAll();
     }
 
+    @Override
+    public List<ProjetResponseDTO> findAllResumes() {
+        return projetRepository.findAllResumes();
+    }
+
+    // Par clé primaire : chaque lot est une requête courte, la connexion est rendue au pool pendant l'écriture
+    @Override
+    public void parcourirResumes(Consumer<List<ProjetResponseDTO>> lot) {
+        int apres = 0;
+        List<ProjetResponseDTO> projets;
+        do {
+            projets = projetRepository.findResumesApres(apres, Limit.of(TAILLE_LOT_EXPORT));
+            if (projets.isEmpty()) {
+                return;
+            }
+            lot.accept(projets);
+            apres = projets.get(projets.size() - 1).getId();
+        } while (projets.size() == TAILLE_LOT_EXPORT);
+    }
+
+    @Override
+    public KeysetPageDTO<ProjetResponseDTO> findPageResumes(Integer membreId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, TAILLE_PAGE_MAX));
+        int apres = cursor == null || cursor.isEmpty() ? 0 : decodeCursor(cursor);
+
+        // Une ligne de plus que demandé pour savoir s'il reste une page suivante
+        List<ProjetResponseDTO> projets = membreId == null
+                ? projetRepository.findResumesApres(apres, Limit.of(limit + 1))
+                : projetRepository.findResumesByMembreApres(membreId, apres, Limit.of(limit + 1));
+
+        boolean hasMore = projets.size() > limit;
+        if (hasMore) {
+            projets = projets.subList(0, limit);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(projets.get(projets.size() - 1).getId()) : null;
+        return new KeysetPageDTO<>(projets, nextCursor, hasMore);
+    }
+
+    private String encodeCursor(int dernierId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(dernierId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int decodeCursor(String cursor) {
+        String valeur = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        try {
+            return Integer.parseInt(valeur);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur invalide : " + cursor);
+        }
+    }
+
     @Override
     public void deleteProjetTacheRelations(int projetId) {
         projetRepository.deleteProjetTacheRelations(projetId);
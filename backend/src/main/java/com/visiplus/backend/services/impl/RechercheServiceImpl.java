@@ -0,0 +1,167 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
+import com.visiplus.backend.dto.ResultatRechercheDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.recherche.AnalyseurFrancais;
+import com.visiplus.backend.recherche.IndexInverse;
+import com.visiplus.backend.services.RechercheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+@Service
+public class RechercheServiceImpl implements RechercheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RechercheServiceImpl.class);
+
+    static final int TAILLE_PAGE_MAX = 100;
+
+    static final int TAILLE_LOT_INDEXATION = 1000;
+
+    @Autowired
+    TacheRepository tacheRepository;
+
+    @Autowired
+    ProjetRepository projetRepository;
+
+    @Autowired
+    UserRoleProjetRepository userRoleProjetRepository;
+
+    private final IndexInverse index = new IndexInverse();
+
+    @Override
+    public KeysetPageDTO<ResultatRechercheDTO> rechercher(String requete, String type, Integer projetId,
+                                                          Integer utilisateurId, String cursor, int size) {
+        List<String> termes = AnalyseurFrancais.analyser(requete);
+        if (termes.isEmpty()) {
+            throw new IllegalArgumentException("La recherche doit contenir au moins un mot significatif");
+        }
+        if (type != null && !ResultatRechercheDTO.TYPE_TACHE.equals(type) && !ResultatRechercheDTO.TYPE_PROJET.equals(type)) {
+            throw new IllegalArgumentException("Type de résultat inconnu : " + type);
+        }
+        int limit = Math.max(1, Math.min(size, TAILLE_PAGE_MAX));
+        int debut = cursor == null || cursor.isEmpty() ? 0 : decodeCursor(cursor);
+
+        Predicate<IndexInverse.Document> filtre = document -> true;
+        if (type != null) {
+            filtre = filtre.and(document -> type.equals(document.getType()));
+        }
+        if (projetId != null) {
+            filtre = filtre.and(document -> projetId.equals(document.getProjetId()));
+        }
+        // Null seulement pour les appels internes : le contrôleur passe toujours l'utilisateur authentifié
+        if (utilisateurId != null) {
+            // Une requête indexée par recherche : l'appartenance change trop souvent pour être recopiée dans l'index
+            Set<Integer> projets = new HashSet<>(userRoleProjetRepository.findProjetIdsByUtilisateurId(utilisateurId));
+            filtre = filtre.and(document -> projets.contains(document.getProjetId()));
+        }
+
+        List<ResultatRechercheDTO> resultats = index.rechercher(termes, filtre);
+
+        int fin = Math.min(resultats.size(), debut + limit);
+        List<ResultatRechercheDTO> items = debut >= fin ? List.of() : resultats.subList(debut, fin);
+        boolean hasMore = fin < resultats.size();
+        return new KeysetPageDTO<>(items, hasMore ? encodeCursor(fin) : null, hasMore);
+    }
+
+    /**
+     * Mise à jour incrémentale, après le commit des écritures de TacheServiceImpl et ProjetServiceImpl :
+     * une modification annulée n'atteint jamais l'index.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void indexer(ProjetEvenementDTO evenement) {
+        String type = evenement.getType();
+        if (ProjetEvenementDTO.TACHE_CREEE.equals(type) || ProjetEvenementDTO.TACHE_MODIFIEE.equals(type)) {
+            index.indexer(document(evenement.getTache()));
+        } else if (ProjetEvenementDTO.TACHE_SUPPRIMEE.equals(type)) {
+            index.retirer(ResultatRechercheDTO.TYPE_TACHE, evenement.getTache_id());
+        } else if (ProjetEvenementDTO.PROJET_CREE.equals(type)) {
+            index.indexer(document(evenement.getProjet()));
+        } else if (ProjetEvenementDTO.PROJET_SUPPRIME.equals(type)) {
+            index.retirerProjet(evenement.getProjet_id());
+        }
+        // Les changements de membres ne touchent pas l'index : l'appartenance est lue à chaque recherche
+    }
+
+    /**
+     * Reconstruction complète au démarrage, par lots sur la clé primaire. Les événements reçus pendant
+     * la reconstruction restent prioritaires sur les lignes relues (voir IndexInverse#indexerDepuisBase).
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruire() {
+        long debut = System.nanoTime();
+        index.commencerReconstruction();
+        try {
+            for (ProjetResponseDTO projet : projetRepository.findAllResumes()) {
+                index.indexerDepuisBase(document(projet));
+            }
+
+            int apres = 0;
+            List<TacheDTO> lot;
+            do {
+                lot = tacheRepository.findResumesApres(apres, Limit.of(TAILLE_LOT_INDEXATION));
+                for (TacheDTO tache : lot) {
+                    index.indexerDepuisBase(document(tache));
+                    apres = tache.getId();
+                }
+            } while (lot.size() == TAILLE_LOT_INDEXATION);
+        } catch (RuntimeException e) {
+            index.abandonnerReconstruction();
+            throw e;
+        }
+        index.terminerReconstruction();
+
+        logger.info("Index de recherche reconstruit : {} documents en {} ms", index.taille(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut));
+    }
+
+    private IndexInverse.Document document(TacheDTO tache) {
+        return new IndexInverse.Document(ResultatRechercheDTO.TYPE_TACHE, tache.getId(), tache.getProjet_id(),
+                tache.getNom(), tache.getDescription());
+    }
+
+    private IndexInverse.Document document(ProjetResponseDTO projet) {
+        return new IndexInverse.Document(ResultatRechercheDTO.TYPE_PROJET, projet.getId(), projet.getId(),
+                projet.getNom(), projet.getDescription());
+    }
+
+    private String encodeCursor(int position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int decodeCursor(String cursor) {
+        int debut;
+        try {
+            debut = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide : " + cursor);
+        }
+        // Un curseur forgé négatif ferait échouer subList (500) au lieu d'un 400
+        if (debut < 0) {
+            throw new IllegalArgumentException("Curseur invalide : " + cursor);
+        }
+        return debut;
+    }
+}
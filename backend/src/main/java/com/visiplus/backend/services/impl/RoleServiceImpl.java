@@ -1,9 +1,16 @@
 package com.visiplus.backend.services.impl;
 
+import com.visiplus.backend.CacheConfig;
 import com.visiplus.backend.dao.RoleRepository;
 import com.visiplus.backend.models.Role;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.KanbanService;
 import com.visiplus.backend.services.RoleService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,13 +19,36 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private AutorisationService autorisationService;
+
+    @Autowired
+    private KanbanService kanbanService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "#nom", unless = "#result == null")
     public Role findByNom(String nom) {
         return roleRepository.findByNom(nom);
     }
 
+    /**
+     * Référence gérée par la session courante, à utiliser pour les associations :
+     * l'instance mise en cache est détachée et ne doit pas être rattachée à une entité persistée.
+     */
+    @Override
+    public Role getReference(int role_id) {
+        return entityManager.getReference(Role.class, role_id);
+    }
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     public Role save(Role role) {
-        return roleRepository.save(role);
+        Role enregistre = roleRepository.save(role);
+        autorisationService.invaliderTout();
+        kanbanService.invaliderTout();
+        return enregistre;
     }
 }
@@ -0,0 +1,170 @@
+package com.visiplus.backend.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.TacheSupprimeeRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.SuppressionProjetDTO;
+import com.visiplus.backend.services.SuppressionProjetService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class SuppressionProjetServiceImpl implements SuppressionProjetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuppressionProjetServiceImpl.class);
+
+    // Tâches par DELETE : chaque lot est une transaction courte, les verrous sont rendus entre deux lots
+    static final int TAILLE_LOT_SUPPRESSION = 500;
+
+    static final Duration DUREE_SUIVI = Duration.ofHours(1);
+
+    @Autowired
+    ProjetRepository projetRepository;
+
+    @Autowired
+    TacheRepository tacheRepository;
+
+    @Autowired
+    UserRoleProjetRepository userRoleProjetRepository;
+
+    @Autowired
+    TacheSupprimeeRepository tacheSupprimeeRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // Un seul thread : deux gros projets supprimés en même temps ne se disputent pas la base
+    private final ExecutorService executeur = Executors.newSingleThreadExecutor(tache -> {
+        Thread thread = new Thread(tache, "suppression-projet");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Integer, Suppression> enCours = new ConcurrentHashMap<>();
+
+    // Suivi après la fin : le client qui interroge le statut voit TERMINEE ou ECHEC pendant DUREE_SUIVI
+    private final Cache<String, Suppression> suivies = Caffeine.newBuilder()
+            .expireAfterWrite(DUREE_SUIVI)
+            .build();
+
+    @Override
+    public SuppressionProjetDTO demarrer(int projetId, Integer auteurId) {
+        Suppression nouvelle = new Suppression(UUID.randomUUID().toString(), projetId, auteurId);
+        Suppression existante = enCours.putIfAbsent(projetId, nouvelle);
+        if (existante != null) {
+            return existante.instantane();
+        }
+
+        suivies.put(nouvelle.id, nouvelle);
+        executeur.execute(() -> executer(nouvelle));
+        return nouvelle.instantane();
+    }
+
+    @Override
+    public SuppressionProjetDTO statut(String suppressionId) {
+        Suppression suppression = suivies.getIfPresent(suppressionId);
+        return suppression == null ? null : suppression.instantane();
+    }
+
+    /**
+     * Tâches par lots d'ids (liens projet_tache puis tâches), puis membres, tombes du flux de changements
+     * et projet, sans charger une seule entité. Interrompue, la suppression se reprend en relançant le DELETE :
+     * les lots déjà supprimés ne sont plus relus.
+     */
+    void executer(Suppression suppression) {
+        int projetId = suppression.projetId;
+        suppression.etat = SuppressionProjetDTO.EN_COURS;
+        try {
+            suppression.tachesTotal = tacheRepository.countByProjetId(projetId);
+
+            List<Integer> ids;
+            do {
+                ids = tacheRepository.findIdsByProjetId(projetId, Limit.of(TAILLE_LOT_SUPPRESSION));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                projetRepository.deleteProjetTacheRelationsByTacheIds(ids);
+                suppression.tachesSupprimees.addAndGet(tacheRepository.deleteByIdIn(ids));
+            } while (ids.size() == TAILLE_LOT_SUPPRESSION);
+
+            userRoleProjetRepository.deleteByProjetId(projetId);
+            projetRepository.deleteProjetTacheRelations(projetId);
+            tacheSupprimeeRepository.deleteByProjetId(projetId);
+            projetRepository.deleteProjetById(projetId);
+
+            // Hors requête : l'auteur est porté par l'événement pour l'historique
+            ProjetEvenementDTO evenement = new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_SUPPRIME, projetId);
+            evenement.setUtilisateur_id(suppression.auteurId);
+            eventPublisher.publishEvent(evenement);
+
+            suppression.etat = SuppressionProjetDTO.TERMINEE;
+            logger.info("Projet {} supprimé : {} tâche(s)", projetId, suppression.tachesSupprimees.get());
+        } catch (RuntimeException e) {
+            suppression.erreur = e.getMessage();
+            suppression.etat = SuppressionProjetDTO.ECHEC;
+            logger.warn("Suppression du projet {} en échec après {} tâche(s) : {}",
+                    projetId, suppression.tachesSupprimees.get(), e.getMessage());
+        } finally {
+            suppression.dateFin = new Date();
+            enCours.remove(projetId, suppression);
+            // Le délai de suivi court à partir de la fin
+            suivies.put(suppression.id, suppression);
+        }
+    }
+
+    @PreDestroy
+    void arreter() {
+        executeur.shutdownNow();
+    }
+
+    static final class Suppression {
+
+        final String id;
+
+        final int projetId;
+
+        final Integer auteurId;
+
+        final Date dateDebut = new Date();
+
+        final AtomicLong tachesSupprimees = new AtomicLong();
+
+        volatile String etat = SuppressionProjetDTO.EN_ATTENTE;
+
+        volatile long tachesTotal;
+
+        volatile Date dateFin;
+
+        volatile String erreur;
+
+        Suppression(String id, int projetId, Integer auteurId) {
+            this.id = id;
+            this.projetId = projetId;
+            this.auteurId = auteurId;
+        }
+
+        SuppressionProjetDTO instantane() {
+            return new SuppressionProjetDTO(id, projetId, etat, tachesTotal, tachesSupprimees.get(),
+                    dateDebut, dateFin, erreur);
+        }
+    }
+}
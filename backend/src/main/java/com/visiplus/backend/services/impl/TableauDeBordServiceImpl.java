@@ -0,0 +1,255 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dto.CompteurTachesDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TableauDeBordDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.services.TableauDeBordService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TableauDeBordServiceImpl implements TableauDeBordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableauDeBordServiceImpl.class);
+
+    // Une tâche dans l'un de ces états n'est jamais en retard
+    static final Set<String> ETATS_TERMINES = Set.of("DONE", "TERMINE");
+
+    @Autowired
+    TacheRepository tacheRepository;
+
+    @Autowired
+    ProjetRepository projetRepository;
+
+    private final Map<Integer, Compteurs> projets = new ConcurrentHashMap<>();
+
+    /**
+     * Les compteurs d'un projet sont chargés à la première ouverture de son tableau de bord,
+     * puis tenus à jour par les événements : les ouvertures suivantes ne lisent plus la base.
+     */
+    @Override
+    public TableauDeBordDTO getTableauDeBord(int projetId) {
+        Compteurs compteurs = projets.get(projetId);
+        if (compteurs == null) {
+            compteurs = charger(projetId);
+            if (compteurs == null) {
+                return null;
+            }
+        }
+        return compteurs.instantane(debutJournee());
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void appliquer(ProjetEvenementDTO evenement) {
+        String type = evenement.getType();
+        if (ProjetEvenementDTO.PROJET_SUPPRIME.equals(type)) {
+            projets.remove(evenement.getProjet_id());
+            return;
+        }
+
+        // Projet pas encore chargé : le commit est antérieur au chargement, qui lira donc cette modification
+        Compteurs compteurs = projets.get(evenement.getProjet_id());
+        if (ProjetEvenementDTO.TACHE_CREEE.equals(type) || ProjetEvenementDTO.TACHE_MODIFIEE.equals(type)) {
+            if (ProjetEvenementDTO.TACHE_MODIFIEE.equals(type)) {
+                // La tâche a pu changer de projet : l'événement ne porte que le nouveau
+                projets.values().stream()
+                        .filter(autres -> autres != compteurs)
+                        .forEach(autres -> autres.retirer(evenement.getTache_id()));
+            }
+            if (compteurs != null) {
+                compteurs.mettreAJour(evenement.getTache());
+            }
+        } else if (ProjetEvenementDTO.TACHE_SUPPRIMEE.equals(type) && compteurs != null) {
+            compteurs.retirer(evenement.getTache_id());
+        }
+    }
+
+    /**
+     * Filet de sécurité : compare les compteurs en mémoire à un GROUP BY et recharge les projets qui ont dérivé
+     * (événement perdu, écriture SQL directe). Une seule requête pour tous les projets chargés.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${tableau-de-bord.reconciliation.delai-ms:600000}",
+            initialDelayString = "${tableau-de-bord.reconciliation.delai-ms:600000}")
+    public void reconcilier() {
+        if (projets.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Compteurs> attendus = new HashMap<>();
+        for (CompteurTachesDTO groupe : tacheRepository.findCompteursParProjet(new ArrayList<>(projets.keySet()))) {
+            attendus.computeIfAbsent(groupe.getProjet_id(), Compteurs::new).ajouterGroupe(groupe);
+        }
+
+        for (Compteurs compteurs : projets.values()) {
+            Compteurs attendu = attendus.getOrDefault(compteurs.projetId, new Compteurs(compteurs.projetId));
+            if (!compteurs.correspond(attendu)) {
+                logger.warn("Compteurs du tableau de bord du projet {} désynchronisés : rechargement", compteurs.projetId);
+                // Sous le verrou des compteurs : les événements reçus pendant la relecture s'appliquent après elle
+                synchronized (compteurs) {
+                    compteurs.recharger(tacheRepository.findModifieesDepuis(compteurs.projetId, new Date(0)));
+                }
+            }
+        }
+    }
+
+    private Compteurs charger(int projetId) {
+        Compteurs nouveaux = new Compteurs(projetId);
+        // Publiés avant la lecture, verrou pris : un événement concurrent attend la fin du chargement
+        // puis s'applique par-dessus (l'application d'un événement est idempotente)
+        synchronized (nouveaux) {
+            Compteurs existants = projets.putIfAbsent(projetId, nouveaux);
+            if (existants != null) {
+                return existants;
+            }
+            try {
+                List<TacheDTO> taches = tacheRepository.findModifieesDepuis(projetId, new Date(0));
+                if (taches.isEmpty() && !projetRepository.existsById(projetId)) {
+                    projets.remove(projetId, nouveaux);
+                    return null;
+                }
+                nouveaux.recharger(taches);
+            } catch (RuntimeException e) {
+                projets.remove(projetId, nouveaux);
+                throw e;
+            }
+        }
+        return nouveaux;
+    }
+
+    private static long debutJournee() {
+        return LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Compteurs d'un projet. Chaque tâche garde ses dernières valeurs comptées : une modification
+     * décrémente l'ancien état et incrémente le nouveau, sans relire la base.
+     */
+    static final class Compteurs {
+
+        final int projetId;
+
+        private final Map<Integer, EtatTache> taches = new HashMap<>();
+
+        // Clé null : tâches sans état, sans priorité ou sans destinataire
+        private final Map<String, Integer> parEtat = new HashMap<>();
+
+        private final Map<Integer, Integer> parPriorite = new HashMap<>();
+
+        private final Map<Integer, Integer> parDestinataire = new HashMap<>();
+
+        // Échéance (en ms) -> nombre de tâches non terminées : le retard se lit sans parcourir les tâches
+        private final TreeMap<Long, Integer> echeancesOuvertes = new TreeMap<>();
+
+        Compteurs(int projetId) {
+            this.projetId = projetId;
+        }
+
+        synchronized void recharger(List<TacheDTO> lignes) {
+            taches.clear();
+            parEtat.clear();
+            parPriorite.clear();
+            parDestinataire.clear();
+            echeancesOuvertes.clear();
+            lignes.forEach(this::mettreAJour);
+        }
+
+        synchronized void mettreAJour(TacheDTO tache) {
+            EtatTache nouvel = new EtatTache(tache);
+            EtatTache ancien = taches.put(tache.getId(), nouvel);
+            if (ancien != null) {
+                compter(ancien, -1);
+            }
+            compter(nouvel, 1);
+        }
+
+        synchronized void retirer(Integer tacheId) {
+            EtatTache ancien = taches.remove(tacheId);
+            if (ancien != null) {
+                compter(ancien, -1);
+            }
+        }
+
+        // Pour les compteurs attendus de la réconciliation : des groupes, sans le détail des tâches
+        void ajouterGroupe(CompteurTachesDTO groupe) {
+            int nombre = (int) groupe.getNombre();
+            ajuster(parEtat, groupe.getEtat(), nombre);
+            ajuster(parPriorite, groupe.getPriorite_id(), nombre);
+            ajuster(parDestinataire, groupe.getDestinataire_id(), nombre);
+        }
+
+        synchronized boolean correspond(Compteurs attendu) {
+            return parEtat.equals(attendu.parEtat)
+                    && parPriorite.equals(attendu.parPriorite)
+                    && parDestinataire.equals(attendu.parDestinataire);
+        }
+
+        synchronized TableauDeBordDTO instantane(long debutJournee) {
+            Map<String, Integer> etats = new HashMap<>(parEtat);
+            Map<Integer, Integer> priorites = new HashMap<>(parPriorite);
+            Map<Integer, Integer> destinataires = new HashMap<>(parDestinataire);
+            etats.remove(null);
+            Integer sansPriorite = priorites.remove(null);
+            Integer nonAssignees = destinataires.remove(null);
+
+            int enRetard = 0;
+            for (int nombre : echeancesOuvertes.headMap(debutJournee).values()) {
+                enRetard += nombre;
+            }
+
+            return new TableauDeBordDTO(projetId, taches.size(), etats, priorites, destinataires,
+                    sansPriorite == null ? 0 : sansPriorite, nonAssignees == null ? 0 : nonAssignees, enRetard);
+        }
+
+        private void compter(EtatTache tache, int delta) {
+            ajuster(parEtat, tache.etat, delta);
+            ajuster(parPriorite, tache.prioriteId, delta);
+            ajuster(parDestinataire, tache.destinataireId, delta);
+            if (tache.echeance != null && !ETATS_TERMINES.contains(tache.etat)) {
+                ajuster(echeancesOuvertes, tache.echeance, delta);
+            }
+        }
+
+        // Une entrée qui retombe à zéro est retirée : les comparaisons de la réconciliation restent exactes
+        private static <K> void ajuster(Map<K, Integer> compteurs, K cle, int delta) {
+            compteurs.merge(cle, delta, (actuel, ajout) -> actuel + ajout == 0 ? null : actuel + ajout);
+        }
+    }
+
+    private static final class EtatTache {
+
+        final String etat;
+
+        final Integer prioriteId;
+
+        final Integer destinataireId;
+
+        final Long echeance;
+
+        EtatTache(TacheDTO tache) {
+            this.etat = tache.getEtat();
+            this.prioriteId = tache.getPriorite_id();
+            this.destinataireId = tache.getDestinataire_id();
+            this.echeance = tache.getDate_fin() == null ? null : tache.getDate_fin().getTime();
+        }
+    }
+}
@@ -1,22 +1,110 @@
 package com.visiplus.backend.services.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visiplus.backend.dao.PrioriteRepository;
+import com.visiplus.backend.dao.ProjetRepository;
 import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.TacheSupprimeeRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
+import com.visiplus.backend.dto.TacheBulkResultatDTO;
+import com.visiplus.backend.dto.TacheChangementsDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.dto.TacheRequest;
+import com.visiplus.backend.dto.UserRoleProjetDTO;
+import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.TacheSupprimee;
+import com.visiplus.backend.models.Utilisateur;
 import com.visiplus.backend.services.TacheService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.lang.System.Logger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class TacheServiceImpl implements TacheService {
 
+    static final int TAILLE_PAGE_MAX = 200;
+
+    static final int TAILLE_LOT_MAX = 500;
+
+    static final int TAILLE_LOT_EXPORT = 500;
+
+    // Recouvrement du filigrane : une transaction horodatée avant la lecture mais validée après reste visible
+    static final long MARGE_FILIGRANE_MS = 5_000L;
+
+    static final int RETENTION_SUPPRESSIONS_JOURS = 30;
+
+    // Versions dont les champs modifiés restent connus : au-delà, une modification faite sur une version dépassée
+    // n'est plus fusionnable et donne un conflit
+    static final int TAILLE_JOURNAL_VERSIONS = 50_000;
+
+    static final Duration DUREE_JOURNAL_VERSIONS = Duration.ofHours(1);
+
     @Autowired
     TacheRepository tacheRepository;
 
+    @Autowired
+    ProjetRepository projetRepository;
+
+    @Autowired
+    UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    PrioriteRepository prioriteRepository;
+
+    @Autowired
+    TacheSupprimeeRepository tacheSupprimeeRepository;
+
+    @Autowired
+    UserRoleProjetRepository userRoleProjetRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // "tacheId:version" -> passage à la version suivante, alimenté après chaque commit
+    private final Cache<String, VersionSuivante> journalVersions = Caffeine.newBuilder()
+            .maximumSize(TAILLE_JOURNAL_VERSIONS)
+            .expireAfterWrite(DUREE_JOURNAL_VERSIONS)
+            .build();
+
     @Override
     public Tache findByNom(String nom) {
         Optional<Tache> tache = tacheRepository.findByNom(nom);
@@ -29,8 +117,11 @@ public class TacheServiceImpl implements TacheService {
     }
 
     @Override
+    @Transactional
     public Tache create(Tache tache) {
-        return tacheRepository.save(tache);
+        Tache creee = tacheRepository.save(tache);
+        publier(ProjetEvenementDTO.TACHE_CREEE, creee);
+        return creee;
     }
 
     @Override
@@ -39,7 +130,9 @@ public class TacheServiceImpl implements TacheService {
     }
 
     @Override
+    @Transactional
     public Tache updatePartial(int id, Tache tache, Tache updateTache) {
+        TacheDTO avant = new TacheDTO(tache);
 
         if(!Objects.equals(tache.getNom(), updateTache.getNom())){
             tache.setNom(updateTache.getNom());
@@ -65,7 +158,9 @@ public class TacheServiceImpl implements TacheService {
             tache.setDate_debut(updateTache.getDate_debut());
         }
 
-        return tacheRepository.save(tache);
+        Tache modifiee = tacheRepository.save(tache);
+        publier(ProjetEvenementDTO.TACHE_MODIFIEE, modifiee, avant);
+        return modifiee;
     }
 
     @Override
@@ -73,19 +168,472 @@ public class TacheServiceImpl implements TacheService {
         return tacheRepository.findByProjetId(id);
     }
 
+    /**
+     * Par clé (projet_id, id) : chaque lot est une requête courte, la connexion est rendue au pool pendant
+     * l'écriture. Avec open-in-view, les tâches déjà écrites sont détachées pour ne pas s'accumuler
+     * dans le contexte de persistance de la requête.
+     */
+    @Override
+    public void parcourirParProjetId(int projetId, Consumer<List<Tache>> lot) {
+        int apres = 0;
+        List<Tache> taches;
+        do {
+            taches = tacheRepository.findByProjetIdAndIdGreaterThanOrderById(projetId, apres, Limit.of(TAILLE_LOT_EXPORT));
+            if (taches.isEmpty()) {
+                return;
+            }
+            lot.accept(taches);
+            apres = taches.get(taches.size() - 1).getId();
+            taches.forEach(entityManager::detach);
+        } while (taches.size() == TAILLE_LOT_EXPORT);
+    }
+
+    @Override
+    public List<Integer> findProjetIds(Collection<Integer> tacheIds) {
+        return tacheIds.isEmpty() ? Collections.emptyList() : tacheRepository.findProjetIdsByIdIn(tacheIds);
+    }
+
+    @Override
+    public KeysetPageDTO<TacheDTO> findPageByProjetId(int projetId, String etat, Integer prioriteId,
+                                                      Integer destinataireId, String cursor, int size, boolean desc) {
+        int limit = Math.max(1, Math.min(size, TAILLE_PAGE_MAX));
+
+        Date curseurDateFin = null;
+        Integer curseurId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] valeurs = decodeCursor(cursor);
+            curseurDateFin = "-".equals(valeurs[0]) ? null : new Date(Long.parseLong(valeurs[0]));
+            curseurId = Integer.parseInt(valeurs[1]);
+        }
+
+        // Une ligne de plus que demandé pour savoir s'il reste une page suivante
+        List<TacheDTO> taches = tacheRepository.findPageByProjetId(projetId, etat, prioriteId, destinataireId,
+                curseurDateFin, curseurId, desc, limit + 1);
+
+        boolean hasMore = taches.size() > limit;
+        if (hasMore) {
+            taches = taches.subList(0, limit);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(taches.get(taches.size() - 1)) : null;
+        return new KeysetPageDTO<>(taches, nextCursor, hasMore);
+    }
+
+    private String encodeCursor(TacheDTO derniere) {
+        String dateFin = derniere.getDate_fin() == null ? "-" : String.valueOf(derniere.getDate_fin().getTime());
+        String valeur = dateFin + ":" + derniere.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valeur.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String valeur = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] valeurs = valeur.split(":");
+        if (valeurs.length != 2) {
+            throw new IllegalArgumentException("Curseur invalide : " + cursor);
+        }
+        return valeurs;
+    }
+
+    /**
+     * Pas de transaction englobante : l'INSERT groupé est validé (ou rejeté) dans saveAll, à l'intérieur du try.
+     * Un nom pris entre la vérification et l'INSERT (création concurrente) fait échouer tout le lot : les tâches
+     * sont alors réessayées une par une, et seule celle en doublon est signalée dans son résultat.
+     */
+    @Override
+    public List<TacheBulkResultatDTO> createBulk(List<TacheRequest> requetes) {
+        verifierTailleLot(requetes);
+
+        // Une requête IN par type de référence, au lieu de trois findById par tâche
+        Map<Integer, Projet> projets = indexer(projetRepository.findAllById(ids(requetes, TacheRequest::getProjet_id)), Projet::getId);
+        Map<Integer, Utilisateur> utilisateurs = indexer(utilisateurRepository.findAllById(idsUtilisateurs(requetes)), Utilisateur::getId);
+        Map<Integer, Priorite> priorites = indexer(prioriteRepository.findAllById(ids(requetes, TacheRequest::getPriorite_id)), Priorite::getId);
+
+        Set<String> noms = new HashSet<>();
+        for (TacheRequest requete : requetes) {
+            if (requete.getNom() != null) {
+                noms.add(requete.getNom());
+            }
+        }
+        Set<String> nomsPris = noms.isEmpty() ? new HashSet<>() : new HashSet<>(tacheRepository.findNomsExistants(noms));
+
+        List<TacheBulkResultatDTO> resultats = new ArrayList<>();
+        Map<Integer, Tache> aCreer = new LinkedHashMap<>();
+
+        for (int i = 0; i < requetes.size(); i++) {
+            TacheRequest input = requetes.get(i);
+            Projet projet = input.getProjet_id() == null ? null : projets.get(input.getProjet_id());
+            Utilisateur commanditaire = input.getCommanditaire_id() == null ? null : utilisateurs.get(input.getCommanditaire_id());
+            Utilisateur destinataire = input.getDestinataire_id() == null ? null : utilisateurs.get(input.getDestinataire_id());
+
+            String erreur = null;
+            if (input.getNom() == null || input.getNom().isEmpty()) {
+                erreur = "Nom de tâche manquant";
+            } else if (nomsPris.contains(input.getNom())) {
+                // Couvre à la fois les noms déjà en base et les doublons à l'intérieur du lot
+                erreur = "Tache existe deja";
+            } else if (projet == null) {
+                erreur = "Projet inconnu";
+            } else if (commanditaire == null) {
+                erreur = "Commanditaire inconnu";
+            } else if (destinataire == null) {
+                erreur = "Destinataire inconnu";
+            } else if (input.getPriorite_id() != null && !priorites.containsKey(input.getPriorite_id())) {
+                erreur = "Priorité inconnue";
+            }
+
+            if (erreur != null) {
+                resultats.add(new TacheBulkResultatDTO(i, null, false, erreur));
+                continue;
+            }
+            // Réservé seulement une fois l'élément validé : un élément rejeté ne bloque pas son nom pour la suite du lot
+            nomsPris.add(input.getNom());
+
+            Tache tache = new Tache();
+            tache.setNom(input.getNom());
+            tache.setProjet(projet);
+            tache.setEtat(input.getEtat() == null || input.getEtat().isEmpty() ? "TODO" : input.getEtat());
+            tache.setCommanditaire(commanditaire);
+            tache.setDestinataire(destinataire);
+            tache.setDescription(input.getDescription());
+            tache.setDate_debut(new Date());
+            tache.setDate_fin(input.getDate_fin());
+            if (input.getPriorite_id() != null) {
+                tache.setPriorite(priorites.get(input.getPriorite_id()));
+            }
+
+            aCreer.put(i, tache);
+            resultats.add(new TacheBulkResultatDTO(i, null, true, "Tache créée"));
+        }
+
+        // Les ids viennent de la séquence (allocation par blocs) : les INSERT partent en batch JDBC au flush
+        try {
+            tacheRepository.saveAll(aCreer.values());
+        } catch (DataIntegrityViolationException e) {
+            creerUneParUne(aCreer, resultats);
+        }
+        for (TacheBulkResultatDTO resultat : resultats) {
+            Tache tache = aCreer.get(resultat.getIndex());
+            if (tache != null && resultat.isSuccess()) {
+                resultat.setId(tache.getId());
+                publier(ProjetEvenementDTO.TACHE_CREEE, tache);
+            }
+        }
+
+        return resultats;
+    }
+
+    // Repli après l'échec du lot : une transaction par tâche, les autres éléments du lot sont tout de même créés
+    private void creerUneParUne(Map<Integer, Tache> aCreer, List<TacheBulkResultatDTO> resultats) {
+        for (TacheBulkResultatDTO resultat : resultats) {
+            Tache tache = aCreer.get(resultat.getIndex());
+            if (tache == null) {
+                continue;
+            }
+            // Id et version attribués par la transaction annulée : la tâche doit repartir comme nouvelle
+            tache.setId(0);
+            tache.setVersion(0);
+            try {
+                tacheRepository.save(tache);
+            } catch (DataIntegrityViolationException e) {
+                resultat.setSuccess(false);
+                resultat.setMessage(nomDejaPris(e) ? "Tache existe deja" : "Tache refusée par la base");
+            }
+        }
+    }
+
+    private static boolean nomDejaPris(DataIntegrityViolationException e) {
+        String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return cause != null && cause.toLowerCase(Locale.ROOT).contains("uk_tache_nom");
+    }
+
+    /**
+     * Comme createBulk : pas de transaction englobante, le lot est validé (ou rejeté) dans saveAll. Un renommage
+     * vers un nom déjà pris est refusé pour son seul élément ; si la base refuse malgré tout le lot (renommage
+     * concurrent), les tâches sont réenregistrées une par une et seule celle en doublon est signalée.
+     */
+    @Override
+    public List<TacheBulkResultatDTO> updateBulk(List<TacheRequest> requetes) {
+        verifierTailleLot(requetes);
+
+        Set<Integer> idsTaches = new HashSet<>();
+        for (TacheRequest requete : requetes) {
+            idsTaches.add(requete.getId());
+        }
+
+        Map<Integer, Tache> taches = indexer(tacheRepository.findByIdIn(idsTaches), Tache::getId);
+        Map<Integer, Projet> projets = indexer(projetRepository.findAllById(ids(requetes, TacheRequest::getProjet_id)), Projet::getId);
+        Map<Integer, Utilisateur> utilisateurs = indexer(utilisateurRepository.findAllById(idsUtilisateurs(requetes)), Utilisateur::getId);
+        Map<Integer, Priorite> priorites = indexer(prioriteRepository.findAllById(ids(requetes, TacheRequest::getPriorite_id)), Priorite::getId);
+
+        // Nouveaux noms déjà en base, en une requête ; une tâche qui garde son propre nom n'est pas un renommage
+        Set<String> noms = new HashSet<>();
+        for (TacheRequest requete : requetes) {
+            Tache tache = taches.get(requete.getId());
+            if (requete.getNom() != null && (tache == null || !requete.getNom().equals(tache.getNom()))) {
+                noms.add(requete.getNom());
+            }
+        }
+        Set<String> nomsPris = noms.isEmpty() ? new HashSet<>() : new HashSet<>(tacheRepository.findNomsExistants(noms));
+
+        List<TacheBulkResultatDTO> resultats = new ArrayList<>();
+        Map<Integer, Map.Entry<Tache, TacheDTO>> modifiees = new LinkedHashMap<>();
+        for (int i = 0; i < requetes.size(); i++) {
+            TacheRequest input = requetes.get(i);
+            Tache tache = taches.get(input.getId());
+            boolean renommage = tache != null && input.getNom() != null && !input.getNom().equals(tache.getNom());
+
+            String erreur = null;
+            if (tache == null) {
+                erreur = "Tache non reconnu ou n'existe pas";
+            } else if (renommage && nomsPris.contains(input.getNom())) {
+                // Couvre les noms déjà en base et ceux déjà donnés à une autre tâche du lot
+                erreur = "Tache existe deja";
+            } else if (input.getProjet_id() != null && !projets.containsKey(input.getProjet_id())) {
+                erreur = "Projet inconnu";
+            } else if (input.getCommanditaire_id() != null && !utilisateurs.containsKey(input.getCommanditaire_id())) {
+                erreur = "Commanditaire inconnu";
+            } else if (input.getDestinataire_id() != null && !utilisateurs.containsKey(input.getDestinataire_id())) {
+                erreur = "Destinataire inconnu";
+            } else if (input.getPriorite_id() != null && !priorites.containsKey(input.getPriorite_id())) {
+                erreur = "Priorité inconnue";
+            }
+
+            if (erreur != null) {
+                resultats.add(new TacheBulkResultatDTO(i, input.getId(), false, erreur));
+                continue;
+            }
+            if (renommage) {
+                nomsPris.add(input.getNom());
+            }
+
+            // Mêmes règles que PATCH /update : seuls les champs renseignés sont appliqués
+            TacheDTO avant = new TacheDTO(tache);
+            if (input.getCommanditaire_id() != null) {
+                tache.setCommanditaire(utilisateurs.get(input.getCommanditaire_id()));
+            }
+            if (input.getDestinataire_id() != null) {
+                tache.setDestinataire(utilisateurs.get(input.getDestinataire_id()));
+            }
+            if (input.getProjet_id() != null) {
+                tache.setProjet(projets.get(input.getProjet_id()));
+            }
+            if (input.getNom() != null) {
+                tache.setNom(input.getNom());
+            }
+            if (input.getDate_debut() != null) {
+                tache.setDate_debut(input.getDate_debut());
+            }
+            if (input.getDate_fin() != null) {
+                tache.setDate_fin(input.getDate_fin());
+            }
+            if (input.getEtat() != null) {
+                tache.setEtat(input.getEtat());
+            }
+            if (input.getDescription() != null) {
+                tache.setDescription(input.getDescription());
+            }
+            if (input.getPriorite_id() != null) {
+                tache.setPriorite(priorites.get(input.getPriorite_id()));
+            }
+
+            resultats.add(new TacheBulkResultatDTO(i, tache.getId(), true, "Tache mise à jour"));
+            modifiees.put(i, Map.entry(tache, avant));
+        }
+
+        // Les UPDATE partent en batch JDBC au commit de saveAll, avant les événements pour qu'ils portent
+        // les nouvelles versions
+        Map<Integer, Tache> enregistrees = new HashMap<>();
+        try {
+            List<Tache> lot = tacheRepository.saveAll(modifiees.values().stream().map(Map.Entry::getKey).toList());
+            int position = 0;
+            for (Integer index : modifiees.keySet()) {
+                enregistrees.put(index, lot.get(position++));
+            }
+        } catch (DataIntegrityViolationException e) {
+            modifierUneParUne(modifiees, resultats, enregistrees);
+        }
+        for (Map.Entry<Integer, Tache> enregistree : enregistrees.entrySet()) {
+            publier(ProjetEvenementDTO.TACHE_MODIFIEE, enregistree.getValue(), modifiees.get(enregistree.getKey()).getValue());
+        }
+        return resultats;
+    }
+
+    // Repli après l'échec du lot : une transaction par tâche, les autres modifications du lot sont tout de même validées
+    private void modifierUneParUne(Map<Integer, Map.Entry<Tache, TacheDTO>> modifiees, List<TacheBulkResultatDTO> resultats,
+                                   Map<Integer, Tache> enregistrees) {
+        for (TacheBulkResultatDTO resultat : resultats) {
+            Map.Entry<Tache, TacheDTO> modifiee = modifiees.get(resultat.getIndex());
+            if (modifiee == null) {
+                continue;
+            }
+            Tache tache = modifiee.getKey();
+            // Version incrémentée par le flush annulé : on repart de celle lue au chargement
+            tache.setVersion(modifiee.getValue().getVersion());
+            try {
+                enregistrees.put(resultat.getIndex(), tacheRepository.save(tache));
+            } catch (DataIntegrityViolationException e) {
+                resultat.setSuccess(false);
+                resultat.setMessage(nomDejaPris(e) ? "Tache existe deja" : "Tache refusée par la base");
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TacheChangementsDTO findChangementsByProjetId(int projetId, long since) {
+        long maintenant = System.currentTimeMillis();
+        long watermark = Math.max(since, maintenant - MARGE_FILIGRANE_MS);
+
+        // Au-delà de la rétention, les suppressions ne sont plus connues : le client doit tout recharger
+        boolean resync = since > 0 && since < maintenant - TimeUnit.DAYS.toMillis(RETENTION_SUPPRESSIONS_JOURS);
+        Date depuis = new Date(resync ? 0 : Math.max(since, 0));
+
+        List<TacheDTO> taches = tacheRepository.findModifieesDepuis(projetId, depuis);
+        List<Integer> supprimees = resync || since <= 0
+                ? Collections.emptyList()
+                : tacheSupprimeeRepository.findTacheIdsSupprimeesDepuis(projetId, depuis);
+        ProjetResponseDTO projet = projetRepository.findResumeModifieDepuis(projetId, depuis).orElse(null);
+        List<UserRoleProjetDTO> membres = userRoleProjetRepository.findMembresModifiesDepuis(projetId, depuis);
+
+        return new TacheChangementsDTO(taches, supprimees, projet, membres, watermark, resync);
+    }
+
+    /**
+     * Après le commit seulement : une modification annulée par un rollback (conflit de version compris)
+     * n'entre pas dans le journal. Entre le commit et cet appel, la nouvelle version est inconnue du journal
+     * et une modification faite sur la précédente donne un conflit plutôt qu'une fusion.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void journaliserVersion(ProjetEvenementDTO evenement) {
+        TacheDTO avant = evenement.getAvant();
+        TacheDTO apres = evenement.getTache();
+        if (!ProjetEvenementDTO.TACHE_MODIFIEE.equals(evenement.getType()) || avant == null || apres == null
+                || avant.getVersion() == null || apres.getVersion() == null || apres.getVersion() <= avant.getVersion()) {
+            return;
+        }
+        // Une tâche modifiée deux fois dans le même lot : un seul UPDATE, les champs des deux modifications
+        journalVersions.asMap().merge(cleVersion(apres.getId(), avant.getVersion()),
+                new VersionSuivante(apres.getVersion(), TacheDTO.champsModifies(avant, apres)),
+                VersionSuivante::fusionner);
+    }
+
+    @Override
+    public Set<String> champsModifiesDepuis(int tacheId, long depuis, long courante) {
+        Set<String> champs = new HashSet<>();
+        long version = depuis;
+        while (version < courante) {
+            VersionSuivante suivante = journalVersions.getIfPresent(cleVersion(tacheId, version));
+            if (suivante == null) {
+                return null;
+            }
+            champs.addAll(suivante.champs);
+            version = suivante.version;
+        }
+        return version == courante ? champs : null;
+    }
+
+    private static String cleVersion(int tacheId, long version) {
+        return tacheId + ":" + version;
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgerSuppressions() {
+        Date limite = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_SUPPRESSIONS_JOURS));
+        tacheSupprimeeRepository.deleteAnterieuresA(limite);
+    }
+
+    private void verifierTailleLot(List<TacheRequest> requetes) {
+        if (requetes == null || requetes.isEmpty() || requetes.size() > TAILLE_LOT_MAX) {
+            throw new IllegalArgumentException("Le lot doit contenir entre 1 et " + TAILLE_LOT_MAX + " tâches");
+        }
+    }
+
+    private Set<Integer> ids(List<TacheRequest> requetes, Function<TacheRequest, Integer> extracteur) {
+        Set<Integer> ids = new HashSet<>();
+        for (TacheRequest requete : requetes) {
+            Integer id = extracteur.apply(requete);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Set<Integer> idsUtilisateurs(List<TacheRequest> requetes) {
+        Set<Integer> ids = ids(requetes, TacheRequest::getCommanditaire_id);
+        ids.addAll(ids(requetes, TacheRequest::getDestinataire_id));
+        return ids;
+    }
+
+    private <T> Map<Integer, T> indexer(Iterable<T> entites, Function<T, Integer> id) {
+        Map<Integer, T> index = new HashMap<>();
+        for (T entite : entites) {
+            index.put(id.apply(entite), entite);
+        }
+        return index;
+    }
+
     @Override
+    @Transactional
     public Tache save(Tache tache) {
-        return tacheRepository.save(tache);
+        return save(tache, null);
     }
 
     @Override
+    @Transactional
+    public Tache save(Tache tache, TacheDTO avant) {
+        boolean nouvelle = tache.getId() == 0;
+        Tache enregistree = tacheRepository.save(tache);
+        // Flush ici plutôt qu'au commit : un conflit de version est levé dans la méthode et l'événement
+        // porte la version incrémentée
+        tacheRepository.flush();
+        publier(nouvelle ? ProjetEvenementDTO.TACHE_CREEE : ProjetEvenementDTO.TACHE_MODIFIEE, enregistree, avant);
+        return enregistree;
+    }
+
+    @Override
+    @Transactional
     public boolean deleteByID(int id) {
         Optional<Tache> tache = tacheRepository.findById(id);
         System.out.println("taches __>"+ tache);
         if(tache.isPresent()) {
             tacheRepository.deleteById(id);
+            if (tache.get().getProjet() != null) {
+                tacheSupprimeeRepository.save(new TacheSupprimee(id, tache.get().getProjet().getId()));
+            }
+            publier(ProjetEvenementDTO.TACHE_SUPPRIMEE, tache.get(), new TacheDTO(tache.get()));
             return true;
         }
         return false;
     }
+
+    // L'instantané DTO est pris dans la transaction ; la diffusion SSE n'a lieu qu'après le commit
+    private void publier(String type, Tache tache) {
+        publier(type, tache, null);
+    }
+
+    private void publier(String type, Tache tache, TacheDTO avant) {
+        if (tache != null && tache.getProjet() != null) {
+            eventPublisher.publishEvent(ProjetEvenementDTO.tache(type, tache, avant));
+        }
+    }
+
+    static final class VersionSuivante {
+
+        final long version;
+
+        final Set<String> champs;
+
+        VersionSuivante(long version, Set<String> champs) {
+            this.version = version;
+            this.champs = champs;
+        }
+
+        VersionSuivante fusionner(VersionSuivante autre) {
+            Set<String> tous = new HashSet<>(champs);
+            tous.addAll(autre.champs);
+            return new VersionSuivante(Math.max(version, autre.version), tous);
+        }
+    }
 }
@@ -1,10 +1,13 @@
 package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.UserRoleProjetDTO;
 import com.visiplus.backend.models.UserRoleProjet;
 import com.visiplus.backend.services.UserRoleProjetService;
 import com.visiplus.backend.services.UtilisateurService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,9 +18,16 @@ public class UserRoleProjetImpl implements UserRoleProjetService {
     @Autowired
     UserRoleProjetRepository userRoleProjetRepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     public UserRoleProjet save(UserRoleProjet userRoleProjet) {
-        return userRoleProjetRepository.save(userRoleProjet);
+        UserRoleProjet enregistre = userRoleProjetRepository.save(userRoleProjet);
+        if (enregistre != null && enregistre.getProjet() != null) {
+            eventPublisher.publishEvent(ProjetEvenementDTO.membre(ProjetEvenementDTO.MEMBRE_AJOUTE, enregistre));
+        }
+        return enregistre;
     }
 
     @Override
@@ -25,9 +35,17 @@ public class UserRoleProjetImpl implements UserRoleProjetService {
         return userRoleProjetRepository.findAll();
     }
 
+    @Override
+    public List<UserRoleProjetDTO> findByProjetId(int projetId) {
+        return userRoleProjetRepository.findMembresByProjetId(projetId);
+    }
+
     @Override
     public void delete(UserRoleProjet userRoleProjet) {
         userRoleProjetRepository.delete(userRoleProjet);
+        if (userRoleProjet.getProjet() != null) {
+            eventPublisher.publishEvent(ProjetEvenementDTO.membre(ProjetEvenementDTO.MEMBRE_RETIRE, userRoleProjet));
+        }
     }
 
     @Override
@@ -1,20 +1,27 @@
 package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.UtilisateurDTO;
 import com.visiplus.backend.models.Utilisateur;
 import com.visiplus.backend.services.UtilisateurService;
 import jdk.jshell.execution.Util;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class UtilisateurServiceImpl implements UtilisateurService {
 
+    static final int TAILLE_LOT_EXPORT = 500;
+
     @Autowired
     UtilisateurRepository utilisateurRepository;
 
@@ -23,17 +30,44 @@ public class UtilisateurServiceImpl implements UtilisateurService {
         return (List<Utilisateur>) utilisateurRepository.findAll();
     }
 
-    @Transactional
+    // Par clé primaire : chaque lot est une requête courte, la connexion est rendue au pool pendant l'écriture
     @Override
-    public int create(Utilisateur utilisateur) {
-
-        Optional<Utilisateur> existUser = utilisateurRepository.findByNom(utilisateur.getNom());
+    public void parcourir(Consumer<List<UtilisateurDTO>> lot) {
+        int apres = 0;
+        List<UtilisateurDTO> utilisateurs;
+        do {
+            utilisateurs = utilisateurRepository.findResumesApres(apres, Limit.of(TAILLE_LOT_EXPORT));
+            if (utilisateurs.isEmpty()) {
+                return;
+            }
+            lot.accept(utilisateurs);
+            apres = utilisateurs.get(utilisateurs.size() - 1).getId();
+        } while (utilisateurs.size() == TAILLE_LOT_EXPORT);
+    }
 
-        if(existUser.isPresent()){
-            return existUser.get().getId();
+    /**
+     * INSERT direct, sans SELECT préalable : la contrainte uk_utilisateur_nom refuse un nom déjà pris,
+     * y compris par une création concurrente, et l'id de l'utilisateur existant est alors renvoyé.
+     * Toute autre violation (valeur trop longue, colonne NOT NULL...) est relancée.
+     * Pas de transaction englobante : l'INSERT est validé (et rejeté) dans save(), à l'intérieur du try.
+     */
+    @Override
+    public int create(Utilisateur utilisateur) {
+        try {
+            return utilisateurRepository.save(utilisateur).getId();
+        } catch (DataIntegrityViolationException e) {
+            if (!nomDejaPris(e)) {
+                throw e;
+            }
+            return utilisateurRepository.findByNom(utilisateur.getNom())
+                    .map(Utilisateur::getId)
+                    .orElseThrow(() -> e);
         }
+    }
 
-        return utilisateurRepository.save(utilisateur).getId();
+    private static boolean nomDejaPris(DataIntegrityViolationException e) {
+        String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return cause != null && cause.toLowerCase(Locale.ROOT).contains("uk_utilisateur_nom");
     }
 
     @Override
@@ -0,0 +1,145 @@
+-- Schéma initial (MariaDB). Hibernate ne crée plus les tables : il valide ce schéma au démarrage
+-- (spring.jpa.hibernate.ddl-auto=validate). Toute modification d'entité passe par une nouvelle migration V<n>__.
+
+-- Identifiants attribués par séquence, par blocs de 50 (allocationSize Hibernate)
+CREATE SEQUENCE utilisateur_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE role_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE priorite_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE projet_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE tache_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE historique_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+
+CREATE TABLE utilisateur (
+    id             INTEGER      NOT NULL,
+    nom            VARCHAR(255),
+    email          VARCHAR(255),
+    password       VARCHAR(255),
+    role_app       VARCHAR(255),
+    etat_connexion BIT          NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE role (
+    id                           INTEGER NOT NULL,
+    nom                          VARCHAR(255),
+    ajouter_membre               BIT,
+    creer_tache                  BIT,
+    assigne_tache                BIT,
+    maj_tache                    BIT,
+    vue_tache                    BIT,
+    vue_tableau_de_bord          BIT,
+    etre_notifie                 BIT,
+    vue_historique_modifications BIT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE priorite (
+    id  INTEGER NOT NULL,
+    nom VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE projet (
+    id                INTEGER NOT NULL,
+    nom               VARCHAR(255),
+    description       VARCHAR(255),
+    date_echeance     DATE,
+    date_creation     DATE,
+    date_modification DATETIME(6),
+    createur_id       INTEGER,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE tache (
+    id                INTEGER NOT NULL,
+    nom               VARCHAR(255),
+    description       VARCHAR(255),
+    etat              VARCHAR(255),
+    date_debut        DATETIME(6),
+    date_fin          DATETIME(6),
+    date_modification DATETIME(6),
+    projet_id         INTEGER,
+    priorite_id       INTEGER,
+    commanditaire_id  INTEGER,
+    destinataire_id   INTEGER,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE projet_tache (
+    projet_id INTEGER NOT NULL,
+    tache_id  INTEGER NOT NULL,
+    PRIMARY KEY (projet_id, tache_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE utilisateur_projet_role (
+    id                BIGINT  NOT NULL AUTO_INCREMENT,
+    projet_id         INTEGER NOT NULL,
+    utilisateur_id    INTEGER,
+    role_id           INTEGER,
+    date_modification DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- Journal et tombes : projet_id / tache_id sans clé étrangère, les lignes survivent à la suppression
+CREATE TABLE historique (
+    id              BIGINT  NOT NULL,
+    projet_id       INTEGER NOT NULL,
+    tache_id        INTEGER,
+    auteur_id       INTEGER,
+    membre_id       INTEGER,
+    type            VARCHAR(255),
+    champ           VARCHAR(255),
+    ancienne_valeur VARCHAR(255),
+    nouvelle_valeur VARCHAR(255),
+    date_evenement  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE tache_supprimee (
+    id               BIGINT  NOT NULL AUTO_INCREMENT,
+    tache_id         INTEGER NOT NULL,
+    projet_id        INTEGER NOT NULL,
+    date_suppression DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- Recherche par nom / email (connexion, ajout de membre, création de projet)
+CREATE INDEX idx_utilisateur_email ON utilisateur (email);
+CREATE INDEX idx_utilisateur_nom ON utilisateur (nom);
+CREATE INDEX idx_projet_nom ON projet (nom);
+
+-- Membres d'un projet et projets d'un membre
+CREATE INDEX idx_upr_projet_utilisateur ON utilisateur_projet_role (projet_id, utilisateur_id);
+CREATE INDEX idx_upr_utilisateur_projet ON utilisateur_projet_role (utilisateur_id, projet_id);
+
+-- Tâches d'un projet : filtres et tris de la page keyset, flux de changements. Le préfixe (projet_id, etat)
+-- de idx_tache_projet_etat_date_fin sert aussi les comptages par état du tableau de bord.
+CREATE INDEX idx_tache_projet_date_fin ON tache (projet_id, date_fin, id);
+CREATE INDEX idx_tache_projet_etat_date_fin ON tache (projet_id, etat, date_fin, id);
+CREATE INDEX idx_tache_projet_priorite_date_fin ON tache (projet_id, priorite_id, date_fin, id);
+CREATE INDEX idx_tache_projet_destinataire_date_fin ON tache (projet_id, destinataire_id, date_fin, id);
+CREATE INDEX idx_tache_projet_date_modification ON tache (projet_id, date_modification);
+CREATE INDEX idx_tache_date_fin ON tache (date_fin);
+CREATE INDEX idx_tache_destinataire ON tache (destinataire_id);
+
+CREATE INDEX idx_historique_projet ON historique (projet_id, id);
+CREATE INDEX idx_historique_tache ON historique (tache_id, id);
+
+CREATE INDEX idx_tache_supprimee_projet_date ON tache_supprimee (projet_id, date_suppression);
+
+-- Clés étrangères après les index : InnoDB s'appuie sur un index existant dont la colonne est en tête
+-- (idx_tache_projet_*, idx_tache_destinataire, idx_upr_*) au lieu d'en créer un en double
+ALTER TABLE projet ADD CONSTRAINT fk_projet_createur FOREIGN KEY (createur_id) REFERENCES utilisateur (id);
+
+ALTER TABLE tache ADD CONSTRAINT fk_tache_projet FOREIGN KEY (projet_id) REFERENCES projet (id);
+ALTER TABLE tache ADD CONSTRAINT fk_tache_priorite FOREIGN KEY (priorite_id) REFERENCES priorite (id);
+ALTER TABLE tache ADD CONSTRAINT fk_tache_commanditaire FOREIGN KEY (commanditaire_id) REFERENCES utilisateur (id);
+ALTER TABLE tache ADD CONSTRAINT fk_tache_destinataire FOREIGN KEY (destinataire_id) REFERENCES utilisateur (id);
+
+ALTER TABLE projet_tache ADD CONSTRAINT fk_projet_tache_projet FOREIGN KEY (projet_id) REFERENCES projet (id);
+ALTER TABLE projet_tache ADD CONSTRAINT fk_projet_tache_tache FOREIGN KEY (tache_id) REFERENCES tache (id);
+
+ALTER TABLE utilisateur_projet_role ADD CONSTRAINT FK_user_role_projet_projet
+    FOREIGN KEY (projet_id) REFERENCES projet (id) ON DELETE CASCADE;
+ALTER TABLE utilisateur_projet_role ADD CONSTRAINT fk_upr_utilisateur FOREIGN KEY (utilisateur_id) REFERENCES utilisateur (id);
+ALTER TABLE utilisateur_projet_role ADD CONSTRAINT fk_upr_role FOREIGN KEY (role_id) REFERENCES role (id);
@@ -0,0 +1,9 @@
+-- Clés naturelles : l'unicité des noms est garantie par la base, plus par un SELECT avant l'INSERT.
+-- Les index uniques remplacent les index simples sur utilisateur.nom et projet.nom.
+-- Des doublons déjà présents font échouer la migration : ils sont à renommer avant le déploiement.
+DROP INDEX idx_utilisateur_nom ON utilisateur;
+ALTER TABLE utilisateur ADD CONSTRAINT uk_utilisateur_nom UNIQUE (nom);
+DROP INDEX idx_projet_nom ON projet;
+ALTER TABLE projet ADD CONSTRAINT uk_projet_nom UNIQUE (nom);
+ALTER TABLE priorite ADD CONSTRAINT uk_priorite_nom UNIQUE (nom);
+ALTER TABLE tache ADD CONSTRAINT uk_tache_nom UNIQUE (nom);
@@ -0,0 +1,3 @@
+-- Verrou optimiste (@Version) : incrémenté à chaque UPDATE, vérifié dans sa clause WHERE
+ALTER TABLE tache ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projet ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,88 @@
+package com.visiplus.backend.autorisation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour JetonSession
+ *
+ * Objectif pédagogique:
+ * - Un jeton signé se vérifie sans état : seule la clé de signature est nécessaire
+ * - Toute modification du jeton invalide sa signature
+ * - La révocation est la seule information conservée côté serveur
+ */
+@DisplayName("Tests des jetons de session")
+class JetonSessionTest {
+
+    private final JetonSession jetonSession = new JetonSession(
+            "secret-de-test-suffisamment-long".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(30));
+
+    @Test
+    @DisplayName("verifier - Un jeton émis identifie son utilisateur")
+    void testVerifier_ShouldReturnUtilisateur() {
+        // Arrange
+        JetonSession.Jeton emis = jetonSession.emettre(42);
+
+        // Act
+        JetonSession.Jeton verifie = jetonSession.verifier(emis.getValeur());
+
+        // Assert
+        assertNotNull(verifie);
+        assertEquals(42, verifie.getUtilisateurId());
+        assertEquals(emis.getExpiration().getEpochSecond(), verifie.getExpiration().getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("verifier - Deux connexions donnent deux jetons distincts")
+    void testEmettre_ShouldBeUnique() {
+        assertNotEquals(jetonSession.emettre(1).getValeur(), jetonSession.emettre(1).getValeur());
+    }
+
+    @Test
+    @DisplayName("verifier - Rejette un jeton modifié, mal formé ou signé avec une autre clé")
+    void testVerifier_WhenTampered_ShouldReturnNull() {
+        // Arrange
+        String valeur = jetonSession.emettre(1).getValeur();
+        String charge = valeur.substring(0, valeur.indexOf('.'));
+        String signature = valeur.substring(valeur.indexOf('.') + 1);
+        JetonSession autreCle = new JetonSession("une-autre-cle".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(30));
+
+        // Act & Assert
+        assertNull(jetonSession.verifier(charge.substring(1) + "." + signature), "Charge modifiée");
+        assertNull(jetonSession.verifier(charge + "." + signature.substring(1)), "Signature modifiée");
+        assertNull(jetonSession.verifier("pas-un-jeton"));
+        assertNull(jetonSession.verifier("a.b.c"));
+        assertNull(jetonSession.verifier(null));
+        assertNull(autreCle.verifier(valeur), "Une autre clé ne reconnaît pas le jeton");
+    }
+
+    @Test
+    @DisplayName("verifier - Rejette un jeton expiré")
+    void testVerifier_WhenExpired_ShouldReturnNull() {
+        // Arrange : durée nulle, le jeton est expiré dès son émission
+        JetonSession expire = new JetonSession("secret".getBytes(StandardCharsets.UTF_8), Duration.ZERO);
+
+        // Act & Assert
+        assertNull(expire.verifier(expire.emettre(1).getValeur()));
+    }
+
+    @Test
+    @DisplayName("revoquer - Un jeton révoqué n'est plus accepté, les autres restent valides")
+    void testRevoquer_ShouldOnlyRejectThatJeton() {
+        // Arrange
+        JetonSession.Jeton premier = jetonSession.emettre(1);
+        JetonSession.Jeton second = jetonSession.emettre(1);
+
+        // Act
+        jetonSession.revoquer(premier);
+
+        // Assert
+        assertNull(jetonSession.verifier(premier.getValeur()));
+        assertNotNull(jetonSession.verifier(second.getValeur()), "Une autre session du même utilisateur reste ouverte");
+    }
+}
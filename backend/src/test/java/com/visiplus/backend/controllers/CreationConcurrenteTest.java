@@ -0,0 +1,247 @@
+package com.visiplus.backend.controllers;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.TacheBulkResultatDTO;
+import com.visiplus.backend.dto.TacheRequest;
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.services.ProjetService;
+import com.visiplus.backend.services.TacheService;
+import com.visiplus.backend.services.UtilisateurService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Créations concurrentes d'un même nom
+ *
+ * Points d'apprentissage :
+ * - Un SELECT avant l'INSERT ne protège pas des doublons : deux requêtes simultanées voient toutes
+ *   les deux « absent » puis insèrent. Seule une contrainte unique tranche
+ * - Les threads démarrent ensemble (CountDownLatch) pour que les INSERT se chevauchent vraiment
+ * - Utilisateur : insérer ou renvoyer l'existant ; projet et tâche : un seul gagnant, les autres en 409
+ * - Renommage groupé : le doublon n'échoue que pour son élément, le reste du lot est réenregistré un par un
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrence;DB_CLOSE_DELAY=-1;MODE=MySQL")
+@ActiveProfiles("test")
+@DisplayName("Créations concurrentes sous contrainte d'unicité")
+class CreationConcurrenteTest {
+
+    private static final int NB_REQUETES = 8;
+
+    @Autowired
+    private UtilisateurService utilisateurService;
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private TacheService tacheService;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @Test
+    @DisplayName("Utilisateur - Créations parallèles du même nom : une ligne, le même id pour tous")
+    void testCreateUtilisateur_Parallel_ShouldReturnSameId() throws Exception {
+        // Arrange
+        String nom = "concurrent_" + System.nanoTime();
+
+        // Act
+        List<Future<Integer>> resultats = enParallele(() -> {
+            Utilisateur utilisateur = new Utilisateur();
+            utilisateur.setNom(nom);
+            utilisateur.setEmail(nom + "@test.com");
+            return utilisateurService.create(utilisateur);
+        });
+
+        // Assert
+        HashSet<Integer> ids = new HashSet<>();
+        for (Future<Integer> resultat : resultats) {
+            ids.add(resultat.get());
+        }
+        assertEquals(1, ids.size(), "Toutes les requêtes devraient renvoyer l'id de l'unique utilisateur");
+        assertEquals(ids.iterator().next(), utilisateurRepository.findByNom(nom).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Projet - Créations parallèles du même nom : un seul projet, les autres en conflit")
+    void testCreateProjet_Parallel_ShouldCreateOnlyOne() throws Exception {
+        // Arrange
+        Utilisateur createur = nouvelUtilisateur("createur_" + System.nanoTime());
+        String nom = "Projet_" + System.nanoTime();
+
+        // Act
+        List<Future<Integer>> resultats = enParallele(() -> {
+            Projet projet = new Projet();
+            projet.setNom(nom);
+            projet.setCreateur(createur);
+            return projetService.create(projet);
+        });
+
+        // Assert
+        List<DataIntegrityViolationException> conflits = conflits(resultats);
+        assertEquals(NB_REQUETES - 1, conflits.size(), "Une seule création devrait aboutir");
+        assertTrue(projetRepository.findByNom(nom).isPresent());
+        for (DataIntegrityViolationException conflit : conflits) {
+            assertEquals("Le projet existe déjà", ConflitExceptionHandler.message(conflit));
+        }
+    }
+
+    @Test
+    @DisplayName("Tâche - Créations parallèles du même nom : une seule tâche, les autres en conflit")
+    void testCreateTache_Parallel_ShouldCreateOnlyOne() throws Exception {
+        // Arrange
+        Utilisateur createur = nouvelUtilisateur("commanditaire_" + System.nanoTime());
+        Projet projet = new Projet();
+        projet.setNom("Projet_" + System.nanoTime());
+        projet.setCreateur(createur);
+        Projet enregistre = projetRepository.save(projet);
+        String nom = "Tache_" + System.nanoTime();
+
+        // Act
+        List<Future<Tache>> resultats = enParallele(() -> {
+            Tache tache = new Tache();
+            tache.setNom(nom);
+            tache.setEtat("TODO");
+            tache.setProjet(enregistre);
+            tache.setCommanditaire(createur);
+            tache.setDestinataire(createur);
+            return tacheService.create(tache);
+        });
+
+        // Assert
+        List<DataIntegrityViolationException> conflits = conflits(resultats);
+        assertEquals(NB_REQUETES - 1, conflits.size(), "Une seule création devrait aboutir");
+        assertTrue(tacheRepository.findByNom(nom).isPresent());
+        assertEquals("La tâche existe déjà", ConflitExceptionHandler.message(conflits.get(0)));
+    }
+
+    @Test
+    @DisplayName("Tâche - Renommages groupés parallèles vers le même nom : un seul gagnant, le reste du lot appliqué")
+    void testUpdateBulkTache_Parallel_ShouldRenameOnlyOne() throws Exception {
+        // Arrange : chaque requête renomme sa tâche vers le même nom, et une seconde tâche vers un nom qui lui est propre
+        Utilisateur createur = nouvelUtilisateur("commanditaire_" + System.nanoTime());
+        Projet projet = new Projet();
+        projet.setNom("Projet_" + System.nanoTime());
+        projet.setCreateur(createur);
+        Projet enregistre = projetRepository.save(projet);
+        String nom = "Tache_" + System.nanoTime();
+        List<Tache> disputees = new ArrayList<>();
+        List<Tache> libres = new ArrayList<>();
+        for (int i = 0; i < NB_REQUETES; i++) {
+            disputees.add(nouvelleTache(nom + "_" + i, enregistre, createur));
+            libres.add(nouvelleTache(nom + "_libre_" + i, enregistre, createur));
+        }
+        AtomicInteger suivante = new AtomicInteger();
+
+        // Act : la tâche au nom propre passe en premier, elle est déjà dans le batch quand le doublon échoue
+        List<Future<List<TacheBulkResultatDTO>>> resultats = enParallele(() -> {
+            int i = suivante.getAndIncrement();
+            return tacheService.updateBulk(Arrays.asList(
+                    renommage(libres.get(i), nom + "_renommee_" + i),
+                    renommage(disputees.get(i), nom)));
+        });
+
+        // Assert
+        int gagnants = 0;
+        for (Future<List<TacheBulkResultatDTO>> resultat : resultats) {
+            List<TacheBulkResultatDTO> lot = resultat.get();
+            assertTrue(lot.get(0).isSuccess(), "Le reste du lot devrait être appliqué");
+            if (lot.get(1).isSuccess()) {
+                gagnants++;
+            } else {
+                assertEquals("Tache existe deja", lot.get(1).getMessage());
+            }
+        }
+        assertEquals(1, gagnants, "Un seul renommage devrait aboutir");
+        assertTrue(tacheRepository.findByNom(nom).isPresent());
+        for (int i = 0; i < NB_REQUETES; i++) {
+            assertTrue(tacheRepository.findByNom(nom + "_renommee_" + i).isPresent());
+        }
+    }
+
+    private Tache nouvelleTache(String nom, Projet projet, Utilisateur createur) {
+        Tache tache = new Tache();
+        tache.setNom(nom);
+        tache.setEtat("TODO");
+        tache.setProjet(projet);
+        tache.setCommanditaire(createur);
+        tache.setDestinataire(createur);
+        return tacheRepository.save(tache);
+    }
+
+    private static TacheRequest renommage(Tache tache, String nom) {
+        TacheRequest requete = new TacheRequest();
+        requete.setId(tache.getId());
+        requete.setNom(nom);
+        return requete;
+    }
+
+    private Utilisateur nouvelUtilisateur(String nom) {
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setNom(nom);
+        utilisateur.setEmail(nom + "@test.com");
+        return utilisateurRepository.save(utilisateur);
+    }
+
+    // NB_REQUETES appels lancés au même instant, chacun sur son thread (donc sa propre transaction)
+    private static <T> List<Future<T>> enParallele(Callable<T> creation) throws InterruptedException {
+        ExecutorService executeur = Executors.newFixedThreadPool(NB_REQUETES);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<T>> resultats = new ArrayList<>();
+        try {
+            for (int i = 0; i < NB_REQUETES; i++) {
+                resultats.add(executeur.submit(() -> {
+                    depart.await();
+                    return creation.call();
+                }));
+            }
+            depart.countDown();
+        } finally {
+            executeur.shutdown();
+            assertTrue(executeur.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        return resultats;
+    }
+
+    private static <T> List<DataIntegrityViolationException> conflits(List<Future<T>> resultats) throws InterruptedException {
+        List<DataIntegrityViolationException> conflits = new ArrayList<>();
+        for (Future<T> resultat : resultats) {
+            try {
+                resultat.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+                conflits.add((DataIntegrityViolationException) e.getCause());
+            }
+        }
+        return conflits;
+    }
+}
@@ -1,13 +1,33 @@
 package com.visiplus.backend.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.JetonSession;
+import com.visiplus.backend.autorisation.JetonSessionFilter;
+import com.visiplus.backend.autorisation.AccesRefuseException;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.KanbanDTO;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.PresenceDTO;
 import com.visiplus.backend.dto.ProjetRequest;
+import com.visiplus.backend.dto.ProjetResponseDTO;
+import com.visiplus.backend.dto.SuppressionProjetDTO;
+import com.visiplus.backend.dto.TableauDeBordDTO;
+import com.visiplus.backend.dto.UserRoleProjetDTO;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Role;
 import com.visiplus.backend.models.UserRoleProjet;
 import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.HistoriqueService;
+import com.visiplus.backend.services.KanbanService;
+import com.visiplus.backend.services.PresenceService;
+import com.visiplus.backend.services.ProjetEvenementService;
 import com.visiplus.backend.services.ProjetService;
 import com.visiplus.backend.services.RoleService;
+import com.visiplus.backend.services.SuppressionProjetService;
+import com.visiplus.backend.services.TableauDeBordService;
 import com.visiplus.backend.services.TacheService;
 import com.visiplus.backend.services.UserRoleProjetService;
 import com.visiplus.backend.services.UtilisateurService;
@@ -15,13 +35,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -37,6 +68,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - MockMvc permet de tester les endpoints HTTP sans démarrer le serveur
  */
 @WebMvcTest(ProjetController.class)
+@ActiveProfiles("test")
 @DisplayName("Tests du ProjetController")
 class ProjetControllerTest {
 
@@ -46,6 +78,13 @@ class ProjetControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JetonSession jetonSession;
+
+    @Autowired
+    @Qualifier("jetonFlux")
+    private JetonSession jetonFlux;
+
     @MockBean
     private ProjetService projetService;
 
@@ -61,6 +100,27 @@ class ProjetControllerTest {
     @MockBean
     private TacheService tacheService;
 
+    @MockBean
+    private ProjetEvenementService projetEvenementService;
+
+    @MockBean
+    private TableauDeBordService tableauDeBordService;
+
+    @MockBean
+    private AutorisationService autorisationService;
+
+    @MockBean
+    private PresenceService presenceService;
+
+    @MockBean
+    private HistoriqueService historiqueService;
+
+    @MockBean
+    private KanbanService kanbanService;
+
+    @MockBean
+    private SuppressionProjetService suppressionProjetService;
+
     private Utilisateur utilisateurTest;
     private Projet projetTest;
     private Role roleAdmin;
@@ -112,7 +172,6 @@ class ProjetControllerTest {
 
         // Configuration des mocks - Simulation du comportement des services
         when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
-        when(projetService.findByNom("Nouveau Projet")).thenReturn(null); // Projet n'existe pas
         when(roleService.findByNom("ADMINISTRATEUR")).thenReturn(roleAdmin);
         when(projetService.create(any(Projet.class))).thenReturn(1);
         when(projetService.findById(1)).thenReturn(projetTest);
@@ -120,6 +179,7 @@ class ProjetControllerTest {
 
         // ACT & ASSERT - Exécution et vérification
         mockMvc.perform(post("/api/projet/create")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(1).getValeur())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -147,7 +207,7 @@ class ProjetControllerTest {
     @DisplayName("GET /api/projet/id/{id} - Récupération d'un projet existant")
     void testGetProjectById_Success() throws Exception {
         // ARRANGE
-        when(projetService.findById(1)).thenReturn(projetTest);
+        when(projetService.findWithTachesById(1)).thenReturn(projetTest);
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/projet/id/1")
@@ -156,9 +216,13 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Projet a été trouvé"))
                 .andExpect(jsonPath("$.data.id").value(1))
-                .andExpect(jsonPath("$.data.nom").value("Projet Test"));
+                .andExpect(jsonPath("$.data.nom").value("Projet Test"))
+                // DTO de lecture : le créateur est un objet léger, sans mot de passe
+                .andExpect(jsonPath("$.data.createur.nom").value("TestUser"))
+                .andExpect(jsonPath("$.data.createur.password").doesNotExist())
+                .andExpect(jsonPath("$.data.taches").isArray());
 
-        verify(projetService, times(1)).findById(1);
+        verify(projetService, times(1)).findWithTachesById(1);
     }
 
     /**
@@ -169,26 +233,31 @@ class ProjetControllerTest {
      * - Le système confirme la suppression
      * 
      * Points d'apprentissage:
-     * - Test d'une route DELETE
-     * - Vérification que la méthode de suppression du service est appelée
-     * - Gestion du cas de succès
+     * - Test d'une route DELETE traitée en arrière-plan : 202 Accepted et non 200
+     * - L'en-tête Location indique où suivre l'avancement
+     * - Le projet n'est pas chargé avec ses membres ni supprimé par le contrôleur
      */
     @Test
-    @DisplayName("DELETE /api/projet/delete/{id} - Suppression réussie d'un projet")
+    @DisplayName("DELETE /api/projet/delete/{id} - Suppression lancée en arrière-plan (202)")
     void testDeleteProject_Success() throws Exception {
         // ARRANGE
         when(projetService.findById(1)).thenReturn(projetTest);
-        when(projetService.delete(any(Projet.class))).thenReturn(projetTest);
+        when(suppressionProjetService.demarrer(1, 1)).thenReturn(new SuppressionProjetDTO("abc", 1,
+                SuppressionProjetDTO.EN_ATTENTE, 0, 0, new Date(), null, null));
 
         // ACT & ASSERT
         mockMvc.perform(delete("/api/projet/delete/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(1).getValeur())
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/projet/suppression/abc"))
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("Projet, ses tâches et ses relations ont été supprimés"));
+                .andExpect(jsonPath("$.message").value("Suppression du projet lancée"))
+                .andExpect(jsonPath("$.data.etat").value("EN_ATTENTE"));
 
-        verify(projetService, times(1)).findById(1);
-        verify(projetService, times(1)).delete(projetTest);
+        verify(suppressionProjetService, times(1)).demarrer(1, 1);
+        verify(projetService, never()).findWithMembresById(anyInt());
+        verify(projetService, never()).delete(any(Projet.class));
     }
 
     /**
@@ -206,7 +275,7 @@ class ProjetControllerTest {
     @DisplayName("GET /api/projet/id/{id} - Projet inexistant")
     void testGetProjectById_NotFound() throws Exception {
         // ARRANGE
-        when(projetService.findById(999)).thenReturn(null);
+        when(projetService.findWithTachesById(999)).thenReturn(null);
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/projet/id/999")
@@ -215,14 +284,14 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Projet n'existe pas"));
 
-        verify(projetService, times(1)).findById(999);
+        verify(projetService, times(1)).findWithTachesById(999);
     }
 
     /**
      * BONUS: Test de validation - Utilisateur non connecté
      * 
      * Scénario:
-     * - Tentative de création de projet par un utilisateur non connecté
+     * - Tentative de création de projet sans jeton de session
      * - Le système refuse la création
      * 
      * Points d'apprentissage:
@@ -237,11 +306,7 @@ class ProjetControllerTest {
         request.setNom("Nouveau Projet");
         request.setCreateur("TestUser");
 
-        Utilisateur userDeconnecte = new Utilisateur();
-        userDeconnecte.setNom("TestUser");
-        userDeconnecte.setEtat_connexion(false); // Non connecté
-
-        when(utilisateurService.findByNom("TestUser")).thenReturn(userDeconnecte);
+        when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
 
         // ACT & ASSERT
         mockMvc.perform(post("/api/projet/create")
@@ -254,6 +319,30 @@ class ProjetControllerTest {
         verify(projetService, never()).create(any(Projet.class));
     }
 
+    /**
+     * Test: Le jeton d'un autre utilisateur ne permet pas de créer un projet au nom du créateur
+     */
+    @Test
+    @DisplayName("POST /api/projet/create - Échec si le jeton n'est pas celui du créateur")
+    void testCreateProject_JetonOfAnotherUser() throws Exception {
+        // ARRANGE
+        ProjetRequest request = new ProjetRequest();
+        request.setNom("Nouveau Projet");
+        request.setCreateur("TestUser");
+
+        when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
+
+        // ACT & ASSERT
+        mockMvc.perform(post("/api/projet/create")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(2).getValeur())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Utilisateur n'est pas identifié"));
+
+        verify(projetService, never()).create(any(Projet.class));
+    }
+
     // ========== Tests pour getProjectByNom ==========
 
     /**
@@ -264,7 +353,7 @@ class ProjetControllerTest {
     @DisplayName("GET /api/projet/nom/{nom} - Récupération d'un projet existant par nom")
     void testGetProjectByNom_Success() throws Exception {
         // ARRANGE
-        when(projetService.findByNom("Projet Test")).thenReturn(projetTest);
+        when(projetService.findWithTachesByNom("Projet Test")).thenReturn(projetTest);
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/projet/nom/Projet Test")
@@ -274,7 +363,7 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.message").value("Projet a été trouvé"))
                 .andExpect(jsonPath("$.data.nom").value("Projet Test"));
 
-        verify(projetService, times(1)).findByNom("Projet Test");
+        verify(projetService, times(1)).findWithTachesByNom("Projet Test");
     }
 
     /**
@@ -285,7 +374,7 @@ class ProjetControllerTest {
     @DisplayName("GET /api/projet/nom/{nom} - Projet inexistant par nom")
     void testGetProjectByNom_NotFound() throws Exception {
         // ARRANGE
-        when(projetService.findByNom("ProjetInexistant")).thenReturn(null);
+        when(projetService.findWithTachesByNom("ProjetInexistant")).thenReturn(null);
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/projet/nom/ProjetInexistant")
@@ -294,20 +383,20 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Projet n'existe pas"));
 
-        verify(projetService, times(1)).findByNom("ProjetInexistant");
+        verify(projetService, times(1)).findWithTachesByNom("ProjetInexistant");
     }
 
     // ========== Tests pour getUsersRoledByProject ==========
 
     /**
      * Test: Récupération des utilisateurs avec rôles - Liste vide
-     * Branche: projets.isEmpty() == true (ligne 76)
+     * Branche: membres.isEmpty() == true
      */
     @Test
     @DisplayName("GET /api/projet/users-roled/{id} - Aucun UserRoleProjet trouvé")
     void testGetUsersRoledByProject_EmptyList() throws Exception {
         // ARRANGE
-        when(userRoleProjetService.findALl()).thenReturn(java.util.Collections.emptyList());
+        when(userRoleProjetService.findByProjetId(1)).thenReturn(java.util.Collections.emptyList());
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/projet/users-roled/1")
@@ -316,32 +405,21 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Aucun Projet trouvé"));
 
-        verify(userRoleProjetService, times(1)).findALl();
+        verify(userRoleProjetService, times(1)).findByProjetId(1);
     }
 
     /**
-     * Test: Récupération des utilisateurs avec rôles - Succès avec filtrage
-     * Branche: projets.isEmpty() == false (ligne 76)
+     * Test: Récupération des utilisateurs avec rôles - Succès
+     * Le filtrage par projet est fait en base, la réponse est un DTO à plat
      */
     @Test
-    @DisplayName("GET /api/projet/users-roled/{id} - Récupération avec filtrage")
+    @DisplayName("GET /api/projet/users-roled/{id} - Récupération des membres du projet")
     void testGetUsersRoledByProject_Success() throws Exception {
         // ARRANGE
-        UserRoleProjet urp1 = new UserRoleProjet();
-        urp1.setProjet(projetTest);
-        urp1.setUtilisateur(utilisateurTest);
-        urp1.setRole(roleAdmin);
-
-        Projet autreProjet = new Projet();
-        autreProjet.setId(2);
-        autreProjet.setNom("Autre Projet");
+        UserRoleProjetDTO membre = new UserRoleProjetDTO(1L, 1, 1, "TestUser",
+                "test@test.com", "ADMINISTRATEUR", true, 1, "ADMINISTRATEUR");
 
-        UserRoleProjet urp2 = new UserRoleProjet();
-        urp2.setProjet(autreProjet);
-        urp2.setUtilisateur(utilisateurTest);
-        urp2.setRole(roleAdmin);
-
-        when(userRoleProjetService.findALl()).thenReturn(java.util.Arrays.asList(urp1, urp2));
+        when(userRoleProjetService.findByProjetId(1)).thenReturn(java.util.Arrays.asList(membre));
 
         // ACT & ASSERT
         mockMvc.perform(get("/api/projet/users-roled/1")
@@ -349,9 +427,13 @@ class ProjetControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("User Roled Projet Trouvé"))
-                .andExpect(jsonPath("$.data").isArray());
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].utilisateur.nom").value("TestUser"))
+                .andExpect(jsonPath("$.data[0].role").value(1));
 
-        verify(userRoleProjetService, times(1)).findALl();
+        verify(userRoleProjetService, times(1)).findByProjetId(1);
+        verify(userRoleProjetService, never()).findALl();
     }
 
     // ========== Tests pour createProject - Branches manquantes ==========
@@ -383,7 +465,7 @@ class ProjetControllerTest {
 
     /**
      * Test: Création de projet - Projet déjà existant
-     * Branche: projetExistant != null (ligne 118)
+     * Branche: violation de uk_projet_nom à l'INSERT, traduite en 409 par ConflitExceptionHandler
      */
     @Test
     @DisplayName("POST /api/projet/create - Échec si projet existe déjà")
@@ -394,18 +476,21 @@ class ProjetControllerTest {
         request.setCreateur("TestUser");
 
         when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
-        when(projetService.findByNom("Projet Test")).thenReturn(projetTest); // Projet existe déjà
+        when(roleService.findByNom("ADMINISTRATEUR")).thenReturn(roleAdmin);
+        when(projetService.create(any(Projet.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_PROJET_NOM_INDEX_8\"")));
 
         // ACT & ASSERT
         mockMvc.perform(post("/api/projet/create")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(1).getValeur())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest())
+                .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Le projet existe déjà"))
-                .andExpect(jsonPath("$.data.nom").value("Projet Test"));
+                .andExpect(jsonPath("$.message").value("Le projet existe déjà"));
 
-        verify(projetService, never()).create(any(Projet.class));
+        verify(projetService, never()).findByNom(anyString());
+        verify(userRoleProjetService, never()).save(any(UserRoleProjet.class));
     }
 
     // ========== Tests pour deleteProject - Branches manquantes ==========
@@ -428,30 +513,38 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.message").value("Projet n'existe pas"));
 
         verify(projetService, times(1)).findById(999);
-        verify(projetService, never()).delete(any(Projet.class));
+        verify(suppressionProjetService, never()).demarrer(anyInt(), any());
     }
 
     /**
-     * Test: Suppression de projet - Exception lors de la suppression
-     * Branche: catch (Exception e) (ligne 176)
+     * Test: Suivi d'une suppression - avancement lu sans accès à la base
      */
     @Test
-    @DisplayName("DELETE /api/projet/delete/{id} - Erreur lors de la suppression")
-    void testDeleteProject_Exception() throws Exception {
+    @DisplayName("GET /api/projet/suppression/{id} - Avancement d'une suppression")
+    void testGetSuppression_Success() throws Exception {
         // ARRANGE
-        when(projetService.findById(1)).thenReturn(projetTest);
-        when(projetService.delete(any(Projet.class)))
-                .thenThrow(new RuntimeException("Erreur de contrainte FK"));
+        when(suppressionProjetService.statut("abc")).thenReturn(new SuppressionProjetDTO("abc", 1,
+                SuppressionProjetDTO.EN_COURS, 1200, 500, new Date(), null, null));
 
         // ACT & ASSERT
-        mockMvc.perform(delete("/api/projet/delete/1")
-                .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError())
-                .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Erreur lors de la suppression: Erreur de contrainte FK"));
+        mockMvc.perform(get("/api/projet/suppression/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.etat").value("EN_COURS"))
+                .andExpect(jsonPath("$.data.taches_total").value(1200))
+                .andExpect(jsonPath("$.data.taches_supprimees").value(500));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/suppression/{id} - Suppression inconnue ou expirée")
+    void testGetSuppression_NotFound() throws Exception {
+        // ARRANGE
+        when(suppressionProjetService.statut("inconnue")).thenReturn(null);
 
-        verify(projetService, times(1)).findById(1);
-        verify(projetService, times(1)).delete(projetTest);
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/suppression/inconnue"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Suppression inconnue ou expirée"));
     }
 
     // ========== Tests pour getAllProjects ==========
@@ -464,17 +557,22 @@ class ProjetControllerTest {
     @DisplayName("GET /api/projet/all - Récupération de tous les projets")
     void testGetAllProjects_Success() throws Exception {
         // ARRANGE
-        Projet projet2 = new Projet();
-        projet2.setId(2);
-        projet2.setNom("Projet 2");
-        projet2.setDescription("Description 2");
-        projet2.setDate_creation(new Date());
+        ProjetResponseDTO projet1 = new ProjetResponseDTO(1, "Projet Test", "Description", null, new Date());
+        ProjetResponseDTO projet2 = new ProjetResponseDTO(2, "Projet 2", "Description 2", null, new Date());
 
-        when(projetService.findAll()).thenReturn(java.util.Arrays.asList(projetTest, projet2));
+        doAnswer(invocation -> {
+            Consumer<List<ProjetResponseDTO>> lot = invocation.getArgument(0);
+            lot.accept(java.util.Arrays.asList(projet1, projet2));
+            return null;
+        }).when(projetService).parcourirResumes(any());
 
-        // ACT & ASSERT
-        mockMvc.perform(get("/api/projet/all")
+        // ACT & ASSERT : le corps est écrit en flux, après la fin du traitement synchrone
+        MvcResult flux = mockMvc.perform(get("/api/projet/all")
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(flux))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Liste des projets"))
@@ -483,7 +581,8 @@ class ProjetControllerTest {
                 .andExpect(jsonPath("$.data[0].nom").value("Projet Test"))
                 .andExpect(jsonPath("$.data[1].nom").value("Projet 2"));
 
-        verify(projetService, times(1)).findAll();
+        verify(projetService, times(1)).parcourirResumes(any());
+        verify(projetService, never()).findAll();
     }
 
     /**
@@ -494,17 +593,308 @@ class ProjetControllerTest {
     @DisplayName("GET /api/projet/all - Liste vide")
     void testGetAllProjects_EmptyList() throws Exception {
         // ARRANGE
-        when(projetService.findAll()).thenReturn(java.util.Collections.emptyList());
+        // Aucun lot : le parcours ne transmet rien (mock sans comportement)
 
         // ACT & ASSERT
-        mockMvc.perform(get("/api/projet/all")
+        MvcResult flux = mockMvc.perform(get("/api/projet/all")
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(flux))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Liste des projets"))
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data.length()").value(0));
 
-        verify(projetService, times(1)).findAll();
+        verify(projetService, times(1)).parcourirResumes(any());
+    }
+
+    // ========== Tests pour getProjectsPage ==========
+
+    /**
+     * Test: Page de projets filtrée sur un membre
+     * Le curseur et le filtre sont transmis tels quels au service
+     */
+    @Test
+    @DisplayName("GET /api/projet/page - Page des projets d'un membre")
+    void testGetProjectsPage_WithMembre() throws Exception {
+        // ARRANGE
+        ProjetResponseDTO projet = new ProjetResponseDTO(3, "Projet 3", null, null, new Date());
+        KeysetPageDTO<ProjetResponseDTO> page = new KeysetPageDTO<>(java.util.List.of(projet), "Mw", true);
+        when(projetService.findPageResumes(5, "Mg", 1)).thenReturn(page);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/page")
+                .param("membre", "5")
+                .param("cursor", "Mg")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.items[0].nom").value("Projet 3"))
+                .andExpect(jsonPath("$.data.next_cursor").value("Mw"))
+                .andExpect(jsonPath("$.data.has_more").value(true));
+
+        verify(projetService, times(1)).findPageResumes(5, "Mg", 1);
+    }
+
+    /**
+     * Test: Page de projets - Curseur invalide
+     * Branche: IllegalArgumentException levée par le service
+     */
+    @Test
+    @DisplayName("GET /api/projet/page - Curseur invalide")
+    void testGetProjectsPage_InvalidCursor() throws Exception {
+        // ARRANGE
+        when(projetService.findPageResumes(null, "invalide", 50))
+                .thenThrow(new IllegalArgumentException("Curseur invalide : invalide"));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/page")
+                .param("cursor", "invalide"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Curseur de pagination invalide"));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/projet/delete/{id} - 403 pour un membre qui n'est ni créateur ni administrateur")
+    void testDeleteProject_WhenNotAdministrateur_ShouldReturnForbidden() throws Exception {
+        // ARRANGE
+        when(projetService.findById(1)).thenReturn(projetTest);
+        doThrow(new AccesRefuseException("Réservé au créateur ou à un administrateur du projet 1", 1))
+                .when(autorisationService).verifierAdministrateur(2, projetTest);
+
+        // ACT & ASSERT
+        mockMvc.perform(delete("/api/projet/delete/1")
+                .header(UtilisateurCourantInterceptor.ENTETE, "2"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(suppressionProjetService);
+    }
+
+    // ========== Tests pour getProjectEvents ==========
+
+    /**
+     * Test: Abonnement au flux SSE d'un projet
+     * La réponse est asynchrone : le flux reste ouvert après le retour du contrôleur
+     */
+    @Test
+    @DisplayName("GET /api/projet/{id}/events - Ouvre un flux SSE sans accès base")
+    void testGetProjectEvents_ShouldStartStream() throws Exception {
+        // ARRANGE
+        when(projetEvenementService.abonner(1)).thenReturn(new SseEmitter());
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/events")
+                .header(UtilisateurCourantInterceptor.ENTETE, "2")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(autorisationService).verifier(2, 1, Permission.VUE_TACHE);
+        verify(projetEvenementService, times(1)).abonner(1);
+        verifyNoInteractions(projetService);
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/events - 403 sans la permission VUE_TACHE, aucun flux ouvert")
+    void testGetProjectEvents_WhenNotAllowed_ShouldReturnForbidden() throws Exception {
+        // ARRANGE
+        doThrow(new AccesRefuseException(Permission.VUE_TACHE, 1))
+                .when(autorisationService).verifier(2, 1, Permission.VUE_TACHE);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/events")
+                .header(UtilisateurCourantInterceptor.ENTETE, "2")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+
+        verify(projetEvenementService, never()).abonner(anyInt());
+    }
+
+    /**
+     * Test: Un EventSource de navigateur ne peut pas poser d'en-tête Authorization
+     * Le jeton de flux passé en paramètre identifie l'utilisateur, une seule fois
+     */
+    @Test
+    @DisplayName("GET /api/projet/{id}/events - Le jeton de flux en paramètre identifie l'utilisateur, une seule fois")
+    void testGetProjectEvents_WithJetonFlux_ShouldIdentifyOnce() throws Exception {
+        // ARRANGE
+        when(projetEvenementService.abonner(1)).thenReturn(new SseEmitter());
+        String jeton = jetonFlux.emettre(3).getValeur();
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/events")
+                .param(JetonSessionFilter.PARAMETRE_JETON, jeton)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/projet/1/events")
+                .param(JetonSessionFilter.PARAMETRE_JETON, jeton)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Jeton de flux invalide, expiré ou déjà utilisé"));
+
+        verify(autorisationService, times(1)).verifier(3, 1, Permission.VUE_TACHE);
+        verify(projetEvenementService, times(1)).abonner(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/events - Un jeton de session n'est pas accepté dans l'URL")
+    void testGetProjectEvents_WithJetonSessionInUrl_ShouldReturnUnauthorized() throws Exception {
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/events")
+                .param(JetonSessionFilter.PARAMETRE_JETON, jetonSession.emettre(3).getValeur())
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(autorisationService);
+        verify(projetEvenementService, never()).abonner(anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/events - Le paramètre jeton est ignoré sans Accept text/event-stream")
+    void testJetonFlux_WithoutEventStreamAccept_ShouldBeIgnored() throws Exception {
+        // ARRANGE
+        when(projetEvenementService.abonner(1)).thenReturn(new SseEmitter());
+        String jeton = jetonFlux.emettre(3).getValeur();
+
+        // ACT
+        mockMvc.perform(get("/api/projet/1/events")
+                .param(JetonSessionFilter.PARAMETRE_JETON, jeton));
+
+        // ASSERT : requête anonyme, le jeton n'est pas consommé
+        verify(autorisationService).verifier(null, 1, Permission.VUE_TACHE);
+        assertNotNull(jetonFlux.verifier(jeton));
+    }
+
+    // ========== Tests pour getProjectDashboard ==========
+
+    /**
+     * Test: Tableau de bord servi par les compteurs en mémoire
+     */
+    @Test
+    @DisplayName("GET /api/projet/{id}/dashboard - Retourne les compteurs du projet")
+    void testGetProjectDashboard_Success() throws Exception {
+        // ARRANGE
+        TableauDeBordDTO tableau = new TableauDeBordDTO(1, 3, Map.of("TODO", 2, "DONE", 1),
+                Map.of(1, 3), Map.of(2, 2), 0, 1, 1);
+        when(tableauDeBordService.getTableauDeBord(1)).thenReturn(tableau);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.par_etat.TODO").value(2))
+                .andExpect(jsonPath("$.data.par_destinataire['2']").value(2))
+                .andExpect(jsonPath("$.data.en_retard").value(1));
+
+        verifyNoInteractions(projetService, tacheService);
+    }
+
+    /**
+     * Test: Tableau de bord d'un projet inexistant
+     */
+    @Test
+    @DisplayName("GET /api/projet/{id}/dashboard - Projet inexistant")
+    void testGetProjectDashboard_NotFound() throws Exception {
+        // ARRANGE
+        when(tableauDeBordService.getTableauDeBord(999)).thenReturn(null);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/999/dashboard"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Projet n'existe pas"));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/presence - Retourne les membres en ligne du projet")
+    void testGetProjectPresence() throws Exception {
+        // ARRANGE
+        when(presenceService.enLigne(1)).thenReturn(Collections.singletonList(new PresenceDTO(2, new Date())));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/presence").header(UtilisateurCourantInterceptor.ENTETE, "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].utilisateur_id").value(2));
+
+        verify(autorisationService).verifier(2, 1, Permission.VUE_TACHE);
+        verifyNoInteractions(projetService, utilisateurService);
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/historique - Page de l'historique, permission vérifiée")
+    void testGetProjectHistorique() throws Exception {
+        // ARRANGE
+        HistoriqueDTO ligne = new HistoriqueDTO(12L, 1, null, 1, 2, "MEMBRE_AJOUTE", "role_id", null, "2", new Date());
+        when(historiqueService.findPageByProjetId(1, null, 50))
+                .thenReturn(new KeysetPageDTO<>(Collections.singletonList(ligne), "MTI", true));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/historique").header(UtilisateurCourantInterceptor.ENTETE, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].type").value("MEMBRE_AJOUTE"))
+                .andExpect(jsonPath("$.data.items[0].membre_id").value(2))
+                .andExpect(jsonPath("$.data.next_cursor").value("MTI"));
+
+        verify(autorisationService).verifier(1, 1, Permission.VUE_HISTORIQUE_MODIFICATIONS);
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/historique - Curseur invalide")
+    void testGetProjectHistorique_InvalidCursor() throws Exception {
+        when(historiqueService.findPageByProjetId(1, "abc", 50)).thenThrow(new IllegalArgumentException("Curseur invalide"));
+
+        mockMvc.perform(get("/api/projet/1/historique").param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Curseur de pagination invalide"));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/board - Projet, membres et tâches en une réponse, avec ETag")
+    void testGetProjectBoard() throws Exception {
+        // ARRANGE
+        ProjetResponseDTO projet = new ProjetResponseDTO(1, "Projet Test", "Description test", null, new Date());
+        when(kanbanService.etag(1)).thenReturn("\"1-abc-0-3\"");
+        when(kanbanService.getKanban(1)).thenReturn(new KanbanDTO(projet, Collections.emptyList(), Collections.emptyList()));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/projet/1/board").header(UtilisateurCourantInterceptor.ENTETE, "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc-0-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.data.projet.nom").value("Projet Test"))
+                .andExpect(jsonPath("$.data.taches").isArray());
+
+        verify(autorisationService).verifier(2, 1, Permission.VUE_TACHE);
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/board - 304 sans lecture quand l'ETag correspond")
+    void testGetProjectBoard_NotModified() throws Exception {
+        // ARRANGE
+        when(kanbanService.etag(1)).thenReturn("\"1-abc-0-3\"");
+
+        // ACT & ASSERT : l'ETag peut arriver faible ou dans une liste
+        mockMvc.perform(get("/api/projet/1/board").header(HttpHeaders.IF_NONE_MATCH, "\"autre\", W/\"1-abc-0-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc-0-3\""));
+
+        verify(kanbanService, never()).getKanban(anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/board - Projet inexistant")
+    void testGetProjectBoard_NotFound() throws Exception {
+        when(kanbanService.etag(999)).thenReturn("\"999-abc-0-0\"");
+        when(kanbanService.getKanban(999)).thenReturn(null);
+
+        mockMvc.perform(get("/api/projet/999/board"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Projet n'existe pas"));
     }
 }
@@ -0,0 +1,301 @@
+package com.visiplus.backend.controllers;
+
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.jayway.jsonpath.JsonPath;
+import com.visiplus.backend.dao.*;
+import com.visiplus.backend.dto.SuppressionProjetDTO;
+import com.visiplus.backend.metrics.CompteurRequetesSqlInterceptor;
+import com.visiplus.backend.models.*;
+import com.visiplus.backend.services.AutorisationService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests du nombre de requêtes SQL par endpoint
+ *
+ * Points d'apprentissage :
+ * - Chaque endpoint charge le projet avec son propre entity graph (summary, withMembers, withTasks)
+ * - Les statistiques Hibernate comptent les requêtes réellement envoyées, sérialisation JSON comprise
+ *   (open-in-view) : un N+1 ferait grimper le compteur avec le nombre de membres ou de tâches
+ * - Le jeu de données contient plusieurs membres et tâches pour qu'un N+1 soit visible
+ * - Le même nombre est publié en production dans la métrique http.server.requests.sql
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Nombre de requêtes SQL des endpoints projet")
+class ProjetQueryCountTest {
+
+    private static final int NB_MEMBRES = 3;
+
+    private static final int NB_TACHES_PAR_MEMBRE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @Autowired
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PrioriteRepository prioriteRepository;
+
+    @Autowired
+    private AutorisationService autorisationService;
+
+    private Statistics statistics;
+
+    private Projet projet;
+
+    private Utilisateur createur;
+
+    private Utilisateur premierMembre;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String suffixe = String.valueOf(System.nanoTime());
+        createur = nouvelUtilisateur("createur_" + suffixe);
+
+        projet = new Projet();
+        projet.setNom("Projet_" + suffixe);
+        projet.setCreateur(createur);
+        projet = projetRepository.save(projet);
+
+        Role membre = roleRepository.findByNom("MEMBRE");
+        Priorite haute = prioriteRepository.findFirstByNom("HAUTE");
+
+        for (int i = 0; i < NB_MEMBRES; i++) {
+            Utilisateur utilisateur = nouvelUtilisateur("membre_" + i + "_" + suffixe);
+            if (premierMembre == null) {
+                premierMembre = utilisateur;
+            }
+
+            UserRoleProjet urp = new UserRoleProjet();
+            urp.setUtilisateur(utilisateur);
+            urp.setProjet(projet);
+            urp.setRole(membre);
+            userRoleProjetRepository.save(urp);
+
+            for (int j = 0; j < NB_TACHES_PAR_MEMBRE; j++) {
+                Tache tache = new Tache();
+                tache.setNom("Tache_" + i + "_" + j + "_" + suffixe);
+                tache.setEtat("TODO");
+                tache.setProjet(projet);
+                tache.setCommanditaire(createur);
+                tache.setDestinataire(utilisateur);
+                tache.setPriorite(haute);
+                tacheRepository.save(tache);
+            }
+        }
+
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/all - Une seule requête (graphe summary)")
+    void testGetAllProjects_SingleQuery() throws Exception {
+        assertRequetes(1, () -> mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/projet/all")).andReturn()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/page?membre= - Une seule requête (projection + semi-jointure)")
+    void testGetProjectsPageForMembre_SingleQuery() throws Exception {
+        assertRequetes(1, () -> mockMvc.perform(get("/api/projet/page")
+                        .param("membre", String.valueOf(premierMembre.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(projet.getId())));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/id/{id} - Une seule requête (graphe withTasks), membres non sérialisés")
+    void testGetProjectById_SingleQuery() throws Exception {
+        assertRequetes(1, () -> mockMvc.perform(get("/api/projet/id/" + projet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.taches.length()").value(NB_MEMBRES * NB_TACHES_PAR_MEMBRE))
+                .andExpect(jsonPath("$.data.taches[0].priorite.nom").value("HAUTE"))
+                .andExpect(jsonPath("$.data.utilisateursRoles").doesNotExist()));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/nom/{nom} - Une seule requête (graphe withTasks)")
+    void testGetProjectByNom_SingleQuery() throws Exception {
+        assertRequetes(1, () -> mockMvc.perform(get("/api/projet/nom/" + projet.getNom()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nom").value(projet.getNom())));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/users-roled/{id} - Une seule requête (projection DTO)")
+    void testGetUsersRoledByProject_SingleQuery() throws Exception {
+        assertRequetes(1, () -> mockMvc.perform(get("/api/projet/users-roled/" + projet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(NB_MEMBRES)));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/users-roled/{id} - Une appartenance sans utilisateur est servie, sans requête de plus")
+    void testGetUsersRoledByProject_WithoutUtilisateur() throws Exception {
+        // Arrange : utilisateur_id est nullable, la jointure externe ramène un etat_connexion NULL
+        UserRoleProjet sansUtilisateur = new UserRoleProjet();
+        sansUtilisateur.setProjet(projet);
+        sansUtilisateur.setRole(roleRepository.findByNom("MEMBRE"));
+        userRoleProjetRepository.save(sansUtilisateur);
+        statistics.clear();
+
+        // Act & Assert
+        assertRequetes(1, () -> mockMvc.perform(get("/api/projet/users-roled/" + projet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(NB_MEMBRES + 1))
+                .andExpect(jsonPath("$.data[?(@.id == " + sansUtilisateur.getId() + ")].utilisateur").value(contains(nullValue()))));
+        assertEquals(NB_MEMBRES + 1, userRoleProjetRepository.findMembresModifiesDepuis(projet.getId(), new Date(0)).size());
+    }
+
+    @Test
+    @DisplayName("GET /api/tache/project/{id} - Une seule requête pour toutes les tâches (un lot)")
+    void testGetTachesByProject_SingleQuery() throws Exception {
+        assertRequetes(1, () -> mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/tache/project/" + projet.getId()))
+                        .andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(NB_MEMBRES * NB_TACHES_PAR_MEMBRE)));
+    }
+
+    @Test
+    @DisplayName("GET /api/projet/{id}/board - Trois requêtes à plat, aucune sur 304")
+    void testGetProjectBoard_FlatQueriesThenNotModified() throws Exception {
+        // Permissions du membre déjà en cache : seules les requêtes du tableau sont comptées
+        autorisationService.permissions(premierMembre.getId(), projet.getId());
+        statistics.clear();
+
+        String[] etag = new String[1];
+        assertRequetes(3, () -> etag[0] = mockMvc.perform(get("/api/projet/" + projet.getId() + "/board")
+                        .header(UtilisateurCourantInterceptor.ENTETE, String.valueOf(premierMembre.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.membres.length()").value(NB_MEMBRES))
+                .andExpect(jsonPath("$.data.taches.length()").value(NB_MEMBRES * NB_TACHES_PAR_MEMBRE))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+        statistics.clear();
+
+        assertRequetes(0, () -> mockMvc.perform(get("/api/projet/" + projet.getId() + "/board")
+                        .header(UtilisateurCourantInterceptor.ENTETE, String.valueOf(premierMembre.getId()))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag[0]))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/projet/delete/{id} - 202 puis suppression par lots, sans cascade entité par entité")
+    void testDeleteProject_AcceptedThenDeletedInBulk() throws Exception {
+        statistics.clear();
+
+        String location = mockMvc.perform(delete("/api/projet/delete/" + projet.getId())
+                        .header(UtilisateurCourantInterceptor.ENTETE, String.valueOf(createur.getId())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.projet_id").value(projet.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertNotNull(location, "Le statut de la suppression devrait être indiqué dans Location");
+
+        // Le travail tourne en arrière-plan : on suit son statut comme le ferait le client
+        String etat = null;
+        for (int i = 0; i < 200 && !SuppressionProjetDTO.TERMINEE.equals(etat); i++) {
+            if (i > 0) {
+                Thread.sleep(50);
+            }
+            etat = JsonPath.read(mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.data.etat");
+        }
+        assertEquals(SuppressionProjetDTO.TERMINEE, etat);
+
+        // Tâches, membres et projet partent par DELETE groupés : rien n'est relu ni supprimé un par un
+        assertEquals(0, statistics.getCollectionFetchCount(), "Aucune collection ne doit être chargée à la demande");
+        assertEquals(0, statistics.getEntityFetchCount(), "Aucune entité ne doit être chargée à la demande");
+        assertEquals(0, statistics.getEntityDeleteCount(), "Aucune suppression par cascade d'entités");
+        assertFalse(projetRepository.existsById(projet.getId()));
+        assertTrue(tacheRepository.findByProjetId(projet.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("http.server.requests.sql - Nombre de requêtes SQL publié par endpoint")
+    void testSqlMetric_RecordedPerEndpoint() throws Exception {
+        mockMvc.perform(get("/api/projet/users-roled/" + projet.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find(CompteurRequetesSqlInterceptor.METRIQUE)
+                .tag("uri", "/api/projet/users-roled/{id}")
+                .tag("method", "GET")
+                .summary();
+
+        assertNotNull(summary, "La métrique devrait être tagguée avec le pattern de l'endpoint");
+        assertEquals(statistics.getPrepareStatementCount(), (long) summary.max(),
+                "La métrique devrait compter les mêmes requêtes que les statistiques Hibernate");
+    }
+
+    private void assertRequetes(long attendu, MockMvcCall call) throws Exception {
+        call.perform();
+
+        assertEquals(attendu, statistics.getPrepareStatementCount(), "Nombre de requêtes SQL");
+        assertEquals(0, statistics.getCollectionFetchCount(), "Aucune collection ne doit être chargée à la demande");
+        assertEquals(0, statistics.getEntityFetchCount(), "Aucune entité ne doit être chargée à la demande");
+    }
+
+    private Utilisateur nouvelUtilisateur(String nom) {
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setNom(nom);
+        utilisateur.setEmail(nom + "@test.com");
+        utilisateur.setPassword("password");
+        return utilisateurRepository.save(utilisateur);
+    }
+
+    @FunctionalInterface
+    private interface MockMvcCall {
+        Object perform() throws Exception;
+    }
+}
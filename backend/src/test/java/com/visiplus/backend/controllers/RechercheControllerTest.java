@@ -0,0 +1,113 @@
+package com.visiplus.backend.controllers;
+
+import com.visiplus.backend.autorisation.NonIdentifieException;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ResultatRechercheDTO;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.RechercheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitaires pour RechercheController avec @WebMvcTest
+ *
+ * Objectif pédagogique:
+ * - Vérifier le passage des paramètres de requête au service
+ * - Traduire une IllegalArgumentException du service en 400
+ * - La recherche est restreinte à l'utilisateur authentifié (jeton ou en-tête du profil test)
+ */
+@WebMvcTest(RechercheController.class)
+@ActiveProfiles("test")
+@DisplayName("Tests du RechercheController")
+class RechercheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RechercheService rechercheService;
+
+    @MockBean
+    private AutorisationService autorisationService;
+
+    @Test
+    @DisplayName("GET /api/search - Retourne une page de résultats classés")
+    void testSearch_Success() throws Exception {
+        ResultatRechercheDTO resultat = new ResultatRechercheDTO(ResultatRechercheDTO.TYPE_TACHE, 7, 2,
+                "Préparer la démo", null, 1.5);
+        when(rechercheService.rechercher(eq("demo"), isNull(), isNull(), eq(3), isNull(), eq(20)))
+                .thenReturn(new KeysetPageDTO<>(Collections.singletonList(resultat), null, false));
+
+        when(autorisationService.exigerUtilisateur(3)).thenReturn(3);
+
+        mockMvc.perform(get("/api/search").param("q", "demo").header(UtilisateurCourantInterceptor.ENTETE, "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.items[0].type").value("tache"))
+                .andExpect(jsonPath("$.data.items[0].id").value(7))
+                .andExpect(jsonPath("$.data.items[0].projet_id").value(2))
+                .andExpect(jsonPath("$.data.has_more").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/search - Restreinte à l'utilisateur authentifié, le paramètre utilisateur est ignoré")
+    void testSearch_ShouldScopeToAuthenticatedUser() throws Exception {
+        when(autorisationService.exigerUtilisateur(3)).thenReturn(3);
+        when(rechercheService.rechercher(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new KeysetPageDTO<>(Collections.emptyList(), null, false));
+
+        mockMvc.perform(get("/api/search").param("q", "demo").param("utilisateur", "7")
+                        .header(UtilisateurCourantInterceptor.ENTETE, "3"))
+                .andExpect(status().isOk());
+
+        verify(rechercheService).rechercher(eq("demo"), isNull(), isNull(), eq(3), isNull(), eq(20));
+    }
+
+    @Test
+    @DisplayName("GET /api/search - 401 sans utilisateur identifié")
+    void testSearch_WithoutUtilisateur_ShouldReturnUnauthorized() throws Exception {
+        when(autorisationService.exigerUtilisateur(null)).thenThrow(new NonIdentifieException());
+
+        mockMvc.perform(get("/api/search").param("q", "demo"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(rechercheService);
+    }
+
+    @Test
+    @DisplayName("GET /api/search - Requête invalide")
+    void testSearch_InvalidQuery() throws Exception {
+        when(rechercheService.rechercher(any(), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("La recherche doit contenir au moins un mot significatif"));
+
+        mockMvc.perform(get("/api/search").param("q", "le"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("La recherche doit contenir au moins un mot significatif"));
+    }
+
+    @Test
+    @DisplayName("GET /api/search - Paramètre q obligatoire")
+    void testSearch_MissingQuery() throws Exception {
+        mockMvc.perform(get("/api/search"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(rechercheService);
+    }
+}
@@ -1,30 +1,57 @@
 package com.visiplus.backend.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.AccesRefuseException;
+import com.visiplus.backend.autorisation.NonIdentifieException;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.TacheBulkResultatDTO;
+import com.visiplus.backend.dto.TacheChangementsDTO;
+import com.visiplus.backend.dto.TacheDTO;
 import com.visiplus.backend.dto.TacheRequest;
 import com.visiplus.backend.models.Priorite;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Tache;
 import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.HistoriqueService;
 import com.visiplus.backend.services.PrioriteService;
 import com.visiplus.backend.services.ProjetService;
 import com.visiplus.backend.services.TacheService;
 import com.visiplus.backend.services.UtilisateurService;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +65,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Apprendre à tester les mises à jour partielles (PATCH)
  */
 @WebMvcTest(TacheController.class)
+@ActiveProfiles("test")
 @DisplayName("Tests du TacheController")
 class TacheControllerTest {
 
@@ -59,6 +87,12 @@ class TacheControllerTest {
     @MockBean
     private PrioriteService prioriteService;
 
+    @MockBean
+    private AutorisationService autorisationService;
+
+    @MockBean
+    private HistoriqueService historiqueService;
+
     private Tache tacheTest;
     private Projet projetTest;
     private Utilisateur commanditaireTest;
@@ -143,8 +177,9 @@ class TacheControllerTest {
         when(projetService.findById(1)).thenReturn(projetTest);
         when(utilisateurService.findById(1)).thenReturn(commanditaireTest);
         when(utilisateurService.findById(2)).thenReturn(destinataireTest);
-        when(tacheService.findByNom("Nouvelle Tache")).thenReturn(null); // Tâche n'existe pas
         when(prioriteService.findById(1)).thenReturn(Optional.of(prioriteTest));
+        // L'association passe par getReference : le mock renvoie l'entité là où JPA renverrait un proxy
+        when(prioriteService.getReference(prioriteTest.getId())).thenReturn(prioriteTest);
         when(tacheService.create(any(Tache.class))).thenReturn(nouvelleTache);
 
         // ACT & ASSERT
@@ -154,7 +189,13 @@ class TacheControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Tache bien créé dans un projet"))
-                .andExpect(jsonPath("$.data.nom").value("Nouvelle Tache"));
+                .andExpect(jsonPath("$.data.nom").value("Nouvelle Tache"))
+                // Références bornées : objets légers, pas de renvoi numérique @JsonIdentityInfo
+                .andExpect(jsonPath("$.data.commanditaire.nom").value("Commanditaire"))
+                .andExpect(jsonPath("$.data.commanditaire.password").doesNotExist())
+                .andExpect(jsonPath("$.data.priorite.nom").value("HAUTE"))
+                .andExpect(jsonPath("$.data.projet.id").value(1))
+                .andExpect(jsonPath("$.data.projet.taches").doesNotExist());
 
         // Vérifications des appels
         verify(projetService, times(1)).findById(1);
@@ -193,7 +234,7 @@ class TacheControllerTest {
 
         // Configuration des mocks
         when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
-        when(tacheService.save(any(Tache.class))).thenReturn(tacheUpdated);
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenReturn(tacheUpdated);
 
         // ACT & ASSERT
         mockMvc.perform(patch("/api/tache/update")
@@ -205,7 +246,7 @@ class TacheControllerTest {
                 .andExpect(jsonPath("$.data.etat").value("IN_PROGRESS"));
 
         verify(tacheService, times(1)).findById(1);
-        verify(tacheService, times(1)).save(any(Tache.class));
+        verify(tacheService, times(1)).save(any(Tache.class), any(TacheDTO.class));
     }
 
     /**
@@ -229,12 +270,21 @@ class TacheControllerTest {
         tache2.setNom("Tache 2");
         tache2.setProjet(projetTest);
 
-        List<Tache> taches = Arrays.asList(tacheTest, tache2);
-        when(tacheService.findByProjetId(1)).thenReturn(taches);
+        // Deux lots : la réponse les enchaîne dans un seul tableau
+        doAnswer(invocation -> {
+            Consumer<List<Tache>> lot = invocation.getArgument(1);
+            lot.accept(Collections.singletonList(tacheTest));
+            lot.accept(Collections.singletonList(tache2));
+            return null;
+        }).when(tacheService).parcourirParProjetId(eq(1), any());
 
-        // ACT & ASSERT
-        mockMvc.perform(get("/api/tache/project/1")
+        // ACT & ASSERT : le corps est écrit en flux, après la fin du traitement synchrone
+        MvcResult flux = mockMvc.perform(get("/api/tache/project/1")
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(flux))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Tâches du projet"))
@@ -243,7 +293,49 @@ class TacheControllerTest {
                 .andExpect(jsonPath("$.data[0].nom").value("Tache Test"))
                 .andExpect(jsonPath("$.data[1].nom").value("Tache 2"));
 
-        verify(tacheService, times(1)).findByProjetId(1);
+        verify(tacheService, times(1)).parcourirParProjetId(eq(1), any());
+        verify(tacheService, never()).findByProjetId(anyInt());
+    }
+
+    /**
+     * Test: Récupération paginée des tâches d'un projet
+     *
+     * Points d'apprentissage:
+     * - Pagination par curseur (keyset) plutôt que par offset
+     * - Les filtres optionnels sont transmis tels quels au service
+     */
+    @Test
+    @DisplayName("GET /api/tache/project/{id}/page - Page filtrée de tâches")
+    void testGetTachesPageByProjectId_Success() throws Exception {
+        // ARRANGE
+        TacheDTO dto = new TacheDTO(tacheTest);
+        KeysetPageDTO<TacheDTO> page = new KeysetPageDTO<>(List.of(dto), "curseur", true);
+        when(tacheService.findPageByProjetId(1, "TODO", 1, 2, null, 20, false)).thenReturn(page);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/tache/project/1/page")
+                .param("etat", "TODO")
+                .param("priorite", "1")
+                .param("destinataire", "2")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.items[0].nom").value("Tache Test"))
+                .andExpect(jsonPath("$.data.items[0].destinataire_id").value(2))
+                .andExpect(jsonPath("$.data.next_cursor").value("curseur"))
+                .andExpect(jsonPath("$.data.has_more").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/tache/project/{id}/page - Curseur invalide")
+    void testGetTachesPageByProjectId_InvalidCursor() throws Exception {
+        when(tacheService.findPageByProjetId(anyInt(), any(), any(), any(), eq("abc"), anyInt(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Curseur invalide"));
+
+        mockMvc.perform(get("/api/tache/project/1/page")
+                .param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
     }
 
     /**
@@ -251,11 +343,11 @@ class TacheControllerTest {
      * 
      * Scénario:
      * - Tentative de création d'une tâche avec un nom déjà utilisé
-     * - Le système refuse la création pour éviter les doublons
+     * - La contrainte uk_tache_nom refuse l'INSERT, même entre deux créations concurrentes
      * 
      * Points d'apprentissage:
-     * - Validation de l'unicité des données
-     * - Gestion des contraintes métier
+     * - L'unicité est garantie par la base, pas par un SELECT avant l'INSERT
+     * - ConflitExceptionHandler traduit la violation de contrainte en 409
      */
     @Test
     @DisplayName("POST /api/tache/create - Échec si tâche existe déjà")
@@ -270,17 +362,42 @@ class TacheControllerTest {
         when(projetService.findById(1)).thenReturn(projetTest);
         when(utilisateurService.findById(1)).thenReturn(commanditaireTest);
         when(utilisateurService.findById(2)).thenReturn(destinataireTest);
-        when(tacheService.findByNom("Tache Test")).thenReturn(tacheTest); // Tâche existe déjà
+        when(tacheService.create(any(Tache.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Duplicate entry 'Tache Test' for key 'uk_tache_nom'")));
 
         // ACT & ASSERT
         mockMvc.perform(post("/api/tache/create")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest())
+                .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Requette de Tache erronée ou existe deja"));
+                .andExpect(jsonPath("$.message").value("La tâche existe déjà"));
 
-        verify(tacheService, never()).create(any(Tache.class));
+        // Pas de SELECT préalable sur le nom
+        verify(tacheService, never()).findByNom(anyString());
+    }
+
+    @Test
+    @DisplayName("POST /api/tache/create - Une violation hors contrainte uk_* n'est pas un conflit")
+    void testCreateTache_WhenOtherIntegrityViolation_ShouldNotReturnConflict() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setNom("Tache Test");
+        request.setProjet_id(1);
+        request.setCommanditaire_id(1);
+        request.setDestinataire_id(2);
+
+        when(projetService.findById(1)).thenReturn(projetTest);
+        when(utilisateurService.findById(1)).thenReturn(commanditaireTest);
+        when(utilisateurService.findById(2)).thenReturn(destinataireTest);
+        when(tacheService.create(any(Tache.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Cannot add or update a child row: a foreign key constraint fails")));
+
+        // ACT & ASSERT : l'exception est relancée par le handler (500), pas transformée en 409
+        ServletException erreur = assertThrows(ServletException.class, () -> mockMvc.perform(post("/api/tache/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))));
+        assertInstanceOf(DataIntegrityViolationException.class, erreur.getCause());
     }
 
     /**
@@ -327,7 +444,6 @@ class TacheControllerTest {
         when(projetService.findById(999)).thenReturn(null);
         when(utilisateurService.findById(1)).thenReturn(commanditaireTest);
         when(utilisateurService.findById(2)).thenReturn(destinataireTest);
-        when(tacheService.findByNom("Nouvelle Tache")).thenReturn(null);
 
         mockMvc.perform(post("/api/tache/create")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -350,7 +466,6 @@ class TacheControllerTest {
         when(projetService.findById(1)).thenReturn(projetTest);
         when(utilisateurService.findById(999)).thenReturn(null);
         when(utilisateurService.findById(2)).thenReturn(destinataireTest);
-        when(tacheService.findByNom("Nouvelle Tache")).thenReturn(null);
 
         mockMvc.perform(post("/api/tache/create")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -373,7 +488,6 @@ class TacheControllerTest {
         when(projetService.findById(1)).thenReturn(projetTest);
         when(utilisateurService.findById(1)).thenReturn(commanditaireTest);
         when(utilisateurService.findById(999)).thenReturn(null);
-        when(tacheService.findByNom("Nouvelle Tache")).thenReturn(null);
 
         mockMvc.perform(post("/api/tache/create")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -434,6 +548,84 @@ class TacheControllerTest {
         verify(tacheService, times(1)).create(any(Tache.class));
     }
 
+    // ========== Tests pour les traitements en masse ==========
+
+    @Test
+    @DisplayName("POST /api/tache/bulk - Retourne un résultat par élément")
+    void testCreateTachesBulk_Success() throws Exception {
+        TacheRequest valide = new TacheRequest();
+        valide.setNom("Nouvelle");
+        TacheRequest doublon = new TacheRequest();
+        doublon.setNom("Nouvelle");
+
+        when(tacheService.createBulk(anyList())).thenReturn(Arrays.asList(
+                new TacheBulkResultatDTO(0, 10, true, "Tache créée"),
+                new TacheBulkResultatDTO(1, null, false, "Tache existe deja")));
+
+        mockMvc.perform(post("/api/tache/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(valide, doublon))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("1 tâche(s) créée(s) sur 2"))
+                .andExpect(jsonPath("$.data[0].id").value(10))
+                .andExpect(jsonPath("$.data[1].success").value(false));
+
+        verify(tacheService, never()).create(any(Tache.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/tache/bulk - Lot vide ou trop grand")
+    void testCreateTachesBulk_InvalidSize() throws Exception {
+        when(tacheService.createBulk(anyList()))
+                .thenThrow(new IllegalArgumentException("Le lot doit contenir entre 1 et 500 tâches"));
+
+        mockMvc.perform(post("/api/tache/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/bulk - Mise à jour en masse")
+    void testPatchTachesBulk_Success() throws Exception {
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(tacheService.updateBulk(anyList())).thenReturn(Arrays.asList(
+                new TacheBulkResultatDTO(0, 1, true, "Tache mise à jour")));
+
+        mockMvc.perform(patch("/api/tache/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("1 tâche(s) mise(s) à jour sur 1"));
+
+        verify(tacheService, never()).save(any(Tache.class), any(TacheDTO.class));
+    }
+
+    // ========== Tests pour getChangementsByProjectId ==========
+
+    @Test
+    @DisplayName("GET /api/tache/project/{id}/changes - Retourne le delta et le nouveau filigrane")
+    void testGetChangements_Success() throws Exception {
+        TacheDTO modifiee = new TacheDTO(3, "T3", null, "DONE", null, null, 1, null, null, 2, 1);
+        when(tacheService.findChangementsByProjetId(1, 1700000000000L)).thenReturn(new TacheChangementsDTO(
+                Arrays.asList(modifiee), Arrays.asList(2), null, Arrays.asList(), 1700000005000L, false));
+
+        mockMvc.perform(get("/api/tache/project/1/changes")
+                .param("since", "1700000000000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.taches[0].id").value(3))
+                .andExpect(jsonPath("$.data.supprimees[0]").value(2))
+                .andExpect(jsonPath("$.data.watermark").value(1700000005000L))
+                .andExpect(jsonPath("$.data.resync").value(false));
+
+        verify(tacheService, never()).findByProjetId(anyInt());
+    }
+
     // ========== Tests pour getTache ==========
 
     @Test
@@ -495,7 +687,7 @@ class TacheControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false));
 
-        verify(tacheService, never()).save(any(Tache.class));
+        verify(tacheService, never()).save(any(Tache.class), any(TacheDTO.class));
     }
 
     @Test
@@ -506,7 +698,7 @@ class TacheControllerTest {
         request.setNom("Nouveau nom");
 
         when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
-        when(tacheService.save(any(Tache.class))).thenThrow(new RuntimeException("Erreur DB"));
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenThrow(new RuntimeException("Erreur DB"));
 
         mockMvc.perform(patch("/api/tache/update")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -524,7 +716,7 @@ class TacheControllerTest {
 
         when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
         when(utilisateurService.findById(2)).thenReturn(destinataireTest);
-        when(tacheService.save(any(Tache.class))).thenReturn(tacheTest);
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenReturn(tacheTest);
 
         mockMvc.perform(patch("/api/tache/update")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -542,7 +734,7 @@ class TacheControllerTest {
 
         when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
         when(prioriteService.findById(2)).thenReturn(Optional.of(prioriteTest));
-        when(tacheService.save(any(Tache.class))).thenReturn(tacheTest);
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenReturn(tacheTest);
 
         mockMvc.perform(patch("/api/tache/update")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -576,7 +768,7 @@ class TacheControllerTest {
         request.setEtat("DONE");
 
         when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
-        when(tacheService.save(any(Tache.class))).thenReturn(tacheTest);
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenReturn(tacheTest);
 
         mockMvc.perform(put("/api/tache/update")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -584,4 +776,326 @@ class TacheControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
+
+    // ========== Tests des permissions ==========
+
+    /**
+     * Test: Un membre sans la permission d'assigner ne peut pas créer une tâche pour quelqu'un d'autre
+     * L'identité vient de l'en-tête X-Utilisateur-Id, le refus est traduit en 403
+     */
+    @Test
+    @DisplayName("POST /api/tache/create - 403 sans la permission ASSIGNE_TACHE")
+    void testCreateTache_WhenAssignNotAllowed_ShouldReturnForbidden() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setNom("Nouvelle Tache");
+        request.setProjet_id(1);
+        request.setCommanditaire_id(1);
+        request.setDestinataire_id(2);
+
+        when(projetService.findById(1)).thenReturn(projetTest);
+        when(utilisateurService.findById(1)).thenReturn(commanditaireTest);
+        when(utilisateurService.findById(2)).thenReturn(destinataireTest);
+        doThrow(new AccesRefuseException(Permission.ASSIGNE_TACHE, 1)).when(autorisationService)
+                .verifier(1, 1, Permission.CREER_TACHE, Permission.ASSIGNE_TACHE);
+
+        // ACT & ASSERT
+        mockMvc.perform(post("/api/tache/create")
+                .header(UtilisateurCourantInterceptor.ENTETE, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Permission ASSIGNE_TACHE refusée sur le projet 1"));
+
+        verify(tacheService, never()).create(any(Tache.class));
+    }
+
+    /**
+     * Test: Se désigner soi-même comme destinataire ne demande que la permission de créer
+     */
+    @Test
+    @DisplayName("POST /api/tache/create - Seule CREER_TACHE est vérifiée pour une tâche que l'on s'assigne")
+    void testCreateTache_WhenSelfAssigned_ShouldOnlyCheckCreate() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setNom("Nouvelle Tache");
+        request.setProjet_id(1);
+        request.setCommanditaire_id(2);
+        request.setDestinataire_id(2);
+
+        when(projetService.findById(1)).thenReturn(projetTest);
+        when(utilisateurService.findById(2)).thenReturn(destinataireTest);
+
+        // ACT & ASSERT
+        mockMvc.perform(post("/api/tache/create")
+                .header(UtilisateurCourantInterceptor.ENTETE, "2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(autorisationService).verifier(2, 1, Permission.CREER_TACHE);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/bulk - Les projets des tâches sont vérifiés avant la mise à jour")
+    void testPatchTachesBulk_WhenUpdateNotAllowed_ShouldReturnForbidden() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(autorisationService.exigerUtilisateur(3)).thenReturn(3);
+        when(tacheService.findProjetIds(anyCollection())).thenReturn(Arrays.asList(1));
+        doThrow(new AccesRefuseException(Permission.MAJ_TACHE, 1)).when(autorisationService)
+                .verifier(3, 1, Permission.MAJ_TACHE);
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/tache/bulk")
+                .header(UtilisateurCourantInterceptor.ENTETE, "3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(request))))
+                .andExpect(status().isForbidden());
+
+        verify(tacheService, never()).updateBulk(anyList());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/bulk - 401 sans utilisateur identifié")
+    void testPatchTachesBulk_WithoutUtilisateur_ShouldReturnUnauthorized() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+        when(autorisationService.exigerUtilisateur(null)).thenThrow(new NonIdentifieException());
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/tache/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(request))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Utilisateur non identifié"));
+
+        verify(tacheService, never()).updateBulk(anyList());
+    }
+
+    @Test
+    @DisplayName("En-tête X-Utilisateur-Id invalide - 400 sans appeler le contrôleur")
+    void testInvalidUtilisateurHeader_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/tache/delete/1")
+                .header(UtilisateurCourantInterceptor.ENTETE, "abc"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tacheService);
+    }
+
+    // ========== Tests de l'historique ==========
+
+    @Test
+    @DisplayName("PATCH /api/tache/update - L'état d'avant la modification est transmis pour l'historique")
+    void testPatchTache_ShouldPassSnapshotBeforeUpdate() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenReturn(tacheTest);
+
+        // ACT
+        mockMvc.perform(patch("/api/tache/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // ASSERT : l'instantané est pris avant que l'entité ne soit modifiée
+        ArgumentCaptor<TacheDTO> avant = ArgumentCaptor.forClass(TacheDTO.class);
+        verify(tacheService).save(eq(tacheTest), avant.capture());
+        assertEquals("TODO", avant.getValue().getEtat());
+        assertEquals("DONE", tacheTest.getEtat());
+    }
+
+    // ========== Tests du verrou optimiste ==========
+
+    @Test
+    @DisplayName("PATCH /api/tache/update - Version dépassée sur le même champ : 409 avec l'état courant")
+    void testPatchTache_WhenStaleVersionOverlaps_ShouldReturnConflict() throws Exception {
+        // ARRANGE : le client a lu la version 2, l'état a changé depuis
+        tacheTest.setVersion(3);
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+        when(tacheService.champsModifiesDepuis(1, 2, 3)).thenReturn(Set.of("etat"));
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/tache/update")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.data.etat").value("TODO"))
+                .andExpect(jsonPath("$.data.version").value(3));
+
+        verify(tacheService, never()).save(any(Tache.class), any(TacheDTO.class));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/update - Version dépassée sur d'autres champs : modification fusionnée")
+    void testPatchTache_WhenStaleVersionDisjoint_ShouldMerge() throws Exception {
+        // ARRANGE : seule la description a changé depuis la version lue, passée dans le corps
+        tacheTest.setVersion(3);
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+        request.setVersion(2L);
+
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+        when(tacheService.champsModifiesDepuis(1, 2, 3)).thenReturn(Set.of("description"));
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenReturn(tacheTest);
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/tache/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Tache mise à jour, fusionnée avec les modifications concurrentes"))
+                .andExpect(jsonPath("$.data.etat").value("DONE"));
+
+        verify(tacheService).save(eq(tacheTest), any(TacheDTO.class));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/update - Version à jour : pas de consultation du journal, ETag renvoyé")
+    void testPatchTache_WhenVersionCurrent_ShouldReturnEtag() throws Exception {
+        // ARRANGE
+        tacheTest.setVersion(3);
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class))).thenAnswer(invocation -> {
+            tacheTest.setVersion(4);
+            return tacheTest;
+        });
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/tache/update")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.message").value("Tache bien mise à jour"));
+
+        verify(tacheService, never()).champsModifiesDepuis(anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/update - Modifiée entre la lecture et l'UPDATE : 409 avec l'état relu")
+    void testPatchTache_WhenOptimisticLockFails_ShouldReturnConflict() throws Exception {
+        // ARRANGE
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+        when(tacheService.save(any(Tache.class), any(TacheDTO.class)))
+                .thenThrow(new OptimisticLockingFailureException("Version dépassée"));
+
+        // ACT & ASSERT
+        mockMvc.perform(patch("/api/tache/update")
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("La tâche a été modifiée entre-temps"));
+
+        verify(tacheService, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tache/update - En-tête If-Match illisible")
+    void testPatchTache_WhenIfMatchInvalid_ShouldReturnBadRequest() throws Exception {
+        TacheRequest request = new TacheRequest();
+        request.setId(1);
+        request.setEtat("DONE");
+
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+
+        mockMvc.perform(patch("/api/tache/update")
+                .header(HttpHeaders.IF_MATCH, "abc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("En-tête If-Match invalide"));
+
+        verify(tacheService, never()).save(any(Tache.class), any(TacheDTO.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/tache/{id} - La version courante est renvoyée en ETag")
+    void testGetTacheById_ShouldReturnEtag() throws Exception {
+        tacheTest.setVersion(5);
+        when(tacheService.findById(1)).thenReturn(Optional.of(tacheTest));
+
+        mockMvc.perform(get("/api/tache/1").param("id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(jsonPath("$.data.version").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/tache/{id}/historique - Vérifie la permission sur le projet de la tâche")
+    void testGetTacheHistorique() throws Exception {
+        // ARRANGE
+        HistoriqueDTO ligne = new HistoriqueDTO(7L, 1, 1, 2, null, "TACHE_MODIFIEE", "etat", "TODO", "DONE", new Date());
+        when(tacheService.findProjetIds(anyCollection())).thenReturn(Arrays.asList(1));
+        when(historiqueService.findPageByTacheId(1, null, 50))
+                .thenReturn(new KeysetPageDTO<>(Arrays.asList(ligne), null, false));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/tache/1/historique").header(UtilisateurCourantInterceptor.ENTETE, "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].champ").value("etat"))
+                .andExpect(jsonPath("$.data.items[0].ancienne_valeur").value("TODO"))
+                .andExpect(jsonPath("$.data.has_more").value(false));
+
+        verify(autorisationService).verifier(2, 1, Permission.VUE_HISTORIQUE_MODIFICATIONS);
+        verify(historiqueService, never()).findProjetIdDeTache(anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/tache/{id}/historique - Tâche supprimée : le projet est lu dans l'historique")
+    void testGetTacheHistorique_WhenTacheSupprimee() throws Exception {
+        // ARRANGE
+        when(tacheService.findProjetIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(historiqueService.findProjetIdDeTache(5)).thenReturn(3);
+        when(historiqueService.findPageByTacheId(5, null, 50))
+                .thenReturn(new KeysetPageDTO<>(Collections.emptyList(), null, false));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/tache/5/historique").header(UtilisateurCourantInterceptor.ENTETE, "2"))
+                .andExpect(status().isOk());
+
+        verify(autorisationService).verifier(2, 3, Permission.VUE_HISTORIQUE_MODIFICATIONS);
+    }
+
+    @Test
+    @DisplayName("GET /api/tache/{id}/historique - Tâche inconnue")
+    void testGetTacheHistorique_NotFound() throws Exception {
+        when(tacheService.findProjetIds(anyCollection())).thenReturn(Collections.emptyList());
+        // Aucune ligne d'historique non plus (sans ce stub, Mockito renverrait 0 pour un Integer)
+        when(historiqueService.findProjetIdDeTache(999)).thenReturn(null);
+
+        mockMvc.perform(get("/api/tache/999/historique"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Tache n'existe pas"));
+
+        verify(historiqueService, never()).findPageByTacheId(anyInt(), any(), anyInt());
+    }
 }
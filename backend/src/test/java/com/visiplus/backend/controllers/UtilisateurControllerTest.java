@@ -1,11 +1,21 @@
 package com.visiplus.backend.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.autorisation.AccesRefuseException;
+import com.visiplus.backend.autorisation.JetonSession;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.autorisation.UtilisateurCourantInterceptor;
 import com.visiplus.backend.dto.LoginRequest;
+import com.visiplus.backend.dto.NotificationDTO;
+import com.visiplus.backend.dto.NotificationDigestDTO;
+import com.visiplus.backend.dto.UtilisateurDTO;
 import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Role;
 import com.visiplus.backend.models.UserRoleProjet;
 import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.NotificationService;
+import com.visiplus.backend.services.PresenceService;
 import com.visiplus.backend.services.ProjetService;
 import com.visiplus.backend.services.RoleService;
 import com.visiplus.backend.services.UserRoleProjetService;
@@ -14,11 +24,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -34,6 +56,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Apprendre à tester les opérations d'association (utilisateur-projet-rôle)
  */
 @WebMvcTest(UtilisateurController.class)
+@ActiveProfiles("test")
 @DisplayName("Tests du UtilisateurController")
 class UtilisateurControllerTest {
 
@@ -43,6 +66,14 @@ class UtilisateurControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    // Bean réel (AutorisationConfig) : les jetons émis sont vérifiés par le filtre de la requête
+    @Autowired
+    private JetonSession jetonSession;
+
+    @Autowired
+    @Qualifier("jetonFlux")
+    private JetonSession jetonFlux;
+
     @MockBean
     private UtilisateurService utilisateurService;
 
@@ -55,6 +86,15 @@ class UtilisateurControllerTest {
     @MockBean
     private ProjetService projetService;
 
+    @MockBean
+    private AutorisationService autorisationService;
+
+    @MockBean
+    private PresenceService presenceService;
+
+    @MockBean
+    private NotificationService notificationService;
+
     private Utilisateur utilisateurTest;
     private Role roleMembre;
     private Projet projetTest;
@@ -123,13 +163,12 @@ class UtilisateurControllerTest {
      * Scénario:
      * - Un utilisateur se connecte avec email et mot de passe
      * - Le système vérifie les credentials
-     * - L'état de connexion est mis à jour à true
+     * - Un jeton de session signé est retourné, sans écriture en base
      * 
      * Points d'apprentissage:
      * - Test d'authentification
-     * - Gestion de l'état de session
+     * - Session sans état côté serveur : le jeton suffit à identifier l'utilisateur
      * - Vérification des credentials
-     * - Mise à jour partielle d'entité
      */
     @Test
     @DisplayName("PATCH /api/utilisateur/login - Connexion réussie")
@@ -139,29 +178,26 @@ class UtilisateurControllerTest {
         loginRequest.setEmail("test@test.com");
         loginRequest.setPassword("password123");
 
-        Utilisateur connectedUser = new Utilisateur();
-        connectedUser.setId(1);
-        connectedUser.setNom("TestUser");
-        connectedUser.setEmail("test@test.com");
-        connectedUser.setPassword("password123");
-        connectedUser.setEtat_connexion(true);
-
         // Configuration des mocks
         when(utilisateurService.findByEmail("test@test.com")).thenReturn(utilisateurTest);
-        when(utilisateurService.updatePartial(anyInt(), any(Utilisateur.class), any(Utilisateur.class)))
-                .thenReturn(connectedUser);
 
         // ACT & ASSERT
-        mockMvc.perform(patch("/api/utilisateur/login")
+        String reponse = mockMvc.perform(patch("/api/utilisateur/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.nom").value("TestUser"))
-                .andExpect(jsonPath("$.etat_connexion").value(true));
+                .andExpect(jsonPath("$.etat_connexion").value(true))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
 
+        String jeton = objectMapper.readTree(reponse).get("jeton").asText();
+        assertEquals(1, jetonSession.verifier(jeton).getUtilisateurId(), "Le jeton devrait identifier l'utilisateur");
         verify(utilisateurService, times(1)).findByEmail("test@test.com");
-        verify(utilisateurService, times(1)).updatePartial(anyInt(), any(Utilisateur.class), any(Utilisateur.class));
+        verify(utilisateurService, never()).updatePartial(anyInt(), any(Utilisateur.class), any(Utilisateur.class));
+        verify(utilisateurService, never()).save(any(Utilisateur.class));
+        verify(presenceService, times(1)).battement(1);
     }
 
     /**
@@ -192,6 +228,8 @@ class UtilisateurControllerTest {
         when(projetService.findById(1)).thenReturn(projetTest);
         when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
         when(roleService.findByNom("MEMBRE")).thenReturn(roleMembre);
+        // Le rôle est associé via getReference : le mock renvoie l'entité là où JPA renverrait un proxy
+        when(roleService.getReference(roleMembre.getId())).thenReturn(roleMembre);
         when(userRoleProjetService.save(any(UserRoleProjet.class))).thenReturn(urp);
         when(utilisateurService.save(any(Utilisateur.class))).thenReturn(utilisateurTest);
 
@@ -202,7 +240,10 @@ class UtilisateurControllerTest {
                 .content(requestJson))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("Utilisateur Roled bien ajouté au projet"));
+                .andExpect(jsonPath("$.message").value("Utilisateur Roled bien ajouté au projet"))
+                .andExpect(jsonPath("$.data.utilisateur.nom").value("TestUser"))
+                .andExpect(jsonPath("$.data.utilisateur.password").doesNotExist())
+                .andExpect(jsonPath("$.data.role_nom").value("MEMBRE"));
 
         verify(projetService, times(1)).findById(1);
         verify(utilisateurService, times(1)).findByNom("TestUser");
@@ -247,44 +288,30 @@ class UtilisateurControllerTest {
      * BONUS: Test de déconnexion (Logout)
      * 
      * Scénario:
-     * - Un utilisateur connecté se déconnecte
-     * - L'état de connexion passe à false
+     * - Un utilisateur connecté se déconnecte avec son jeton
+     * - Le jeton est révoqué : il n'est plus accepté ensuite
      * 
      * Points d'apprentissage:
      * - Gestion de la déconnexion
-     * - Mise à jour de l'état de session
+     * - Révocation en mémoire, sans accès à la base
      */
     @Test
     @DisplayName("PATCH /api/utilisateur/logout - Déconnexion réussie")
     void testLogout_Success() throws Exception {
         // ARRANGE
-        String requestJson = "{\"email\":\"test@test.com\"}";
-        
-        Utilisateur connectedUser = new Utilisateur();
-        connectedUser.setId(1);
-        connectedUser.setEmail("test@test.com");
-        connectedUser.setEtat_connexion(true);
-
-        Utilisateur disconnectedUser = new Utilisateur();
-        disconnectedUser.setId(1);
-        disconnectedUser.setEmail("test@test.com");
-        disconnectedUser.setEtat_connexion(false);
-
-        when(utilisateurService.findByEmail("test@test.com")).thenReturn(connectedUser);
-        when(utilisateurService.updatePartial(anyInt(), any(Utilisateur.class), any(Utilisateur.class)))
-                .thenReturn(disconnectedUser);
+        String jeton = jetonSession.emettre(1).getValeur();
 
         // ACT & ASSERT
         mockMvc.perform(patch("/api/utilisateur/logout")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(requestJson))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jeton))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Utilisateur bien déconnecté"))
-                .andExpect(jsonPath("$.data.etat_connexion").value(false));
+                .andExpect(jsonPath("$.data").value(1));
 
-        verify(utilisateurService, times(1)).findByEmail("test@test.com");
-        verify(utilisateurService, times(1)).updatePartial(anyInt(), any(Utilisateur.class), any(Utilisateur.class));
+        assertNull(jetonSession.verifier(jeton), "Le jeton devrait être révoqué");
+        verify(presenceService, times(1)).deconnecter(1);
+        verifyNoInteractions(utilisateurService);
     }
 
     /**
@@ -318,15 +345,24 @@ class UtilisateurControllerTest {
     @Test
     @DisplayName("GET /api/utilisateur/ - Récupération de tous les utilisateurs")
     void testFindAll_Success() throws Exception {
-        when(utilisateurService.findAll()).thenReturn(java.util.Arrays.asList(utilisateurTest));
+        doAnswer(invocation -> {
+            Consumer<List<UtilisateurDTO>> lot = invocation.getArgument(0);
+            lot.accept(Collections.singletonList(new UtilisateurDTO(utilisateurTest)));
+            return null;
+        }).when(utilisateurService).parcourir(any());
 
-        mockMvc.perform(get("/api/utilisateur/")
+        MvcResult flux = mockMvc.perform(get("/api/utilisateur/")
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(flux))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].nom").value("TestUser"));
+                .andExpect(jsonPath("$[0].nom").value("TestUser"))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
 
-        verify(utilisateurService, times(1)).findAll();
+        verify(utilisateurService, never()).findAll();
     }
 
     // ========== Tests pour findById ==========
@@ -340,7 +376,8 @@ class UtilisateurControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.nom").value("TestUser"));
+                .andExpect(jsonPath("$.nom").value("TestUser"))
+                .andExpect(jsonPath("$.password").doesNotExist());
 
         verify(utilisateurService, times(1)).findById(1);
     }
@@ -356,7 +393,8 @@ class UtilisateurControllerTest {
                 .param("nom", "TestUser")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.nom").value("TestUser"));
+                .andExpect(jsonPath("$.nom").value("TestUser"))
+                .andExpect(jsonPath("$.password").doesNotExist());
 
         verify(utilisateurService, times(1)).findByNom("TestUser");
     }
@@ -591,57 +629,152 @@ class UtilisateurControllerTest {
     // ========== Tests pour logout - Branches manquantes ==========
 
     @Test
-    @DisplayName("PATCH /api/utilisateur/logout - Échec si utilisateur non trouvé")
-    void testLogout_UserNotFound() throws Exception {
-        String requestJson = "{\"email\":\"inconnu@test.com\"}";
-
-        when(utilisateurService.findByEmail("inconnu@test.com")).thenReturn(null);
-
-        mockMvc.perform(patch("/api/utilisateur/logout")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(requestJson))
+    @DisplayName("PATCH /api/utilisateur/logout - Échec sans jeton de session")
+    void testLogout_WithoutJeton() throws Exception {
+        mockMvc.perform(patch("/api/utilisateur/logout"))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Utilisateur non trouvé"));
+                .andExpect(jsonPath("$.message").value("Aucune session à fermer : jeton de session manquant"));
 
-        verify(utilisateurService, never()).updatePartial(anyInt(), any(), any());
+        verifyNoInteractions(utilisateurService);
     }
 
     @Test
-    @DisplayName("PATCH /api/utilisateur/logout - Échec si utilisateur déjà déconnecté")
+    @DisplayName("PATCH /api/utilisateur/logout - Un jeton déjà révoqué est refusé par le filtre")
     void testLogout_AlreadyDisconnected() throws Exception {
-        String requestJson = "{\"email\":\"test@test.com\"}";
+        JetonSession.Jeton jeton = jetonSession.emettre(1);
+        jetonSession.revoquer(jeton);
 
-        Utilisateur disconnectedUser = new Utilisateur();
-        disconnectedUser.setId(1);
-        disconnectedUser.setEmail("test@test.com");
-        disconnectedUser.setEtat_connexion(false);
+        mockMvc.perform(patch("/api/utilisateur/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jeton.getValeur()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Jeton de session invalide ou expiré"));
+    }
 
-        when(utilisateurService.findByEmail("test@test.com")).thenReturn(disconnectedUser);
+    @Test
+    @DisplayName("Jeton de session - Identifie l'utilisateur et prime sur l'en-tête X-Utilisateur-Id")
+    void testJetonSession_ShouldIdentifyUser() throws Exception {
+        // ARRANGE
+        when(projetService.findById(1)).thenReturn(projetTest);
+        when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
+        doThrow(new AccesRefuseException(Permission.AJOUTER_MEMBRE, 1)).when(autorisationService)
+                .verifier(7, 1, Permission.AJOUTER_MEMBRE);
 
-        mockMvc.perform(patch("/api/utilisateur/logout")
+        // ACT & ASSERT
+        mockMvc.perform(post("/api/utilisateur/add-user-to-project")
+                .param("id", "1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(7).getValeur())
+                .header(UtilisateurCourantInterceptor.ENTETE, "1")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(requestJson))
-                .andExpect(status().isNotModified())
-                .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Déconnexion échouée, utilisateur déjà déconnecté"));
+                .content("{\"nom\":\"TestUser\"}"))
+                .andExpect(status().isForbidden());
 
-        verify(utilisateurService, never()).updatePartial(anyInt(), any(), any());
+        verify(autorisationService).verifier(7, 1, Permission.AJOUTER_MEMBRE);
     }
 
+    /**
+     * Test: Ajout d'un membre refusé sans la permission AJOUTER_MEMBRE
+     */
     @Test
-    @DisplayName("PATCH /api/utilisateur/logout - Exception")
-    void testLogout_Exception() throws Exception {
-        String requestJson = "{\"email\":\"test@test.com\"}";
-
-        when(utilisateurService.findByEmail("test@test.com"))
-                .thenThrow(new RuntimeException("Erreur DB"));
+    @DisplayName("POST /api/utilisateur/add-user-to-project - 403 sans la permission AJOUTER_MEMBRE")
+    void testAddUtilisateurToProject_WhenNotAllowed_ShouldReturnForbidden() throws Exception {
+        // ARRANGE
+        when(projetService.findById(1)).thenReturn(projetTest);
+        when(utilisateurService.findByNom("TestUser")).thenReturn(utilisateurTest);
+        doThrow(new AccesRefuseException(Permission.AJOUTER_MEMBRE, 1)).when(autorisationService)
+                .verifier(5, 1, Permission.AJOUTER_MEMBRE);
 
-        mockMvc.perform(patch("/api/utilisateur/logout")
+        // ACT & ASSERT
+        mockMvc.perform(post("/api/utilisateur/add-user-to-project")
+                .param("id", "1")
+                .header(UtilisateurCourantInterceptor.ENTETE, "5")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(requestJson))
-                .andExpect(status().isInternalServerError())
-                .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Erreur interne"));
+                .content("{\"nom\":\"TestUser\"}"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(userRoleProjetService, never()).save(any(UserRoleProjet.class));
+    }
+
+    // ========== Tests de la présence ==========
+
+    @Test
+    @DisplayName("PUT /api/utilisateur/presence - Le battement de l'utilisateur authentifié est enregistré")
+    void testBattement_Success() throws Exception {
+        mockMvc.perform(put("/api/utilisateur/presence")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(1).getValeur()))
+                .andExpect(status().isNoContent());
+
+        verify(presenceService, times(1)).battement(1);
+        verifyNoInteractions(utilisateurService);
+    }
+
+    @Test
+    @DisplayName("PUT /api/utilisateur/presence - Échec sans utilisateur identifié")
+    void testBattement_WithoutUtilisateur() throws Exception {
+        mockMvc.perform(put("/api/utilisateur/presence"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Utilisateur n'est pas identifié"));
+
+        verifyNoInteractions(presenceService);
+    }
+
+    // ========== Tests du jeton de flux ==========
+
+    @Test
+    @DisplayName("POST /api/utilisateur/jeton-flux - Jeton de flux émis pour l'utilisateur authentifié")
+    void testJetonFlux_Success() throws Exception {
+        // ACT
+        MvcResult resultat = mockMvc.perform(post("/api/utilisateur/jeton-flux")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(1).getValeur()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn();
+
+        // ASSERT : signé par la clé des flux, pas par celle des sessions
+        String jeton = objectMapper.readTree(resultat.getResponse().getContentAsString()).get("data").asText();
+        JetonSession.Jeton verifie = jetonFlux.verifier(jeton);
+        assertNotNull(verifie);
+        assertEquals(1, verifie.getUtilisateurId());
+        assertNull(jetonSession.verifier(jeton), "Un jeton de flux ne vaut pas session");
+    }
+
+    @Test
+    @DisplayName("POST /api/utilisateur/jeton-flux - Échec sans utilisateur identifié")
+    void testJetonFlux_WithoutUtilisateur() throws Exception {
+        mockMvc.perform(post("/api/utilisateur/jeton-flux"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Utilisateur n'est pas identifié"));
+    }
+
+    // ========== Tests des notifications ==========
+
+    @Test
+    @DisplayName("GET /api/utilisateur/notifications - Digests reçus par l'utilisateur authentifié")
+    void testNotifications_Success() throws Exception {
+        // ARRANGE
+        NotificationDTO notification = new NotificationDTO(4, 1);
+        notification.getMotifs().add(NotificationDTO.ASSIGNATION);
+        notification.setModifications(3);
+        when(notificationService.findRecentes(2)).thenReturn(Collections.singletonList(
+                new NotificationDigestDTO(2, "bob", "bob@test.com", Collections.singletonList(notification), 0, new Date())));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/utilisateur/notifications")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jetonSession.emettre(2).getValeur()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].notifications[0].tache_id").value(4))
+                .andExpect(jsonPath("$.data[0].notifications[0].motifs[0]").value("ASSIGNATION"))
+                .andExpect(jsonPath("$.data[0].notifications[0].modifications").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/utilisateur/notifications - Échec sans utilisateur identifié")
+    void testNotifications_WithoutUtilisateur() throws Exception {
+        mockMvc.perform(get("/api/utilisateur/notifications"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(notificationService);
     }
 }
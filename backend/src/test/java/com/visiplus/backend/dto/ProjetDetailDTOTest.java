@@ -0,0 +1,70 @@
+package com.visiplus.backend.dto;
+
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.Utilisateur;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ProjetDetailDTO
+ *
+ * Objectif pédagogique:
+ * - Convertir une collection non ordonnée (Set JPA) en liste stable pour le client
+ * - Les tâches imbriquées ne répètent pas le projet parent
+ */
+@DisplayName("Tests du DTO ProjetDetailDTO")
+class ProjetDetailDTOTest {
+
+    @Test
+    @DisplayName("Devrait trier les tâches par id et ne pas y répéter le projet")
+    void testConstructor_ShouldSortTachesWithoutProjet() {
+        // Arrange
+        Utilisateur createur = new Utilisateur();
+        createur.setId(1);
+        createur.setNom("Createur");
+
+        Projet projet = new Projet();
+        projet.setId(1);
+        projet.setNom("Projet Test");
+        projet.setCreateur(createur);
+        HashSet<Tache> taches = new HashSet<>();
+        for (int id : new int[]{9, 2, 5}) {
+            Tache tache = new Tache();
+            tache.setId(id);
+            tache.setProjet(projet);
+            taches.add(tache);
+        }
+        projet.setTaches(taches);
+
+        // Act
+        ProjetDetailDTO dto = new ProjetDetailDTO(projet);
+
+        // Assert
+        List<TacheResponseDTO> resultat = dto.getTaches();
+        assertEquals(List.of(2, 5, 9), resultat.stream().map(TacheResponseDTO::getId).toList());
+        assertTrue(resultat.stream().allMatch(t -> t.getProjet() == null));
+        assertEquals("Createur", dto.getCreateur().getNom());
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer une liste vide quand les tâches ne sont pas chargées")
+    void testConstructor_WithoutTaches_ShouldReturnEmptyList() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(1);
+
+        // Act
+        ProjetDetailDTO dto = new ProjetDetailDTO(projet);
+
+        // Assert
+        assertNotNull(dto.getTaches());
+        assertTrue(dto.getTaches().isEmpty());
+        assertNull(dto.getCreateur());
+    }
+}
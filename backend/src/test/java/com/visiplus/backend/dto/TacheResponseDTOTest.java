@@ -0,0 +1,87 @@
+package com.visiplus.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.Utilisateur;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour TacheResponseDTO
+ *
+ * Objectif pédagogique:
+ * - Un DTO de lecture ne recopie des entités liées que leur identifiant et leur nom
+ * - Le JSON produit est borné : ni mot de passe, ni collection, ni renvoi numérique @JsonIdentityInfo
+ */
+@DisplayName("Tests du DTO TacheResponseDTO")
+class TacheResponseDTOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Tache tache;
+
+    @BeforeEach
+    void setUp() {
+        Utilisateur commanditaire = new Utilisateur();
+        commanditaire.setId(1);
+        commanditaire.setNom("Commanditaire");
+        commanditaire.setPassword("secret");
+
+        Projet projet = new Projet();
+        projet.setId(3);
+        projet.setNom("Projet Test");
+
+        Priorite priorite = new Priorite();
+        priorite.setId(2);
+        priorite.setNom("HAUTE");
+
+        tache = new Tache();
+        tache.setId(7);
+        tache.setNom("Tache Test");
+        tache.setEtat("TODO");
+        tache.setProjet(projet);
+        tache.setCommanditaire(commanditaire);
+        tache.setPriorite(priorite);
+    }
+
+    @Test
+    @DisplayName("Devrait réduire les entités liées à des références id / nom")
+    void testConstructor_ShouldMapReferences() {
+        // Act
+        TacheResponseDTO dto = new TacheResponseDTO(tache);
+
+        // Assert
+        assertEquals(7, dto.getId());
+        assertEquals("Commanditaire", dto.getCommanditaire().getNom());
+        assertEquals(2, dto.getPriorite().getId());
+        assertEquals(3, dto.getProjet().getId());
+        assertNull(dto.getDestinataire(), "Une référence absente reste null");
+    }
+
+    @Test
+    @DisplayName("Devrait omettre le projet quand la tâche est sérialisée sous son projet")
+    void testConstructor_WithoutProjet_ShouldOmitProjet() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new TacheResponseDTO(tache, false));
+
+        // Assert
+        assertFalse(json.contains("\"projet\""), json);
+    }
+
+    @Test
+    @DisplayName("Le JSON ne devrait contenir ni mot de passe ni champ de l'entité Utilisateur")
+    void testSerialisation_ShouldNotExposePassword() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new TacheResponseDTO(tache));
+
+        // Assert
+        assertFalse(json.contains("password"), json);
+        assertFalse(json.contains("secret"), json);
+        assertTrue(json.contains("\"commanditaire\":{\"id\":1,\"nom\":\"Commanditaire\"}"), json);
+    }
+}
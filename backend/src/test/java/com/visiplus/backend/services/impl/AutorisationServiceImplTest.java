@@ -0,0 +1,222 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.autorisation.AccesRefuseException;
+import com.visiplus.backend.autorisation.NonIdentifieException;
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.models.Projet;
+import com.visiplus.backend.models.Role;
+import com.visiplus.backend.models.Utilisateur;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour AutorisationServiceImpl
+ * Points d'apprentissage :
+ * - Les rôles d'un membre ne sont lus qu'une fois par (utilisateur, projet) : les vérifications suivantes
+ *   sont servies par le cache
+ * - Les événements d'appartenance et de suppression de projet invalident les entrées concernées
+ * - Un membre qui a plusieurs rôles sur un projet cumule leurs permissions
+ * - Sans identité, aucune permission n'est accordée : 401 et non un accès anonyme
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Autorisation")
+class AutorisationServiceImplTest {
+
+    @Mock
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @InjectMocks
+    private AutorisationServiceImpl autorisationService;
+
+    @Test
+    @DisplayName("verifier - Les rôles ne sont lus qu'une fois par utilisateur et projet")
+    void testVerifier_ShouldLoadRolesOnce() {
+        // Arrange
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(2, 1))
+                .thenReturn(Collections.singletonList(membre()));
+
+        // Act
+        autorisationService.verifier(2, 1, Permission.CREER_TACHE);
+        autorisationService.verifier(2, 1, Permission.MAJ_TACHE, Permission.VUE_TACHE);
+
+        // Assert
+        verify(userRoleProjetRepository, times(1)).findRolesByUtilisateurIdAndProjetId(2, 1);
+    }
+
+    @Test
+    @DisplayName("verifier - Sans utilisateur identifié, la requête est refusée (401)")
+    void testVerifier_WithoutUtilisateur_ShouldThrow() {
+        assertThrows(NonIdentifieException.class, () -> autorisationService.verifier(null, 1, Permission.VUE_TACHE));
+
+        verifyNoInteractions(userRoleProjetRepository);
+    }
+
+    @Test
+    @DisplayName("verifierAdministrateur - Le créateur du projet est autorisé sans lecture des rôles")
+    void testVerifierAdministrateur_WhenCreateur_ShouldPass() {
+        assertDoesNotThrow(() -> autorisationService.verifierAdministrateur(5, projet(5)));
+
+        verifyNoInteractions(userRoleProjetRepository);
+    }
+
+    @Test
+    @DisplayName("verifierAdministrateur - Un membre ADMINISTRATEUR est autorisé, un simple membre refusé")
+    void testVerifierAdministrateur_ShouldRequireAdministrateurRole() {
+        // Arrange
+        Role administrateur = new Role();
+        administrateur.setNom(Role.ADMINISTRATEUR);
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(2, 1))
+                .thenReturn(Collections.singletonList(administrateur));
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(3, 1))
+                .thenReturn(Collections.singletonList(membre()));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> autorisationService.verifierAdministrateur(2, projet(5)));
+        AccesRefuseException exception = assertThrows(AccesRefuseException.class,
+                () -> autorisationService.verifierAdministrateur(3, projet(5)));
+        assertEquals(1, exception.getProjetId());
+        assertThrows(NonIdentifieException.class, () -> autorisationService.verifierAdministrateur(null, projet(5)));
+    }
+
+    @Test
+    @DisplayName("verifier - Une permission absente du rôle est refusée")
+    void testVerifier_WhenPermissionMissing_ShouldThrow() {
+        // Arrange
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(2, 1))
+                .thenReturn(Collections.singletonList(membre()));
+
+        // Act
+        AccesRefuseException exception = assertThrows(AccesRefuseException.class,
+                () -> autorisationService.verifier(2, 1, Permission.CREER_TACHE, Permission.ASSIGNE_TACHE));
+
+        // Assert
+        assertEquals(Permission.ASSIGNE_TACHE, exception.getPermission());
+        assertEquals(1, exception.getProjetId());
+    }
+
+    @Test
+    @DisplayName("permissions - Un membre qui a plusieurs rôles cumule leurs permissions")
+    void testPermissions_ShouldUnionRoles() {
+        // Arrange
+        Role assignation = new Role();
+        assignation.setAssigne_tache(true);
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(2, 1))
+                .thenReturn(Arrays.asList(membre(), assignation));
+
+        // Act
+        int masque = autorisationService.permissions(2, 1);
+
+        // Assert
+        assertTrue(Permission.CREER_TACHE.accordee(masque));
+        assertTrue(Permission.ASSIGNE_TACHE.accordee(masque));
+        assertFalse(Permission.AJOUTER_MEMBRE.accordee(masque));
+    }
+
+    @Test
+    @DisplayName("permissions - Un non-membre n'a aucune permission")
+    void testPermissions_WhenNotMember_ShouldBeEmpty() {
+        // Arrange
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(9, 1)).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertEquals(0, autorisationService.permissions(9, 1));
+        assertThrows(AccesRefuseException.class, () -> autorisationService.verifier(9, 1, Permission.VUE_TACHE));
+    }
+
+    @Test
+    @DisplayName("invalider - L'ajout d'un membre relit ses rôles sur ce projet seulement")
+    void testInvalider_WhenMembreAjoute_ShouldReloadThatEntry() {
+        // Arrange
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(anyInt(), anyInt()))
+                .thenReturn(Collections.singletonList(membre()));
+        autorisationService.permissions(2, 1);
+        autorisationService.permissions(2, 2);
+
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(ProjetEvenementDTO.MEMBRE_AJOUTE, 1);
+        evenement.setUtilisateur_id(2);
+
+        // Act
+        autorisationService.invalider(evenement);
+        autorisationService.permissions(2, 1);
+        autorisationService.permissions(2, 2);
+
+        // Assert
+        verify(userRoleProjetRepository, times(2)).findRolesByUtilisateurIdAndProjetId(2, 1);
+        verify(userRoleProjetRepository, times(1)).findRolesByUtilisateurIdAndProjetId(2, 2);
+    }
+
+    @Test
+    @DisplayName("invalider - La suppression d'un projet retire les entrées de tous ses membres")
+    void testInvalider_WhenProjetSupprime_ShouldEvictProject() {
+        // Arrange
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(anyInt(), anyInt()))
+                .thenReturn(Collections.singletonList(membre()));
+        autorisationService.permissions(2, 1);
+        autorisationService.permissions(3, 1);
+        autorisationService.permissions(2, 2);
+
+        // Act
+        autorisationService.invalider(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_SUPPRIME, 1));
+        autorisationService.permissions(2, 1);
+        autorisationService.permissions(3, 1);
+        autorisationService.permissions(2, 2);
+
+        // Assert
+        verify(userRoleProjetRepository, times(2)).findRolesByUtilisateurIdAndProjetId(2, 1);
+        verify(userRoleProjetRepository, times(2)).findRolesByUtilisateurIdAndProjetId(3, 1);
+        verify(userRoleProjetRepository, times(1)).findRolesByUtilisateurIdAndProjetId(2, 2);
+    }
+
+    @Test
+    @DisplayName("invaliderTout - Une modification de rôle vide le cache")
+    void testInvaliderTout_ShouldReloadEverything() {
+        // Arrange
+        when(userRoleProjetRepository.findRolesByUtilisateurIdAndProjetId(2, 1))
+                .thenReturn(Collections.singletonList(membre()));
+        autorisationService.permissions(2, 1);
+
+        // Act
+        autorisationService.invaliderTout();
+        autorisationService.permissions(2, 1);
+
+        // Assert
+        verify(userRoleProjetRepository, times(2)).findRolesByUtilisateurIdAndProjetId(2, 1);
+    }
+
+    private static Projet projet(int createurId) {
+        Utilisateur createur = new Utilisateur();
+        createur.setId(createurId);
+        Projet projet = new Projet();
+        projet.setId(1);
+        projet.setCreateur(createur);
+        return projet;
+    }
+
+    // Même drapeaux que le rôle MEMBRE créé par DataInitializer
+    private Role membre() {
+        Role role = new Role();
+        role.setNom("MEMBRE");
+        role.setAjouter_membre(false);
+        role.setCreer_tache(true);
+        role.setAssigne_tache(false);
+        role.setMaj_tache(true);
+        role.setVue_tache(true);
+        role.setVue_tableau_de_bord(true);
+        role.setEtre_notifie(true);
+        role.setVue_historique_modifications(true);
+        return role;
+    }
+}
@@ -0,0 +1,95 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.HistoriqueRepository;
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Écriture de l'historique contre une vraie base (H2)
+ *
+ * Points d'apprentissage :
+ * - Un lot qui échoue au flush a déjà reçu ses ids de historique_seq : réécrit tel quel, save() ferait un merge
+ *   d'entités détachées introuvables en base (StaleObjectStateException) et le lot échouerait à chaque essai
+ * - Un trigger H2 fait échouer le premier INSERT, comme un verrou expiré ou une connexion coupée en plein lot
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:historique;DB_CLOSE_DELAY=-1;MODE=MySQL")
+@ActiveProfiles("test")
+@DisplayName("Écriture par lots de l'historique en base")
+class HistoriqueEcritureTest {
+
+    // Nombre d'INSERT à refuser avant de laisser passer
+    static final AtomicInteger ECHECS_RESTANTS = new AtomicInteger();
+
+    @Autowired
+    private HistoriqueServiceImpl historiqueService;
+
+    @Autowired
+    private HistoriqueRepository historiqueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS echec_historique BEFORE INSERT ON historique "
+                + "FOR EACH ROW CALL '" + EchecInsertion.class.getName() + "'");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ECHECS_RESTANTS.set(0);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS echec_historique");
+    }
+
+    @Test
+    @DisplayName("ecrire - Un lot en échec au flush est réécrit au passage suivant")
+    void testEcrire_WhenFlushFailsOnce_ShouldWriteOnRetry() {
+        // Arrange
+        int projetId = 4242;
+        historiqueService.enregistrer(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_CREE, projetId));
+        historiqueService.enregistrer(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_SUPPRIME, projetId));
+        ECHECS_RESTANTS.set(1);
+
+        // Act
+        historiqueService.ecrire();
+        assertTrue(lignes(projetId).isEmpty(), "Le premier lot devrait avoir été annulé");
+        historiqueService.ecrire();
+
+        // Assert : les deux lignes, dans l'ordre des événements
+        List<HistoriqueDTO> lignes = lignes(projetId);
+        assertEquals(2, lignes.size());
+        assertEquals(ProjetEvenementDTO.PROJET_SUPPRIME, lignes.get(0).getType());
+        assertEquals(ProjetEvenementDTO.PROJET_CREE, lignes.get(1).getType());
+    }
+
+    private List<HistoriqueDTO> lignes(int projetId) {
+        return historiqueRepository.findByProjetIdAvant(projetId, Long.MAX_VALUE, Limit.of(10));
+    }
+
+    public static class EchecInsertion implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] ancienne, Object[] nouvelle) throws SQLException {
+            if (ECHECS_RESTANTS.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new SQLException("Délai d'attente du verrou dépassé", "HYT00");
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.HistoriqueRepository;
+import com.visiplus.backend.dto.HistoriqueDTO;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.models.Historique;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour HistoriqueServiceImpl
+ * Points d'apprentissage :
+ * - L'enregistrement ne touche pas la base : les lignes attendent en mémoire l'écriture par lots
+ * - Seuls les champs réellement modifiés donnent une ligne (diff entre l'instantané d'avant et celui d'après)
+ * - Un lot en échec est remis en file et réessayé avec un délai croissant, puis abandonné après TENTATIVES_MAX essais
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Historique")
+class HistoriqueServiceImplTest {
+
+    @Mock
+    private HistoriqueRepository historiqueRepository;
+
+    @InjectMocks
+    private HistoriqueServiceImpl historiqueService;
+
+    private TacheDTO tache(String etat, Date dateFin, Integer destinataireId) {
+        return new TacheDTO(4, "Tâche", "Description", etat, null, dateFin, 1, 2, "HAUTE", 1, destinataireId);
+    }
+
+    private ProjetEvenementDTO modification(TacheDTO avant, TacheDTO apres) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_MODIFIEE, 1);
+        evenement.setTache_id(4);
+        evenement.setTache(apres);
+        evenement.setAvant(avant);
+        return evenement;
+    }
+
+    @Test
+    @DisplayName("enregistrer - Une ligne par champ modifié, écrite au passage suivant de l'écriture")
+    void testEnregistrer_ShouldQueueFieldDiffs() {
+        // Arrange : même date_fin relue en base (Timestamp) et reçue en JSON (Date)
+        long dateFin = 1_700_000_000_000L;
+        TacheDTO avant = tache("TODO", new Timestamp(dateFin), 2);
+        TacheDTO apres = tache("DONE", new Date(dateFin), 3);
+
+        // Act
+        historiqueService.enregistrer(modification(avant, apres));
+
+        // Assert : rien en base tant que l'écriture n'est pas passée
+        verifyNoInteractions(historiqueRepository);
+
+        historiqueService.ecrire();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Historique>> lot = ArgumentCaptor.forClass(List.class);
+        verify(historiqueRepository, times(1)).saveAll(lot.capture());
+        List<Historique> lignes = lot.getValue();
+        assertEquals(2, lignes.size(), "date_fin est inchangée");
+        assertEquals("etat", lignes.get(0).getChamp());
+        assertEquals("TODO", lignes.get(0).getAncienne_valeur());
+        assertEquals("DONE", lignes.get(0).getNouvelle_valeur());
+        assertEquals("destinataire_id", lignes.get(1).getChamp());
+        assertEquals(4, lignes.get(1).getTache_id());
+        assertEquals(1, lignes.get(1).getProjet_id());
+    }
+
+    @Test
+    @DisplayName("ecrire - Les lignes en attente partent par lots de TAILLE_LOT")
+    void testEcrire_ShouldWriteInBatches() {
+        // Arrange
+        int nombre = HistoriqueServiceImpl.TAILLE_LOT + 20;
+        for (int i = 0; i < nombre; i++) {
+            ProjetEvenementDTO creation = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 1);
+            creation.setTache_id(i);
+            historiqueService.enregistrer(creation);
+        }
+
+        // Act
+        historiqueService.ecrire();
+        historiqueService.ecrire();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Historique>> lots = ArgumentCaptor.forClass(List.class);
+        verify(historiqueRepository, times(2)).saveAll(lots.capture());
+        assertEquals(HistoriqueServiceImpl.TAILLE_LOT, lots.getAllValues().get(0).size());
+        assertEquals(20, lots.getAllValues().get(1).size());
+    }
+
+    @Test
+    @DisplayName("ecrire - Un lot en échec transitoire est remis en file et réécrit au passage suivant")
+    void testEcrire_WhenSaveFailsOnce_ShouldRetry() {
+        // Arrange
+        historiqueService.enregistrer(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_CREE, 1));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Historique>> lots = ArgumentCaptor.forClass(List.class);
+        when(historiqueRepository.saveAll(lots.capture()))
+                .thenThrow(new RuntimeException("Base indisponible"))
+                .thenReturn(List.of());
+
+        // Act
+        assertDoesNotThrow(() -> historiqueService.ecrire());
+        historiqueService.ecrire();
+        historiqueService.ecrire();
+
+        // Assert : la même ligne est réécrite, une seule fois
+        verify(historiqueRepository, times(2)).saveAll(anyList());
+        assertEquals(lots.getAllValues().get(0), lots.getAllValues().get(1));
+        assertEquals(1, lots.getAllValues().get(1).size());
+    }
+
+    @Test
+    @DisplayName("ecrire - Un lot toujours refusé est abandonné après TENTATIVES_MAX essais espacés")
+    void testEcrire_WhenSaveAlwaysFails_ShouldGiveUp() {
+        // Arrange
+        historiqueService.enregistrer(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_CREE, 1));
+        when(historiqueRepository.saveAll(anyList())).thenThrow(new RuntimeException("Ligne refusée"));
+
+        // Act : assez de passages pour couvrir tous les délais de nouvel essai
+        for (int i = 0; i < 40; i++) {
+            historiqueService.ecrire();
+        }
+
+        // Assert : 1 + 1 + 2 + 4 + 8 passages pour 5 essais, puis la file est vide
+        verify(historiqueRepository, times(HistoriqueServiceImpl.TENTATIVES_MAX)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("enregistrer - Retrait d'un membre : son rôle devient l'ancienne valeur")
+    void testEnregistrer_WhenMembreRetire() {
+        // Arrange
+        ProjetEvenementDTO retrait = ProjetEvenementDTO.presence(ProjetEvenementDTO.MEMBRE_RETIRE, 1, 3);
+        retrait.setRole_id(2);
+
+        // Act
+        List<Historique> lignes = historiqueService.lignes(retrait, 1, new Date());
+
+        // Assert
+        assertEquals(1, lignes.size());
+        assertEquals(3, lignes.get(0).getMembre_id());
+        assertEquals(1, lignes.get(0).getAuteur_id());
+        assertEquals("2", lignes.get(0).getAncienne_valeur());
+        assertNull(lignes.get(0).getNouvelle_valeur());
+    }
+
+    @Test
+    @DisplayName("enregistrer - Les événements de présence ne sont pas journalisés")
+    void testEnregistrer_WhenPresence_ShouldIgnore() {
+        historiqueService.enregistrer(ProjetEvenementDTO.presence(ProjetEvenementDTO.PRESENCE_CONNECTE, 1, 2));
+        historiqueService.ecrire();
+
+        verifyNoInteractions(historiqueRepository);
+    }
+
+    @Test
+    @DisplayName("findPageByTacheId - Page suivante à partir de l'id de la dernière ligne")
+    void testFindPageByTacheId_ShouldReturnCursor() {
+        // Arrange
+        HistoriqueDTO recente = new HistoriqueDTO(9L, 1, 4, 1, null, ProjetEvenementDTO.TACHE_MODIFIEE, "etat", "TODO", "DONE", new Date());
+        HistoriqueDTO ancienne = new HistoriqueDTO(5L, 1, 4, 1, null, ProjetEvenementDTO.TACHE_CREEE, null, null, "Tâche", new Date());
+        when(historiqueRepository.findByTacheIdAvant(4, Long.MAX_VALUE, Limit.of(2))).thenReturn(Arrays.asList(recente, ancienne));
+
+        // Act
+        KeysetPageDTO<HistoriqueDTO> page = historiqueService.findPageByTacheId(4, null, 1);
+
+        // Assert
+        assertTrue(page.isHas_more());
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNext_cursor());
+
+        historiqueService.findPageByTacheId(4, page.getNext_cursor(), 1);
+        verify(historiqueRepository).findByTacheIdAvant(4, 9L, Limit.of(2));
+    }
+
+    @Test
+    @DisplayName("findPageByProjetId - Curseur invalide")
+    void testFindPageByProjetId_WhenCursorInvalid_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> historiqueService.findPageByProjetId(1, "YWJj", 10));
+        verify(historiqueRepository, never()).findByProjetIdAvant(anyInt(), anyLong(), any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour KanbanServiceImpl
+ * Points d'apprentissage :
+ * - L'ETag se calcule en mémoire : un 304 ne coûte aucune requête
+ * - Seuls les événements qui changent le contenu du tableau font avancer la version
+ * - Un déplacement de tâche fait avancer la version des deux projets concernés
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Kanban")
+class KanbanServiceImplTest {
+
+    @Mock
+    private ProjetRepository projetRepository;
+
+    @Mock
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @Mock
+    private TacheRepository tacheRepository;
+
+    @InjectMocks
+    private KanbanServiceImpl kanbanService;
+
+    @Test
+    @DisplayName("etag - Change après une modification de tâche du projet, pas des autres projets")
+    void testEtag_ShouldChangeOnTacheEvent() {
+        // Arrange
+        String projet1 = kanbanService.etag(1);
+        String projet2 = kanbanService.etag(2);
+
+        // Act
+        kanbanService.appliquer(new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_MODIFIEE, 1));
+
+        // Assert
+        assertNotEquals(projet1, kanbanService.etag(1));
+        assertEquals(projet2, kanbanService.etag(2));
+        assertNotEquals(kanbanService.etag(1), kanbanService.etag(2), "Deux projets n'ont jamais le même ETag");
+        verifyNoInteractions(projetRepository, userRoleProjetRepository, tacheRepository);
+    }
+
+    @Test
+    @DisplayName("etag - Une tâche déplacée change aussi l'ETag de son ancien projet")
+    void testEtag_WhenTacheMoved_ShouldChangeOldProject() {
+        // Arrange : la tâche 4 passe du projet 2 au projet 1
+        String ancien = kanbanService.etag(2);
+        String autre = kanbanService.etag(3);
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_MODIFIEE, 1);
+        evenement.setTache_id(4);
+        evenement.setAvant(new TacheDTO(4, "Tâche", null, "TODO", null, null, 2, null, null, 1, null));
+        evenement.setTache(new TacheDTO(4, "Tâche", null, "TODO", null, null, 1, null, null, 1, null));
+
+        // Act
+        kanbanService.appliquer(evenement);
+
+        // Assert
+        assertNotEquals(ancien, kanbanService.etag(2), "L'ancien projet ne doit plus afficher la tâche");
+        assertEquals(autre, kanbanService.etag(3));
+    }
+
+    @Test
+    @DisplayName("etag - La présence ne change pas le tableau")
+    void testEtag_ShouldIgnorePresence() {
+        String avant = kanbanService.etag(1);
+
+        kanbanService.appliquer(ProjetEvenementDTO.presence(ProjetEvenementDTO.PRESENCE_CONNECTE, 1, 2));
+
+        assertEquals(avant, kanbanService.etag(1));
+    }
+
+    @Test
+    @DisplayName("invaliderTout - Change l'ETag de tous les projets (rôles, priorités)")
+    void testInvaliderTout_ShouldChangeEveryEtag() {
+        // Arrange
+        String projet1 = kanbanService.etag(1);
+        String projet2 = kanbanService.etag(2);
+
+        // Act
+        kanbanService.invaliderTout();
+
+        // Assert
+        assertNotEquals(projet1, kanbanService.etag(1));
+        assertNotEquals(projet2, kanbanService.etag(2));
+    }
+
+    @Test
+    @DisplayName("getKanban - Projet inexistant, ni membres ni tâches lus")
+    void testGetKanban_WhenProjetNotFound_ShouldReturnNull() {
+        when(projetRepository.findResumeById(999)).thenReturn(Optional.empty());
+
+        assertNull(kanbanService.getKanban(999));
+        verifyNoInteractions(userRoleProjetRepository, tacheRepository);
+    }
+}
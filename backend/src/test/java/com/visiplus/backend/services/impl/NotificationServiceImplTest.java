@@ -0,0 +1,257 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.autorisation.Permission;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.NotificationDTO;
+import com.visiplus.backend.dto.NotificationDigestDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.models.Role;
+import com.visiplus.backend.models.Utilisateur;
+import com.visiplus.backend.notification.CanalNotification;
+import com.visiplus.backend.services.AutorisationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour NotificationServiceImpl
+ * Points d'apprentissage :
+ * - Coalescence : toutes les modifications d'une tâche entre deux digests deviennent une seule notification
+ * - Digest : au plus un envoi par destinataire et par période, quel que soit le nombre de tâches modifiées
+ * - Les canaux sont interchangeables ; un canal d'enregistrement remplace ici le relais SMTP
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Notification")
+class NotificationServiceImplTest {
+
+    @Mock
+    private AutorisationService autorisationService;
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private TacheRepository tacheRepository;
+
+    @InjectMocks
+    private NotificationServiceImpl notificationService;
+
+    private final CanalEnregistreur canal = new CanalEnregistreur();
+
+    private Utilisateur bob;
+
+    @BeforeEach
+    void setUp() {
+        notificationService.canaux = Collections.singletonList(canal);
+        notificationService.coalescenceMs = 0;
+        notificationService.digestMs = 0;
+
+        bob = new Utilisateur();
+        bob.setId(2);
+        bob.setNom("bob");
+        bob.setEmail("bob@test.com");
+    }
+
+    private static int masque(boolean etreNotifie) {
+        Role role = new Role();
+        role.setEtre_notifie(etreNotifie);
+        return Permission.masque(role);
+    }
+
+    private static TacheDTO tache(String etat, Integer destinataireId) {
+        return new TacheDTO(4, "Tâche", null, etat, null, null, 1, null, null, 1, destinataireId);
+    }
+
+    private static ProjetEvenementDTO modification(TacheDTO avant, TacheDTO apres) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_MODIFIEE, 1);
+        evenement.setTache_id(apres.getId());
+        evenement.setTache(apres);
+        evenement.setAvant(avant);
+        return evenement;
+    }
+
+    @Test
+    @DisplayName("signaler - Dix changements d'état d'une tâche donnent une seule notification")
+    void testSignaler_ShouldCoalesceEditsOfOneTache() {
+        // Arrange
+        when(autorisationService.permissions(anyInt(), eq(1))).thenReturn(masque(true));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(bob));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            notificationService.signaler(modification(tache("E" + i, 2), tache("E" + (i + 1), 2)));
+        }
+        notificationService.distribuer();
+
+        // Assert : le commanditaire (1) est notifié aussi, mais il n'est pas relu ici
+        NotificationDigestDTO digest = canal.pour(2);
+        assertNotNull(digest);
+        assertEquals(1, digest.getNotifications().size());
+        NotificationDTO notification = digest.getNotifications().get(0);
+        assertEquals(10, notification.getModifications());
+        assertEquals("E10", notification.getEtat());
+        assertEquals("bob@test.com", digest.getEmail());
+        assertTrue(notification.getMotifs().contains(NotificationDTO.CHANGEMENT_ETAT));
+    }
+
+    @Test
+    @DisplayName("signaler - Une assignation à un membre sans etre_notifie n'est pas notifiée")
+    void testSignaler_WhenNotAllowed_ShouldIgnore() {
+        // Arrange
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(false));
+
+        // Act
+        notificationService.signaler(modification(tache("TODO", null), tache("TODO", 2)));
+        notificationService.distribuer();
+
+        // Assert
+        assertTrue(canal.recus.isEmpty());
+        verifyNoInteractions(utilisateurRepository);
+    }
+
+    @Test
+    @DisplayName("distribuer - Pas de deuxième digest avant la fin de la période")
+    void testDistribuer_ShouldSendAtMostOneDigestPerPeriod() {
+        // Arrange
+        notificationService.digestMs = 60_000;
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(true));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(bob));
+        notificationService.signaler(modification(tache("TODO", null), tache("TODO", 2)));
+        notificationService.distribuer();
+
+        // Act : une autre tâche assignée juste après le premier digest
+        TacheDTO autre = new TacheDTO(5, "Autre", null, "TODO", null, null, 1, null, null, 1, 2);
+        ProjetEvenementDTO creation = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 1);
+        creation.setTache(autre);
+        notificationService.signaler(creation);
+        notificationService.distribuer();
+
+        // Assert
+        assertEquals(1, canal.recus.size());
+        assertEquals(1, notificationService.findRecentes(2).size());
+    }
+
+    @Test
+    @DisplayName("distribuer - Une tâche encore modifiée pendant la fenêtre de coalescence attend")
+    void testDistribuer_WhenEditsStillArriving_ShouldWait() {
+        // Arrange
+        notificationService.coalescenceMs = 60_000;
+        notificationService.digestMs = 60_000;
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(true));
+
+        // Act
+        notificationService.signaler(modification(tache("TODO", null), tache("TODO", 2)));
+        notificationService.distribuer();
+
+        // Assert
+        assertTrue(canal.recus.isEmpty());
+    }
+
+    @Test
+    @DisplayName("signaler - L'auteur de la modification n'est pas notifié, une tâche supprimée sort du digest")
+    void testSignaler_WhenTacheSupprimee_ShouldDropPending() {
+        // Arrange
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(true));
+        notificationService.signaler(modification(tache("TODO", null), tache("TODO", 2)));
+        ProjetEvenementDTO suppression = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_SUPPRIMEE, 1);
+        suppression.setTache_id(4);
+
+        // Act
+        notificationService.signaler(suppression);
+        notificationService.distribuer();
+
+        // Assert
+        assertTrue(canal.recus.isEmpty());
+    }
+
+    @Test
+    @DisplayName("signaler - Les tâches d'un projet supprimé sortent du digest")
+    void testSignaler_WhenProjetSupprime_ShouldDropPending() {
+        // Arrange : tâches supprimées par lots, sans TACHE_SUPPRIMEE
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(true));
+        notificationService.signaler(modification(tache("TODO", null), tache("TODO", 2)));
+
+        // Act
+        notificationService.signaler(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_SUPPRIME, 1));
+        notificationService.distribuer();
+
+        // Assert
+        assertTrue(canal.recus.isEmpty());
+    }
+
+    @Test
+    @DisplayName("distribuer - Un canal en échec n'empêche pas les autres de recevoir le digest")
+    void testDistribuer_WhenCanalFails_ShouldDeliverToOthers() {
+        // Arrange
+        CanalNotification enPanne = mock(CanalNotification.class);
+        doThrow(new RuntimeException("Relais indisponible")).when(enPanne).envoyer(any());
+        notificationService.canaux = Arrays.asList(enPanne, canal);
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(true));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(bob));
+        notificationService.signaler(modification(tache("TODO", null), tache("TODO", 2)));
+
+        // Act
+        assertDoesNotThrow(() -> notificationService.distribuer());
+
+        // Assert
+        assertNotNull(canal.pour(2));
+    }
+
+    @Test
+    @DisplayName("verifierEcheances - Une échéance n'est signalée qu'une fois")
+    void testVerifierEcheances_ShouldNotifyOnce() {
+        // Arrange
+        TacheDTO proche = new TacheDTO(4, "Tâche", null, "TODO", null,
+                new Date(System.currentTimeMillis() + 3_600_000L), 1, null, null, 1, 2);
+        when(tacheRepository.findEcheancesEntre(any(Date.class), any(Date.class), any()))
+                .thenReturn(Collections.singletonList(proche));
+        when(autorisationService.permissions(2, 1)).thenReturn(masque(true));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(bob));
+
+        // Act
+        notificationService.verifierEcheances();
+        notificationService.verifierEcheances();
+        notificationService.distribuer();
+
+        // Assert
+        NotificationDTO notification = canal.pour(2).getNotifications().get(0);
+        assertTrue(notification.getMotifs().contains(NotificationDTO.ECHEANCE));
+        assertEquals(1, notification.getModifications());
+    }
+
+    // Remplaçant du relais SMTP : garde les digests reçus
+    private static class CanalEnregistreur implements CanalNotification {
+
+        final List<NotificationDigestDTO> recus = new ArrayList<>();
+
+        @Override
+        public String nom() {
+            return "test";
+        }
+
+        @Override
+        public void envoyer(NotificationDigestDTO digest) {
+            recus.add(digest);
+        }
+
+        NotificationDigestDTO pour(int utilisateurId) {
+            return recus.stream().filter(d -> d.getUtilisateur_id() == utilisateurId).findFirst().orElse(null);
+        }
+    }
+}
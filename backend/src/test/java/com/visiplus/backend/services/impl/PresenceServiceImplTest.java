@@ -0,0 +1,162 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.PresenceDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour PresenceServiceImpl
+ * Points d'apprentissage :
+ * - Seul le passage en ligne lit la base (projets du membre) : les battements suivants restent en mémoire
+ * - L'expiration est décidée par le balayage, sans action du client (navigateur fermé)
+ * - etat_connexion n'est plus qu'un miroir, écrit par lots au balayage
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Présence")
+class PresenceServiceImplTest {
+
+    @Mock
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PresenceServiceImpl presenceService;
+
+    @Test
+    @DisplayName("battement - Le premier battement lit les projets et publie PRESENCE_CONNECTE, les suivants non")
+    void testBattement_ShouldLoadProjectsOnce() {
+        // Arrange
+        when(userRoleProjetRepository.findProjetIdsByUtilisateurId(2)).thenReturn(Arrays.asList(1, 3));
+
+        // Act
+        presenceService.battement(2);
+        presenceService.battement(2);
+
+        // Assert
+        assertTrue(presenceService.estEnLigne(2));
+        assertEquals(1, presenceService.enLigne(1).size());
+        assertEquals(2, presenceService.enLigne(3).get(0).getUtilisateur_id());
+        assertTrue(presenceService.enLigne(2).isEmpty(), "Pas membre du projet 2");
+        verify(userRoleProjetRepository, times(1)).findProjetIdsByUtilisateurId(2);
+        verify(eventPublisher, times(2)).publishEvent(any(ProjetEvenementDTO.class));
+        verifyNoInteractions(utilisateurRepository);
+    }
+
+    @Test
+    @DisplayName("balayer - Un utilisateur sans battement récent passe hors ligne et le miroir est écrit")
+    void testBalayer_ShouldExpireAndSyncMirror() {
+        // Arrange : délai négatif, tout battement est déjà expiré au balayage
+        presenceService.ttlMs = -1;
+        when(userRoleProjetRepository.findProjetIdsByUtilisateurId(2)).thenReturn(Collections.singletonList(1));
+        presenceService.battement(2);
+
+        // Act
+        presenceService.balayer();
+
+        // Assert
+        assertFalse(presenceService.estEnLigne(2));
+        assertTrue(presenceService.enLigne(1).isEmpty());
+        ArgumentCaptor<ProjetEvenementDTO> evenements = ArgumentCaptor.forClass(ProjetEvenementDTO.class);
+        verify(eventPublisher, times(2)).publishEvent(evenements.capture());
+        assertEquals(ProjetEvenementDTO.PRESENCE_DECONNECTE, evenements.getAllValues().get(1).getType());
+        assertEquals(2, evenements.getAllValues().get(1).getUtilisateur_id());
+        // Connecté puis déconnecté depuis le dernier balayage : seul le dernier état est écrit
+        verify(utilisateurRepository, times(1)).updateEtatConnexion(Collections.singletonList(2), false);
+        verify(utilisateurRepository, never()).updateEtatConnexion(anyCollection(), eq(true));
+    }
+
+    @Test
+    @DisplayName("balayer - Le miroir n'est écrit qu'une fois par changement d'état")
+    void testBalayer_ShouldWriteMirrorOnlyOnChange() {
+        // Arrange
+        when(userRoleProjetRepository.findProjetIdsByUtilisateurId(anyInt())).thenReturn(Collections.singletonList(1));
+        presenceService.battement(2);
+        presenceService.battement(3);
+
+        // Act
+        presenceService.balayer();
+        presenceService.battement(2);
+        presenceService.balayer();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Integer>> ids = ArgumentCaptor.forClass(List.class);
+        verify(utilisateurRepository, times(1)).updateEtatConnexion(ids.capture(), eq(true));
+        assertEquals(2, ids.getValue().size(), "Les deux connexions devraient partir dans le même UPDATE");
+        verify(utilisateurRepository, never()).updateEtatConnexion(anyCollection(), eq(false));
+    }
+
+    @Test
+    @DisplayName("deconnecter - Retire l'utilisateur de tous ses projets")
+    void testDeconnecter_ShouldRemovePresence() {
+        // Arrange
+        when(userRoleProjetRepository.findProjetIdsByUtilisateurId(2)).thenReturn(Arrays.asList(1, 3));
+        presenceService.battement(2);
+
+        // Act
+        presenceService.deconnecter(2);
+
+        // Assert
+        assertFalse(presenceService.estEnLigne(2));
+        assertTrue(presenceService.enLigne(1).isEmpty());
+        assertTrue(presenceService.enLigne(3).isEmpty());
+        verify(eventPublisher, times(4)).publishEvent(any(ProjetEvenementDTO.class));
+    }
+
+    @Test
+    @DisplayName("appliquer - Un membre en ligne ajouté à un projet y apparaît sans relire la base")
+    void testAppliquer_WhenMembreAjoute_ShouldJoinProject() {
+        // Arrange
+        when(userRoleProjetRepository.findProjetIdsByUtilisateurId(2)).thenReturn(Collections.singletonList(1));
+        presenceService.battement(2);
+        ProjetEvenementDTO ajout = new ProjetEvenementDTO(ProjetEvenementDTO.MEMBRE_AJOUTE, 5);
+        ajout.setUtilisateur_id(2);
+
+        // Act
+        presenceService.appliquer(ajout);
+
+        // Assert
+        List<PresenceDTO> enLigne = presenceService.enLigne(5);
+        assertEquals(1, enLigne.size());
+        assertEquals(2, enLigne.get(0).getUtilisateur_id());
+        verify(userRoleProjetRepository, times(1)).findProjetIdsByUtilisateurId(2);
+
+        // La suppression du projet le retire
+        presenceService.appliquer(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_SUPPRIME, 5));
+        assertTrue(presenceService.enLigne(5).isEmpty());
+        assertEquals(1, presenceService.enLigne(1).size());
+    }
+
+    @Test
+    @DisplayName("balayer - Aucune écriture quand rien n'a changé")
+    void testBalayer_WhenNothingChanged_ShouldNotWrite() {
+        presenceService.balayer();
+
+        verify(utilisateurRepository, never()).updateEtatConnexion(anyCollection(), anyBoolean());
+    }
+}
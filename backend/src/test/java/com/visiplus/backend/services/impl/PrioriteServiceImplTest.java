@@ -2,6 +2,7 @@ package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.PrioriteRepository;
 import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.services.KanbanService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,11 +10,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +31,9 @@ class PrioriteServiceImplTest {
     @Mock
     private PrioriteRepository prioriteRepository;
 
+    @Mock
+    private KanbanService kanbanService;
+
     @InjectMocks
     private PrioriteServiceImpl prioriteService;
 
@@ -106,7 +112,6 @@ class PrioriteServiceImplTest {
         Priorite nouvellePriorite = new Priorite();
         nouvellePriorite.setNom("Moyenne");
         
-        when(prioriteRepository.findFirstByNom("Moyenne")).thenReturn(null);
         when(prioriteRepository.save(nouvellePriorite)).thenAnswer(invocation -> {
             Priorite saved = invocation.getArgument(0);
             saved.setId(2);
@@ -118,23 +123,42 @@ class PrioriteServiceImplTest {
 
         // Assert
         assertEquals(2, result, "L'ID de la nouvelle priorité devrait être 2");
-        verify(prioriteRepository, times(1)).findFirstByNom("Moyenne");
+        verify(prioriteRepository, never()).findFirstByNom(anyString());
         verify(prioriteRepository, times(1)).save(nouvellePriorite);
     }
 
     @Test
     @DisplayName("create - Devrait retourner l'ID existant si priorité déjà présente")
     void testCreate_WhenPrioriteExists_ShouldReturnExistingId() {
-        // Arrange
+        // Arrange : l'INSERT est refusé par uk_priorite_nom
+        Priorite doublon = new Priorite();
+        doublon.setNom("Haute");
+        when(prioriteRepository.save(doublon)).thenThrow(new DataIntegrityViolationException("uk_priorite_nom"));
         when(prioriteRepository.findFirstByNom("Haute")).thenReturn(prioriteTest);
 
         // Act
-        int result = prioriteService.create(prioriteTest);
+        int result = prioriteService.create(doublon);
 
         // Assert
         assertEquals(1, result, "L'ID existant devrait être retourné");
         verify(prioriteRepository, times(1)).findFirstByNom("Haute");
-        verify(prioriteRepository, never()).save(any(Priorite.class));
+        verify(kanbanService, never()).invaliderTout();
+    }
+
+    @Test
+    @DisplayName("create - Devrait propager une violation qui ne vient pas du nom")
+    void testCreate_WhenOtherViolation_ShouldRethrow() {
+        // Arrange : la priorité homonyme existe, mais la violation porte sur une autre contrainte
+        Priorite invalide = new Priorite();
+        invalide.setNom("Haute");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("NULL not allowed for column \"NOM\""));
+        when(prioriteRepository.save(invalide)).thenThrow(violation);
+
+        // Act & Assert
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> prioriteService.create(invalide)));
+        verify(prioriteRepository, never()).findFirstByNom(anyString());
+        verify(kanbanService, never()).invaliderTout();
     }
 
     @Test
@@ -0,0 +1,94 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ProjetEvenementServiceImpl
+ * Points d'apprentissage :
+ * - Les abonnés sont rangés par projet : un événement ne part que vers les clients du projet concerné
+ * - Le tampon d'un abonné est borné : au-delà, les événements en attente sont remplacés par un RESYNC
+ */
+@DisplayName("Tests du flux d'événements projet")
+class ProjetEvenementServiceImplTest {
+
+    private ProjetEvenementServiceImpl projetEvenementService;
+
+    @BeforeEach
+    void setUp() {
+        projetEvenementService = new ProjetEvenementServiceImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetEvenementService.arreter();
+    }
+
+    @Test
+    @DisplayName("abonner - Devrait enregistrer l'abonné sur son seul projet")
+    void testAbonner_ShouldRegisterPerProject() {
+        // Act
+        SseEmitter emitter = projetEvenementService.abonner(1);
+
+        // Assert
+        assertNotNull(emitter, "Un flux SSE devrait être retourné");
+        assertEquals(1, projetEvenementService.nombreAbonnes(1), "Le projet 1 devrait avoir un abonné");
+        assertEquals(0, projetEvenementService.nombreAbonnes(2), "Le projet 2 ne devrait avoir aucun abonné");
+    }
+
+    @Test
+    @DisplayName("diffuser - Un événement sans abonné est ignoré")
+    void testDiffuser_WithoutSubscriber_ShouldDoNothing() {
+        assertDoesNotThrow(() -> projetEvenementService.diffuser(
+                new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 42)));
+        assertEquals(0, projetEvenementService.nombreAbonnes(42));
+    }
+
+    @Test
+    @DisplayName("Abonne - Devrait restituer les événements dans l'ordre")
+    void testAbonne_ShouldKeepOrder() {
+        // Arrange
+        ProjetEvenementServiceImpl.Abonne abonne = new ProjetEvenementServiceImpl.Abonne(1, new SseEmitter());
+        ProjetEvenementDTO premier = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 1);
+        ProjetEvenementDTO second = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_MODIFIEE, 1);
+
+        // Act
+        abonne.publier(premier);
+        abonne.publier(second);
+
+        // Assert
+        assertSame(premier, abonne.suivant());
+        assertSame(second, abonne.suivant());
+        assertNull(abonne.suivant(), "Le tampon devrait être vide");
+        assertFalse(abonne.aDesEvenements());
+    }
+
+    @Test
+    @DisplayName("Abonne - Un tampon plein est remplacé par un seul RESYNC")
+    void testAbonne_WhenFull_ShouldCollapseToResync() {
+        // Arrange
+        ProjetEvenementServiceImpl.Abonne abonne = new ProjetEvenementServiceImpl.Abonne(1, new SseEmitter());
+        for (int i = 0; i < ProjetEvenementServiceImpl.TAILLE_TAMPON; i++) {
+            assertTrue(abonne.publier(new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 1)));
+        }
+
+        // Act : l'événement de trop déclenche le débordement, le suivant est conservé
+        boolean accepte = abonne.publier(new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 1));
+        ProjetEvenementDTO apres = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_SUPPRIMEE, 1);
+        abonne.publier(apres);
+
+        // Assert
+        assertFalse(accepte, "L'événement de trop ne devrait pas être accepté");
+        ProjetEvenementDTO resync = abonne.suivant();
+        assertEquals(ProjetEvenementDTO.RESYNC, resync.getType(), "Le client devrait d'abord recevoir un RESYNC");
+        assertEquals(1, resync.getProjet_id());
+        assertSame(apres, abonne.suivant(), "Les événements postérieurs au débordement sont conservés");
+        assertNull(abonne.suivant());
+    }
+}
@@ -1,15 +1,22 @@
 package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
 import com.visiplus.backend.models.Projet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +38,9 @@ class ProjetServiceImplTest {
     @Mock
     private ProjetRepository projetRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProjetServiceImpl projetService;
 
@@ -58,6 +68,23 @@ class ProjetServiceImplTest {
         verify(projetRepository, times(1)).save(projetTest);
     }
 
+    @Test
+    @DisplayName("create - Devrait publier PROJET_CREE avec le nom et la description (index de recherche)")
+    void testCreate_ShouldPublishEvent() {
+        // Arrange
+        when(projetRepository.save(projetTest)).thenReturn(projetTest);
+        ArgumentCaptor<ProjetEvenementDTO> captor = ArgumentCaptor.forClass(ProjetEvenementDTO.class);
+
+        // Act
+        projetService.create(projetTest);
+
+        // Assert
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(ProjetEvenementDTO.PROJET_CREE, captor.getValue().getType());
+        assertEquals(1, captor.getValue().getProjet_id());
+        assertEquals("Projet Alpha", captor.getValue().getProjet().getNom());
+    }
+
     @Test
     @DisplayName("findByNom - Devrait retourner un projet existant par son nom")
     void testFindByNom_WhenProjetExists_ShouldReturnProjet() {
@@ -117,6 +144,134 @@ class ProjetServiceImplTest {
         verify(projetRepository, times(1)).findById(999);
     }
 
+    @Test
+    @DisplayName("findWithTachesById - Devrait passer par le graphe 'withTasks' du repository")
+    void testFindWithTachesById_ShouldUseTasksGraph() {
+        // Arrange
+        when(projetRepository.findWithTachesById(1)).thenReturn(Optional.of(projetTest));
+
+        // Act
+        Projet result = projetService.findWithTachesById(1);
+
+        // Assert
+        assertNotNull(result, "Le projet ne devrait pas être null");
+        assertEquals("Projet Alpha", result.getNom(), "Le nom devrait correspondre");
+        verify(projetRepository, times(1)).findWithTachesById(1);
+        verify(projetRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("findWithTachesByNom - Devrait retourner null si le projet n'existe pas")
+    void testFindWithTachesByNom_WhenProjetDoesNotExist_ShouldReturnNull() {
+        // Arrange
+        when(projetRepository.findWithTachesByNom("Projet Inexistant")).thenReturn(Optional.empty());
+
+        // Act
+        Projet result = projetService.findWithTachesByNom("Projet Inexistant");
+
+        // Assert
+        assertNull(result, "Le résultat devrait être null pour un nom inexistant");
+        verify(projetRepository, times(1)).findWithTachesByNom("Projet Inexistant");
+    }
+
+    @Test
+    @DisplayName("findWithMembresById - Devrait passer par le graphe 'withMembers' du repository")
+    void testFindWithMembresById_ShouldUseMembersGraph() {
+        // Arrange
+        when(projetRepository.findWithMembresById(1)).thenReturn(Optional.of(projetTest));
+
+        // Act
+        Projet result = projetService.findWithMembresById(1);
+
+        // Assert
+        assertNotNull(result, "Le projet ne devrait pas être null");
+        verify(projetRepository, times(1)).findWithMembresById(1);
+    }
+
+    @Test
+    @DisplayName("findAllResumes - Devrait passer par la projection DTO, sans charger d'entité")
+    void testFindAllResumes_ShouldUseProjection() {
+        // Arrange
+        ProjetResponseDTO resume = new ProjetResponseDTO(1, "Projet Alpha", null, null, null);
+        when(projetRepository.findAllResumes()).thenReturn(Arrays.asList(resume));
+
+        // Act
+        List<ProjetResponseDTO> result = projetService.findAllResumes();
+
+        // Assert
+        assertEquals(1, result.size(), "La liste devrait contenir un projet");
+        assertEquals("Projet Alpha", result.get(0).getNom(), "Le nom devrait correspondre");
+        verify(projetRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("parcourirResumes - Un lot incomplet termine le parcours, aucun lot vide n'est transmis")
+    void testParcourirResumes_ShouldStopOnShortBatch() {
+        // Arrange
+        ProjetResponseDTO resume = new ProjetResponseDTO(1, "Projet Alpha", null, null, null);
+        when(projetRepository.findResumesApres(0, Limit.of(ProjetServiceImpl.TAILLE_LOT_EXPORT)))
+                .thenReturn(Arrays.asList(resume));
+        List<List<ProjetResponseDTO>> lots = new ArrayList<>();
+
+        // Act
+        projetService.parcourirResumes(lots::add);
+
+        // Assert
+        assertEquals(1, lots.size(), "Un seul lot, une seule requête");
+        assertEquals("Projet Alpha", lots.get(0).get(0).getNom());
+        verify(projetRepository, times(1)).findResumesApres(anyInt(), any(Limit.class));
+        verify(projetRepository, never()).findAllResumes();
+    }
+
+    @Test
+    @DisplayName("findPageResumes - Devrait demander une ligne de plus et retourner un curseur")
+    void testFindPageResumes_WhenMoreRows_ShouldReturnCursor() {
+        // Arrange : 3 lignes renvoyées pour une page de 2
+        when(projetRepository.findResumesApres(0, Limit.of(3))).thenReturn(Arrays.asList(
+                new ProjetResponseDTO(1, "A", null, null, null),
+                new ProjetResponseDTO(2, "B", null, null, null),
+                new ProjetResponseDTO(3, "C", null, null, null)));
+
+        // Act
+        KeysetPageDTO<ProjetResponseDTO> page = projetService.findPageResumes(null, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size(), "La page devrait contenir 2 projets");
+        assertTrue(page.isHas_more(), "Il devrait rester une page suivante");
+        assertNotNull(page.getNext_cursor(), "Un curseur devrait être retourné");
+
+        // La page suivante repart après le dernier id de la page
+        when(projetRepository.findResumesApres(2, Limit.of(3))).thenReturn(Arrays.asList(
+                new ProjetResponseDTO(3, "C", null, null, null)));
+        KeysetPageDTO<ProjetResponseDTO> suivante = projetService.findPageResumes(null, page.getNext_cursor(), 2);
+
+        assertEquals(1, suivante.getItems().size(), "La dernière page devrait contenir 1 projet");
+        assertFalse(suivante.isHas_more(), "Il ne devrait plus rester de page");
+        assertNull(suivante.getNext_cursor(), "Aucun curseur sur la dernière page");
+    }
+
+    @Test
+    @DisplayName("findPageResumes - Devrait filtrer sur les projets du membre")
+    void testFindPageResumes_WithMembre_ShouldUseMembershipQuery() {
+        // Arrange
+        when(projetRepository.findResumesByMembreApres(5, 0, Limit.of(51))).thenReturn(Arrays.asList(
+                new ProjetResponseDTO(2, "B", null, null, null)));
+
+        // Act
+        KeysetPageDTO<ProjetResponseDTO> page = projetService.findPageResumes(5, null, 50);
+
+        // Assert
+        assertEquals(1, page.getItems().size(), "Seul le projet du membre devrait être retourné");
+        verify(projetRepository, never()).findResumesApres(anyInt(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("findPageResumes - Devrait rejeter un curseur invalide")
+    void testFindPageResumes_WhenInvalidCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> projetService.findPageResumes(null, "invalide!", 10));
+        verifyNoInteractions(projetRepository);
+    }
+
     @Test
     @DisplayName("delete - Devrait supprimer un projet et le retourner")
     void testDelete_ShouldDeleteProjetAndReturnIt() {
@@ -130,6 +285,7 @@ class ProjetServiceImplTest {
         assertNotNull(result, "Le projet supprimé devrait être retourné");
         assertEquals("Projet Alpha", result.getNom(), "Le nom devrait correspondre");
         verify(projetRepository, times(1)).delete(projetTest);
+        verify(eventPublisher).publishEvent(any(ProjetEvenementDTO.class));
     }
 
     @Test
@@ -0,0 +1,243 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.ProjetResponseDTO;
+import com.visiplus.backend.dto.ResultatRechercheDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour RechercheServiceImpl
+ * Points d'apprentissage :
+ * - L'index vit en mémoire : on l'alimente par les mêmes événements que ceux publiés par les services
+ * - Les repositories ne sont sollicités qu'à la reconstruction et pour le filtre d'appartenance
+ * - Une reconstruction ne doit pas écraser une modification reçue pendant qu'elle s'exécute
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Recherche")
+class RechercheServiceImplTest {
+
+    @Mock
+    private TacheRepository tacheRepository;
+
+    @Mock
+    private ProjetRepository projetRepository;
+
+    @Mock
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @InjectMocks
+    private RechercheServiceImpl rechercheService;
+
+    @Test
+    @DisplayName("rechercher - Insensible aux accents, à la casse et au pluriel")
+    void testRechercher_ShouldIgnoreAccentsCaseAndPlural() {
+        // Arrange
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Préparer la DÉMO", "Écrans des tâches"));
+
+        // Act
+        KeysetPageDTO<ResultatRechercheDTO> page = rechercheService.rechercher("demo tache", null, null, null, null, 20);
+
+        // Assert
+        assertEquals(1, page.getItems().size(), "La tâche devrait être trouvée");
+        assertEquals(1, page.getItems().get(0).getId());
+        assertEquals(ResultatRechercheDTO.TYPE_TACHE, page.getItems().get(0).getType());
+        verifyNoInteractions(tacheRepository, projetRepository, userRoleProjetRepository);
+    }
+
+    @Test
+    @DisplayName("rechercher - Un terme dans le nom passe devant le même terme dans la description")
+    void testRechercher_ShouldRankNameAboveDescription() {
+        // Arrange
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Relecture", "Relire la maquette"));
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 2, 1, "Maquette", "Version finale"));
+
+        // Act
+        List<ResultatRechercheDTO> items = rechercheService.rechercher("maquette", null, null, null, null, 20).getItems();
+
+        // Assert
+        assertEquals(2, items.size());
+        assertEquals(2, items.get(0).getId(), "Le nom devrait peser plus lourd que la description");
+        assertTrue(items.get(0).getScore() > items.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("rechercher - Tous les termes sont requis, seul le dernier est complété par préfixe")
+    void testRechercher_ShouldRequireAllTermsAndCompleteLastOne() {
+        // Arrange
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Préparer la démo", null));
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 2, 1, "Préparer le budget", null));
+
+        // Act & Assert
+        assertEquals(1, rechercheService.rechercher("preparer dem", null, null, null, null, 20).getItems().size(),
+                "Le dernier terme devrait être complété");
+        assertTrue(rechercheService.rechercher("prep demo", null, null, null, null, 20).getItems().isEmpty(),
+                "Un terme qui n'est pas le dernier doit correspondre exactement");
+    }
+
+    @Test
+    @DisplayName("indexer - Une modification remplace l'ancien texte, une suppression retire la tâche")
+    void testIndexer_ShouldReplaceAndRemove() {
+        // Arrange
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Ancien nom", null));
+
+        // Act
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_MODIFIEE, 1, 1, "Nouveau nom", null));
+
+        // Assert
+        assertTrue(rechercheService.rechercher("ancien", null, null, null, null, 20).getItems().isEmpty());
+        assertEquals(1, rechercheService.rechercher("nouveau", null, null, null, null, 20).getItems().size());
+
+        ProjetEvenementDTO suppression = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_SUPPRIMEE, 1);
+        suppression.setTache_id(1);
+        rechercheService.indexer(suppression);
+        assertTrue(rechercheService.rechercher("nouveau", null, null, null, null, 20).getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("indexer - La suppression d'un projet retire aussi ses tâches")
+    void testIndexer_WhenProjetDeleted_ShouldRemoveItsTasks() {
+        // Arrange
+        rechercheService.indexer(evenementProjet(ProjetEvenementDTO.PROJET_CREE, 1, "Refonte du site"));
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Refonte des maquettes", null));
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 2, 2, "Refonte du logo", null));
+
+        // Act
+        rechercheService.indexer(new ProjetEvenementDTO(ProjetEvenementDTO.PROJET_SUPPRIME, 1));
+
+        // Assert
+        List<ResultatRechercheDTO> items = rechercheService.rechercher("refonte", null, null, null, null, 20).getItems();
+        assertEquals(1, items.size(), "Seule la tâche de l'autre projet devrait rester");
+        assertEquals(2, items.get(0).getProjet_id());
+    }
+
+    @Test
+    @DisplayName("rechercher - Ne retourne que les projets dont l'utilisateur est membre")
+    void testRechercher_WithUtilisateur_ShouldScopeToMembership() {
+        // Arrange
+        rechercheService.indexer(evenementProjet(ProjetEvenementDTO.PROJET_CREE, 1, "Migration"));
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Migration base", null));
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 2, 2, "Migration serveur", null));
+        when(userRoleProjetRepository.findProjetIdsByUtilisateurId(5)).thenReturn(Collections.singletonList(1));
+
+        // Act
+        List<ResultatRechercheDTO> items = rechercheService.rechercher("migration", null, null, 5, null, 20).getItems();
+
+        // Assert
+        assertEquals(2, items.size(), "Le projet 1 et sa tâche devraient être retournés");
+        assertTrue(items.stream().allMatch(resultat -> resultat.getProjet_id() == 1));
+    }
+
+    @Test
+    @DisplayName("rechercher - Pagination par curseur et filtre par type")
+    void testRechercher_ShouldPaginateAndFilterByType() {
+        // Arrange
+        rechercheService.indexer(evenementProjet(ProjetEvenementDTO.PROJET_CREE, 1, "Audit"));
+        for (int i = 1; i <= 3; i++) {
+            rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, i, 1, "Audit " + i, null));
+        }
+
+        // Act
+        KeysetPageDTO<ResultatRechercheDTO> premiere = rechercheService.rechercher("audit", ResultatRechercheDTO.TYPE_TACHE, null, null, null, 2);
+        KeysetPageDTO<ResultatRechercheDTO> seconde = rechercheService.rechercher("audit", ResultatRechercheDTO.TYPE_TACHE, null, null, premiere.getNext_cursor(), 2);
+
+        // Assert
+        assertEquals(2, premiere.getItems().size());
+        assertTrue(premiere.isHas_more());
+        assertEquals(1, seconde.getItems().size());
+        assertFalse(seconde.isHas_more());
+        assertNull(seconde.getNext_cursor());
+        assertTrue(seconde.getItems().stream().allMatch(resultat -> ResultatRechercheDTO.TYPE_TACHE.equals(resultat.getType())));
+    }
+
+    @Test
+    @DisplayName("rechercher - Rejette une requête sans mot significatif ou un type inconnu")
+    void testRechercher_WhenInvalid_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> rechercheService.rechercher("le la", null, null, null, null, 20));
+        assertThrows(IllegalArgumentException.class, () -> rechercheService.rechercher("demo", "inconnu", null, null, null, 20));
+        assertThrows(IllegalArgumentException.class, () -> rechercheService.rechercher("demo", null, null, null, "invalide!", 20));
+    }
+
+    @Test
+    @DisplayName("rechercher - Rejette un curseur négatif au lieu d'échouer sur subList")
+    void testRechercher_WhenCursorNegative_ShouldThrow() {
+        // Arrange : "LTU" est l'encodage base64url de "-5"
+        rechercheService.indexer(evenementTache(ProjetEvenementDTO.TACHE_CREEE, 1, 1, "Démo client", null));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> rechercheService.rechercher("demo", null, null, null, "LTU", 20));
+    }
+
+    @Test
+    @DisplayName("reconstruire - Indexe les projets et les tâches lus en base")
+    void testReconstruire_ShouldIndexProjectsAndTasks() {
+        // Arrange
+        when(projetRepository.findAllResumes()).thenReturn(Collections.singletonList(
+                new ProjetResponseDTO(1, "Lancement produit", null, null, null)));
+        when(tacheRepository.findResumesApres(0, Limit.of(RechercheServiceImpl.TAILLE_LOT_INDEXATION)))
+                .thenReturn(Arrays.asList(tacheDTO(1, 1, "Plan de lancement", null), tacheDTO(2, 1, "Budget", null)));
+
+        // Act
+        rechercheService.reconstruire();
+
+        // Assert
+        assertEquals(2, rechercheService.rechercher("lancement", null, null, null, null, 20).getItems().size());
+        verify(tacheRepository, times(1)).findResumesApres(anyInt(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("reconstruire - Une suppression reçue pendant la reconstruction n'est pas annulée")
+    void testReconstruire_ShouldKeepConcurrentDeletion() {
+        // Arrange : la tâche est supprimée pendant la lecture des lots, qui la retournent encore
+        when(projetRepository.findAllResumes()).thenReturn(Collections.emptyList());
+        when(tacheRepository.findResumesApres(0, Limit.of(RechercheServiceImpl.TAILLE_LOT_INDEXATION))).thenAnswer(invocation -> {
+            ProjetEvenementDTO suppression = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_SUPPRIMEE, 1);
+            suppression.setTache_id(1);
+            rechercheService.indexer(suppression);
+            return Collections.singletonList(tacheDTO(1, 1, "Tache obsolete", null));
+        });
+
+        // Act
+        rechercheService.reconstruire();
+
+        // Assert
+        assertTrue(rechercheService.rechercher("obsolete", null, null, null, null, 20).getItems().isEmpty(),
+                "La ligne relue en base ne devrait pas ressusciter la tâche supprimée");
+    }
+
+    private ProjetEvenementDTO evenementTache(String type, int id, int projetId, String nom, String description) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, projetId);
+        evenement.setTache_id(id);
+        evenement.setTache(tacheDTO(id, projetId, nom, description));
+        return evenement;
+    }
+
+    private ProjetEvenementDTO evenementProjet(String type, int id, String nom) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, id);
+        evenement.setProjet(new ProjetResponseDTO(id, nom, null, null, null));
+        return evenement;
+    }
+
+    private TacheDTO tacheDTO(int id, int projetId, String nom, String description) {
+        return new TacheDTO(id, nom, description, "TODO", null, null, projetId, null, null, null, null);
+    }
+}
@@ -0,0 +1,168 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.CacheConfig;
+import com.visiplus.backend.dao.PrioriteRepository;
+import com.visiplus.backend.dao.RoleRepository;
+import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.models.Role;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.KanbanService;
+import com.visiplus.backend.services.PrioriteService;
+import com.visiplus.backend.services.RoleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du cache des données de référence (rôles et priorités)
+ *
+ * Points d'apprentissage :
+ * - Les annotations @Cacheable / @CacheEvict passent par un proxy Spring :
+ *   on charge donc un petit contexte avec les vrais services et des repositories mockés
+ * - On vérifie le nombre d'appels au repository pour savoir si le cache a répondu
+ */
+@SpringBootTest(classes = {CacheConfig.class, RoleServiceImpl.class, PrioriteServiceImpl.class},
+        properties = {
+                "spring.cache.type=caffeine",
+                "spring.cache.cache-names=roles,priorites",
+                "spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=1h,recordStats"
+        })
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DisplayName("Tests du cache des rôles et priorités")
+class ReferentielCacheTest {
+
+    @MockBean
+    private RoleRepository roleRepository;
+
+    @MockBean
+    private PrioriteRepository prioriteRepository;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AutorisationService autorisationService;
+
+    @MockBean
+    private KanbanService kanbanService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PrioriteService prioriteService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Role roleMembre;
+
+    private Priorite prioriteHaute;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(nom -> cacheManager.getCache(nom).clear());
+
+        roleMembre = new Role();
+        roleMembre.setId(2);
+        roleMembre.setNom("MEMBRE");
+
+        prioriteHaute = new Priorite();
+        prioriteHaute.setId(1);
+        prioriteHaute.setNom("HAUTE");
+    }
+
+    @Test
+    @DisplayName("findByNom (rôle) - Un seul accès au repository pour des appels répétés")
+    void testRoleFindByNom_ShouldHitRepositoryOnce() {
+        // Arrange
+        when(roleRepository.findByNom("MEMBRE")).thenReturn(roleMembre);
+
+        // Act
+        Role premier = roleService.findByNom("MEMBRE");
+        Role second = roleService.findByNom("MEMBRE");
+
+        // Assert
+        assertEquals("MEMBRE", premier.getNom());
+        assertSame(premier, second, "Le second appel devrait être servi par le cache");
+        verify(roleRepository, times(1)).findByNom("MEMBRE");
+    }
+
+    @Test
+    @DisplayName("findByNom (rôle) - Un rôle inconnu n'est pas mis en cache")
+    void testRoleFindByNom_WhenUnknown_ShouldNotCacheNull() {
+        // Arrange
+        when(roleRepository.findByNom("INEXISTANT")).thenReturn(null);
+
+        // Act
+        roleService.findByNom("INEXISTANT");
+        roleService.findByNom("INEXISTANT");
+
+        // Assert
+        verify(roleRepository, times(2)).findByNom("INEXISTANT");
+    }
+
+    @Test
+    @DisplayName("save (rôle) - Invalide le cache des rôles")
+    void testRoleSave_ShouldEvictCache() {
+        // Arrange
+        when(roleRepository.findByNom("MEMBRE")).thenReturn(roleMembre);
+        when(roleRepository.save(roleMembre)).thenReturn(roleMembre);
+        roleService.findByNom("MEMBRE");
+
+        // Act
+        roleService.save(roleMembre);
+        roleService.findByNom("MEMBRE");
+
+        // Assert
+        verify(roleRepository, times(2)).findByNom("MEMBRE");
+    }
+
+    @Test
+    @DisplayName("findById (priorité) - Un seul accès au repository pour des appels répétés")
+    void testPrioriteFindById_ShouldHitRepositoryOnce() {
+        // Arrange
+        when(prioriteRepository.findById(1)).thenReturn(Optional.of(prioriteHaute));
+
+        // Act
+        Optional<Priorite> premier = prioriteService.findById(1);
+        Optional<Priorite> second = prioriteService.findById(1);
+
+        // Assert
+        assertTrue(premier.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals("HAUTE", second.get().getNom());
+        verify(prioriteRepository, times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("delete (priorité) - Invalide le cache des priorités")
+    void testPrioriteDelete_ShouldEvictCache() {
+        // Arrange
+        when(prioriteRepository.findById(1)).thenReturn(Optional.of(prioriteHaute));
+        when(prioriteRepository.findFirstByNom("HAUTE")).thenReturn(prioriteHaute);
+        prioriteService.findById(1);
+        prioriteService.findByNom("HAUTE");
+
+        // Act
+        prioriteService.delete(prioriteHaute);
+        prioriteService.findById(1);
+        prioriteService.findByNom("HAUTE");
+
+        // Assert
+        verify(prioriteRepository, times(2)).findById(1);
+        verify(prioriteRepository, times(2)).findFirstByNom("HAUTE");
+    }
+}
@@ -2,6 +2,8 @@ package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.RoleRepository;
 import com.visiplus.backend.models.Role;
+import com.visiplus.backend.services.AutorisationService;
+import com.visiplus.backend.services.KanbanService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,12 @@ class RoleServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private AutorisationService autorisationService;
+
+    @Mock
+    private KanbanService kanbanService;
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
@@ -105,5 +113,7 @@ class RoleServiceImplTest {
         assertEquals("SUPER_ADMIN", result.getNom(), "Le nom devrait être mis à jour");
         assertEquals(1, result.getId(), "L'ID devrait rester le même");
         verify(roleRepository, times(1)).save(roleTest);
+        verify(autorisationService, times(1)).invaliderTout();
+        verify(kanbanService, times(1)).invaliderTout();
     }
 }
@@ -0,0 +1,123 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.TacheSupprimeeRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.SuppressionProjetDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour SuppressionProjetServiceImpl
+ * Points d'apprentissage :
+ * - Les tâches sont supprimées par lots d'ids, chaque lot dans sa propre transaction (méthodes @Modifying)
+ * - Le projet n'est supprimé qu'après ses tâches et ses membres : aucune clé étrangère ne bloque le DELETE
+ * - executer() est appelé directement : le test ne dépend pas du thread d'arrière-plan
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service SuppressionProjet")
+class SuppressionProjetServiceImplTest {
+
+    @Mock
+    private ProjetRepository projetRepository;
+
+    @Mock
+    private TacheRepository tacheRepository;
+
+    @Mock
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @Mock
+    private TacheSupprimeeRepository tacheSupprimeeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SuppressionProjetServiceImpl suppressionProjetService;
+
+    @Test
+    @DisplayName("executer - Supprime les tâches par lots puis les membres et le projet")
+    void testExecuter_ShouldDeleteInChunksThenProjet() {
+        // Arrange : 501 tâches, soit un lot plein et un lot d'une tâche
+        List<Integer> premierLot = IntStream.rangeClosed(1, SuppressionProjetServiceImpl.TAILLE_LOT_SUPPRESSION)
+                .boxed().toList();
+        List<Integer> dernierLot = List.of(9999);
+        when(tacheRepository.countByProjetId(7)).thenReturn(501L);
+        when(tacheRepository.findIdsByProjetId(eq(7), any(Limit.class))).thenReturn(premierLot, dernierLot);
+        when(tacheRepository.deleteByIdIn(premierLot)).thenReturn(premierLot.size());
+        when(tacheRepository.deleteByIdIn(dernierLot)).thenReturn(1);
+        SuppressionProjetServiceImpl.Suppression suppression = new SuppressionProjetServiceImpl.Suppression("s1", 7, 3);
+
+        // Act
+        suppressionProjetService.executer(suppression);
+
+        // Assert
+        SuppressionProjetDTO statut = suppression.instantane();
+        assertEquals(SuppressionProjetDTO.TERMINEE, statut.getEtat());
+        assertEquals(501, statut.getTaches_total());
+        assertEquals(501, statut.getTaches_supprimees());
+        assertNotNull(statut.getDate_fin());
+        // Lot incomplet : pas de relecture après le dernier lot
+        verify(tacheRepository, times(2)).findIdsByProjetId(eq(7), any(Limit.class));
+
+        InOrder ordre = inOrder(projetRepository, tacheRepository, userRoleProjetRepository);
+        ordre.verify(projetRepository).deleteProjetTacheRelationsByTacheIds(premierLot);
+        ordre.verify(tacheRepository).deleteByIdIn(premierLot);
+        ordre.verify(tacheRepository).deleteByIdIn(dernierLot);
+        ordre.verify(userRoleProjetRepository).deleteByProjetId(7);
+        ordre.verify(projetRepository).deleteProjetById(7);
+        verify(tacheSupprimeeRepository).deleteByProjetId(7);
+
+        ArgumentCaptor<ProjetEvenementDTO> evenement = ArgumentCaptor.forClass(ProjetEvenementDTO.class);
+        verify(eventPublisher).publishEvent(evenement.capture());
+        assertEquals(ProjetEvenementDTO.PROJET_SUPPRIME, evenement.getValue().getType());
+        assertEquals(7, evenement.getValue().getProjet_id());
+        assertEquals(3, evenement.getValue().getUtilisateur_id(), "L'auteur de la suppression suit l'événement");
+    }
+
+    @Test
+    @DisplayName("executer - Une erreur passe la suppression en ECHEC sans publier PROJET_SUPPRIME")
+    void testExecuter_WhenDeleteFails_ShouldReportEchec() {
+        // Arrange
+        when(tacheRepository.findIdsByProjetId(eq(7), any(Limit.class))).thenReturn(List.of());
+        when(projetRepository.deleteProjetById(7)).thenThrow(new RuntimeException("Erreur de contrainte FK"));
+        SuppressionProjetServiceImpl.Suppression suppression = new SuppressionProjetServiceImpl.Suppression("s2", 7, null);
+
+        // Act
+        suppressionProjetService.executer(suppression);
+
+        // Assert
+        SuppressionProjetDTO statut = suppression.instantane();
+        assertEquals(SuppressionProjetDTO.ECHEC, statut.getEtat());
+        assertEquals("Erreur de contrainte FK", statut.getErreur());
+        assertNotNull(statut.getDate_fin());
+        verify(tacheRepository, never()).deleteByIdIn(any());
+        verifyNoInteractions(eventPublisher);
+        // Le suivi reste consultable après la fin
+        assertEquals(SuppressionProjetDTO.ECHEC, suppressionProjetService.statut("s2").getEtat());
+    }
+
+    @Test
+    @DisplayName("statut - null pour une suppression inconnue")
+    void testStatut_WhenUnknown_ShouldReturnNull() {
+        assertNull(suppressionProjetService.statut("inconnue"));
+    }
+}
@@ -0,0 +1,200 @@
+package com.visiplus.backend.services.impl;
+
+import com.visiplus.backend.dao.ProjetRepository;
+import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dto.CompteurTachesDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TableauDeBordDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour TableauDeBordServiceImpl
+ * Points d'apprentissage :
+ * - Les tâches du projet ne sont lues qu'une fois : les ouvertures suivantes sont servies par les compteurs
+ * - Les événements de TacheServiceImpl décrémentent l'ancien état et incrémentent le nouveau
+ * - La réconciliation compare les compteurs à un GROUP BY et ne relit le projet qu'en cas d'écart
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service Tableau de bord")
+class TableauDeBordServiceImplTest {
+
+    private static final long UN_JOUR_MS = TimeUnit.DAYS.toMillis(1);
+
+    @Mock
+    private TacheRepository tacheRepository;
+
+    @Mock
+    private ProjetRepository projetRepository;
+
+    @InjectMocks
+    private TableauDeBordServiceImpl tableauDeBordService;
+
+    @Test
+    @DisplayName("getTableauDeBord - Compte par état, priorité, destinataire et retard, en une seule lecture")
+    void testGetTableauDeBord_ShouldCountAndLoadOnce() {
+        // Arrange
+        Date hier = new Date(System.currentTimeMillis() - 2 * UN_JOUR_MS);
+        when(tacheRepository.findModifieesDepuis(eq(1), any(Date.class))).thenReturn(Arrays.asList(
+                tacheDTO(1, "TODO", 1, 2, hier),
+                tacheDTO(2, "DONE", 1, 2, hier),
+                tacheDTO(3, "IN_PROGRESS", 2, null, null)));
+
+        // Act
+        TableauDeBordDTO tableau = tableauDeBordService.getTableauDeBord(1);
+        tableauDeBordService.getTableauDeBord(1);
+
+        // Assert
+        assertEquals(3, tableau.getTotal());
+        assertEquals(1, tableau.getPar_etat().get("TODO"));
+        assertEquals(1, tableau.getPar_etat().get("DONE"));
+        assertEquals(2, tableau.getPar_priorite().get(1));
+        assertEquals(2, tableau.getPar_destinataire().get(2));
+        assertEquals(1, tableau.getNon_assignees());
+        assertEquals(1, tableau.getEn_retard(), "Une tâche terminée n'est pas en retard");
+        verify(tacheRepository, times(1)).findModifieesDepuis(eq(1), any(Date.class));
+        verifyNoInteractions(projetRepository);
+    }
+
+    @Test
+    @DisplayName("getTableauDeBord - Retourne null pour un projet inexistant")
+    void testGetTableauDeBord_WhenProjetDoesNotExist_ShouldReturnNull() {
+        // Arrange
+        when(tacheRepository.findModifieesDepuis(eq(999), any(Date.class))).thenReturn(Collections.emptyList());
+        when(projetRepository.existsById(999)).thenReturn(false);
+
+        // Act
+        TableauDeBordDTO tableau = tableauDeBordService.getTableauDeBord(999);
+
+        // Assert
+        assertNull(tableau, "Aucun tableau de bord pour un projet inexistant");
+    }
+
+    @Test
+    @DisplayName("appliquer - Une modification déplace la tâche d'un compteur à l'autre sans relire la base")
+    void testAppliquer_ShouldMoveTaskBetweenCounters() {
+        // Arrange
+        when(tacheRepository.findModifieesDepuis(eq(1), any(Date.class))).thenReturn(Collections.singletonList(
+                tacheDTO(1, "TODO", 1, 2, null)));
+        tableauDeBordService.getTableauDeBord(1);
+
+        // Act
+        tableauDeBordService.appliquer(evenement(ProjetEvenementDTO.TACHE_MODIFIEE, tacheDTO(1, "DONE", 3, 4, null)));
+        tableauDeBordService.appliquer(evenement(ProjetEvenementDTO.TACHE_CREEE, tacheDTO(2, "TODO", 3, null, null)));
+        TableauDeBordDTO tableau = tableauDeBordService.getTableauDeBord(1);
+
+        // Assert
+        assertEquals(2, tableau.getTotal());
+        assertEquals(1, tableau.getPar_etat().get("DONE"));
+        assertEquals(1, tableau.getPar_etat().get("TODO"));
+        assertEquals(2, tableau.getPar_priorite().get(3));
+        assertFalse(tableau.getPar_priorite().containsKey(1), "Un compteur retombé à zéro disparaît");
+        assertFalse(tableau.getPar_destinataire().containsKey(2));
+        assertEquals(1, tableau.getNon_assignees());
+        verify(tacheRepository, times(1)).findModifieesDepuis(eq(1), any(Date.class));
+    }
+
+    @Test
+    @DisplayName("appliquer - Une suppression décrémente les compteurs et le retard")
+    void testAppliquer_WhenDeleted_ShouldDecrement() {
+        // Arrange
+        Date depassee = new Date(System.currentTimeMillis() - 3 * UN_JOUR_MS);
+        when(tacheRepository.findModifieesDepuis(eq(1), any(Date.class))).thenReturn(Collections.singletonList(
+                tacheDTO(1, "TODO", 1, 2, depassee)));
+        assertEquals(1, tableauDeBordService.getTableauDeBord(1).getEn_retard());
+
+        ProjetEvenementDTO suppression = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_SUPPRIMEE, 1);
+        suppression.setTache_id(1);
+
+        // Act
+        tableauDeBordService.appliquer(suppression);
+        TableauDeBordDTO tableau = tableauDeBordService.getTableauDeBord(1);
+
+        // Assert
+        assertEquals(0, tableau.getTotal());
+        assertEquals(0, tableau.getEn_retard());
+        assertTrue(tableau.getPar_etat().isEmpty());
+    }
+
+    @Test
+    @DisplayName("appliquer - Un projet jamais ouvert n'est pas chargé par les événements")
+    void testAppliquer_WhenProjetNotLoaded_ShouldIgnore() {
+        // Act
+        tableauDeBordService.appliquer(evenement(ProjetEvenementDTO.TACHE_CREEE, tacheDTO(1, "TODO", 1, 2, null)));
+
+        // Assert
+        verifyNoInteractions(tacheRepository, projetRepository);
+    }
+
+    @Test
+    @DisplayName("reconcilier - Ne relit rien quand les compteurs correspondent au GROUP BY")
+    void testReconcilier_WhenInSync_ShouldNotReload() {
+        // Arrange
+        when(tacheRepository.findModifieesDepuis(eq(1), any(Date.class))).thenReturn(Arrays.asList(
+                tacheDTO(1, "TODO", 1, 2, null), tacheDTO(2, "TODO", 1, 2, null)));
+        tableauDeBordService.getTableauDeBord(1);
+        when(tacheRepository.findCompteursParProjet(anyCollection())).thenReturn(Collections.singletonList(
+                new CompteurTachesDTO(1, "TODO", 1, 2, 2)));
+
+        // Act
+        tableauDeBordService.reconcilier();
+
+        // Assert
+        verify(tacheRepository, times(1)).findModifieesDepuis(anyInt(), any(Date.class));
+    }
+
+    @Test
+    @DisplayName("reconcilier - Recharge un projet dont les compteurs ont dérivé")
+    void testReconcilier_WhenDrifted_ShouldReload() {
+        // Arrange : une tâche a été ajoutée en base sans événement
+        when(tacheRepository.findModifieesDepuis(eq(1), any(Date.class)))
+                .thenReturn(Collections.singletonList(tacheDTO(1, "TODO", 1, 2, null)))
+                .thenReturn(Arrays.asList(tacheDTO(1, "TODO", 1, 2, null), tacheDTO(2, "TODO", 1, 2, null)));
+        tableauDeBordService.getTableauDeBord(1);
+        when(tacheRepository.findCompteursParProjet(anyCollection())).thenReturn(Collections.singletonList(
+                new CompteurTachesDTO(1, "TODO", 1, 2, 2)));
+
+        // Act
+        tableauDeBordService.reconcilier();
+
+        // Assert
+        assertEquals(2, tableauDeBordService.getTableauDeBord(1).getTotal());
+        verify(tacheRepository, times(2)).findModifieesDepuis(eq(1), any(Date.class));
+    }
+
+    @Test
+    @DisplayName("reconcilier - Aucune requête tant qu'aucun tableau de bord n'a été ouvert")
+    void testReconcilier_WhenNothingLoaded_ShouldSkip() {
+        tableauDeBordService.reconcilier();
+
+        verifyNoInteractions(tacheRepository);
+    }
+
+    private ProjetEvenementDTO evenement(String type, TacheDTO tache) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(type, tache.getProjet_id());
+        evenement.setTache_id(tache.getId());
+        evenement.setTache(tache);
+        return evenement;
+    }
+
+    private TacheDTO tacheDTO(int id, String etat, Integer prioriteId, Integer destinataireId, Date dateFin) {
+        return new TacheDTO(id, "Tache " + id, null, etat, null, dateFin, 1, prioriteId, null, 1, destinataireId);
+    }
+}
@@ -1,24 +1,49 @@
 package com.visiplus.backend.services.impl;
 
+import com.visiplus.backend.dao.PrioriteRepository;
+import com.visiplus.backend.dao.ProjetRepository;
 import com.visiplus.backend.dao.TacheRepository;
+import com.visiplus.backend.dao.TacheSupprimeeRepository;
+import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dao.UtilisateurRepository;
+import com.visiplus.backend.dto.KeysetPageDTO;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.TacheBulkResultatDTO;
+import com.visiplus.backend.dto.TacheChangementsDTO;
+import com.visiplus.backend.dto.TacheDTO;
+import com.visiplus.backend.dto.TacheRequest;
+import com.visiplus.backend.models.Priorite;
+import com.visiplus.backend.models.Projet;
 import com.visiplus.backend.models.Tache;
+import com.visiplus.backend.models.TacheSupprimee;
 import com.visiplus.backend.models.Utilisateur;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +53,10 @@ import static org.mockito.Mockito.*;
  * - Tester une logique métier complexe (mise à jour partielle)
  * - Vérifier que seuls les champs modifiés sont mis à jour
  * - Tester les suppressions avec vérification d'existence
+ * - Tester les traitements en masse : références résolues en une requête IN, résultat par élément
+ * - Vérifier les événements publiés pour le flux SSE du projet
+ * - Tester la synchronisation par filigrane (lignes modifiées + suppressions)
+ * - Tester le journal des versions : champs modifiés d'une version à l'autre, pour fusionner ou refuser un PATCH
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests du service Tache")
@@ -36,6 +65,27 @@ class TacheServiceImplTest {
     @Mock
     private TacheRepository tacheRepository;
 
+    @Mock
+    private ProjetRepository projetRepository;
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private PrioriteRepository prioriteRepository;
+
+    @Mock
+    private TacheSupprimeeRepository tacheSupprimeeRepository;
+
+    @Mock
+    private UserRoleProjetRepository userRoleProjetRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private TacheServiceImpl tacheService;
 
@@ -217,6 +267,33 @@ class TacheServiceImplTest {
         verify(tacheRepository, times(1)).findByProjetId(1);
     }
 
+    @Test
+    @DisplayName("parcourirParProjetId - Lit par lots sur la clé, détache chaque lot une fois traité")
+    void testParcourirParProjetId_ShouldReadByKeysetAndDetach() {
+        // Arrange : un lot plein puis un lot incomplet, qui termine le parcours
+        List<Tache> premierLot = new ArrayList<>();
+        for (int i = 1; i <= TacheServiceImpl.TAILLE_LOT_EXPORT; i++) {
+            Tache tache = new Tache();
+            tache.setId(i);
+            premierLot.add(tache);
+        }
+        Tache derniere = new Tache();
+        derniere.setId(TacheServiceImpl.TAILLE_LOT_EXPORT + 1);
+        when(tacheRepository.findByProjetIdAndIdGreaterThanOrderById(eq(1), eq(0), any(Limit.class))).thenReturn(premierLot);
+        when(tacheRepository.findByProjetIdAndIdGreaterThanOrderById(eq(1), eq(TacheServiceImpl.TAILLE_LOT_EXPORT), any(Limit.class)))
+                .thenReturn(Collections.singletonList(derniere));
+        List<Integer> tailles = new ArrayList<>();
+
+        // Act
+        tacheService.parcourirParProjetId(1, lot -> tailles.add(lot.size()));
+
+        // Assert
+        assertEquals(Arrays.asList(TacheServiceImpl.TAILLE_LOT_EXPORT, 1), tailles);
+        verify(tacheRepository, times(2)).findByProjetIdAndIdGreaterThanOrderById(eq(1), anyInt(), any(Limit.class));
+        verify(entityManager, times(TacheServiceImpl.TAILLE_LOT_EXPORT + 1)).detach(any(Tache.class));
+        verify(tacheRepository, never()).findByProjetId(anyInt());
+    }
+
     @Test
     @DisplayName("save - Devrait sauvegarder une tâche")
     void testSave_ShouldSaveTache() {
@@ -262,4 +339,493 @@ class TacheServiceImplTest {
         verify(tacheRepository, times(1)).findById(999);
         verify(tacheRepository, never()).deleteById(anyInt());
     }
+
+    @Test
+    @DisplayName("findPageByProjetId - Devrait retourner un curseur quand il reste des tâches")
+    void testFindPageByProjetId_WhenMoreRows_ShouldReturnCursor() {
+        // Arrange : le repository renvoie size + 1 lignes
+        TacheDTO t1 = new TacheDTO(1, "T1", null, "TODO", null, null, 1, null, null, 2, 1);
+        TacheDTO t2 = new TacheDTO(2, "T2", null, "TODO", null, new Date(1000L), 1, null, null, 2, 1);
+        TacheDTO t3 = new TacheDTO(3, "T3", null, "TODO", null, new Date(2000L), 1, null, null, 2, 1);
+        when(tacheRepository.findPageByProjetId(1, null, null, null, null, null, false, 3))
+                .thenReturn(Arrays.asList(t1, t2, t3));
+
+        // Act
+        KeysetPageDTO<TacheDTO> page = tacheService.findPageByProjetId(1, null, null, null, null, 2, false);
+
+        // Assert
+        assertEquals(2, page.getItems().size(), "La page devrait contenir 2 tâches");
+        assertTrue(page.isHas_more(), "Il devrait rester des tâches");
+        assertNotNull(page.getNext_cursor(), "Un curseur devrait être fourni");
+    }
+
+    @Test
+    @DisplayName("findPageByProjetId - Le curseur devrait reprendre après la dernière tâche")
+    void testFindPageByProjetId_WithCursor_ShouldResumeAfterLastRow() {
+        // Arrange
+        TacheDTO derniere = new TacheDTO(2, "T2", null, "TODO", null, new Date(1000L), 1, null, null, 2, 1);
+        TacheDTO suivante = new TacheDTO(3, "T3", null, "TODO", null, new Date(2000L), 1, null, null, 2, 1);
+        when(tacheRepository.findPageByProjetId(1, null, null, null, null, null, false, 2))
+                .thenReturn(Arrays.asList(derniere, suivante));
+        String cursor = tacheService.findPageByProjetId(1, null, null, null, null, 1, false).getNext_cursor();
+
+        when(tacheRepository.findPageByProjetId(eq(1), isNull(), isNull(), isNull(),
+                eq(new Date(1000L)), eq(2), eq(false), eq(2)))
+                .thenReturn(Arrays.asList(suivante));
+
+        // Act
+        KeysetPageDTO<TacheDTO> page = tacheService.findPageByProjetId(1, null, null, null, cursor, 1, false);
+
+        // Assert
+        assertEquals(1, page.getItems().size(), "La page suivante devrait contenir 1 tâche");
+        assertEquals(3, page.getItems().get(0).getId(), "La page suivante devrait commencer après la tâche 2");
+        assertFalse(page.isHas_more(), "Il ne devrait plus rester de tâches");
+        assertNull(page.getNext_cursor(), "Aucun curseur sur la dernière page");
+    }
+
+    @Test
+    @DisplayName("findPageByProjetId - Devrait rejeter un curseur invalide")
+    void testFindPageByProjetId_WithInvalidCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> tacheService.findPageByProjetId(1, null, null, null, "invalide", 10, false));
+        verify(tacheRepository, never()).findPageByProjetId(anyInt(), any(), any(), any(), any(), any(),
+                anyBoolean(), anyInt());
+    }
+
+    @Test
+    @DisplayName("createBulk - Devrait créer les tâches valides et signaler les erreurs par élément")
+    void testCreateBulk_ShouldCreateValidItemsAndReportErrors() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(1);
+        Priorite haute = new Priorite();
+        haute.setId(1);
+        haute.setNom("HAUTE");
+
+        when(projetRepository.findAllById(any())).thenReturn(Arrays.asList(projet));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(destinataire, commanditaire));
+        when(prioriteRepository.findAllById(any())).thenReturn(Arrays.asList(haute));
+        when(tacheRepository.findNomsExistants(any())).thenReturn(Arrays.asList("Existante"));
+        when(tacheRepository.saveAll(any())).thenAnswer(invocation -> {
+            int id = 100;
+            for (Tache tache : (Iterable<Tache>) invocation.getArgument(0)) {
+                tache.setId(id++);
+            }
+            // JpaRepository.saveAll retourne une List : on ne renvoie pas la vue passée en argument
+            return new ArrayList<>((Collection<Tache>) invocation.getArgument(0));
+        });
+
+        List<TacheRequest> requetes = Arrays.asList(
+                requete("Nouvelle", 1, 1),
+                requete("Nouvelle", 1, 1),
+                requete("Existante", 1, 1),
+                requete("Sans projet", 99, 1),
+                requete("Priorité inconnue", 1, 42));
+
+        // Act
+        List<TacheBulkResultatDTO> resultats = tacheService.createBulk(requetes);
+
+        // Assert
+        assertEquals(5, resultats.size(), "Un résultat par élément du lot");
+        assertTrue(resultats.get(0).isSuccess(), "La première tâche devrait être créée");
+        assertEquals(100, resultats.get(0).getId(), "L'id attribué devrait être retourné");
+        assertEquals("Tache existe deja", resultats.get(1).getMessage(), "Doublon dans le lot");
+        assertEquals("Tache existe deja", resultats.get(2).getMessage(), "Nom déjà en base");
+        assertEquals("Projet inconnu", resultats.get(3).getMessage());
+        assertEquals("Priorité inconnue", resultats.get(4).getMessage());
+
+        // Un seul saveAll, aucune recherche unitaire
+        verify(tacheRepository, times(1)).saveAll(argThat(taches -> ((Collection<Tache>) taches).size() == 1));
+        verify(tacheRepository, never()).findByNom(any());
+        verify(projetRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("createBulk - Un élément rejeté ne réserve pas son nom pour la suite du lot")
+    void testCreateBulk_WhenItemRejected_ShouldNotReserveName() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(1);
+        Priorite haute = new Priorite();
+        haute.setId(1);
+
+        when(projetRepository.findAllById(any())).thenReturn(Arrays.asList(projet));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(destinataire, commanditaire));
+        when(prioriteRepository.findAllById(any())).thenReturn(Arrays.asList(haute));
+        when(tacheRepository.findNomsExistants(any())).thenReturn(Collections.emptyList());
+        when(tacheRepository.saveAll(any())).thenAnswer(invocation -> new ArrayList<>((Collection<Tache>) invocation.getArgument(0)));
+
+        List<TacheRequest> requetes = Arrays.asList(
+                requete("Même nom", 99, 1),
+                requete("Même nom", 1, 1));
+
+        // Act
+        List<TacheBulkResultatDTO> resultats = tacheService.createBulk(requetes);
+
+        // Assert
+        assertEquals("Projet inconnu", resultats.get(0).getMessage());
+        assertTrue(resultats.get(1).isSuccess(), "Le nom n'a pas été pris par l'élément rejeté");
+    }
+
+    @Test
+    @DisplayName("createBulk - Un nom pris pendant l'INSERT groupé n'échoue que pour son élément")
+    void testCreateBulk_WhenSaveAllViolatesUnique_ShouldFallBackPerItem() {
+        // Arrange : "Prise" est créée par une autre requête entre la vérification et l'INSERT
+        Projet projet = new Projet();
+        projet.setId(1);
+        Priorite haute = new Priorite();
+        haute.setId(1);
+
+        when(projetRepository.findAllById(any())).thenReturn(Arrays.asList(projet));
+        when(utilisateurRepository.findAllById(any())).thenReturn(Arrays.asList(destinataire, commanditaire));
+        when(prioriteRepository.findAllById(any())).thenReturn(Arrays.asList(haute));
+        when(tacheRepository.findNomsExistants(any())).thenReturn(Collections.emptyList());
+        DataIntegrityViolationException doublon = new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Duplicate entry 'Prise' for key 'uk_tache_nom'"));
+        when(tacheRepository.saveAll(any())).thenThrow(doublon);
+        when(tacheRepository.save(any(Tache.class))).thenAnswer(invocation -> {
+            Tache tache = invocation.getArgument(0);
+            if ("Prise".equals(tache.getNom())) {
+                throw doublon;
+            }
+            tache.setId(200);
+            return tache;
+        });
+
+        // Act
+        List<TacheBulkResultatDTO> resultats = tacheService.createBulk(Arrays.asList(
+                requete("Prise", 1, 1),
+                requete("Libre", 1, 1)));
+
+        // Assert
+        assertFalse(resultats.get(0).isSuccess());
+        assertEquals("Tache existe deja", resultats.get(0).getMessage());
+        assertNull(resultats.get(0).getId());
+        assertTrue(resultats.get(1).isSuccess(), "Les autres éléments du lot sont tout de même créés");
+        assertEquals(200, resultats.get(1).getId());
+        verify(tacheRepository, times(2)).save(any(Tache.class));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("createBulk - Devrait rejeter un lot vide")
+    void testCreateBulk_WhenEmpty_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> tacheService.createBulk(Collections.emptyList()));
+        verifyNoInteractions(tacheRepository, projetRepository, utilisateurRepository, prioriteRepository);
+    }
+
+    @Test
+    @DisplayName("updateBulk - Devrait appliquer les champs renseignés et signaler les tâches inconnues")
+    void testUpdateBulk_ShouldApplyFieldsAndReportUnknownTasks() {
+        // Arrange
+        when(tacheRepository.findByIdIn(any())).thenReturn(Arrays.asList(tacheTest));
+        when(tacheRepository.saveAll(any())).thenAnswer(invocation -> new ArrayList<>((Collection<Tache>) invocation.getArgument(0)));
+
+        TacheRequest connue = new TacheRequest();
+        connue.setId(1);
+        connue.setEtat("DONE");
+        TacheRequest inconnue = new TacheRequest();
+        inconnue.setId(42);
+        inconnue.setEtat("DONE");
+
+        // Act
+        List<TacheBulkResultatDTO> resultats = tacheService.updateBulk(Arrays.asList(connue, inconnue));
+
+        // Assert
+        assertTrue(resultats.get(0).isSuccess(), "La tâche existante devrait être mise à jour");
+        assertEquals("DONE", tacheTest.getEtat(), "L'état devrait être appliqué");
+        assertEquals("Tâche Test", tacheTest.getNom(), "Les champs absents ne devraient pas changer");
+        assertFalse(resultats.get(1).isSuccess(), "La tâche inconnue devrait être en erreur");
+        assertEquals(42, resultats.get(1).getId());
+
+        // Un seul saveAll pour le lot, pas de save ni de recherche unitaire ; aucun renommage, aucun contrôle de nom
+        verify(tacheRepository, times(1)).saveAll(argThat(taches -> ((Collection<Tache>) taches).size() == 1));
+        verify(tacheRepository, never()).save(any(Tache.class));
+        verify(tacheRepository, never()).findById(anyInt());
+        verify(tacheRepository, never()).findNomsExistants(any());
+    }
+
+    @Test
+    @DisplayName("updateBulk - Un renommage vers un nom déjà pris n'échoue que pour son élément")
+    void testUpdateBulk_WhenRenamedToTakenName_ShouldRejectOnlyThatItem() {
+        // Arrange : "Existante" est en base, "Libre" est demandé deux fois dans le lot
+        Tache autre = tache(2, "Autre");
+        Tache troisieme = tache(3, "Troisième");
+        Tache quatrieme = tache(4, "Quatrième");
+        when(tacheRepository.findByIdIn(any())).thenReturn(Arrays.asList(tacheTest, autre, troisieme, quatrieme));
+        when(tacheRepository.findNomsExistants(any())).thenReturn(Arrays.asList("Existante"));
+        when(tacheRepository.saveAll(any())).thenAnswer(invocation -> new ArrayList<>((Collection<Tache>) invocation.getArgument(0)));
+
+        // Act
+        List<TacheBulkResultatDTO> resultats = tacheService.updateBulk(Arrays.asList(
+                renommage(1, "Existante"),
+                renommage(2, "Autre"),
+                renommage(3, "Libre"),
+                renommage(4, "Libre")));
+
+        // Assert
+        assertFalse(resultats.get(0).isSuccess());
+        assertEquals("Tache existe deja", resultats.get(0).getMessage());
+        assertEquals("Tâche Test", tacheTest.getNom(), "La tâche rejetée garde son nom");
+        assertTrue(resultats.get(1).isSuccess(), "Garder son propre nom n'est pas un renommage");
+        assertTrue(resultats.get(2).isSuccess());
+        assertEquals("Libre", troisieme.getNom());
+        assertFalse(resultats.get(3).isSuccess(), "Un nom déjà donné dans le lot est refusé");
+        assertEquals("Tache existe deja", resultats.get(3).getMessage());
+        assertEquals("Quatrième", quatrieme.getNom());
+
+        // Le nom conservé n'est pas interrogé, seuls les éléments valides partent dans le lot
+        verify(tacheRepository).findNomsExistants(argThat(noms -> !noms.contains("Autre") && noms.size() == 2));
+        verify(tacheRepository, times(1)).saveAll(argThat(taches -> ((Collection<Tache>) taches).size() == 2));
+    }
+
+    @Test
+    @DisplayName("updateBulk - Un nom pris pendant l'UPDATE groupé n'échoue que pour son élément")
+    void testUpdateBulk_WhenSaveAllViolatesUnique_ShouldFallBackPerItem() {
+        // Arrange : "Prise" est donnée à une autre tâche entre la vérification et l'UPDATE
+        tacheTest.setVersion(3);
+        Tache autre = tache(2, "Autre");
+        autre.setVersion(7);
+        when(tacheRepository.findByIdIn(any())).thenReturn(Arrays.asList(tacheTest, autre));
+        when(tacheRepository.findNomsExistants(any())).thenReturn(Collections.emptyList());
+        DataIntegrityViolationException doublon = new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Duplicate entry 'Prise' for key 'uk_tache_nom'"));
+        when(tacheRepository.saveAll(any())).thenAnswer(invocation -> {
+            // Le flush annulé a déjà incrémenté les versions en mémoire
+            for (Tache tache : (Iterable<Tache>) invocation.getArgument(0)) {
+                tache.setVersion(tache.getVersion() + 1);
+            }
+            throw doublon;
+        });
+        List<Long> versionsEnvoyees = new ArrayList<>();
+        when(tacheRepository.save(any(Tache.class))).thenAnswer(invocation -> {
+            Tache tache = invocation.getArgument(0);
+            versionsEnvoyees.add(tache.getVersion());
+            if ("Prise".equals(tache.getNom())) {
+                throw doublon;
+            }
+            return tache;
+        });
+
+        // Act
+        List<TacheBulkResultatDTO> resultats = tacheService.updateBulk(Arrays.asList(
+                renommage(1, "Prise"),
+                renommage(2, "Libre")));
+
+        // Assert
+        assertFalse(resultats.get(0).isSuccess());
+        assertEquals("Tache existe deja", resultats.get(0).getMessage());
+        assertTrue(resultats.get(1).isSuccess(), "Les autres éléments du lot sont tout de même modifiés");
+        assertEquals(Arrays.asList(3L, 7L), versionsEnvoyees, "Chaque tâche repart de la version lue au chargement");
+        verify(tacheRepository, times(2)).save(any(Tache.class));
+    }
+
+    private Tache tache(int id, String nom) {
+        Tache tache = new Tache();
+        tache.setId(id);
+        tache.setNom(nom);
+        return tache;
+    }
+
+    private TacheRequest renommage(int id, String nom) {
+        TacheRequest requete = new TacheRequest();
+        requete.setId(id);
+        requete.setNom(nom);
+        return requete;
+    }
+
+    private TacheRequest requete(String nom, int projetId, int prioriteId) {
+        TacheRequest requete = new TacheRequest();
+        requete.setNom(nom);
+        requete.setProjet_id(projetId);
+        requete.setCommanditaire_id(2);
+        requete.setDestinataire_id(1);
+        requete.setPriorite_id(prioriteId);
+        return requete;
+    }
+
+    @Test
+    @DisplayName("create - Devrait publier un événement TACHE_CREEE pour le projet")
+    void testCreate_ShouldPublishEvent() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(7);
+        tacheTest.setProjet(projet);
+        when(tacheRepository.save(tacheTest)).thenReturn(tacheTest);
+
+        // Act
+        tacheService.create(tacheTest);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(argThat((ProjetEvenementDTO evenement) ->
+                ProjetEvenementDTO.TACHE_CREEE.equals(evenement.getType())
+                        && evenement.getProjet_id() == 7
+                        && "Tâche Test".equals(evenement.getTache().getNom())));
+    }
+
+    @Test
+    @DisplayName("deleteByID - Devrait publier un événement TACHE_SUPPRIMEE sans instantané")
+    void testDeleteByID_ShouldPublishDeletionEvent() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(7);
+        tacheTest.setProjet(projet);
+        when(tacheRepository.findById(1)).thenReturn(Optional.of(tacheTest));
+
+        // Act
+        tacheService.deleteByID(1);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(argThat((ProjetEvenementDTO evenement) ->
+                ProjetEvenementDTO.TACHE_SUPPRIMEE.equals(evenement.getType())
+                        && evenement.getTache_id() == 1
+                        && evenement.getTache() == null));
+        verify(tacheSupprimeeRepository, times(1)).save(argThat((TacheSupprimee trace) ->
+                trace.getTache_id() == 1 && trace.getProjet_id() == 7));
+    }
+
+    @Test
+    @DisplayName("updatePartial - L'événement porte l'état d'avant la modification pour l'historique")
+    void testUpdatePartial_ShouldPublishSnapshotBeforeUpdate() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(7);
+        tacheTest.setProjet(projet);
+        Tache updateTache = new Tache();
+        updateTache.setNom("Nouveau Nom");
+        updateTache.setDescription(tacheTest.getDescription());
+        updateTache.setDate_debut(tacheTest.getDate_debut());
+        updateTache.setDate_fin(tacheTest.getDate_fin());
+        when(tacheRepository.save(tacheTest)).thenReturn(tacheTest);
+
+        // Act
+        tacheService.updatePartial(1, tacheTest, updateTache);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(argThat((ProjetEvenementDTO evenement) ->
+                ProjetEvenementDTO.TACHE_MODIFIEE.equals(evenement.getType())
+                        && "Tâche Test".equals(evenement.getAvant().getNom())
+                        && "Nouveau Nom".equals(evenement.getTache().getNom())));
+    }
+
+    private static ProjetEvenementDTO modification(TacheDTO avant, TacheDTO apres) {
+        ProjetEvenementDTO evenement = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_MODIFIEE, 1);
+        evenement.setTache_id(apres.getId());
+        evenement.setTache(apres);
+        evenement.setAvant(avant);
+        return evenement;
+    }
+
+    @Test
+    @DisplayName("champsModifiesDepuis - Cumule les champs modifiés de version en version")
+    void testChampsModifiesDepuis_ShouldAccumulateFields() {
+        // Arrange : v0 -> v1 change l'état, v1 -> v2 la description
+        tacheService.journaliserVersion(modification(
+                new TacheDTO(4, "T4", "d", "TODO", null, null, 1, null, null, 1, 2, 0),
+                new TacheDTO(4, "T4", "d", "DONE", null, null, 1, null, null, 1, 2, 1)));
+        tacheService.journaliserVersion(modification(
+                new TacheDTO(4, "T4", "d", "DONE", null, null, 1, null, null, 1, 2, 1),
+                new TacheDTO(4, "T4", "d2", "DONE", null, null, 1, null, null, 1, 2, 2)));
+
+        // Act
+        Set<String> depuisV0 = tacheService.champsModifiesDepuis(4, 0, 2);
+        Set<String> depuisV1 = tacheService.champsModifiesDepuis(4, 1, 2);
+
+        // Assert
+        assertEquals(Set.of("etat", "description"), depuisV0);
+        assertEquals(Set.of("description"), depuisV1);
+    }
+
+    @Test
+    @DisplayName("champsModifiesDepuis - null si une étape manque : le contrôleur répond par un conflit")
+    void testChampsModifiesDepuis_WhenStepUnknown_ShouldReturnNull() {
+        // Arrange : seule v1 -> v2 est connue
+        tacheService.journaliserVersion(modification(
+                new TacheDTO(4, "T4", null, "TODO", null, null, 1, null, null, 1, 2, 1),
+                new TacheDTO(4, "T4", null, "DONE", null, null, 1, null, null, 1, 2, 2)));
+
+        // Act & Assert
+        assertNull(tacheService.champsModifiesDepuis(4, 0, 2));
+        assertNull(tacheService.champsModifiesDepuis(5, 1, 2), "Le journal est propre à chaque tâche");
+    }
+
+    @Test
+    @DisplayName("journaliserVersion - Ignore les événements sans changement de version")
+    void testJournaliserVersion_WhenVersionUnchanged_ShouldIgnore() {
+        // Arrange : projections sans version (recherche, échéances) et création
+        TacheDTO sansVersion = new TacheDTO(4, "T4", null, "TODO", null, null, 1, null, null, 1, 2);
+        ProjetEvenementDTO creation = new ProjetEvenementDTO(ProjetEvenementDTO.TACHE_CREEE, 1);
+        creation.setTache(new TacheDTO(4, "T4", null, "TODO", null, null, 1, null, null, 1, 2, 0));
+
+        // Act
+        tacheService.journaliserVersion(modification(sansVersion, sansVersion));
+        tacheService.journaliserVersion(creation);
+
+        // Assert
+        assertNull(tacheService.champsModifiesDepuis(4, 0, 1));
+    }
+
+    @Test
+    @DisplayName("save - Flush avant de publier : l'événement porte la version incrémentée")
+    void testSave_ShouldFlushBeforePublishing() {
+        // Arrange
+        Projet projet = new Projet();
+        projet.setId(7);
+        tacheTest.setProjet(projet);
+        when(tacheRepository.save(tacheTest)).thenReturn(tacheTest);
+
+        // Act
+        tacheService.save(tacheTest, new TacheDTO(tacheTest));
+
+        // Assert
+        InOrder ordre = inOrder(tacheRepository, eventPublisher);
+        ordre.verify(tacheRepository).save(tacheTest);
+        ordre.verify(tacheRepository).flush();
+        ordre.verify(eventPublisher).publishEvent(any(ProjetEvenementDTO.class));
+    }
+
+    @Test
+    @DisplayName("findChangementsByProjetId - Devrait ne lire que les lignes modifiées depuis le filigrane")
+    void testFindChangements_ShouldReturnDeltaSinceWatermark() {
+        // Arrange
+        long since = System.currentTimeMillis() - 60_000L;
+        Date depuis = new Date(since);
+        TacheDTO modifiee = new TacheDTO(3, "T3", null, "DONE", null, null, 1, null, null, 2, 1);
+        when(tacheRepository.findModifieesDepuis(1, depuis)).thenReturn(Arrays.asList(modifiee));
+        when(tacheSupprimeeRepository.findTacheIdsSupprimeesDepuis(1, depuis)).thenReturn(Arrays.asList(2));
+        when(projetRepository.findResumeModifieDepuis(1, depuis)).thenReturn(Optional.empty());
+        when(userRoleProjetRepository.findMembresModifiesDepuis(1, depuis)).thenReturn(Collections.emptyList());
+
+        // Act
+        TacheChangementsDTO changements = tacheService.findChangementsByProjetId(1, since);
+
+        // Assert
+        assertEquals(1, changements.getTaches().size(), "Seule la tâche modifiée devrait être retournée");
+        assertEquals(Arrays.asList(2), changements.getSupprimees(), "La suppression devrait être signalée");
+        assertNull(changements.getProjet(), "Le projet n'a pas changé");
+        assertFalse(changements.isResync());
+        assertTrue(changements.getWatermark() > since, "Le filigrane devrait avancer");
+        assertTrue(changements.getWatermark() <= System.currentTimeMillis() - TacheServiceImpl.MARGE_FILIGRANE_MS,
+                "Le filigrane garde une marge de recouvrement");
+        verify(tacheRepository, never()).findByProjetId(anyInt());
+    }
+
+    @Test
+    @DisplayName("findChangementsByProjetId - Devrait demander un rechargement au-delà de la rétention")
+    void testFindChangements_WhenWatermarkTooOld_ShouldResync() {
+        // Arrange
+        when(tacheRepository.findModifieesDepuis(1, new Date(0))).thenReturn(Arrays.asList(
+                new TacheDTO(1, "T1", null, "TODO", null, null, 1, null, null, 2, 1)));
+        when(projetRepository.findResumeModifieDepuis(1, new Date(0))).thenReturn(Optional.empty());
+        when(userRoleProjetRepository.findMembresModifiesDepuis(1, new Date(0))).thenReturn(Collections.emptyList());
+
+        // Act
+        TacheChangementsDTO changements = tacheService.findChangementsByProjetId(1, 1_000L);
+
+        // Assert
+        assertTrue(changements.isResync(), "Le client devrait recharger le projet");
+        assertEquals(1, changements.getTaches().size(), "Toutes les tâches sont renvoyées");
+        assertTrue(changements.getSupprimees().isEmpty());
+        verifyNoInteractions(tacheSupprimeeRepository);
+    }
 }
@@ -1,6 +1,8 @@
 package com.visiplus.backend.services.impl;
 
 import com.visiplus.backend.dao.UserRoleProjetRepository;
+import com.visiplus.backend.dto.ProjetEvenementDTO;
+import com.visiplus.backend.dto.UserRoleProjetDTO;
 import com.visiplus.backend.models.UserRoleProjet;
 import com.visiplus.backend.models.Utilisateur;
 import com.visiplus.backend.models.Role;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +36,9 @@ class UserRoleProjetImplTest {
     @Mock
     private UserRoleProjetRepository userRoleProjetRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserRoleProjetImpl userRoleProjetService;
 
@@ -150,6 +156,25 @@ class UserRoleProjetImplTest {
         verify(userRoleProjetRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("findByProjetId - Devrait retourner les membres du projet sous forme de DTO")
+    void testFindByProjetId_ShouldReturnMembresDTO() {
+        // Arrange
+        UserRoleProjetDTO membre = new UserRoleProjetDTO(1L, 1, 1, "Jean Dupont",
+                "jean.dupont@example.com", "MEMBRE", true, 1, "DEVELOPER");
+        when(userRoleProjetRepository.findMembresByProjetId(1)).thenReturn(Arrays.asList(membre));
+
+        // Act
+        List<UserRoleProjetDTO> result = userRoleProjetService.findByProjetId(1);
+
+        // Assert
+        assertEquals(1, result.size(), "Le projet devrait avoir un membre");
+        assertEquals("Jean Dupont", result.get(0).getUtilisateur().getNom(), "Le membre devrait être Jean");
+        assertEquals(1, result.get(0).getRole(), "L'identifiant du rôle devrait être à plat");
+        verify(userRoleProjetRepository, times(1)).findMembresByProjetId(1);
+        verify(userRoleProjetRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("save - Devrait gérer correctement les associations multiples pour un même utilisateur")
     void testSave_MultipleAssociationsForSameUser_ShouldWork() {
@@ -176,4 +201,21 @@ class UserRoleProjetImplTest {
         assertEquals("Projet Beta", result.getProjet().getNom(), "Le projet devrait être différent");
         verify(userRoleProjetRepository, times(1)).save(association2);
     }
+
+    @Test
+    @DisplayName("save - Devrait publier un événement MEMBRE_AJOUTE pour le projet")
+    void testSave_ShouldPublishMemberEvent() {
+        // Arrange
+        when(userRoleProjetRepository.save(userRoleProjetTest)).thenReturn(userRoleProjetTest);
+
+        // Act
+        userRoleProjetService.save(userRoleProjetTest);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(argThat((ProjetEvenementDTO evenement) ->
+                ProjetEvenementDTO.MEMBRE_AJOUTE.equals(evenement.getType())
+                        && evenement.getProjet_id() == 1
+                        && evenement.getUtilisateur_id() == 1
+                        && evenement.getRole_id() == 1));
+    }
 }
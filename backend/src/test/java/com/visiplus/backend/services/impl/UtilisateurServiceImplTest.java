@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -72,10 +74,9 @@ class UtilisateurServiceImplTest {
     }
 
     @Test
-    @DisplayName("create - Devrait créer un nouvel utilisateur si inexistant")
+    @DisplayName("create - Devrait créer un nouvel utilisateur en un seul INSERT, sans SELECT préalable")
     void testCreate_WhenUserDoesNotExist_ShouldCreateNew() {
         // Arrange
-        when(utilisateurRepository.findByNom("Jean Dupont")).thenReturn(Optional.empty());
         when(utilisateurRepository.save(utilisateurTest)).thenReturn(utilisateurTest);
 
         // Act
@@ -83,23 +84,52 @@ class UtilisateurServiceImplTest {
 
         // Assert
         assertEquals(1, result, "L'ID de l'utilisateur créé devrait être 1");
-        verify(utilisateurRepository, times(1)).findByNom("Jean Dupont");
         verify(utilisateurRepository, times(1)).save(utilisateurTest);
+        verify(utilisateurRepository, never()).findByNom(anyString());
     }
 
     @Test
-    @DisplayName("create - Devrait retourner l'ID existant si utilisateur déjà présent")
+    @DisplayName("create - Devrait retourner l'ID existant si la contrainte d'unicité refuse le nom")
     void testCreate_WhenUserExists_ShouldReturnExistingId() {
         // Arrange
+        Utilisateur doublon = new Utilisateur();
+        doublon.setNom("Jean Dupont");
+        when(utilisateurRepository.save(doublon)).thenThrow(new DataIntegrityViolationException("uk_utilisateur_nom"));
         when(utilisateurRepository.findByNom("Jean Dupont")).thenReturn(Optional.of(utilisateurTest));
 
         // Act
-        int result = utilisateurService.create(utilisateurTest);
+        int result = utilisateurService.create(doublon);
 
         // Assert
         assertEquals(1, result, "L'ID existant devrait être retourné");
         verify(utilisateurRepository, times(1)).findByNom("Jean Dupont");
-        verify(utilisateurRepository, never()).save(any(Utilisateur.class));
+    }
+
+    @Test
+    @DisplayName("create - Devrait propager une violation qui ne vient pas du nom")
+    void testCreate_WhenOtherViolation_ShouldRethrow() {
+        // Arrange
+        when(utilisateurRepository.save(utilisateurTest)).thenThrow(new DataIntegrityViolationException("NOT NULL"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> utilisateurService.create(utilisateurTest));
+        verify(utilisateurRepository, never()).findByNom(anyString());
+    }
+
+    @Test
+    @DisplayName("create - Ne devrait pas renvoyer l'utilisateur homonyme si la violation porte sur une autre colonne")
+    void testCreate_WhenNameExistsButOtherViolation_ShouldRethrow() {
+        // Arrange : le nom existe, mais c'est l'email qui est refusé
+        Utilisateur autre = new Utilisateur();
+        autre.setNom("Jean Dupont");
+        autre.setEmail("x".repeat(300) + "@test.com");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Data too long for column 'email' at row 1"));
+        when(utilisateurRepository.save(autre)).thenThrow(violation);
+
+        // Act & Assert
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> utilisateurService.create(autre)));
+        verify(utilisateurRepository, never()).findByNom(anyString());
     }
 
     @Test